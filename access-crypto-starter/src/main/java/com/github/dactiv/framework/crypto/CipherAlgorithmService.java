@@ -4,12 +4,21 @@ import com.github.dactiv.framework.crypto.algorithm.cipher.*;
 import com.github.dactiv.framework.crypto.algorithm.exception.CryptoException;
 import com.github.dactiv.framework.crypto.algorithm.exception.UnknownAlgorithmException;
 
+import java.lang.reflect.Constructor;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 /**
  * 加密算法服务
  *
+ * <p>
+ * getCipherService 按算法名称或算法配置缓存共享的密码服务，共享的实例在缓存前会被冻结配置，
+ * 修改配置会抛出 {@link IllegalStateException}。需要自行修改配置时，使用 newCipherService 创建新的实例。
+ * </p>
+ *
  * @author maurice
  */
 public class CipherAlgorithmService {
@@ -49,6 +58,16 @@ public class CipherAlgorithmService {
      */
     private final Map<String, Class<? extends CipherService>> algorithmServiceMap = new LinkedHashMap<>();
 
+    /**
+     * 按算法名称缓存的密码服务构造函数
+     */
+    private final ConcurrentMap<String, Constructor<? extends CipherService>> constructorCache = new ConcurrentHashMap<>();
+
+    /**
+     * 按算法名称或算法配置缓存的共享密码服务
+     */
+    private final ConcurrentMap<String, CipherService> cipherServiceCache = new ConcurrentHashMap<>();
+
     /**
      * 加密算法服务
      */
@@ -59,6 +78,8 @@ public class CipherAlgorithmService {
         algorithmServiceMap.put(DES_ALGORITHM, DesCipherService.class);
         // 添加 RSA 算法服务
         algorithmServiceMap.put(RSA_ALGORITHM, RsaCipherService.class);
+
+        initCipherServices();
     }
 
     /**
@@ -68,41 +89,141 @@ public class CipherAlgorithmService {
      */
     public CipherAlgorithmService(Map<String, Class<? extends CipherService>> algorithmServiceMap) {
         this.algorithmServiceMap.putAll(algorithmServiceMap);
+
+        initCipherServices();
+    }
+
+    /**
+     * 查找所有算法的构造函数，并清除之前缓存的构造函数和密码服务
+     */
+    private void initCipherServices() {
+        constructorCache.clear();
+        cipherServiceCache.clear();
+        algorithmServiceMap.keySet().forEach(this::getConstructor);
     }
 
     /**
-     * 通过算法名称和算法类型获取密码服务
+     * 通过算法名称获取默认配置的共享密码服务，返回的实例已冻结配置
      *
      * @param algorithmName 算法
      * @param <T>           实现 CipherService 的子类
      *
      * @return 密码服务
      */
-    @SuppressWarnings("unchecked")
     public <T extends CipherService> T getCipherService(String algorithmName) {
-        if (!algorithmServiceMap.containsKey(algorithmName)) {
+        return getSharedCipherService(algorithmName, () -> newCipherService(algorithmName));
+    }
+
+    /**
+     * 获取缓存的共享密码服务，如果不存在，创建并冻结配置后缓存
+     *
+     * @param cacheKey 缓存 key
+     * @param supplier 密码服务的创建方法
+     * @param <T>      实现 CipherService 的子类
+     *
+     * @return 密码服务
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends CipherService> T getSharedCipherService(String cacheKey, Supplier<CipherService> supplier) {
+        CipherService cipherService = cipherServiceCache.get(cacheKey);
+        if (cipherService != null) {
+            return (T) cipherService;
+        }
+
+        cipherService = supplier.get();
+        if (cipherService instanceof AbstractJcaCipherService jcaCipherService) {
+            jcaCipherService.freeze();
+        }
+
+        CipherService exist = cipherServiceCache.putIfAbsent(cacheKey, cipherService);
+        return (T) (exist != null ? exist : cipherService);
+    }
+
+    /**
+     * 通过算法名称创建新的密码服务
+     *
+     * @param algorithmName 算法
+     * @param <T>           实现 CipherService 的子类
+     *
+     * @return 密码服务
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends CipherService> T newCipherService(String algorithmName) {
+        try {
+            return (T) getConstructor(algorithmName).newInstance();
+        } catch (CryptoException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CryptoException(e);
+        }
+    }
+
+    /**
+     * 获取算法实现的构造函数
+     *
+     * @param algorithmName 算法
+     *
+     * @return 无参构造函数
+     */
+    private Constructor<? extends CipherService> getConstructor(String algorithmName) {
+        Constructor<? extends CipherService> constructor = constructorCache.get(algorithmName);
+        if (constructor != null) {
+            return constructor;
+        }
+
+        Class<? extends CipherService> type = algorithmServiceMap.get(algorithmName);
+        if (type == null) {
             String msg = "算法服务找不到 " + algorithmName + " 的算法实现";
             throw new UnknownAlgorithmException(msg);
         }
+
         try {
-            return (T) algorithmServiceMap.get(algorithmName).getDeclaredConstructor().newInstance();
-        } catch (Exception e) {
+            constructor = type.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
             throw new CryptoException(e);
         }
+
+        constructorCache.putIfAbsent(algorithmName, constructor);
+        return constructor;
     }
 
     /**
-     * 获取秘密法服务
+     * 获取秘密法服务，相同配置返回同一个已冻结配置的共享实例
      *
      * @param ca 加解密算法模型配置
      * @param <T> 加解密服务实现类型
      *
      * @return 加解密服务
      */
-    @SuppressWarnings("unchecked")
     public <T extends CipherService> T getCipherService(AlgorithmProperties ca) {
+        // AlgorithmProperties 是可变的，所以使用配置的值而不是对象本身作为缓存 key
+        String cacheKey = String.join(
+                ":",
+                ca.getName(),
+                ca.getMode(),
+                ca.getPaddingScheme(),
+                String.valueOf(ca.getBlockSize()),
+                ca.getStreamingMode(),
+                ca.getStreamingPaddingScheme(),
+                String.valueOf(ca.getStreamingBlockSize()),
+                String.valueOf(ca.getKeySize()),
+                String.valueOf(ca.getInitializationVectorSize())
+        );
+        return getSharedCipherService(cacheKey, () -> newCipherService(ca));
+    }
+
+    /**
+     * 创建新的秘密法服务
+     *
+     * @param ca 加解密算法模型配置
+     * @param <T> 加解密服务实现类型
+     *
+     * @return 加解密服务
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends CipherService> T newCipherService(AlgorithmProperties ca) {
 
-        AbstractBlockCipherService cipherService = getCipherService(ca.getName());
+        AbstractBlockCipherService cipherService = newCipherService(ca.getName());
 
         cipherService.setMode(OperationMode.valueOf(ca.getMode()));
         cipherService.setPaddingScheme(PaddingScheme.getPaddingScheme(ca.getPaddingScheme()));
@@ -133,5 +254,6 @@ public class CipherAlgorithmService {
      */
     public void setAlgorithmServiceMap(Map<String, Class<? extends CipherService>> algorithmServiceMap) {
         this.algorithmServiceMap.putAll(algorithmServiceMap);
+        initCipherServices();
     }
 }
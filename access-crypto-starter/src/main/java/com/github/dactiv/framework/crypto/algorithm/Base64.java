@@ -1,9 +1,26 @@
-
 package com.github.dactiv.framework.crypto.algorithm;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
 /**
  * Base64 工具类
  *
+ * <p>
+ * 编码和解码都通过查表完成，除了返回新数组的方法外，还可以编码、解码到调用方提供的数组中，
+ * 较大的内容可以通过 {@link #newEncodingOutputStream(OutputStream)} 和 {@link #newDecodingInputStream(InputStream)}
+ * 以流的方式处理。解码时按 RFC 2045 的要求忽略所有不在 Base64 字母表中的字符，遇到填充字符时结束。
+ * </p>
+ *
+ * <p>
+ * {@link java.util.Base64} 的编码、解码在 HotSpot 中有向量化的内建实现，所以处理完整数组时优先使用，
+ * 只有处理数组的一部分、流方式处理或者内容中存在需要忽略的字符时才使用本类的查表实现。
+ * </p>
+ *
  * @author maurice
  */
 public class Base64 {
@@ -19,124 +36,66 @@ public class Base64 {
     private static final int CHUNK_SIZE = 76;
 
     /**
-     * Chunk separator per RFC 2045 section 2.1.
-     *
-     * @see <a href="http://www.ietf.org/rfc/rfc2045.txt">RFC 2045 section 2.1</a>
+     * 每个分块对应的原始字节数
      */
-    static final byte[] CHUNK_SEPARATOR = "\r\n".getBytes();
+    private static final int CHUNK_INPUT_SIZE = CHUNK_SIZE / 4 * 3;
 
     /**
-     * The base length.
+     * Chunk separator per RFC 2045 section 2.1.
+     *
+     * @see <a href="http://www.ietf.org/rfc/rfc2045.txt">RFC 2045 section 2.1</a>
      */
-    private static final int BASELENGTH = 255;
+    static final byte[] CHUNK_SEPARATOR = "\r\n".getBytes(StandardCharsets.US_ASCII);
 
     /**
-     * Lookup length.
+     * Byte used to pad output.
      */
-    private static final int LOOKUPLENGTH = 64;
+    private static final byte PAD = (byte) '=';
 
     /**
-     * Used to calculate the number of bits in a byte.
+     * 不在 Base64 字母表中的字符的解码值
      */
-    private static final int EIGHTBIT = 8;
+    private static final int INVALID = -1;
 
     /**
-     * Used when encoding something which has fewer than 24 bits.
+     * 填充字符的解码值
      */
-    private static final int SIXTEENBIT = 16;
+    private static final int PADDING = -2;
 
     /**
-     * Used to determine how many bits data contains.
+     * 流方式处理时的缓冲区大小，必须是 4 的倍数
      */
-    private static final int TWENTYFOURBITGROUP = 24;
+    private static final int STREAMING_BUFFER_SIZE = 8192;
 
     /**
-     * Used to get the number of Quadruples.
+     * 编码表，下标为 0 到 63 的值，内容为对应的 Base64 字符
      */
-    private static final int FOURBYTE = 4;
+    private static final byte[] ENCODE_TABLE =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes(StandardCharsets.US_ASCII);
 
     /**
-     * Used to test the sign of a byte.
+     * 解码表，下标为字符的无符号字节值，内容为 0 到 63 的值，填充字符为 {@link #PADDING}，其他字符为 {@link #INVALID}
      */
-    private static final int SIGN = -128;
+    private static final int[] DECODE_TABLE = new int[256];
 
     /**
-     * Byte used to pad output.
+     * 处理完整数组时使用的编码器
      */
-    private static final byte PAD = (byte) '=';
+    private static final java.util.Base64.Encoder ENCODER = java.util.Base64.getEncoder();
 
     /**
-     * Contains the Base64 values <code>0</code> through <code>63</code> accessed by using character encodings as
-     * indices.
-     *
-     * <p>For example, <code>base64Alphabet['+']</code> returns <code>62</code>.</p>
-     *
-     * <p>The value of undefined encodings is <code>-1</code>.</p>
+     * 处理完整数组时使用的解码器，内容中存在不在 Base64 字母表中的字符时会抛出异常，此时使用查表实现重新解码
      */
-    private static final byte[] base64Alphabet = new byte[BASELENGTH];
-
-    /**
-     * <p>Contains the Base64 encodings <code>A</code> through <code>Z</code>, followed by <code>a</code> through
-     * <code>z</code>, followed by <code>0</code> through <code>9</code>, followed by <code>+</code>, and
-     * <code>/</code>.</p>
-     *
-     * <p>This array is accessed by using character values as indices.</p>
-     *
-     * <p>For example, <code>lookUpBase64Alphabet[62] </code> returns <code>'+'</code>.</p>
-     */
-    private static final byte[] lookUpBase64Alphabet = new byte[LOOKUPLENGTH];
-
-    // Populating the lookup and character arrays
+    private static final java.util.Base64.Decoder DECODER = java.util.Base64.getDecoder();
 
     static {
-        for (int i = 0; i < BASELENGTH; i++) {
-            base64Alphabet[i] = (byte) -1;
-        }
-        for (int i = 'Z'; i >= 'A'; i--) {
-            base64Alphabet[i] = (byte) (i - 'A');
-        }
-        for (int i = 'z'; i >= 'a'; i--) {
-            base64Alphabet[i] = (byte) (i - 'a' + 26);
-        }
-        for (int i = '9'; i >= '0'; i--) {
-            base64Alphabet[i] = (byte) (i - '0' + 52);
-        }
-
-        base64Alphabet['+'] = 62;
-        base64Alphabet['/'] = 63;
-
-        for (int i = 0; i <= 25; i++) {
-            lookUpBase64Alphabet[i] = (byte) ('A' + i);
-        }
-
-        for (int i = 26, j = 0; i <= 51; i++, j++) {
-            lookUpBase64Alphabet[i] = (byte) ('a' + j);
-        }
+        Arrays.fill(DECODE_TABLE, INVALID);
 
-        for (int i = 52, j = 0; i <= 61; i++, j++) {
-            lookUpBase64Alphabet[i] = (byte) ('0' + j);
+        for (int i = 0; i < ENCODE_TABLE.length; i++) {
+            DECODE_TABLE[ENCODE_TABLE[i]] = i;
         }
 
-        lookUpBase64Alphabet[62] = (byte) '+';
-        lookUpBase64Alphabet[63] = (byte) '/';
-    }
-
-    /**
-     * Returns whether or not the <code>octet</code> is in the base 64 alphabet.
-     *
-     * @param octect The value to test
-     *
-     * @return <code>true</code> if the value is defined in the the base 64 alphabet, <code>false</code> otherwise.
-     */
-    private static boolean isBase64(byte octect) {
-        if (octect == PAD) {
-            return true;
-        } else //noinspection RedundantIfStatement
-            if (octect < 0 || base64Alphabet[octect] == -1) {
-                return false;
-            } else {
-                return true;
-            }
+        DECODE_TABLE[PAD] = PADDING;
     }
 
     /**
@@ -149,50 +108,25 @@ public class Base64 {
      */
     public static boolean isBase64(byte[] arrayOctect) {
 
-        arrayOctect = discardWhitespace(arrayOctect);
-
-        int length = arrayOctect.length;
-        if (length == 0) {
-            // shouldn't a 0 length array be valid base64 data?
-            // return false;
-            return true;
-        }
         for (byte b : arrayOctect) {
-            if (!isBase64(b)) {
-                return false;
+            if (DECODE_TABLE[b & 0xFF] != INVALID || isWhitespace(b)) {
+                continue;
             }
+            return false;
         }
+
         return true;
     }
 
     /**
-     * Discards any whitespace from a base-64 encoded block.
+     * 判断是否空白字符 (see RFC 2045)
      *
-     * @param data The base-64 encoded data to discard the whitespace from.
+     * @param b 字符
      *
-     * @return The data, less whitespace (see RFC 2045).
+     * @return true 是，否则 false
      */
-    static byte[] discardWhitespace(byte[] data) {
-        byte[] groomedData = new byte[data.length];
-        int bytesCopied = 0;
-
-        for (byte aByte : data) {
-            switch (aByte) {
-                case (byte) ' ':
-                case (byte) '\n':
-                case (byte) '\r':
-                case (byte) '\t':
-                    break;
-                default:
-                    groomedData[bytesCopied++] = aByte;
-            }
-        }
-
-        byte[] packedData = new byte[bytesCopied];
-
-        System.arraycopy(groomedData, 0, packedData, 0, bytesCopied);
-
-        return packedData;
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
     }
 
     /**
@@ -204,8 +138,7 @@ public class Base64 {
      * @return a UTF-8 encoded String of the resulting Base64 encoded byte array.
      */
     public static String encodeToString(byte[] bytes) {
-        byte[] encoded = encode(bytes);
-        return CodecUtils.toString(encoded);
+        return ENCODER.encodeToString(bytes);
     }
 
     /**
@@ -241,118 +174,147 @@ public class Base64 {
      * @throws IllegalArgumentException Thrown when the input array needs an output array bigger than {@link Integer#MAX_VALUE}
      */
     public static byte[] encode(byte[] binaryData, boolean isChunked) {
-        long binaryDataLength = binaryData.length;
-        long lengthDataBits = binaryDataLength * EIGHTBIT;
-        long fewerThan24bits = lengthDataBits % TWENTYFOURBITGROUP;
-        long tripletCount = lengthDataBits / TWENTYFOURBITGROUP;
-        long encodedDataLengthLong;
-        int chunckCount = 0;
-
-        if (fewerThan24bits != 0) {
-            // data not divisible by 24 bit
-            encodedDataLengthLong = (tripletCount + 1) * 4;
+        byte[] encodedData = new byte[getEncodedLength(binaryData.length, isChunked)];
+
+        if (isChunked) {
+            encodeChunked(binaryData, 0, binaryData.length, encodedData, 0);
         } else {
-            // 16 or 8 bit
-            encodedDataLengthLong = tripletCount * 4;
+            encode(binaryData, 0, binaryData.length, encodedData, 0);
         }
 
-        // If the output is to be "chunked" into 76 character sections,
-        // for compliance with RFC 2045 MIME, then it is important to
-        // allow for extra length to account for the separator(s)
-        if (isChunked) {
+        return encodedData;
+    }
 
-            chunckCount = (CHUNK_SEPARATOR.length == 0 ? 0 : (int) Math
-                    .ceil((float) encodedDataLengthLong / CHUNK_SIZE));
-            encodedDataLengthLong += (long) chunckCount * CHUNK_SEPARATOR.length;
+    /**
+     * 获取编码后的长度
+     *
+     * @param length    原始字节长度
+     * @param isChunked 是否按 76 个字符分块
+     *
+     * @return 编码后的长度
+     *
+     * @throws IllegalArgumentException 编码后的长度超过 {@link Integer#MAX_VALUE} 时抛出
+     */
+    public static int getEncodedLength(int length, boolean isChunked) {
+        long encodedLength = (length + 2L) / 3 * 4;
+
+        // 每个分块（包括最后一个分块）后面都跟随一个分隔符
+        if (isChunked) {
+            encodedLength += (encodedLength + CHUNK_SIZE - 1) / CHUNK_SIZE * CHUNK_SEPARATOR.length;
         }
 
-        if (encodedDataLengthLong > Integer.MAX_VALUE) {
+        if (encodedLength > Integer.MAX_VALUE) {
             throw new IllegalArgumentException(
                     "Input array too big, output array would be bigger than Integer.MAX_VALUE=" + Integer.MAX_VALUE);
         }
-        int encodedDataLength = (int) encodedDataLengthLong;
-        byte[] encodedData = new byte[encodedDataLength];
-
-        byte k, l, b1, b2, b3;
 
-        int encodedIndex = 0;
-        int dataIndex;
-        int i;
-        int nextSeparatorIndex = CHUNK_SIZE;
-        int chunksSoFar = 0;
+        return (int) encodedLength;
+    }
 
+    /**
+     * 将字节数组中的内容编码到调用方提供的数组中
+     *
+     * @param src       原始字节数组
+     * @param offset    原始字节数组的开始位置
+     * @param length    需要编码的长度
+     * @param dst       编码后的内容写入的数组
+     * @param dstOffset 写入的开始位置
+     *
+     * @return 写入的字节数
+     *
+     * @throws IllegalArgumentException dst 剩余空间不足时抛出
+     */
+    public static int encode(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        Objects.checkFromIndexSize(offset, length, src.length);
+        checkCapacity(dst, dstOffset, getEncodedLength(length, false));
 
-        for (i = 0; i < tripletCount; i++) {
-            dataIndex = i * 3;
-            b1 = binaryData[dataIndex];
-            b2 = binaryData[dataIndex + 1];
-            b3 = binaryData[dataIndex + 2];
+        if (offset == 0 && length == src.length && dstOffset == 0) {
+            return ENCODER.encode(src, dst);
+        }
 
+        return encodeFinal(src, offset, offset + length, dst, dstOffset) - dstOffset;
+    }
 
-            l = (byte) (b2 & 0x0f);
-            k = (byte) (b1 & 0x03);
+    /**
+     * 将字节数组中的内容编码到调用方提供的数组中，并按 76 个字符分块
+     *
+     * @param src       原始字节数组
+     * @param offset    原始字节数组的开始位置
+     * @param length    需要编码的长度
+     * @param dst       编码后的内容写入的数组
+     * @param dstOffset 写入的开始位置
+     *
+     * @return 写入的字节数
+     *
+     * @throws IllegalArgumentException dst 剩余空间不足时抛出
+     */
+    public static int encodeChunked(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        Objects.checkFromIndexSize(offset, length, src.length);
+        checkCapacity(dst, dstOffset, getEncodedLength(length, true));
 
-            byte val1 = ((b1 & SIGN) == 0) ? (byte) (b1 >> 2) : (byte) ((b1) >> 2 ^ 0xc0);
-            byte val2 = ((b2 & SIGN) == 0) ? (byte) (b2 >> 4) : (byte) ((b2) >> 4 ^ 0xf0);
-            byte val3 = ((b3 & SIGN) == 0) ? (byte) (b3 >> 6) : (byte) ((b3) >> 6 ^ 0xfc);
+        int end = offset + length;
+        int dp = dstOffset;
 
-            encodedData[encodedIndex] = lookUpBase64Alphabet[val1];
-            encodedData[encodedIndex + 1] = lookUpBase64Alphabet[val2 | (k << 4)];
-            encodedData[encodedIndex + 2] = lookUpBase64Alphabet[(l << 2) | val3];
-            encodedData[encodedIndex + 3] = lookUpBase64Alphabet[b3 & 0x3f];
+        for (int sp = offset; sp < end; sp += CHUNK_INPUT_SIZE) {
+            dp = encodeFinal(src, sp, Math.min(sp + CHUNK_INPUT_SIZE, end), dst, dp);
+            System.arraycopy(CHUNK_SEPARATOR, 0, dst, dp, CHUNK_SEPARATOR.length);
+            dp += CHUNK_SEPARATOR.length;
+        }
 
-            encodedIndex += 4;
+        return dp - dstOffset;
+    }
 
-            // If we are chunking, let's put a chunk separator down.
-            if (isChunked) {
-                // this assumes that CHUNK_SIZE % 4 == 0
-                if (encodedIndex == nextSeparatorIndex) {
-                    System.arraycopy(CHUNK_SEPARATOR, 0, encodedData, encodedIndex, CHUNK_SEPARATOR.length);
-                    chunksSoFar++;
-                    nextSeparatorIndex = (CHUNK_SIZE * (chunksSoFar + 1)) + (chunksSoFar * CHUNK_SEPARATOR.length);
-                    encodedIndex += CHUNK_SEPARATOR.length;
-                }
-            }
+    /**
+     * 编码所有完整的 3 字节组
+     *
+     * @param src 原始字节数组
+     * @param sp  开始位置
+     * @param sl  结束位置（不包含），sl - sp 必须是 3 的倍数
+     * @param dst 写入的数组
+     * @param dp  写入的开始位置
+     *
+     * @return 写入后的位置
+     */
+    private static int encodeTriplets(byte[] src, int sp, int sl, byte[] dst, int dp) {
+        for (; sp < sl; sp += 3, dp += 4) {
+            int bits = (src[sp] & 0xFF) << 16 | (src[sp + 1] & 0xFF) << 8 | (src[sp + 2] & 0xFF);
+            dst[dp] = ENCODE_TABLE[bits >>> 18];
+            dst[dp + 1] = ENCODE_TABLE[(bits >>> 12) & 0x3F];
+            dst[dp + 2] = ENCODE_TABLE[(bits >>> 6) & 0x3F];
+            dst[dp + 3] = ENCODE_TABLE[bits & 0x3F];
         }
+        return dp;
+    }
 
-        // form integral number of 6-bit groups
-        dataIndex = i * 3;
-
-        if (fewerThan24bits == EIGHTBIT) {
-            b1 = binaryData[dataIndex];
-            k = (byte) (b1 & 0x03);
-            // log.debug("b1=" + b1);
-            // log.debug("b1<<2 = " + (b1>>2) );
-            byte val1 = ((b1 & SIGN) == 0) ? (byte) (b1 >> 2) : (byte) ((b1) >> 2 ^ 0xc0);
-            encodedData[encodedIndex] = lookUpBase64Alphabet[val1];
-            encodedData[encodedIndex + 1] = lookUpBase64Alphabet[k << 4];
-            encodedData[encodedIndex + 2] = PAD;
-            encodedData[encodedIndex + 3] = PAD;
-        } else if (fewerThan24bits == SIXTEENBIT) {
-
-            b1 = binaryData[dataIndex];
-            b2 = binaryData[dataIndex + 1];
-            l = (byte) (b2 & 0x0f);
-            k = (byte) (b1 & 0x03);
-
-            byte val1 = ((b1 & SIGN) == 0) ? (byte) (b1 >> 2) : (byte) ((b1) >> 2 ^ 0xc0);
-            byte val2 = ((b2 & SIGN) == 0) ? (byte) (b2 >> 4) : (byte) ((b2) >> 4 ^ 0xf0);
-
-            encodedData[encodedIndex] = lookUpBase64Alphabet[val1];
-            encodedData[encodedIndex + 1] = lookUpBase64Alphabet[val2 | (k << 4)];
-            encodedData[encodedIndex + 2] = lookUpBase64Alphabet[l << 2];
-            encodedData[encodedIndex + 3] = PAD;
-        }
+    /**
+     * 编码内容，最后不足 3 个字节的部分使用填充字符补齐
+     *
+     * @param src 原始字节数组
+     * @param sp  开始位置
+     * @param sl  结束位置（不包含）
+     * @param dst 写入的数组
+     * @param dp  写入的开始位置
+     *
+     * @return 写入后的位置
+     */
+    private static int encodeFinal(byte[] src, int sp, int sl, byte[] dst, int dp) {
+        int tripletEnd = sp + (sl - sp) / 3 * 3;
+        dp = encodeTriplets(src, sp, tripletEnd, dst, dp);
 
-        if (isChunked) {
-            // we also add a separator to the end of the final chunk.
-            if (chunksSoFar < chunckCount) {
-                System.arraycopy(CHUNK_SEPARATOR, 0, encodedData, encodedDataLength - CHUNK_SEPARATOR.length,
-                        CHUNK_SEPARATOR.length);
-            }
+        int remaining = sl - tripletEnd;
+        if (remaining == 0) {
+            return dp;
         }
 
-        return encodedData;
+        int b1 = src[tripletEnd] & 0xFF;
+        int b2 = remaining == 2 ? src[tripletEnd + 1] & 0xFF : 0;
+
+        dst[dp] = ENCODE_TABLE[b1 >>> 2];
+        dst[dp + 1] = ENCODE_TABLE[(b1 << 4 | b2 >>> 4) & 0x3F];
+        dst[dp + 2] = remaining == 2 ? ENCODE_TABLE[(b2 << 2) & 0x3F] : PAD;
+        dst[dp + 3] = PAD;
+
+        return dp + 4;
     }
 
     /**
@@ -363,8 +325,7 @@ public class Base64 {
      * @return the decoded String, UTF-8 encoded.
      */
     public static String decodeToString(String base64Encoded) {
-        byte[] encodedBytes = CodecUtils.toBytes(base64Encoded);
-        return decodeToString(encodedBytes);
+        return CodecUtils.toString(decode(base64Encoded));
     }
 
     /**
@@ -387,8 +348,8 @@ public class Base64 {
      * @return the raw Base64 decoded byte array.
      */
     public static byte[] decode(String base64Encoded) {
-        byte[] bytes = CodecUtils.toBytes(base64Encoded);
-        return decode(bytes);
+        // 非 ISO-8859-1 字符会被替换成 '?'，与其他不在字母表中的字符一样在解码时忽略
+        return decode(base64Encoded.getBytes(StandardCharsets.ISO_8859_1));
     }
 
     /**
@@ -399,87 +360,450 @@ public class Base64 {
      * @return Array containing decoded data.
      */
     public static byte[] decode(byte[] base64Data) {
-        // RFC 2045 requires that we discard ALL non-Base64 characters
-        base64Data = discardNonBase64(base64Data);
+        // 按没有忽略字符估算长度，末尾的填充字符不计算在内
+        int padding = 0;
+        for (int i = base64Data.length - 1; i >= 0 && padding < 2 && base64Data[i] == PAD; i--) {
+            padding++;
+        }
+
+        byte[] decodedData = new byte[Math.max(getMaxDecodedLength(base64Data.length) - padding, 0)];
+        int length = decode(base64Data, 0, base64Data.length, decodedData, 0);
+
+        return length == decodedData.length ? decodedData : Arrays.copyOf(decodedData, length);
+    }
 
-        // handle the edge case, so we don't have to worry about it later
-        if (base64Data.length == 0) {
-            return new byte[0];
+    /**
+     * 获取解码后的最大长度
+     *
+     * @param length Base64 内容的长度
+     *
+     * @return 解码后的最大长度
+     */
+    public static int getMaxDecodedLength(int length) {
+        return (int) (length * 3L / 4);
+    }
+
+    /**
+     * 将 Base64 内容解码到调用方提供的数组中
+     *
+     * @param src       Base64 内容
+     * @param offset    开始位置
+     * @param length    需要解码的长度
+     * @param dst       解码后的内容写入的数组
+     * @param dstOffset 写入的开始位置
+     *
+     * @return 写入的字节数
+     *
+     * @throws IllegalArgumentException dst 剩余空间不足时抛出
+     */
+    public static int decode(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        Objects.checkFromIndexSize(offset, length, src.length);
+        checkCapacity(dst, dstOffset, 0);
+
+        if (offset == 0 && length == src.length && dstOffset == 0) {
+            try {
+                return DECODER.decode(src, dst);
+            } catch (IllegalArgumentException e) {
+                // 存在需要忽略的字符、填充字符后还有内容或者输出数组空间不足，使用查表实现重新解码
+            }
         }
 
-        int numberQuadruple = base64Data.length / FOURBYTE;
-        byte decodedData[];
-        byte b1, b2, b3, b4, marker0, marker1;
-
-        // Throw away anything not in base64Data
-
-        int encodedIndex = 0;
-        int dataIndex;
-        {
-            // this sizes the output array properly - rlw
-            int lastData = base64Data.length;
-            // ignore the '=' padding
-            while (base64Data[lastData - 1] == PAD) {
-                if (--lastData == 0) {
-                    return new byte[0];
+        int sp = offset;
+        int sl = offset + length;
+        int dp = dstOffset;
+
+        int bits = 0;
+        int count = 0;
+
+        while (sp < sl) {
+
+            if (count == 0) {
+                int consumed = decodeQuadruples(src, sp, sl, dst, dp);
+                sp += consumed;
+                dp += consumed / 4 * 3;
+
+                if (sp == sl) {
+                    break;
                 }
             }
-            decodedData = new byte[lastData - numberQuadruple];
+
+            int value = DECODE_TABLE[src[sp++] & 0xFF];
+
+            if (value == PADDING) {
+                break;
+            } else if (value == INVALID) {
+                continue;
+            }
+
+            bits = bits << 6 | value;
+
+            if (++count == 4) {
+                checkCapacity(dst, dp, 3);
+                dst[dp] = (byte) (bits >> 16);
+                dst[dp + 1] = (byte) (bits >> 8);
+                dst[dp + 2] = (byte) bits;
+                dp += 3;
+                bits = 0;
+                count = 0;
+            }
         }
 
-        for (int i = 0; i < numberQuadruple; i++) {
-            dataIndex = i * 4;
-            marker0 = base64Data[dataIndex + 2];
-            marker1 = base64Data[dataIndex + 3];
-
-            b1 = base64Alphabet[base64Data[dataIndex]];
-            b2 = base64Alphabet[base64Data[dataIndex + 1]];
-
-            if (marker0 != PAD && marker1 != PAD) {
-                // No PAD e.g 3cQl
-                b3 = base64Alphabet[marker0];
-                b4 = base64Alphabet[marker1];
-
-                decodedData[encodedIndex] = (byte) (b1 << 2 | b2 >> 4);
-                decodedData[encodedIndex + 1] = (byte) (((b2 & 0xf) << 4) | ((b3 >> 2) & 0xf));
-                decodedData[encodedIndex + 2] = (byte) (b3 << 6 | b4);
-            } else if (marker0 == PAD) {
-                // Two PAD e.g. 3c[Pad][Pad]
-                decodedData[encodedIndex] = (byte) (b1 << 2 | b2 >> 4);
-            } else {
-                // One PAD e.g. 3cQ[Pad]
-                b3 = base64Alphabet[marker0];
-                decodedData[encodedIndex] = (byte) (b1 << 2 | b2 >> 4);
-                decodedData[encodedIndex + 1] = (byte) (((b2 & 0xf) << 4) | ((b3 >> 2) & 0xf));
+        return decodeFinal(bits, count, dst, dp) - dstOffset;
+    }
+
+    /**
+     * 解码连续的、不包含需要忽略的字符和填充字符的 4 字符组
+     *
+     * @param src Base64 内容
+     * @param sp  开始位置
+     * @param sl  结束位置（不包含）
+     * @param dst 写入的数组
+     * @param dp  写入的开始位置
+     *
+     * @return 已经解码的字符数，是 4 的倍数
+     */
+    private static int decodeQuadruples(byte[] src, int sp, int sl, byte[] dst, int dp) {
+        int start = sp;
+
+        for (int dl = dst.length; sp + 4 <= sl && dp + 3 <= dl; sp += 4, dp += 3) {
+            int b1 = DECODE_TABLE[src[sp] & 0xFF];
+            int b2 = DECODE_TABLE[src[sp + 1] & 0xFF];
+            int b3 = DECODE_TABLE[src[sp + 2] & 0xFF];
+            int b4 = DECODE_TABLE[src[sp + 3] & 0xFF];
+
+            if ((b1 | b2 | b3 | b4) < 0) {
+                break;
             }
-            encodedIndex += 3;
+
+            int bits = b1 << 18 | b2 << 12 | b3 << 6 | b4;
+            dst[dp] = (byte) (bits >> 16);
+            dst[dp + 1] = (byte) (bits >> 8);
+            dst[dp + 2] = (byte) bits;
+        }
+
+        return sp - start;
+    }
+
+    /**
+     * 写入最后不足 4 个字符的部分
+     *
+     * @param bits  已经读取的值
+     * @param count 已经读取的字符数
+     * @param dst   写入的数组
+     * @param dp    写入的开始位置
+     *
+     * @return 写入后的位置
+     */
+    private static int decodeFinal(int bits, int count, byte[] dst, int dp) {
+        if (count == 2) {
+            checkCapacity(dst, dp, 1);
+            dst[dp++] = (byte) (bits >> 4);
+        } else if (count == 3) {
+            checkCapacity(dst, dp, 2);
+            dst[dp++] = (byte) (bits >> 10);
+            dst[dp++] = (byte) (bits >> 2);
         }
-        return decodedData;
+        // 只有 1 个字符时不足一个字节，忽略
+        return dp;
     }
 
     /**
-     * Discards any characters outside of the base64 alphabet, per the requirements on page 25 of RFC 2045 - "Any
-     * characters outside of the base64 alphabet are to be ignored in base64 encoded data."
+     * 校验数组剩余空间
      *
-     * @param data The base-64 encoded data to groom
+     * @param dst    数组
+     * @param offset 开始位置
+     * @param length 需要的长度
+     */
+    private static void checkCapacity(byte[] dst, int offset, int length) {
+        if (offset < 0 || dst.length - offset < length) {
+            throw new IllegalArgumentException("输出数组空间不足，需要 " + length + " 个字节，剩余 " + (dst.length - offset) + " 个字节");
+        }
+    }
+
+    /**
+     * 创建一个以 Base64 编码写入内容的输出流，关闭时写入最后的填充字符并关闭 out
+     *
+     * @param out 编码后的内容写入的输出流
+     *
+     * @return 输出流
+     */
+    public static OutputStream newEncodingOutputStream(OutputStream out) {
+        return new EncodingOutputStream(Objects.requireNonNull(out));
+    }
+
+    /**
+     * 创建一个读取 Base64 内容并解码的输入流，关闭时关闭 in
+     *
+     * @param in Base64 内容的输入流
+     *
+     * @return 输入流
+     */
+    public static InputStream newDecodingInputStream(InputStream in) {
+        return new DecodingInputStream(Objects.requireNonNull(in));
+    }
+
+    /**
+     * Base64 编码输出流
      *
-     * @return The data, less non-base64 characters (see RFC 2045).
+     * @author maurice.chen
      */
-    static byte[] discardNonBase64(byte[] data) {
-        byte[] groomedData = new byte[data.length];
-        int bytesCopied = 0;
+    private static class EncodingOutputStream extends OutputStream {
 
-        for (byte aByte : data) {
-            if (isBase64(aByte)) {
-                groomedData[bytesCopied++] = aByte;
+        private final OutputStream out;
+
+        /**
+         * 编码后的内容缓冲区
+         */
+        private final byte[] buffer = new byte[STREAMING_BUFFER_SIZE];
+
+        /**
+         * 不足 3 个字节，等待下一次写入的内容
+         */
+        private final byte[] remainder = new byte[3];
+
+        private int position;
+
+        private int remainderLength;
+
+        private boolean closed;
+
+        public EncodingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureOpen();
+
+            remainder[remainderLength++] = (byte) b;
+
+            if (remainderLength == 3) {
+                writeRemainder();
             }
         }
 
-        byte[] packedData = new byte[bytesCopied];
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            ensureOpen();
+
+            if (remainderLength > 0) {
+                while (remainderLength < 3 && len > 0) {
+                    remainder[remainderLength++] = b[off++];
+                    len--;
+                }
+
+                if (remainderLength < 3) {
+                    return;
+                }
+
+                writeRemainder();
+            }
 
-        System.arraycopy(groomedData, 0, packedData, 0, bytesCopied);
+            while (len >= 3) {
+                int n = Math.min(len / 3, (buffer.length - position) / 4) * 3;
+
+                if (n == 0) {
+                    flushBuffer();
+                    continue;
+                }
+
+                position = encodeTriplets(b, off, off + n, buffer, position);
+                off += n;
+                len -= n;
+            }
+
+            System.arraycopy(b, off, remainder, 0, len);
+            remainderLength = len;
+        }
+
+        private void writeRemainder() throws IOException {
+            if (buffer.length - position < 4) {
+                flushBuffer();
+            }
+            position = encodeFinal(remainder, 0, remainderLength, buffer, position);
+            remainderLength = 0;
+        }
+
+        private void flushBuffer() throws IOException {
+            if (position > 0) {
+                out.write(buffer, 0, position);
+                position = 0;
+            }
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+        }
 
-        return packedData;
+        @Override
+        public void flush() throws IOException {
+            ensureOpen();
+            flushBuffer();
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+
+            try (out) {
+                if (remainderLength > 0) {
+                    writeRemainder();
+                }
+                flushBuffer();
+            }
+        }
     }
 
+    /**
+     * Base64 解码输入流
+     *
+     * @author maurice.chen
+     */
+    private static class DecodingInputStream extends InputStream {
+
+        private final InputStream in;
+
+        /**
+         * 读取到的 Base64 内容缓冲区
+         */
+        private final byte[] encoded = new byte[STREAMING_BUFFER_SIZE];
+
+        /**
+         * 解码后的内容缓冲区，需要容纳上一次读取剩余的 3 个字符
+         */
+        private final byte[] decoded = new byte[getMaxDecodedLength(STREAMING_BUFFER_SIZE + 3)];
+
+        private final byte[] single = new byte[1];
+
+        private int position;
+
+        private int limit;
+
+        /**
+         * 不足 4 个字符，等待下一次读取的值
+         */
+        private int bits;
+
+        /**
+         * 不足 4 个字符，等待下一次读取的字符数
+         */
+        private int count;
+
+        private boolean finished;
+
+        private boolean closed;
+
+        public DecodingInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            ensureOpen();
+
+            if (len == 0) {
+                return 0;
+            }
+
+            while (position == limit) {
+                if (finished) {
+                    return -1;
+                }
+                fill();
+            }
+
+            int n = Math.min(len, limit - position);
+            System.arraycopy(decoded, position, b, off, n);
+            position += n;
+
+            return n;
+        }
+
+        private void fill() throws IOException {
+            position = 0;
+            limit = 0;
+
+            int length = in.read(encoded);
+
+            if (length == -1) {
+                finish();
+                return;
+            }
+
+            int sp = 0;
+            while (sp < length) {
+
+                if (count == 0) {
+                    int consumed = decodeQuadruples(encoded, sp, length, decoded, limit);
+                    sp += consumed;
+                    limit += consumed / 4 * 3;
+
+                    if (sp == length) {
+                        break;
+                    }
+                }
+
+                int value = DECODE_TABLE[encoded[sp++] & 0xFF];
+
+                if (value == PADDING) {
+                    finish();
+                    return;
+                } else if (value == INVALID) {
+                    continue;
+                }
+
+                bits = bits << 6 | value;
+
+                if (++count == 4) {
+                    decoded[limit] = (byte) (bits >> 16);
+                    decoded[limit + 1] = (byte) (bits >> 8);
+                    decoded[limit + 2] = (byte) bits;
+                    limit += 3;
+                    bits = 0;
+                    count = 0;
+                }
+            }
+        }
+
+        private void finish() {
+            limit = decodeFinal(bits, count, decoded, limit);
+            bits = 0;
+            count = 0;
+            finished = true;
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+        }
+
+        @Override
+        public int available() throws IOException {
+            ensureOpen();
+            return limit - position;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                in.close();
+            }
+        }
+    }
 }
@@ -1,6 +1,8 @@
 
 package com.github.dactiv.framework.crypto.algorithm;
 
+import java.nio.ByteBuffer;
+
 /**
  * 字节原实体类，该类包装一个 byte 数组，提供额外的编码操作
  *
@@ -46,4 +48,28 @@ public interface ByteSource {
      * @return true 表示是，否则 false
      */
     boolean isEmpty();
+
+    /**
+     * 获取包装本字节原的只读 {@link ByteBuffer}，不会复制字节数组
+     *
+     * @return 只读的 ByteBuffer
+     */
+    default ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(obtainBytes()).asReadOnlyBuffer();
+    }
+
+    /**
+     * 将本字节原写入到指定的 {@link ByteBuffer}，可以是堆内或者直接内存
+     *
+     * @param target 目标 ByteBuffer
+     *
+     * @return 写入的字节数
+     *
+     * @throws java.nio.BufferOverflowException 当目标剩余空间不足时抛出
+     */
+    default int writeTo(ByteBuffer target) {
+        byte[] bytes = obtainBytes();
+        target.put(bytes);
+        return bytes.length;
+    }
 }
@@ -20,7 +20,7 @@ public class CodecUtils {
     /**
      * 默认的缓冲区大小
      */
-    private static final int DEFAULT_BUFFER_SIZE = 512;
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
 
     /**
      * 将 char 数组转型成字节数组
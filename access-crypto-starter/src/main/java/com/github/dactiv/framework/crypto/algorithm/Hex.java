@@ -1,9 +1,21 @@
-
 package com.github.dactiv.framework.crypto.algorithm;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
 /**
  * 16 进制工具类
  *
+ * <p>
+ * 编码和解码都通过查表完成，除了返回新数组的方法外，还可以编码、解码到调用方提供的数组中，
+ * 较大的内容可以通过 {@link #newEncodingOutputStream(OutputStream)} 和 {@link #newDecodingInputStream(InputStream)}
+ * 以流的方式处理。
+ * </p>
+ *
  * @author maurice
  */
 public class Hex {
@@ -16,6 +28,30 @@ public class Hex {
             '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'
     };
 
+    /**
+     * 以字节形式表示的 {@link #DIGITS}
+     */
+    private static final byte[] DIGIT_BYTES = new String(DIGITS).getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * 解码表，下标为 ASCII 字符，内容为对应的值，非 16 进制字符为 -1
+     */
+    private static final int[] DECODE_TABLE = new int[128];
+
+    /**
+     * 流方式处理时的缓冲区大小，必须是 2 的倍数
+     */
+    private static final int STREAMING_BUFFER_SIZE = 8192;
+
+    static {
+        Arrays.fill(DECODE_TABLE, -1);
+
+        for (int i = 0; i < DIGITS.length; i++) {
+            DECODE_TABLE[DIGITS[i]] = i;
+            DECODE_TABLE[Character.toUpperCase(DIGITS[i])] = i;
+        }
+    }
+
     /**
      * Encodes the specified byte array to a character array and then returns that character array
      * as a String.
@@ -25,8 +61,10 @@ public class Hex {
      * @return A String representation of the resultant hex-encoded char array.
      */
     public static String encodeToString(byte[] bytes) {
-        char[] encodedChars = encode(bytes);
-        return new String(encodedChars);
+        byte[] encoded = new byte[bytes.length << 1];
+        encode(bytes, 0, bytes.length, encoded, 0);
+        // 16 进制字符都是 ASCII 字符，使用 ISO-8859-1 构造字符串可以直接复制字节
+        return new String(encoded, StandardCharsets.ISO_8859_1);
     }
 
     /**
@@ -39,18 +77,63 @@ public class Hex {
      * @return A char[] containing hexadecimal characters
      */
     public static char[] encode(byte[] data) {
+        char[] out = new char[data.length << 1];
+        encode(data, 0, data.length, out, 0);
+        return out;
+    }
+
+    /**
+     * 将字节数组中的内容编码为 16 进制字符，写入调用方提供的数组中
+     *
+     * @param src       原始字节数组
+     * @param offset    原始字节数组的开始位置
+     * @param length    需要编码的长度
+     * @param dst       编码后的内容写入的数组
+     * @param dstOffset 写入的开始位置
+     *
+     * @return 写入的字节数
+     *
+     * @throws IllegalArgumentException dst 剩余空间不足时抛出
+     */
+    public static int encode(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        Objects.checkFromIndexSize(offset, length, src.length);
+        checkCapacity(dst.length, dstOffset, length << 1);
+
+        // two characters form the hex value.
+        for (int i = offset, j = dstOffset, end = offset + length; i < end; i++, j += 2) {
+            int b = src[i];
+            dst[j] = DIGIT_BYTES[(b >>> 4) & 0x0F];
+            dst[j + 1] = DIGIT_BYTES[b & 0x0F];
+        }
 
-        int l = data.length;
+        return length << 1;
+    }
 
-        char[] out = new char[l << 1];
+    /**
+     * 将字节数组中的内容编码为 16 进制字符，写入调用方提供的数组中
+     *
+     * @param src       原始字节数组
+     * @param offset    原始字节数组的开始位置
+     * @param length    需要编码的长度
+     * @param dst       编码后的内容写入的数组
+     * @param dstOffset 写入的开始位置
+     *
+     * @return 写入的字符数
+     *
+     * @throws IllegalArgumentException dst 剩余空间不足时抛出
+     */
+    public static int encode(byte[] src, int offset, int length, char[] dst, int dstOffset) {
+        Objects.checkFromIndexSize(offset, length, src.length);
+        checkCapacity(dst.length, dstOffset, length << 1);
 
         // two characters form the hex value.
-        for (int i = 0, j = 0; i < l; i++) {
-            out[j++] = DIGITS[(0xF0 & data[i]) >>> 4];
-            out[j++] = DIGITS[0x0F & data[i]];
+        for (int i = offset, j = dstOffset, end = offset + length; i < end; i++, j += 2) {
+            int b = src[i];
+            dst[j] = DIGITS[(b >>> 4) & 0x0F];
+            dst[j + 1] = DIGITS[b & 0x0F];
         }
 
-        return out;
+        return length << 1;
     }
 
     /**
@@ -70,21 +153,33 @@ public class Hex {
      * @see #decode(char[])
      */
     public static byte[] decode(byte[] array) throws IllegalArgumentException {
-        String s = CodecUtils.toString(array);
-        return decode(s);
+        checkEven(array.length);
+
+        byte[] out = new byte[array.length >> 1];
+        decode(array, 0, array.length, out, 0);
+
+        return out;
     }
 
     /**
-     * Converts the specified Hex-encoded String into a raw byte array.  This is a
-     * convenience method that merely delegates to {@link #decode(char[])} using the
-     * argument's hex.toCharArray() value.
+     * Converts the specified Hex-encoded String into a raw byte array.
      *
      * @param hex a Hex-encoded String.
      *
      * @return A byte array containing binary data decoded from the supplied String's char array.
      */
     public static byte[] decode(String hex) {
-        return decode(hex.toCharArray());
+        int len = hex.length();
+        checkEven(len);
+
+        byte[] out = new byte[len >> 1];
+
+        // two characters form the hex value.
+        for (int i = 0, j = 0; j < len; i++, j += 2) {
+            out[i] = toByte(hex.charAt(j), hex.charAt(j + 1), j);
+        }
+
+        return out;
     }
 
     /**
@@ -103,27 +198,80 @@ public class Hex {
      *                                  is supplied
      */
     public static byte[] decode(char[] data) throws IllegalArgumentException {
-
         int len = data.length;
-
-        if ((len & 0x01) != 0) {
-            throw new IllegalArgumentException("Odd number of characters.");
-        }
+        checkEven(len);
 
         byte[] out = new byte[len >> 1];
 
         // two characters form the hex value.
-        for (int i = 0, j = 0; j < len; i++) {
-            int f = toDigit(data[j], j) << 4;
-            j++;
-            f = f | toDigit(data[j], j);
-            j++;
-            out[i] = (byte) (f & 0xFF);
+        for (int i = 0, j = 0; j < len; i++, j += 2) {
+            out[i] = toByte(data[j], data[j + 1], j);
         }
 
         return out;
     }
 
+    /**
+     * 将 16 进制字符解码到调用方提供的数组中
+     *
+     * @param src       16 进制字符的字节数组
+     * @param offset    开始位置
+     * @param length    需要解码的长度，必须是 2 的倍数
+     * @param dst       解码后的内容写入的数组
+     * @param dstOffset 写入的开始位置
+     *
+     * @return 写入的字节数
+     *
+     * @throws IllegalArgumentException 长度为奇数、存在非 16 进制字符或 dst 剩余空间不足时抛出
+     */
+    public static int decode(byte[] src, int offset, int length, byte[] dst, int dstOffset) throws IllegalArgumentException {
+        Objects.checkFromIndexSize(offset, length, src.length);
+        checkEven(length);
+        checkCapacity(dst.length, dstOffset, length >> 1);
+
+        // two characters form the hex value.
+        for (int i = dstOffset, j = offset, end = offset + length; j < end; i++, j += 2) {
+            dst[i] = toByte((char) (src[j] & 0xFF), (char) (src[j + 1] & 0xFF), j - offset);
+        }
+
+        return length >> 1;
+    }
+
+    /**
+     * 将两个 16 进制字符转换为一个字节
+     *
+     * @param high  高 4 位字符
+     * @param low   低 4 位字符
+     * @param index 高 4 位字符在原内容中的位置
+     *
+     * @return 字节
+     *
+     * @throws IllegalArgumentException 存在非 16 进制字符时抛出
+     */
+    private static byte toByte(char high, char low, int index) throws IllegalArgumentException {
+        int h = digit(high);
+        int l = digit(low);
+
+        if ((h | l) < 0) {
+            // 通过 toDigit 得到具体出错的字符
+            toDigit(high, index);
+            toDigit(low, index + 1);
+        }
+
+        return (byte) (h << 4 | l);
+    }
+
+    /**
+     * 获取 16 进制字符对应的值
+     *
+     * @param ch 字符
+     *
+     * @return 对应的值，非 16 进制字符返回 -1
+     */
+    private static int digit(char ch) {
+        return ch < DECODE_TABLE.length ? DECODE_TABLE[ch] : -1;
+    }
+
     /**
      * Converts a hexadecimal character to an integer.
      *
@@ -135,12 +283,240 @@ public class Hex {
      * @throws IllegalArgumentException if ch is an illegal hex character
      */
     protected static int toDigit(char ch, int index) throws IllegalArgumentException {
-        int digit = Character.digit(ch, 16);
+        int digit = digit(ch);
         if (digit == -1) {
             throw new IllegalArgumentException("Illegal hexadecimal character " + ch + " at index " + index);
         }
         return digit;
     }
 
+    /**
+     * 校验长度是否为偶数
+     *
+     * @param length 长度
+     */
+    private static void checkEven(int length) {
+        if ((length & 0x01) != 0) {
+            throw new IllegalArgumentException("Odd number of characters.");
+        }
+    }
+
+    /**
+     * 校验数组剩余空间
+     *
+     * @param capacity 数组长度
+     * @param offset   开始位置
+     * @param length   需要的长度
+     */
+    private static void checkCapacity(int capacity, int offset, int length) {
+        if (offset < 0 || capacity - offset < length) {
+            throw new IllegalArgumentException("输出数组空间不足，需要 " + length + " 个元素，剩余 " + (capacity - offset) + " 个元素");
+        }
+    }
+
+    /**
+     * 创建一个以 16 进制字符写入内容的输出流，关闭时关闭 out
+     *
+     * @param out 编码后的内容写入的输出流
+     *
+     * @return 输出流
+     */
+    public static OutputStream newEncodingOutputStream(OutputStream out) {
+        return new EncodingOutputStream(Objects.requireNonNull(out));
+    }
+
+    /**
+     * 创建一个读取 16 进制字符并解码的输入流，关闭时关闭 in，读取到非 16 进制字符或者字符数为奇数时抛出 {@link IOException}
+     *
+     * @param in 16 进制字符的输入流
+     *
+     * @return 输入流
+     */
+    public static InputStream newDecodingInputStream(InputStream in) {
+        return new DecodingInputStream(Objects.requireNonNull(in));
+    }
+
+    /**
+     * 16 进制编码输出流
+     *
+     * @author maurice.chen
+     */
+    private static class EncodingOutputStream extends OutputStream {
+
+        private final OutputStream out;
+
+        /**
+         * 编码后的内容缓冲区
+         */
+        private final byte[] buffer = new byte[STREAMING_BUFFER_SIZE];
+
+        private int position;
+
+        private boolean closed;
+
+        public EncodingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureOpen();
+
+            if (buffer.length - position < 2) {
+                flushBuffer();
+            }
+
+            buffer[position] = DIGIT_BYTES[(b >>> 4) & 0x0F];
+            buffer[position + 1] = DIGIT_BYTES[b & 0x0F];
+            position += 2;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            ensureOpen();
 
+            while (len > 0) {
+                int n = Math.min(len, (buffer.length - position) >> 1);
+
+                if (n == 0) {
+                    flushBuffer();
+                    continue;
+                }
+
+                position += encode(b, off, n, buffer, position);
+                off += n;
+                len -= n;
+            }
+        }
+
+        private void flushBuffer() throws IOException {
+            if (position > 0) {
+                out.write(buffer, 0, position);
+                position = 0;
+            }
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            ensureOpen();
+            flushBuffer();
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+
+            try (out) {
+                flushBuffer();
+            }
+        }
+    }
+
+    /**
+     * 16 进制解码输入流
+     *
+     * @author maurice.chen
+     */
+    private static class DecodingInputStream extends InputStream {
+
+        private final InputStream in;
+
+        /**
+         * 读取到的 16 进制字符缓冲区
+         */
+        private final byte[] encoded = new byte[STREAMING_BUFFER_SIZE];
+
+        private final byte[] single = new byte[1];
+
+        /**
+         * 上一次读取剩余的高 4 位字符，没有时为 -1
+         */
+        private int pending = -1;
+
+        /**
+         * 已经读取的字符数，用于错误信息
+         */
+        private long index;
+
+        private boolean closed;
+
+        public DecodingInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            ensureOpen();
+
+            if (len == 0) {
+                return 0;
+            }
+
+            // 每个字节需要两个字符，最多读取 len * 2 个字符，不需要额外的解码缓冲区
+            int count = 0;
+
+            while (count == 0) {
+                int max = (int) Math.min(encoded.length, 2L * len - (pending >= 0 ? 1 : 0));
+                int length = in.read(encoded, 0, max);
+
+                if (length == -1) {
+                    if (pending >= 0) {
+                        throw new IOException("Odd number of characters.");
+                    }
+                    return -1;
+                }
+
+                for (int i = 0; i < length; i++) {
+                    int value = digit((char) (encoded[i] & 0xFF));
+
+                    if (value < 0) {
+                        throw new IOException("Illegal hexadecimal character " + (char) (encoded[i] & 0xFF) + " at index " + (index + i));
+                    }
+
+                    if (pending < 0) {
+                        pending = value;
+                    } else {
+                        b[off + count++] = (byte) (pending << 4 | value);
+                        pending = -1;
+                    }
+                }
+
+                index += length;
+            }
+
+            return count;
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                in.close();
+            }
+        }
+    }
 }
@@ -26,6 +26,15 @@ public interface RandomNumberGenerator {
      */
     ByteSource nextBytes(int numBytes);
 
+    /**
+     * 使用随机值填充字节数组
+     *
+     * @param bytes 需要填充的字节数组
+     */
+    default void nextBytes(byte[] bytes) {
+        getRandom().nextBytes(bytes);
+    }
+
     /**
      * 获取随机对象
      *
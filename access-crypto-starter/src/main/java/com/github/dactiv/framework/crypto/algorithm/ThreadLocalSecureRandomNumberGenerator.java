@@ -0,0 +1,272 @@
+package com.github.dactiv.framework.crypto.algorithm;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * 线程级别的 {@link SecureRandom} 随机数值生成器实现，用于生成向量值、随机数等高频使用的随机值
+ *
+ * <p>
+ * 每个线程持有一个只在创建时播种的 DRBG 实例，不需要在每次生成时创建新的 {@link SecureRandom}，并且线程之间不会竞争锁。
+ * 每次从 {@link SecureRandom} 批量预取 {@link #getPrefetchSize()} 个字节，生成的字节数超过 {@link #getReseedBytes()}
+ * 或者距离上一次播种超过 {@link #getReseedInterval()} 时重新播种。
+ * </p>
+ *
+ * <p>
+ * 由于每个线程使用自己创建的 {@link SecureRandom}，所以不继承 {@link SecureRandomNumberGenerator}，不支持设置 {@link SecureRandom}。
+ * </p>
+ *
+ * @author maurice.chen
+ */
+public class ThreadLocalSecureRandomNumberGenerator implements RandomNumberGenerator {
+
+    /**
+     * 默认的随机数算法名称
+     */
+    public static final String DEFAULT_ALGORITHM_NAME = "DRBG";
+
+    /**
+     * 默认的预取字节数
+     */
+    public static final int DEFAULT_PREFETCH_SIZE = 512;
+
+    /**
+     * 默认生成多少个字节后重新播种
+     */
+    public static final long DEFAULT_RESEED_BYTES = 1024 * 1024;
+
+    /**
+     * 默认重新播种的时间间隔
+     */
+    public static final Duration DEFAULT_RESEED_INTERVAL = Duration.ofMinutes(10);
+
+    /**
+     * 默认下个随机值的字节大小
+     */
+    public static final int DEFAULT_NEXT_BYTES_SIZE = 16;
+
+    /**
+     * 共享实例
+     */
+    private static final ThreadLocalSecureRandomNumberGenerator INSTANCE = new ThreadLocalSecureRandomNumberGenerator();
+
+    /**
+     * 预取字节数
+     */
+    private final int prefetchSize;
+
+    /**
+     * 生成多少个字节后重新播种
+     */
+    private final long reseedBytes;
+
+    /**
+     * 重新播种的时间间隔
+     */
+    private final Duration reseedInterval;
+
+    /**
+     * 线程状态
+     */
+    private final ThreadLocal<State> state = ThreadLocal.withInitial(State::new);
+
+    /**
+     * 线程级别的随机数值生成器实现
+     */
+    public ThreadLocalSecureRandomNumberGenerator() {
+        this(DEFAULT_PREFETCH_SIZE, DEFAULT_RESEED_BYTES, DEFAULT_RESEED_INTERVAL);
+    }
+
+    /**
+     * 线程级别的随机数值生成器实现
+     *
+     * @param prefetchSize   预取字节数
+     * @param reseedBytes    生成多少个字节后重新播种
+     * @param reseedInterval 重新播种的时间间隔
+     */
+    public ThreadLocalSecureRandomNumberGenerator(int prefetchSize, long reseedBytes, Duration reseedInterval) {
+        if (prefetchSize <= 0) {
+            throw new IllegalArgumentException("prefetchSize 参数必须大于 0");
+        }
+        this.prefetchSize = prefetchSize;
+        this.reseedBytes = reseedBytes;
+        this.reseedInterval = reseedInterval;
+    }
+
+    /**
+     * 获取共享实例
+     *
+     * @return 线程级别的随机数值生成器
+     */
+    public static ThreadLocalSecureRandomNumberGenerator getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public ByteSource nextBytes() {
+        return nextBytes(DEFAULT_NEXT_BYTES_SIZE);
+    }
+
+    @Override
+    public void nextBytes(byte[] bytes) {
+        state.get().nextBytes(bytes);
+    }
+
+    @Override
+    public ByteSource nextBytes(int numBytes) {
+        if (numBytes <= 0) {
+            throw new IllegalArgumentException("numBytes argument 参数必须大于 0");
+        }
+        byte[] bytes = new byte[numBytes];
+        nextBytes(bytes);
+        return new SimpleByteSource(bytes);
+    }
+
+    /**
+     * 获取当前线程的 {@link SecureRandom}
+     *
+     * @return 当前线程的 SecureRandom
+     */
+    @Override
+    public SecureRandom getRandom() {
+        return state.get().random;
+    }
+
+    /**
+     * 为当前线程的 {@link SecureRandom} 补充种子值
+     *
+     * @param bytes 种子值
+     */
+    public void setSeed(byte[] bytes) {
+        state.get().random.setSeed(bytes);
+    }
+
+    /**
+     * 获取预取字节数
+     *
+     * @return 预取字节数
+     */
+    public int getPrefetchSize() {
+        return prefetchSize;
+    }
+
+    /**
+     * 获取生成多少个字节后重新播种
+     *
+     * @return 字节数
+     */
+    public long getReseedBytes() {
+        return reseedBytes;
+    }
+
+    /**
+     * 获取重新播种的时间间隔
+     *
+     * @return 时间间隔
+     */
+    public Duration getReseedInterval() {
+        return reseedInterval;
+    }
+
+    /**
+     * 创建 {@link SecureRandom}, 优先使用 DRBG 算法
+     *
+     * @return SecureRandom
+     */
+    private static SecureRandom createSecureRandom() {
+        try {
+            return SecureRandom.getInstance(DEFAULT_ALGORITHM_NAME);
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+
+    /**
+     * 线程状态
+     *
+     * @author maurice.chen
+     */
+    private class State {
+
+        /**
+         * 当前线程的 SecureRandom
+         */
+        private final SecureRandom random = createSecureRandom();
+
+        /**
+         * 预取缓冲区
+         */
+        private final byte[] buffer = new byte[prefetchSize];
+
+        /**
+         * 缓冲区当前读取位置
+         */
+        private int position = buffer.length;
+
+        /**
+         * 上一次播种后生成的字节数
+         */
+        private long generated;
+
+        /**
+         * 上一次播种的时间
+         */
+        private long lastReseedTime = System.nanoTime();
+
+        /**
+         * 使用随机值填充字节数组
+         *
+         * @param bytes 需要填充的字节数组
+         */
+        private void nextBytes(byte[] bytes) {
+            // 超过缓冲区大小的请求直接生成
+            if (bytes.length > buffer.length) {
+                reseedIfNecessary(bytes.length);
+                random.nextBytes(bytes);
+                return;
+            }
+
+            int offset = 0;
+            while (offset < bytes.length) {
+                if (position == buffer.length) {
+                    reseedIfNecessary(buffer.length);
+                    random.nextBytes(buffer);
+                    position = 0;
+                }
+
+                int length = Math.min(bytes.length - offset, buffer.length - position);
+                System.arraycopy(buffer, position, bytes, offset, length);
+                // 已经取出的随机值不保留在缓冲区中
+                Arrays.fill(buffer, position, position + length, (byte) 0);
+
+                position += length;
+                offset += length;
+            }
+        }
+
+        /**
+         * 生成的字节数或者时间间隔达到阈值时重新播种
+         *
+         * @param length 本次生成的字节数
+         */
+        private void reseedIfNecessary(int length) {
+            generated += length;
+
+            long now = System.nanoTime();
+            if (generated < reseedBytes && now - lastReseedTime < reseedInterval.toNanos()) {
+                return;
+            }
+
+            try {
+                random.reseed();
+            } catch (UnsupportedOperationException e) {
+                random.setSeed(random.generateSeed(32));
+            }
+
+            generated = length;
+            lastReseedTime = now;
+        }
+    }
+}
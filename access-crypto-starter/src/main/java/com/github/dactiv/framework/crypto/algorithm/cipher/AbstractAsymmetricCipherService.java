@@ -4,7 +4,6 @@ package com.github.dactiv.framework.crypto.algorithm.cipher;
 
 import com.github.dactiv.framework.crypto.algorithm.ByteSource;
 import com.github.dactiv.framework.crypto.algorithm.RandomNumberGenerator;
-import com.github.dactiv.framework.crypto.algorithm.SecureRandomNumberGenerator;
 import com.github.dactiv.framework.crypto.algorithm.SimpleByteSource;
 import com.github.dactiv.framework.crypto.algorithm.exception.CryptoException;
 import com.github.dactiv.framework.crypto.algorithm.exception.UnknownAlgorithmException;
@@ -154,7 +153,7 @@ public abstract class AbstractAsymmetricCipherService extends AbstractBlockCiphe
     private void initSignSignature(Signature signature, byte[] key) {
         RandomNumberGenerator rng = getRandomNumberGenerator();
         try {
-            if (rng != null && SecureRandomNumberGenerator.class.isAssignableFrom(rng.getClass())) {
+            if (rng != null) {
                 SecureRandom secureRandom = rng.getRandom();
                 signature.initSign(getPrivateKey(key), secureRandom);
             } else {
@@ -264,6 +263,7 @@ public abstract class AbstractAsymmetricCipherService extends AbstractBlockCiphe
      * @param signatureAlgorithmName 算法名称
      */
     public void setSignatureAlgorithmName(String signatureAlgorithmName) {
+        assertNotFrozen();
         this.signatureAlgorithmName = signatureAlgorithmName;
     }
 
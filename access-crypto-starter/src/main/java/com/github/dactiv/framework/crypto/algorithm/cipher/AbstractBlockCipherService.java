@@ -2,6 +2,14 @@
 
 package com.github.dactiv.framework.crypto.algorithm.cipher;
 
+import com.github.dactiv.framework.crypto.algorithm.ByteSource;
+import com.github.dactiv.framework.crypto.algorithm.exception.CryptoException;
+
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.Set;
+
 /**
  * 块密码模型的抽象实现
  *
@@ -24,6 +32,26 @@ public abstract class AbstractBlockCipherService extends AbstractJcaCipherServic
      */
     public static final int DEFAULT_STREAMING_BLOCK_SIZE = 8;
 
+    /**
+     * GCM 模式推荐的随机数（向量值）大小
+     */
+    public static final int GCM_INITIALIZATION_VECTOR_SIZE = 96;
+
+    /**
+     * GCM 模式默认的认证标签长度
+     */
+    public static final int DEFAULT_AUTHENTICATION_TAG_LENGTH = 128;
+
+    /**
+     * GCM 模式支持的认证标签长度
+     */
+    private static final Set<Integer> SUPPORTED_AUTHENTICATION_TAG_LENGTHS = Set.of(96, 104, 112, 120, 128);
+
+    /**
+     * GCM 模式要求的块大小（位）
+     */
+    private static final int GCM_CIPHER_BLOCK_SIZE = 128;
+
     /**
      * 密码分组模式
      */
@@ -52,6 +80,16 @@ public abstract class AbstractBlockCipherService extends AbstractJcaCipherServic
      */
     private PaddingScheme streamingPaddingScheme;
 
+    /**
+     * 带认证的加密模式的认证标签长度
+     */
+    private int authenticationTagLength = DEFAULT_AUTHENTICATION_TAG_LENGTH;
+
+    /**
+     * 切换到 GCM 模式前的初始化向量大小，切换回其他模式时恢复，0 表示不需要恢复
+     */
+    private int initializationVectorSizeBeforeGcm;
+
     /**
      * 缓存转型字符串名称，如果发生变化是在重新缓存
      */
@@ -80,12 +118,22 @@ public abstract class AbstractBlockCipherService extends AbstractJcaCipherServic
     }
 
     /**
-     * 绑定以流形式加密解密的转换字符串
+     * 绑定以流形式加密解密的转换字符串，没有设置流的分组模型或填充方案时使用字节数组加解密的配置
      *
      * @return 字符串
      */
     private String buildStreamingTransformationString() {
-        return buildTransformationString(getMode(), getPaddingScheme(), 0);
+        PaddingScheme scheme = streamingPaddingScheme != null ? streamingPaddingScheme : getPaddingScheme();
+        return buildTransformationString(getEffectiveStreamingMode(), scheme, 0);
+    }
+
+    /**
+     * 获取以流加密解密实际使用的密码分组模型，没有设置时使用字节数组加解密的模型
+     *
+     * @return 模型
+     */
+    private OperationMode getEffectiveStreamingMode() {
+        return streamingMode != null ? streamingMode : getMode();
     }
 
     /**
@@ -105,6 +153,10 @@ public abstract class AbstractBlockCipherService extends AbstractJcaCipherServic
         if (blockSize > 0) {
             sb.append(blockSize);
         }
+        // GCM 模式只支持 NoPadding
+        if (OperationMode.GCM.equals(mode)) {
+            scheme = PaddingScheme.NONE;
+        }
         if (scheme != null) {
             sb.append(TRANSFORMATION_STRING_DELIMITER).append(scheme.getTransformationName());
         }
@@ -146,7 +198,7 @@ public abstract class AbstractBlockCipherService extends AbstractJcaCipherServic
     @Override
     protected byte[] generateInitializationVector(boolean streaming) {
         if (streaming) {
-            OperationMode streamingMode = getStreamingMode();
+            OperationMode streamingMode = getEffectiveStreamingMode();
             if (isModeInitializationVectorSupport(streamingMode)) {
                 String msg = "[流]-[" + streamingMode.name() + "]密码分组模式不支持初始化向量";
                 throw new IllegalStateException(msg);
@@ -154,13 +206,25 @@ public abstract class AbstractBlockCipherService extends AbstractJcaCipherServic
         } else {
             OperationMode mode = getMode();
             if (isModeInitializationVectorSupport(mode)) {
-                String msg = "[" + streamingMode.name() + "]密码分组模式不支持初始化向量";
+                String msg = "[" + mode.name() + "]密码分组模式不支持初始化向量";
                 throw new IllegalStateException(msg);
             }
         }
         return super.generateInitializationVector(streaming);
     }
 
+    /**
+     * 重写父类方法，按本次的密码分组模式获取向量值大小。setMode(GCM) 会将向量值大小改为 GCM 的 96 位，
+     * 当流模式不是 GCM 时，流加密解密仍使用切换到 GCM 前的向量值大小
+     */
+    @Override
+    protected int getInitializationVectorSize(boolean streaming) {
+        if (streaming && initializationVectorSizeBeforeGcm > 0 && !OperationMode.GCM.equals(getEffectiveStreamingMode())) {
+            return initializationVectorSizeBeforeGcm;
+        }
+        return super.getInitializationVectorSize(streaming);
+    }
+
     /**
      * 获取密码分组模型
      *
@@ -176,8 +240,102 @@ public abstract class AbstractBlockCipherService extends AbstractJcaCipherServic
      * @param mode 模型
      */
     public void setMode(OperationMode mode) {
+        assertNotFrozen();
+        if (OperationMode.GCM.equals(mode)) {
+            assertGcmSupported();
+            if (!isAuthenticatedMode()) {
+                initializationVectorSizeBeforeGcm = getInitializationVectorSize();
+            }
+            setInitializationVectorSize(GCM_INITIALIZATION_VECTOR_SIZE);
+        } else if (initializationVectorSizeBeforeGcm > 0) {
+            // 只在向量值大小没有被手动修改时恢复
+            if (getInitializationVectorSize() == GCM_INITIALIZATION_VECTOR_SIZE) {
+                setInitializationVectorSize(initializationVectorSizeBeforeGcm);
+            }
+            initializationVectorSizeBeforeGcm = 0;
+        }
+
         this.mode = mode;
         this.transformationString = null;
+        this.streamingTransformationString = null;
+    }
+
+    /**
+     * 断言当前算法支持 GCM 模式，GCM 模式只能用于块大小为 128 位的算法
+     */
+    private void assertGcmSupported() {
+        int blockSize = CipherPool.getCipher(getAlgorithmName()).getBlockSize() * Byte.SIZE;
+        if (blockSize != GCM_CIPHER_BLOCK_SIZE) {
+            String msg = "[" + getAlgorithmName() + "]算法的块大小为 " + blockSize + " 位，GCM 模式只支持块大小为 " + GCM_CIPHER_BLOCK_SIZE + " 位的算法";
+            throw new IllegalArgumentException(msg);
+        }
+    }
+
+    /**
+     * 是否使用带认证的加密模式
+     *
+     * @return true 为是，否则 false
+     */
+    public boolean isAuthenticatedMode() {
+        return OperationMode.GCM.equals(getMode());
+    }
+
+    @Override
+    protected AlgorithmParameterSpec getAlgorithmParameterSpec(byte[] iv) {
+        return getAlgorithmParameterSpec(iv, false);
+    }
+
+    @Override
+    protected AlgorithmParameterSpec getAlgorithmParameterSpec(byte[] iv, boolean streaming) {
+        OperationMode current = streaming ? getEffectiveStreamingMode() : getMode();
+        if (OperationMode.GCM.equals(current)) {
+            return new GCMParameterSpec(getAuthenticationTagLength(), iv);
+        }
+        return new IvParameterSpec(iv);
+    }
+
+    @Override
+    public ByteSource encryptWithAssociatedData(byte[] plainText, byte[] key, byte[] associatedData) throws CryptoException {
+        assertAuthenticatedMode();
+        return super.encryptWithAssociatedData(plainText, key, associatedData);
+    }
+
+    @Override
+    public ByteSource decryptWithAssociatedData(byte[] cipherText, byte[] key, byte[] associatedData) throws CryptoException {
+        assertAuthenticatedMode();
+        return super.decryptWithAssociatedData(cipherText, key, associatedData);
+    }
+
+    /**
+     * 断言当前使用带认证的加密模式
+     */
+    private void assertAuthenticatedMode() {
+        if (!isAuthenticatedMode()) {
+            throw new CryptoException("[" + getMode() + "]密码分组模式不支持附加认证数据");
+        }
+    }
+
+    /**
+     * 获取认证标签长度
+     *
+     * @return 认证标签长度（位）
+     */
+    public int getAuthenticationTagLength() {
+        return authenticationTagLength;
+    }
+
+    /**
+     * 设置认证标签长度，GCM 模式支持 96、104、112、120、128
+     *
+     * @param authenticationTagLength 认证标签长度（位）
+     */
+    public void setAuthenticationTagLength(int authenticationTagLength) {
+        assertNotFrozen();
+        if (!SUPPORTED_AUTHENTICATION_TAG_LENGTHS.contains(authenticationTagLength)) {
+            String msg = "认证标签长度必须为 96、104、112、120、128 其中之一，当前为 " + authenticationTagLength;
+            throw new IllegalArgumentException(msg);
+        }
+        this.authenticationTagLength = authenticationTagLength;
     }
 
     /**
@@ -195,6 +353,7 @@ public abstract class AbstractBlockCipherService extends AbstractJcaCipherServic
      * @param blockSize 块大小
      */
     public void setBlockSize(int blockSize) {
+        assertNotFrozen();
         this.blockSize = Math.max(DEFAULT_BLOCK_SIZE, blockSize);
         this.transformationString = null;
     }
@@ -214,8 +373,10 @@ public abstract class AbstractBlockCipherService extends AbstractJcaCipherServic
      * @param paddingScheme 填充方案
      */
     public void setPaddingScheme(PaddingScheme paddingScheme) {
+        assertNotFrozen();
         this.paddingScheme = paddingScheme;
         this.transformationString = null;
+        this.streamingTransformationString = null;
     }
 
     /**
@@ -233,6 +394,10 @@ public abstract class AbstractBlockCipherService extends AbstractJcaCipherServic
      * @param streamingMode 模型
      */
     public void setStreamingMode(OperationMode streamingMode) {
+        assertNotFrozen();
+        if (OperationMode.GCM.equals(streamingMode)) {
+            assertGcmSupported();
+        }
         this.streamingMode = streamingMode;
         this.streamingTransformationString = null;
     }
@@ -252,6 +417,7 @@ public abstract class AbstractBlockCipherService extends AbstractJcaCipherServic
      * @param streamingBlockSize 块大小
      */
     public void setStreamingBlockSize(int streamingBlockSize) {
+        assertNotFrozen();
         this.streamingBlockSize = Math.max(DEFAULT_STREAMING_BLOCK_SIZE, streamingBlockSize);
         this.streamingTransformationString = null;
     }
@@ -271,6 +437,7 @@ public abstract class AbstractBlockCipherService extends AbstractJcaCipherServic
      * @param streamingPaddingScheme 填充方案
      */
     public void setStreamingPaddingScheme(PaddingScheme streamingPaddingScheme) {
+        assertNotFrozen();
         this.streamingPaddingScheme = streamingPaddingScheme;
         this.streamingTransformationString = null;
     }
@@ -3,8 +3,8 @@ package com.github.dactiv.framework.crypto.algorithm.cipher;
 
 import com.github.dactiv.framework.crypto.algorithm.ByteSource;
 import com.github.dactiv.framework.crypto.algorithm.RandomNumberGenerator;
-import com.github.dactiv.framework.crypto.algorithm.SecureRandomNumberGenerator;
 import com.github.dactiv.framework.crypto.algorithm.SimpleByteSource;
+import com.github.dactiv.framework.crypto.algorithm.ThreadLocalSecureRandomNumberGenerator;
 import com.github.dactiv.framework.crypto.algorithm.exception.CryptoException;
 
 import javax.crypto.Cipher;
@@ -13,10 +13,13 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
 import java.security.Key;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.interfaces.RSAKey;
+import java.security.spec.AlgorithmParameterSpec;
 
 /**
  * java 远程加密解密规范的抽象实现
@@ -33,7 +36,7 @@ public abstract class AbstractJcaCipherService implements CipherService {
     /**
      * 默认的流缓存区大小
      */
-    public static final int DEFAULT_STREAMING_BUFFER_SIZE = 512;
+    public static final int DEFAULT_STREAMING_BUFFER_SIZE = 8192;
 
     /**
      * 初始化向量的背数值
@@ -65,6 +68,11 @@ public abstract class AbstractJcaCipherService implements CipherService {
      */
     private String algorithmName;
 
+    /**
+     * 是否已冻结配置，冻结后的实例可以被多个调用方共享，但不能再修改配置
+     */
+    private volatile boolean frozen;
+
     /**
      * 抽象的密码服务实现
      *
@@ -72,13 +80,66 @@ public abstract class AbstractJcaCipherService implements CipherService {
      */
     protected AbstractJcaCipherService(String algorithmName) {
         this.algorithmName = algorithmName;
-        SecureRandomNumberGenerator secureRandomNumberGenerator = new SecureRandomNumberGenerator();
-        secureRandomNumberGenerator.setSecureRandom(getDefaultSecureRandom());
-        randomNumberGenerator = secureRandomNumberGenerator;
+        this.randomNumberGenerator = ThreadLocalSecureRandomNumberGenerator.getInstance();
     }
 
     @Override
     public ByteSource decrypt(byte[] cipherText, byte[] key) throws CryptoException {
+        return decryptWithInitializationVector(cipherText, key, null);
+    }
+
+    /**
+     * 使用附加认证数据加密，仅用于带认证的加密模式，附加认证数据不会写入密文，但解密时必须提供相同的数据
+     *
+     * @param plainText      需要加密的内容
+     * @param key            密钥
+     * @param associatedData 附加认证数据
+     *
+     * @return 加密后的字节原
+     *
+     * @throws CryptoException 加密出错时抛出
+     */
+    protected ByteSource encryptWithAssociatedData(byte[] plainText, byte[] key, byte[] associatedData) throws CryptoException {
+        byte[] ivBytes = null;
+
+        if (isGenerateInitializationVectors()) {
+            ivBytes = generateInitializationVector(false);
+            if (ivBytes == null || ivBytes.length == 0) {
+                String msg = "生成的向量值为空";
+                throw new IllegalStateException(msg);
+            }
+        }
+
+        return encrypt(plainText, key, ivBytes, associatedData);
+    }
+
+    /**
+     * 使用附加认证数据解密，仅用于带认证的加密模式
+     *
+     * @param cipherText     需要解密的内容
+     * @param key            密钥
+     * @param associatedData 附加认证数据
+     *
+     * @return 解密后的字节原
+     *
+     * @throws CryptoException 解密出错或者认证失败时抛出
+     */
+    protected ByteSource decryptWithAssociatedData(byte[] cipherText, byte[] key, byte[] associatedData) throws CryptoException {
+        return decryptWithInitializationVector(cipherText, key, associatedData);
+    }
+
+    /**
+     * 从密文头部提取向量值后解密
+     *
+     * @param cipherText     需要解密的内容
+     * @param key            密钥
+     * @param associatedData 附加认证数据，为 null 时不使用
+     *
+     * @return 解密后的字节原
+     *
+     * @throws CryptoException 解密出错时抛出
+     */
+    private ByteSource decryptWithInitializationVector(byte[] cipherText, byte[] key, byte[] associatedData) throws CryptoException {
 
         byte[] encrypted = cipherText;
 
@@ -109,7 +170,7 @@ public abstract class AbstractJcaCipherService implements CipherService {
             }
         }
 
-        return decrypt(encrypted, key, iv);
+        return associatedData == null ? decrypt(encrypted, key, iv) : decrypt(encrypted, key, iv, associatedData);
     }
 
     /**
@@ -122,7 +183,21 @@ public abstract class AbstractJcaCipherService implements CipherService {
      * @return 解密后的字节原
      */
     protected ByteSource decrypt(byte[] cipherText, byte[] key, byte[] iv) {
-        byte[] decrypted = crypt(cipherText, key, iv, Cipher.DECRYPT_MODE);
+        return decrypt(cipherText, key, iv, null);
+    }
+
+    /**
+     * 解密
+     *
+     * @param cipherText     密文
+     * @param key            密钥
+     * @param iv             向量值
+     * @param associatedData 附加认证数据
+     *
+     * @return 解密后的字节原
+     */
+    protected ByteSource decrypt(byte[] cipherText, byte[] key, byte[] iv, byte[] associatedData) {
+        byte[] decrypted = crypt(cipherText, key, iv, associatedData, Cipher.DECRYPT_MODE);
         return decrypted == null ? null : new SimpleByteSource(decrypted);
     }
 
@@ -137,13 +212,13 @@ public abstract class AbstractJcaCipherService implements CipherService {
             // 方法参数（cipherText.length - N）中的剩余字节才是真实的密文
             // 因此，需要截断 iv 的 N 个长度后才能得到真正的密文
 
-            int ivSize = getInitializationVectorSize();
+            int ivSize = getInitializationVectorSize(true);
             int ivByteSize = ivSize / IV_MULTIPLE_VALUE;
             iv = new byte[ivByteSize];
             int read;
 
             try {
-                read = in.read(iv);
+                read = in.readNBytes(iv, 0, ivByteSize);
             } catch (IOException e) {
                 String msg = "从 input stream 无法正确提取初始化向量";
                 throw new CryptoException(msg, e);
@@ -233,19 +308,33 @@ public abstract class AbstractJcaCipherService implements CipherService {
      * @return 加密后的字节原
      */
     protected ByteSource encrypt(byte[] plaintext, byte[] key, byte[] iv) {
+        return encrypt(plaintext, key, iv, null);
+    }
+
+    /**
+     * 加密
+     *
+     * @param plaintext      需要加密的内容
+     * @param key            密钥
+     * @param iv             向量值
+     * @param associatedData 附加认证数据
+     *
+     * @return 加密后的字节原
+     */
+    protected ByteSource encrypt(byte[] plaintext, byte[] key, byte[] iv, byte[] associatedData) {
 
         byte[] output;
 
         if (iv != null && iv.length > 0) {
             // 加密
-            byte[] encrypted = crypt(plaintext, key, iv, Cipher.ENCRYPT_MODE);
+            byte[] encrypted = crypt(plaintext, key, iv, associatedData, Cipher.ENCRYPT_MODE);
             output = new byte[iv.length + encrypted.length];
 
             // 通过 iv + encrypted 复制到 output
             System.arraycopy(iv, 0, output, 0, iv.length);
             System.arraycopy(encrypted, 0, output, iv.length, encrypted.length);
         } else {
-            output = crypt(plaintext, key, iv, Cipher.ENCRYPT_MODE);
+            output = crypt(plaintext, key, iv, associatedData, Cipher.ENCRYPT_MODE);
         }
 
         return new SimpleByteSource(output);
@@ -259,7 +348,7 @@ public abstract class AbstractJcaCipherService implements CipherService {
      * @return 向量字节
      */
     protected byte[] generateInitializationVector(boolean streaming) {
-        int size = getInitializationVectorSize();
+        int size = getInitializationVectorSize(streaming);
         if (size <= 0) {
             throw new IllegalStateException("初始化向量值必须大于0");
         }
@@ -268,7 +357,7 @@ public abstract class AbstractJcaCipherService implements CipherService {
         }
         int sizeInBytes = size / IV_MULTIPLE_VALUE;
         byte[] ivBytes = new byte[sizeInBytes];
-        getDefaultSecureRandom().nextBytes(ivBytes);
+        getRandomNumberGenerator().nextBytes(ivBytes);
         return ivBytes;
     }
 
@@ -283,18 +372,123 @@ public abstract class AbstractJcaCipherService implements CipherService {
      * @return 加密或解密的字节数组
      */
     protected byte[] crypt(byte[] plaintext, byte[] key, byte[] iv, int mode) {
+        return crypt(plaintext, key, iv, null, mode);
+    }
+
+    /**
+     * 加密或解密
+     *
+     * @param plaintext      文本内容
+     * @param key            密钥
+     * @param iv             向量值
+     * @param associatedData 附加认证数据，为 null 时不使用
+     * @param mode           加密模型
+     *
+     * @return 加密或解密的字节数组
+     */
+    protected byte[] crypt(byte[] plaintext, byte[] key, byte[] iv, byte[] associatedData, int mode) {
 
         if (key == null || key.length == 0) {
             throw new IllegalArgumentException("key 参数不能为空");
         }
 
-        CipherInfo cipherInfo = initNewCipher(mode, key, iv, false);
+        // 借出线程缓存的 Cipher，加解密完成前同一个线程的嵌套调用会得到新的实例
+        Cipher cipher = CipherPool.borrowCipher(getCipherTransformation(false), null);
 
-        return crypt(cipherInfo, plaintext);
+        try {
+            CipherInfo cipherInfo = initNewCipher(mode, key, iv, cipher, false);
+
+            if (associatedData != null) {
+                cipherInfo.getCipher().updateAAD(associatedData);
+            }
+
+            return crypt(cipherInfo, plaintext);
+        } finally {
+            CipherPool.releaseCipher(cipher);
+        }
+    }
+
+    @Override
+    public int encrypt(ByteBuffer plainText, ByteBuffer output, byte[] key) throws CryptoException {
+        if (AbstractAsymmetricCipherService.class.isAssignableFrom(getClass())) {
+            return CipherService.super.encrypt(plainText, output, key);
+        }
+
+        byte[] iv = null;
+
+        if (isGenerateInitializationVectors()) {
+            iv = generateInitializationVector(false);
+        }
+
+        return crypt(plainText, output, key, iv, Cipher.ENCRYPT_MODE);
+    }
+
+    @Override
+    public int decrypt(ByteBuffer cipherText, ByteBuffer output, byte[] key) throws CryptoException {
+        if (AbstractAsymmetricCipherService.class.isAssignableFrom(getClass())) {
+            return CipherService.super.decrypt(cipherText, output, key);
+        }
+
+        byte[] iv = null;
+
+        if (isGenerateInitializationVectors()) {
+            int ivByteSize = getInitializationVectorSize() / IV_MULTIPLE_VALUE;
+            if (cipherText.remaining() < ivByteSize) {
+                throw new CryptoException("无法正确提取初始化向量或密文");
+            }
+            iv = new byte[ivByteSize];
+            cipherText.get(iv);
+        }
+
+        return crypt(cipherText, output, key, iv, Cipher.DECRYPT_MODE);
     }
 
     /**
-     * 加密或解密
+     * 加密或解密，直接在 ByteBuffer 之间执行 {@link Cipher#doFinal(ByteBuffer, ByteBuffer)}，不产生中间字节数组，
+     * 加密时先将向量值写入 output
+     *
+     * @param input  需要 cipher 的内容
+     * @param output cipher 之后的内容
+     * @param key    密钥
+     * @param iv     向量值
+     * @param mode   cipher 模型
+     *
+     * @return 写入 output 的字节数
+     */
+    private int crypt(ByteBuffer input, ByteBuffer output, byte[] key, byte[] iv, int mode) {
+
+        if (key == null || key.length == 0) {
+            throw new IllegalArgumentException("key 参数不能为空");
+        }
+
+        Cipher cipher = CipherPool.borrowCipher(getCipherTransformation(false), null);
+
+        try {
+            initNewCipher(mode, key, iv, cipher, false);
+
+            int header = Cipher.ENCRYPT_MODE == mode && iv != null ? iv.length : 0;
+            int outputSize = header + cipher.getOutputSize(input.remaining());
+
+            if (output.remaining() < outputSize) {
+                throw new CryptoException("output 剩余空间不足，需要 " + outputSize + " 个字节");
+            }
+
+            if (header > 0) {
+                output.put(iv);
+            }
+
+            return header + cipher.doFinal(input, output);
+        } catch (GeneralSecurityException e) {
+            String msg = "无法执行 " + Cipher.class.getName() + ".doFinal 方法";
+            throw new CryptoException(msg, e);
+        } finally {
+            CipherPool.releaseCipher(cipher);
+        }
+    }
+
+    /**
+     * 加密或解密，每次从输入流读取 {@link #getStreamingBufferSize()} 大小的内容，通过 {@link Cipher#update} 写入输出流，
+     * 内存占用与内容大小无关
      *
      * @param in   需要 cipher 的内容输入流
      * @param out  cipher 之后的内容输出流
@@ -313,23 +507,104 @@ public abstract class AbstractJcaCipherService implements CipherService {
             throw new NullPointerException("OutputStream 参数不能为 null.");
         }
 
-        try {
-            ByteArrayOutputStream byteArray = new ByteArrayOutputStream();
+        if (key == null || key.length == 0) {
+            throw new IllegalArgumentException("key 参数不能为空");
+        }
 
-            byte[] buffer = new byte[getStreamingBufferSize()];
+        // 由于流加解密期间需要一直占用 Cipher, 所以不使用线程缓存的实例
+        String transformationString = getCipherTransformation(true);
+        CipherInfo cipherInfo = initNewCipher(mode, key, iv, CipherPool.newCipher(transformationString, null), true);
 
-            int n;
-            while ((n = in.read(buffer, 0, buffer.length)) > 0) {
-                byteArray.write(buffer, 0, n);
+        try {
+            if (AbstractAsymmetricCipherService.class.isAssignableFrom(getClass())) {
+                cryptBlock(cipherInfo, in, out);
+            } else {
+                cryptStream(cipherInfo.getCipher(), in, out);
             }
-
-            byte[] plaintext = byteArray.toByteArray();
-            byte[] result = crypt(plaintext, key, iv, mode);
-
-            out.write(result, 0, result.length);
         } catch (IOException e) {
             throw new CryptoException(e);
+        } catch (GeneralSecurityException e) {
+            String msg = "无法执行 " + Cipher.class.getName() + ".doFinal 方法";
+            throw new CryptoException(msg, e);
+        }
+    }
+
+    /**
+     * 以流的方式加密或解密
+     *
+     * @param cipher 已初始化的 Cipher
+     * @param in     需要 cipher 的内容输入流
+     * @param out    cipher 之后的内容输出流
+     *
+     * @throws IOException              读写流错误时抛出
+     * @throws GeneralSecurityException 加密或解密错误时抛出
+     */
+    private void cryptStream(Cipher cipher, InputStream in, OutputStream out) throws IOException, GeneralSecurityException {
+        byte[] buffer = new byte[getStreamingBufferSize()];
+        byte[] output = new byte[cipher.getOutputSize(buffer.length)];
+
+        int n;
+        while ((n = in.read(buffer, 0, buffer.length)) != -1) {
+            output = ensureCapacity(output, cipher.getOutputSize(n));
+            int length = cipher.update(buffer, 0, n, output, 0);
+            out.write(output, 0, length);
+        }
+
+        output = ensureCapacity(output, cipher.getOutputSize(0));
+        int length = cipher.doFinal(output, 0);
+        out.write(output, 0, length);
+    }
+
+    /**
+     * 以流的方式分块加密或解密，用于非对称加密，每次读取一个块的内容执行 {@link Cipher#doFinal}
+     *
+     * @param cipherInfo 暗号信息类
+     * @param in         需要 cipher 的内容输入流
+     * @param out        cipher 之后的内容输出流
+     *
+     * @throws IOException              读写流错误时抛出
+     * @throws GeneralSecurityException 加密或解密错误时抛出
+     */
+    private void cryptBlock(CipherInfo cipherInfo, InputStream in, OutputStream out) throws IOException, GeneralSecurityException {
+        byte[] buffer = new byte[getAsymmetricBlockSize(cipherInfo)];
+
+        int n;
+        while ((n = in.readNBytes(buffer, 0, buffer.length)) > 0) {
+            out.write(cipherInfo.getCipher().doFinal(buffer, 0, n));
+        }
+    }
+
+    /**
+     * 确保输出缓冲区足够大
+     *
+     * @param output 输出缓冲区
+     * @param size   需要的大小
+     *
+     * @return 原缓冲区或者新的缓冲区
+     */
+    private static byte[] ensureCapacity(byte[] output, int size) {
+        return output.length >= size ? output : new byte[size];
+    }
+
+    /**
+     * 获取非对称加密的分块大小
+     *
+     * @param cipherInfo 暗号信息类
+     *
+     * @return 分块大小
+     */
+    private int getAsymmetricBlockSize(CipherInfo cipherInfo) {
+        RSAKey rsaPublicKey = (RSAKey) cipherInfo.getKey();
+        // 如果非对称加密，需要分段加解密，所以先求出分段开大小在做加解密
+        int blockSize = rsaPublicKey.getModulus().bitLength() / AbstractAsymmetricCipherService.DEFAULT_BLOCK_SIZE_MULTIPLE;
+
+        // 如果是加密，keySize <= 1024 时，需要使用128 - 11做块单位
+        if (Cipher.ENCRYPT_MODE == cipherInfo.getMode()) {
+            // 由于加密时，要求位数必须比明文长度少11位，这里直接减
+            blockSize = blockSize - AbstractAsymmetricCipherService.DEFAULT_ENCRYPT_ROUNDING_DIGIT;
         }
+
+        return blockSize;
     }
 
     /**
@@ -351,15 +626,7 @@ public abstract class AbstractJcaCipherService implements CipherService {
         try {
 
             if (AbstractAsymmetricCipherService.class.isAssignableFrom(getClass())) {
-                RSAKey rsaPublicKey = (RSAKey) cipherInfo.getKey();
-                // 如果非对称加密，需要分段加解密，所以先求出分段开大小在做加解密
-                int blockSize = rsaPublicKey.getModulus().bitLength() / AbstractAsymmetricCipherService.DEFAULT_BLOCK_SIZE_MULTIPLE;
-
-                // 如果是加密，keySize <= 1024 时，需要使用128 - 11做块单位
-                if (Cipher.ENCRYPT_MODE == cipherInfo.getMode()) {
-                    // 由于加密时，要求位数必须比明文长度少11位，这里直接减
-                    blockSize = blockSize - AbstractAsymmetricCipherService.DEFAULT_ENCRYPT_ROUNDING_DIGIT;
-                }
+                int blockSize = getAsymmetricBlockSize(cipherInfo);
 
                 // 循环做块的加解密，首次设置的offSet(偏移量)为0. 当文本内容小于 blockSize 时，
                 // 直接 doFinal 完成加解密即可，否则得出每次循环偏移量后，在通偏移量定位每次取值的范围。
@@ -387,29 +654,46 @@ public abstract class AbstractJcaCipherService implements CipherService {
     }
 
     /**
-     * 初始化一个新的 Cipher 实例
+     * 使用指定的 Cipher 初始化暗号信息
      *
-     * @param mode      创建模型
-     * @param key       密钥
-     * @param iv        向量值
+     * @param mode   创建模型
+     * @param key    密钥
+     * @param iv     向量值
+     * @param cipher 未初始化的 Cipher
      * @param streaming 是否为调用 encrypt(InputStream in, OutputStream out, byte[] encryptionKey) 方法
      *
-     * @return 一个新的 Cipher 实例
+     * @return 暗号信息
      */
-    private CipherInfo initNewCipher(int mode, byte[] key, byte[] iv, boolean streaming) {
-        String transformationString = getCipherTransformation(streaming);
-
+    private CipherInfo initNewCipher(int mode, byte[] key, byte[] iv, Cipher cipher, boolean streaming) {
         Key jdkKey = getCipherSecretKey(mode, key, getAlgorithmName());
         SecureRandom secureRandom = getRandomNumberGenerator().getRandom();
 
-        if (iv != null && iv.length > 0) {
-            IvParameterSpec ivSpec = new IvParameterSpec(iv);
-            return new CipherInfo(mode, transformationString, jdkKey, ivSpec, secureRandom);
-        }
+        AlgorithmParameterSpec parameterSpec = iv != null && iv.length > 0 ? getAlgorithmParameterSpec(iv, streaming) : null;
 
-        //initCipher(cipher, mode, jdkKey, ivSpec, getRandomNumberGenerator());
+        return new CipherInfo(cipher, mode, jdkKey, parameterSpec, secureRandom);
+    }
 
-        return new CipherInfo(mode, transformationString, jdkKey, secureRandom);
+    /**
+     * 获取初始化 Cipher 的算法参数规格
+     *
+     * @param iv 向量值
+     *
+     * @return 算法参数规格
+     */
+    protected AlgorithmParameterSpec getAlgorithmParameterSpec(byte[] iv) {
+        return new IvParameterSpec(iv);
+    }
+
+    /**
+     * 获取初始化 Cipher 的算法参数规格
+     *
+     * @param iv        向量值
+     * @param streaming 是否为调用 encrypt(InputStream in, OutputStream out, byte[] encryptionKey) 方法
+     *
+     * @return 算法参数规格
+     */
+    protected AlgorithmParameterSpec getAlgorithmParameterSpec(byte[] iv, boolean streaming) {
+        return getAlgorithmParameterSpec(iv);
     }
 
     /**
@@ -459,6 +743,7 @@ public abstract class AbstractJcaCipherService implements CipherService {
      * @param streamingBufferSize 缓冲区大小
      */
     public void setStreamingBufferSize(int streamingBufferSize) {
+        assertNotFrozen();
         this.streamingBufferSize = streamingBufferSize;
     }
 
@@ -477,6 +762,7 @@ public abstract class AbstractJcaCipherService implements CipherService {
      * @param keySize 密钥大小
      */
     public void setKeySize(int keySize) {
+        assertNotFrozen();
         this.keySize = keySize;
     }
 
@@ -489,17 +775,29 @@ public abstract class AbstractJcaCipherService implements CipherService {
         return initializationVectorSize;
     }
 
+    /**
+     * 获取本次加密解密实际使用的初始化向量值大小
+     *
+     * @param streaming 是否为流加密解密
+     *
+     * @return 向量值大小
+     */
+    protected int getInitializationVectorSize(boolean streaming) {
+        return getInitializationVectorSize();
+    }
+
     /**
      * 设置初始化的向量值大小
      *
      * @param initializationVectorSize 向量值大小
      */
     public void setInitializationVectorSize(int initializationVectorSize) {
+        assertNotFrozen();
         this.initializationVectorSize = initializationVectorSize;
     }
 
     /**
-     * 获取默认的随机生成器
+     * 获取默认的随机生成器，每次调用都会创建并播种新的实例，高频场景使用 {@link #getRandomNumberGenerator()}
      *
      * @return 随机生成器
      */
@@ -526,6 +824,7 @@ public abstract class AbstractJcaCipherService implements CipherService {
      * @param randomNumberGenerator 随机生成器
      */
     public void setRandomNumberGenerator(RandomNumberGenerator randomNumberGenerator) {
+        assertNotFrozen();
         this.randomNumberGenerator = randomNumberGenerator;
     }
 
@@ -544,6 +843,33 @@ public abstract class AbstractJcaCipherService implements CipherService {
      * @param algorithmName 算法名称
      */
     public void setAlgorithmName(String algorithmName) {
+        assertNotFrozen();
         this.algorithmName = algorithmName;
     }
+
+    /**
+     * 冻结配置，冻结后调用任何设置方法都会抛出 {@link IllegalStateException}
+     */
+    public void freeze() {
+        this.frozen = true;
+    }
+
+    /**
+     * 是否已冻结配置
+     *
+     * @return true 是，否则 false
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * 断言配置未被冻结
+     */
+    protected void assertNotFrozen() {
+        if (frozen) {
+            String msg = "[" + getAlgorithmName() + "]密码服务的配置已冻结，不能修改，如需修改配置请创建新的实例";
+            throw new IllegalStateException(msg);
+        }
+    }
 }
@@ -8,10 +8,16 @@ import javax.crypto.Cipher;
 import javax.crypto.spec.IvParameterSpec;
 import java.security.Key;
 import java.security.SecureRandom;
+import java.security.spec.AlgorithmParameterSpec;
 
 /**
  * 暗号信息类，用于在创建加解密暗号时，通过该类去明确当前暗号的参数信息
  *
+ * <p>
+ * 通过算法名称创建时使用 {@link CipherPool#newCipher(String, java.security.Provider)} 创建新的 {@link Cipher}，
+ * 暗号信息的生命周期由调用者控制，所以不使用线程缓存的实例，避免被同一个线程中的其他加解密重新 init。
+ * </p>
+ *
  * @author maurice
  */
 public class CipherInfo {
@@ -41,6 +47,11 @@ public class CipherInfo {
      */
     private IvParameterSpec ivParameterSpec;
 
+    /**
+     * 算法参数规格，如 {@link IvParameterSpec} 或 {@link javax.crypto.spec.GCMParameterSpec}
+     */
+    private AlgorithmParameterSpec parameterSpec;
+
     /**
      * 安全随机数
      */
@@ -91,28 +102,41 @@ public class CipherInfo {
      * @param secureRandom    安全随机数
      */
     public CipherInfo(int mode, String algorithmName, Key key, IvParameterSpec ivParameterSpec, SecureRandom secureRandom) {
+        this(CipherPool.newCipher(algorithmName, null), mode, key, ivParameterSpec, secureRandom);
+    }
+
+    /**
+     * 暗号信息类，使用指定的 Cipher 而不是 {@link CipherPool} 中缓存的实例
+     *
+     * @param cipher        暗号
+     * @param mode          暗号模型
+     * @param key           密钥
+     * @param parameterSpec 算法参数规格
+     * @param secureRandom  安全随机数
+     */
+    public CipherInfo(Cipher cipher, int mode, Key key, AlgorithmParameterSpec parameterSpec, SecureRandom secureRandom) {
 
         this.key = key;
-        this.ivParameterSpec = ivParameterSpec;
+        this.parameterSpec = parameterSpec;
+        this.ivParameterSpec = parameterSpec instanceof IvParameterSpec ivSpec ? ivSpec : null;
         this.secureRandom = secureRandom;
         this.mode = mode;
-        this.algorithmName = algorithmName;
+        this.algorithmName = cipher.getAlgorithm();
+        this.cipher = cipher;
 
         try {
 
-            this.cipher = Cipher.getInstance(algorithmName);
-
             if (secureRandom != null) {
 
-                if (ivParameterSpec != null) {
-                    cipher.init(mode, key, ivParameterSpec, secureRandom);
+                if (parameterSpec != null) {
+                    cipher.init(mode, key, parameterSpec, secureRandom);
                 } else {
                     cipher.init(mode, key, secureRandom);
                 }
 
             } else {
-                if (ivParameterSpec != null) {
-                    cipher.init(mode, key, ivParameterSpec);
+                if (parameterSpec != null) {
+                    cipher.init(mode, key, parameterSpec);
                 } else {
                     cipher.init(mode, key);
                 }
@@ -177,6 +201,15 @@ public class CipherInfo {
         this.ivParameterSpec = ivParameterSpec;
     }
 
+    /**
+     * 获取算法参数规格
+     *
+     * @return 算法参数规格
+     */
+    public AlgorithmParameterSpec getParameterSpec() {
+        return parameterSpec;
+    }
+
     /**
      * 获取安全随机数
      *
@@ -0,0 +1,175 @@
+package com.github.dactiv.framework.crypto.algorithm.cipher;
+
+import com.github.dactiv.framework.crypto.algorithm.exception.CryptoException;
+
+import javax.crypto.Cipher;
+import java.security.GeneralSecurityException;
+import java.security.Provider;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 线程级别的 {@link Cipher} 缓存池
+ *
+ * <p>
+ * {@link Cipher#getInstance(String)} 每次都需要查找提供者并创建新的实例，由于 {@link Cipher} 不是线程安全的，
+ * 所以按线程缓存，同一个线程使用相同的转型名称和提供者时复用同一个实例，使用前重新 init 即可。
+ * </p>
+ *
+ * <p>
+ * 通过 {@link #borrowCipher(String, Provider)} 借出的实例在 {@link #releaseCipher(Cipher)} 归还之前标记为使用中，
+ * 同一个线程嵌套或交替使用相同的转型名称时（如在获取密钥的过程中再次加解密）会得到一个新的实例，不会重新 init 正在使用的 Cipher。
+ * </p>
+ *
+ * @author maurice.chen
+ */
+public final class CipherPool {
+
+    /**
+     * 每个线程最多缓存的 Cipher 数量，超过时不再缓存
+     */
+    public static final int MAX_CACHE_SIZE_PER_THREAD = 32;
+
+    /**
+     * 线程缓存，key 为转型名称和提供者名称
+     */
+    private static final ThreadLocal<Map<String, PooledCipher>> CACHE = ThreadLocal.withInitial(HashMap::new);
+
+    private CipherPool() {
+    }
+
+    /**
+     * 获取当前线程缓存的 Cipher，如果不存在创建一个新的实例
+     *
+     * @param transformation 转型名称
+     *
+     * @return 未初始化或者上一次初始化的 Cipher，使用前必须重新 init
+     */
+    public static Cipher getCipher(String transformation) {
+        return getCipher(transformation, null);
+    }
+
+    /**
+     * 获取当前线程缓存的 Cipher，如果不存在创建一个新的实例，如果缓存的实例已经被借出，返回一个新的实例
+     *
+     * <p>
+     * 该方法不会标记实例为使用中，需要在使用期间防止被同一个线程的其他调用重新 init 时，
+     * 使用 {@link #borrowCipher(String, Provider)} 和 {@link #releaseCipher(Cipher)}。
+     * </p>
+     *
+     * @param transformation 转型名称
+     * @param provider       提供者，为 null 时使用默认的提供者
+     *
+     * @return 未初始化或者上一次初始化的 Cipher，使用前必须重新 init
+     */
+    public static Cipher getCipher(String transformation, Provider provider) {
+        PooledCipher pooled = getPooledCipher(transformation, provider);
+
+        if (Objects.isNull(pooled) || pooled.borrowed) {
+            return newCipher(transformation, provider);
+        }
+
+        return pooled.cipher;
+    }
+
+    /**
+     * 借出当前线程缓存的 Cipher，使用完成后必须调用 {@link #releaseCipher(Cipher)} 归还
+     *
+     * @param transformation 转型名称
+     * @param provider       提供者，为 null 时使用默认的提供者
+     *
+     * @return 未初始化或者上一次初始化的 Cipher，缓存的实例已经被借出或者缓存已满时返回一个新的实例
+     */
+    public static Cipher borrowCipher(String transformation, Provider provider) {
+        PooledCipher pooled = getPooledCipher(transformation, provider);
+
+        if (Objects.isNull(pooled) || pooled.borrowed) {
+            return newCipher(transformation, provider);
+        }
+
+        pooled.borrowed = true;
+        return pooled.cipher;
+    }
+
+    /**
+     * 归还通过 {@link #borrowCipher(String, Provider)} 借出的 Cipher，不是当前线程缓存的实例时忽略
+     *
+     * @param cipher 借出的 Cipher
+     */
+    public static void releaseCipher(Cipher cipher) {
+        for (PooledCipher pooled : CACHE.get().values()) {
+            if (pooled.cipher == cipher) {
+                pooled.borrowed = false;
+                return;
+            }
+        }
+    }
+
+    /**
+     * 获取当前线程缓存的 Cipher 实例，如果不存在并且缓存未满，创建一个新的实例并缓存
+     *
+     * @param transformation 转型名称
+     * @param provider       提供者，为 null 时使用默认的提供者
+     *
+     * @return 缓存的 Cipher 实例，缓存已满时返回 null
+     */
+    private static PooledCipher getPooledCipher(String transformation, Provider provider) {
+        String key = Objects.isNull(provider) ? transformation : transformation + "@" + provider.getName();
+
+        Map<String, PooledCipher> cache = CACHE.get();
+        PooledCipher pooled = cache.get(key);
+
+        if (Objects.isNull(pooled) && cache.size() < MAX_CACHE_SIZE_PER_THREAD) {
+            pooled = new PooledCipher(newCipher(transformation, provider));
+            cache.put(key, pooled);
+        }
+
+        return pooled;
+    }
+
+    /**
+     * 创建一个不缓存的 Cipher，用于需要长时间占用 Cipher 的场景，如流加解密
+     *
+     * @param transformation 转型名称
+     * @param provider       提供者，为 null 时使用默认的提供者
+     *
+     * @return 新的 Cipher
+     */
+    public static Cipher newCipher(String transformation, Provider provider) {
+        try {
+            return Objects.isNull(provider) ? Cipher.getInstance(transformation) : Cipher.getInstance(transformation, provider);
+        } catch (GeneralSecurityException e) {
+            throw new CryptoException("无法创建 [" + transformation + "] 的 Cipher", e);
+        }
+    }
+
+    /**
+     * 清除当前线程缓存的 Cipher
+     */
+    public static void clear() {
+        CACHE.remove();
+    }
+
+    /**
+     * 缓存的 Cipher 实例
+     *
+     * @author maurice.chen
+     */
+    private static class PooledCipher {
+
+        /**
+         * Cipher 实例
+         */
+        private final Cipher cipher;
+
+        /**
+         * 是否已经被借出
+         */
+        private boolean borrowed;
+
+        public PooledCipher(Cipher cipher) {
+            this.cipher = cipher;
+        }
+    }
+}
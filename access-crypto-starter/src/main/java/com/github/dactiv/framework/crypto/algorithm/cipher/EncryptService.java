@@ -7,6 +7,7 @@ import com.github.dactiv.framework.crypto.algorithm.exception.CryptoException;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 /**
  * 加密服务
@@ -37,4 +38,25 @@ public interface EncryptService {
      * @throws CryptoException 加密出错时抛出
      */
     void encrypt(InputStream in, OutputStream out, byte[] key) throws CryptoException;
+
+    /**
+     * 加密内容，从 plainText 的 position 读取到 limit，将密文写入 output 的 position
+     *
+     * @param plainText 需要加密的内容
+     * @param output    存放密文的缓冲区，可以是堆内或者直接内存
+     * @param key       密钥
+     *
+     * @return 写入 output 的字节数
+     *
+     * @throws CryptoException 加密出错或 output 剩余空间不足时抛出
+     */
+    default int encrypt(ByteBuffer plainText, ByteBuffer output, byte[] key) throws CryptoException {
+        byte[] bytes = new byte[plainText.remaining()];
+        plainText.get(bytes);
+        ByteSource source = encrypt(bytes, key);
+        if (output.remaining() < source.obtainBytes().length) {
+            throw new CryptoException("output 剩余空间不足，需要 " + source.obtainBytes().length + " 个字节");
+        }
+        return source.writeTo(output);
+    }
 }
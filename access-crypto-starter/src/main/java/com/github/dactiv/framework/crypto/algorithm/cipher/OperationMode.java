@@ -28,6 +28,11 @@ public enum OperationMode {
      */
     ECB,
 
+    /**
+     * Galois/Counter Mode 模式，带认证的加密模式，同时提供加密和完整性校验，需要使用 NoPadding 填充
+     */
+    GCM,
+
     /**
      * No Mode ，JDK 的标准分组密码模式，该模式被 JDK 支持所有运行环境
      */
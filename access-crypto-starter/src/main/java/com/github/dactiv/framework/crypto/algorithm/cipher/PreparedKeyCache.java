@@ -0,0 +1,145 @@
+package com.github.dactiv.framework.crypto.algorithm.cipher;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.dactiv.framework.crypto.algorithm.exception.UnknownAlgorithmException;
+
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+/**
+ * 已解析密钥的缓存，用于避免每次加解密都通过 {@link java.security.KeyFactory} 重新解析密钥
+ *
+ * <p>
+ * 缓存 key 为密钥类型和密钥字节 SHA-256 摘要，不保存原始的密钥字节。缓存数量达到 {@link #getMaxSize()} 后按照访问频率和最近使用情况淘汰旧的密钥，
+ * 保证经常使用的密钥一直在缓存中。
+ * </p>
+ *
+ * @author maurice.chen
+ */
+public class PreparedKeyCache {
+
+    /**
+     * 默认最大缓存数量
+     */
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    /**
+     * 摘要算法名称
+     */
+    private static final String DIGEST_ALGORITHM_NAME = "SHA-256";
+
+    /**
+     * 共享实例
+     */
+    private static final PreparedKeyCache INSTANCE = new PreparedKeyCache(DEFAULT_MAX_SIZE);
+
+    /**
+     * 线程级别的摘要实例
+     */
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM_NAME);
+        } catch (NoSuchAlgorithmException e) {
+            throw new UnknownAlgorithmException("当前环境不能支持 " + DIGEST_ALGORITHM_NAME + " 算法", e);
+        }
+    });
+
+    /**
+     * 密钥缓存
+     */
+    private final Cache<String, Key> cache;
+
+    /**
+     * 最大缓存数量
+     */
+    private final int maxSize;
+
+    /**
+     * 已解析密钥的缓存
+     *
+     * @param maxSize 最大缓存数量
+     */
+    public PreparedKeyCache(int maxSize) {
+        this.maxSize = maxSize;
+        // 在调用线程中同步淘汰，保证缓存数量不会超过最大值
+        this.cache = Caffeine.newBuilder().maximumSize(maxSize).executor(Runnable::run).build();
+    }
+
+    /**
+     * 获取共享实例
+     *
+     * @return 已解析密钥的缓存
+     */
+    public static PreparedKeyCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 获取已解析的密钥，如果不存在，通过 factory 解析并缓存
+     *
+     * @param type    密钥类型，如: RSA:public
+     * @param encoded 密钥字节
+     * @param factory 密钥解析函数
+     * @param <K>     密钥类型
+     *
+     * @return 密钥
+     */
+    @SuppressWarnings("unchecked")
+    public <K extends Key> K get(String type, byte[] encoded, Function<byte[], K> factory) {
+        String cacheKey = getCacheKey(type, encoded);
+
+        Key key = cache.getIfPresent(cacheKey);
+        if (key != null) {
+            return (K) key;
+        }
+
+        K result = factory.apply(encoded);
+        if (result != null) {
+            cache.asMap().putIfAbsent(cacheKey, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * 获取缓存 key
+     *
+     * @param type    密钥类型
+     * @param encoded 密钥字节
+     *
+     * @return 缓存 key
+     */
+    private static String getCacheKey(String type, byte[] encoded) {
+        return type + ":" + HexFormat.of().formatHex(DIGEST.get().digest(encoded));
+    }
+
+    /**
+     * 清除所有缓存
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 获取当前缓存数量
+     *
+     * @return 缓存数量
+     */
+    public int size() {
+        cache.cleanUp();
+        return (int) cache.estimatedSize();
+    }
+
+    /**
+     * 获取最大缓存数量
+     *
+     * @return 最大缓存数量
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+}
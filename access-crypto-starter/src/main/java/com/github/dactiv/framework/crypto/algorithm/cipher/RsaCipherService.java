@@ -2,8 +2,11 @@
 
 package com.github.dactiv.framework.crypto.algorithm.cipher;
 
+import com.github.dactiv.framework.crypto.algorithm.ByteSource;
+import com.github.dactiv.framework.crypto.algorithm.SimpleByteSource;
 import com.github.dactiv.framework.crypto.algorithm.exception.CryptoException;
 
+import java.nio.ByteBuffer;
 import java.security.KeyFactory;
 import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
@@ -11,6 +14,7 @@ import java.security.PublicKey;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
 import java.util.Arrays;
+import java.util.Set;
 
 /**
  * RSA 非对称加密实现
@@ -19,7 +23,37 @@ import java.util.Arrays;
  */
 public class RsaCipherService extends AbstractAsymmetricCipherService {
 
-    private KeyFactory keyFactory;
+    /**
+     * 数字信封格式版本号
+     */
+    public static final byte ENVELOPE_VERSION = 1;
+
+    /**
+     * 默认数字信封的对称密钥大小
+     */
+    public static final int DEFAULT_ENVELOPE_KEY_SIZE = 128;
+
+    /**
+     * 数字信封支持的对称密钥大小
+     */
+    private static final Set<Integer> SUPPORTED_ENVELOPE_KEY_SIZES = Set.of(128, 192, 256);
+
+    /**
+     * 数字信封头部大小，1 个字节版本号 + 2 个字节的加密密钥长度
+     */
+    private static final int ENVELOPE_HEADER_SIZE = 3;
+
+    private volatile KeyFactory keyFactory;
+
+    /**
+     * 数字信封的对称加密服务
+     */
+    private final AesCipherService envelopeCipherService = new AesCipherService();
+
+    /**
+     * 数字信封的对称密钥大小
+     */
+    private int envelopeKeySize = DEFAULT_ENVELOPE_KEY_SIZE;
 
     /**
      * RSA 非对称加密实现
@@ -38,10 +72,125 @@ public class RsaCipherService extends AbstractAsymmetricCipherService {
 
         setStreamingMode(OperationMode.ECB);
         setStreamingPaddingScheme(PaddingScheme.PKCS1);
+
+        envelopeCipherService.setMode(OperationMode.GCM);
+    }
+
+    /**
+     * 以数字信封的方式加密，每次生成随机的 AES 密钥，使用 AES-GCM 加密内容，只使用 RSA 加密 AES 密钥，
+     * 适用于较大的内容。
+     *
+     * <p>
+     * 密文格式为: 1 个字节版本号 + 2 个字节加密密钥长度 + RSA 加密的 AES 密钥 + AES-GCM 密文(随机数 + 密文 + 认证标签)
+     * </p>
+     *
+     * @param plainText 需要加密的内容
+     * @param key       公共密钥
+     *
+     * @return 数字信封密文
+     *
+     * @throws CryptoException 加密出错时抛出
+     */
+    public ByteSource encryptEnvelope(byte[] plainText, byte[] key) throws CryptoException {
+        byte[] contentKey = new byte[getEnvelopeKeySize() / IV_MULTIPLE_VALUE];
+        getRandomNumberGenerator().nextBytes(contentKey);
+
+        try {
+            byte[] encryptedKey = encrypt(contentKey, key).obtainBytes();
+            byte[] content = envelopeCipherService.encrypt(plainText, contentKey).obtainBytes();
+
+            ByteBuffer buffer = ByteBuffer.allocate(ENVELOPE_HEADER_SIZE + encryptedKey.length + content.length);
+            buffer.put(ENVELOPE_VERSION).putShort((short) encryptedKey.length).put(encryptedKey).put(content);
+
+            return new SimpleByteSource(buffer.array());
+        } finally {
+            Arrays.fill(contentKey, (byte) 0);
+        }
+    }
+
+    /**
+     * 解密数字信封
+     *
+     * @param cipherText 数字信封密文
+     * @param key        私有密钥
+     *
+     * @return 解密后的内容
+     *
+     * @throws CryptoException 解密出错、格式错误或者内容被篡改时抛出
+     */
+    public ByteSource decryptEnvelope(byte[] cipherText, byte[] key) throws CryptoException {
+        if (cipherText == null || cipherText.length < ENVELOPE_HEADER_SIZE) {
+            throw new CryptoException("数字信封格式不正确");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(cipherText);
+
+        byte version = buffer.get();
+        if (version != ENVELOPE_VERSION) {
+            throw new CryptoException("不支持的数字信封版本:" + version);
+        }
+
+        int encryptedKeyLength = Short.toUnsignedInt(buffer.getShort());
+        if (encryptedKeyLength > buffer.remaining()) {
+            throw new CryptoException("数字信封格式不正确");
+        }
+
+        byte[] encryptedKey = new byte[encryptedKeyLength];
+        buffer.get(encryptedKey);
+
+        byte[] content = new byte[buffer.remaining()];
+        buffer.get(content);
+
+        byte[] contentKey = decrypt(encryptedKey, key).obtainBytes();
+
+        try {
+            return envelopeCipherService.decrypt(content, contentKey);
+        } finally {
+            Arrays.fill(contentKey, (byte) 0);
+        }
+    }
+
+    /**
+     * 获取数字信封的对称密钥大小
+     *
+     * @return 对称密钥大小
+     */
+    public int getEnvelopeKeySize() {
+        return envelopeKeySize;
+    }
+
+    /**
+     * 设置数字信封的对称密钥大小，支持 128、192、256
+     *
+     * @param envelopeKeySize 对称密钥大小
+     */
+    public void setEnvelopeKeySize(int envelopeKeySize) {
+        assertNotFrozen();
+        if (!SUPPORTED_ENVELOPE_KEY_SIZES.contains(envelopeKeySize)) {
+            String msg = "数字信封的对称密钥大小必须为 128、192、256 其中之一，当前为 " + envelopeKeySize;
+            throw new IllegalArgumentException(msg);
+        }
+        this.envelopeKeySize = envelopeKeySize;
     }
 
     @Override
     protected PrivateKey getPrivateKey(byte[] key) {
+        return PreparedKeyCache.getInstance().get(getAlgorithmName() + ":private", key, this::generatePrivateKey);
+    }
+
+    @Override
+    protected PublicKey getPublicKey(byte[] key) {
+        return PreparedKeyCache.getInstance().get(getAlgorithmName() + ":public", key, this::generatePublicKey);
+    }
+
+    /**
+     * 解析私有密钥
+     *
+     * @param key 密钥字节数组
+     *
+     * @return 私有密钥
+     */
+    private PrivateKey generatePrivateKey(byte[] key) {
         try {
             PKCS8EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(key);
             return getKeyFactory().generatePrivate(keySpec);
@@ -51,8 +200,14 @@ public class RsaCipherService extends AbstractAsymmetricCipherService {
         }
     }
 
-    @Override
-    protected PublicKey getPublicKey(byte[] key) {
+    /**
+     * 解析公共密钥
+     *
+     * @param key 密钥字节数组
+     *
+     * @return 公共密钥
+     */
+    private PublicKey generatePublicKey(byte[] key) {
         try {
             X509EncodedKeySpec keySpec = new X509EncodedKeySpec(key);
             return getKeyFactory().generatePublic(keySpec);
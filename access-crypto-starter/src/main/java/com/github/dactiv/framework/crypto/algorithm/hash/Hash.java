@@ -8,15 +8,28 @@ import com.github.dactiv.framework.crypto.algorithm.SimpleByteSource;
 import com.github.dactiv.framework.crypto.algorithm.exception.CodecException;
 import com.github.dactiv.framework.crypto.algorithm.exception.UnknownAlgorithmException;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serial;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * hash 类，该类对对象类型 byte[]、{@link ByteSource} char[]、String、File、InputStream 支持 hash 计算，
  * 算法使用{@link MessageDigest} 所支持的 hash 算法，
+ * <p>
+ * InputStream、File、{@link Path}、{@link FileChannel}、{@link ByteBuffer} 类型的内容以流的方式计算，不会一次读取到内存中，
+ * 较大的文件通过内存映射计算。
+ * </p>
  *
  * <pre>
  *     例子:
@@ -41,6 +54,26 @@ public class Hash extends AbstractByteSource implements Serializable {
      */
     private static final int DEFAULT_ITERATIONS = 1;
 
+    /**
+     * 流方式计算时的缓冲区大小
+     */
+    public static final int STREAMING_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 文件大小超过该值时使用内存映射计算
+     */
+    public static final long MAPPED_THRESHOLD = 1024 * 1024;
+
+    /**
+     * 每次内存映射的区域大小
+     */
+    public static final long MAPPED_REGION_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * 按算法名称缓存的 {@link MessageDigest} 原型，使用时克隆一个新的实例
+     */
+    private static final Map<String, MessageDigest> DIGEST_PROTOTYPES = new ConcurrentHashMap<>();
+
     /**
      * 算法名称
      */
@@ -101,8 +134,68 @@ public class Hash extends AbstractByteSource implements Serializable {
             saltBytes = new SimpleByteSource(CodecUtils.toBytes(salt));
             this.salt = saltBytes;
         }
-        ByteSource sourceBytes = new SimpleByteSource(CodecUtils.toBytes(source));
-        this.bytes = hash(sourceBytes, saltBytes, hashIterations);
+        this.bytes = hashSource(source, saltBytes, hashIterations);
+    }
+
+    /**
+     * hash 得到一个字节数组，流、文件等类型的内容以流的方式计算
+     *
+     * @param source         需要 hash 的原
+     * @param salt           盐值
+     * @param hashIterations hash 迭代次数
+     *
+     * @return hash 后的字节数组
+     */
+    private byte[] hashSource(Object source, ByteSource salt, int hashIterations) {
+        byte[] saltBytes = salt != null ? salt.obtainBytes() : null;
+
+        try {
+            if (source instanceof ByteBuffer buffer) {
+                return hash(buffer, saltBytes, hashIterations);
+            } else if (source instanceof FileChannel channel) {
+                return hash(channel, saltBytes, hashIterations);
+            } else if (source instanceof InputStream in) {
+                // 与 CodecUtils.toBytes(InputStream) 一致，读取完成后关闭流
+                try (in) {
+                    return hash(in, saltBytes, hashIterations);
+                }
+            } else if (source instanceof File || source instanceof Path) {
+                Path path = source instanceof File file ? file.toPath() : (Path) source;
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    return hash(channel, saltBytes, hashIterations);
+                }
+            }
+        } catch (IOException e) {
+            throw new CodecException("无法读取 [" + source + "] 的内容", e);
+        }
+
+        return hash(new SimpleByteSource(CodecUtils.toBytes(source)), salt, hashIterations);
+    }
+
+    /**
+     * 简单的 hash 实现，直接读取 ByteBuffer 从 position 到 limit 的内容计算 hash，不复制内容
+     *
+     * @param algorithmName  算法名称
+     * @param source         需要 hash 的内容，可以是堆内或者直接内存
+     * @param salt           盐值
+     * @param hashIterations hash 迭代次数
+     */
+    public Hash(String algorithmName, ByteBuffer source, Object salt, int hashIterations) {
+        if (algorithmName == null || "".equals(algorithmName.trim())) {
+            throw new IllegalArgumentException("算法参数不能空");
+        }
+
+        this.algorithmName = algorithmName;
+        this.iterations = Math.max(DEFAULT_ITERATIONS, hashIterations);
+
+        byte[] saltBytes = null;
+
+        if (salt != null) {
+            saltBytes = CodecUtils.toBytes(salt);
+            this.salt = new SimpleByteSource(saltBytes);
+        }
+
+        this.bytes = hash(source, saltBytes, hashIterations);
     }
 
     /**
@@ -136,20 +229,117 @@ public class Hash extends AbstractByteSource implements Serializable {
      * @throws UnknownAlgorithmException 出现未知的 hash 算法时抛出
      */
     protected byte[] hash(byte[] bytes, byte[] salt, int hashIterations) throws UnknownAlgorithmException {
+        return hash(ByteBuffer.wrap(bytes), salt, hashIterations);
+    }
+
+    /**
+     * hash 得到一个字节数组
+     *
+     * @param bytes          需要 hash 的内容
+     * @param salt           盐值
+     * @param hashIterations hash 迭代次数
+     *
+     * @return hash 后的字节数组
+     *
+     * @throws UnknownAlgorithmException 出现未知的 hash 算法时抛出
+     */
+    protected byte[] hash(ByteBuffer bytes, byte[] salt, int hashIterations) throws UnknownAlgorithmException {
+        MessageDigest digest = newDigest(salt);
+        digest.update(bytes);
+        return digest(digest, hashIterations);
+    }
+
+    /**
+     * 以流的方式 hash 得到一个字节数组
+     *
+     * @param in             需要 hash 的内容输入流
+     * @param salt           盐值
+     * @param hashIterations hash 迭代次数
+     *
+     * @return hash 后的字节数组
+     *
+     * @throws IOException 读取流错误时抛出
+     */
+    protected byte[] hash(InputStream in, byte[] salt, int hashIterations) throws IOException {
+        MessageDigest digest = newDigest(salt);
+
+        byte[] buffer = new byte[STREAMING_BUFFER_SIZE];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, n);
+        }
+
+        return digest(digest, hashIterations);
+    }
+
+    /**
+     * 以流的方式 hash 得到一个字节数组，从通道的当前位置读取到结束，较大的文件通过内存映射计算
+     *
+     * @param channel        需要 hash 的文件通道
+     * @param salt           盐值
+     * @param hashIterations hash 迭代次数
+     *
+     * @return hash 后的字节数组
+     *
+     * @throws IOException 读取文件错误时抛出
+     */
+    protected byte[] hash(FileChannel channel, byte[] salt, int hashIterations) throws IOException {
+        MessageDigest digest = newDigest(salt);
+
+        long position = channel.position();
+        long size = channel.size();
+
+        if (size - position >= MAPPED_THRESHOLD) {
+            while (position < size) {
+                long length = Math.min(MAPPED_REGION_SIZE, size - position);
+                digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+                position += length;
+            }
+            channel.position(position);
+        } else {
+            ByteBuffer buffer = ByteBuffer.allocate(STREAMING_BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+
+        return digest(digest, hashIterations);
+    }
+
+    /**
+     * 创建一个新的 {@link MessageDigest}, 如果使用盐，加入盐
+     *
+     * @param salt 盐值
+     *
+     * @return MessageDigest
+     */
+    private MessageDigest newDigest(byte[] salt) {
         MessageDigest digest = getDigest(getAlgorithmName());
 
-        // 如果使用盐，加入盐
         if (salt != null) {
-            digest.reset();
             digest.update(salt);
         }
+
+        return digest;
+    }
+
+    /**
+     * 完成 hash 计算，并按迭代次数重复 hash
+     *
+     * @param digest         已经加入内容的 MessageDigest
+     * @param hashIterations hash 迭代次数
+     *
+     * @return hash 后的字节数组
+     */
+    private static byte[] digest(MessageDigest digest, int hashIterations) {
         // 得到 hash 值
-        byte[] hashed = digest.digest(bytes);
+        byte[] hashed = digest.digest();
         // 迭代次数
         int iterations = hashIterations - 1;
-        // 如果需要循环 hash iterations 次，循环完成后在返回
+        // 如果需要循环 hash iterations 次，循环完成后在返回，digest 方法完成后会重置 MessageDigest
         for (int i = 0; i < iterations; i++) {
-            digest.reset();
             hashed = digest.digest(hashed);
         }
 
@@ -166,8 +356,22 @@ public class Hash extends AbstractByteSource implements Serializable {
      * @throws UnknownAlgorithmException 出现未知的 hash 算法时抛出
      */
     private MessageDigest getDigest(String algorithmName) throws UnknownAlgorithmException {
+        MessageDigest prototype = DIGEST_PROTOTYPES.get(algorithmName);
+
+        if (prototype != null) {
+            try {
+                return (MessageDigest) prototype.clone();
+            } catch (CloneNotSupportedException e) {
+                // 提供者不支持克隆时，每次创建新的实例
+            }
+        }
+
         try {
-            return MessageDigest.getInstance(algorithmName);
+            MessageDigest digest = MessageDigest.getInstance(algorithmName);
+            if (prototype == null) {
+                DIGEST_PROTOTYPES.putIfAbsent(algorithmName, MessageDigest.getInstance(algorithmName));
+            }
+            return digest;
         } catch (NoSuchAlgorithmException e) {
             String msg = "当前环境不能支持 " + algorithmName + " 算法";
             throw new UnknownAlgorithmException(msg, e);
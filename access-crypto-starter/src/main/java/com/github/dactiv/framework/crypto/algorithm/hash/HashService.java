@@ -6,6 +6,9 @@ import com.github.dactiv.framework.crypto.algorithm.RandomNumberGenerator;
 import com.github.dactiv.framework.crypto.algorithm.SecureRandomNumberGenerator;
 import com.github.dactiv.framework.crypto.algorithm.SimpleByteSource;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * hash 服务
  *
@@ -78,6 +81,25 @@ public class HashService {
         return result;
     }
 
+    /**
+     * 批量计算 hash，使用所有可用的处理器并行计算
+     *
+     * @param requests hash 请求对象集合
+     *
+     * @return 与请求顺序一致的 hash 对象集合，无效的请求对应的元素为 null
+     */
+    public List<Hash> computeHashes(Collection<HashRequest> requests) {
+
+        if (requests == null || requests.isEmpty()) {
+            return List.of();
+        }
+
+        return requests
+                .parallelStream()
+                .map(this::computeHash)
+                .toList();
+    }
+
     /**
      * 获取公共盐
      *
@@ -0,0 +1,107 @@
+package com.github.dactiv.framework.crypto.algorithm.test;
+
+import com.github.dactiv.framework.crypto.algorithm.Base64;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Base64 单元测试
+ *
+ * @author maurice.chen
+ */
+public class Base64Test {
+
+    @Test
+    public void testEncodeAndDecode() {
+        Random random = new Random(64);
+
+        for (int i = 0; i < 200; i++) {
+            byte[] data = new byte[i];
+            random.nextBytes(data);
+
+            String expected = java.util.Base64.getEncoder().encodeToString(data);
+            Assert.assertEquals(expected, Base64.encodeToString(data));
+            Assert.assertArrayEquals(data, Base64.decode(expected));
+
+            String chunked = new String(Base64.encodeChunked(data), StandardCharsets.US_ASCII);
+            Assert.assertEquals(i == 0 ? "" : java.util.Base64.getMimeEncoder().encodeToString(data) + "\r\n", chunked);
+            Assert.assertArrayEquals(data, Base64.decode(chunked));
+
+            // 没有填充字符
+            Assert.assertArrayEquals(data, Base64.decode(java.util.Base64.getEncoder().withoutPadding().encodeToString(data)));
+        }
+
+        Assert.assertEquals("一串中文", Base64.decodeToString(" 5Li A5Liy\n5Lit5paH"));
+        Assert.assertTrue(Base64.isBase64(" 5Li A5Liy\n5Lit5paH==".getBytes()));
+        Assert.assertFalse(Base64.isBase64("5Li-5Liy".getBytes()));
+    }
+
+    @Test
+    public void testBuffer() {
+        byte[] data = TestData.TEXT.getBytes(StandardCharsets.UTF_8);
+
+        byte[] encoded = new byte[Base64.getEncodedLength(data.length, false) + 4];
+        int length = Base64.encode(data, 0, data.length, encoded, 4);
+        Assert.assertEquals(java.util.Base64.getEncoder().encodeToString(data), new String(encoded, 4, length, StandardCharsets.US_ASCII));
+
+        byte[] decoded = new byte[Base64.getMaxDecodedLength(length) + 2];
+        Assert.assertEquals(data.length, Base64.decode(encoded, 4, length, decoded, 2));
+        Assert.assertArrayEquals(data, java.util.Arrays.copyOfRange(decoded, 2, 2 + data.length));
+
+        try {
+            Base64.encode(data, 0, data.length, new byte[length - 1], 0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // 输出数组空间不足
+        }
+
+        try {
+            Base64.decode(encoded, 4, length, new byte[data.length - 1], 0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // 输出数组空间不足
+        }
+    }
+
+    @Test
+    public void testStreaming() throws IOException {
+        byte[] data = new byte[100 * 1024 + 1];
+        new Random(100).nextBytes(data);
+
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (OutputStream out = Base64.newEncodingOutputStream(encoded)) {
+            // 使用不同的长度写入，覆盖不足 3 个字节的剩余内容
+            int offset = 0;
+            for (int size = 1; offset < data.length; size = size * 7 % 9001 + 1) {
+                int n = Math.min(size, data.length - offset);
+                if (n == 1) {
+                    out.write(data[offset]);
+                } else {
+                    out.write(data, offset, n);
+                }
+                offset += n;
+            }
+        }
+
+        Assert.assertEquals(java.util.Base64.getEncoder().encodeToString(data), encoded.toString(StandardCharsets.US_ASCII));
+
+        byte[] chunked = java.util.Base64.getMimeEncoder().encode(data);
+        try (InputStream in = Base64.newDecodingInputStream(new ByteArrayInputStream(chunked))) {
+            Assert.assertArrayEquals(data, in.readAllBytes());
+            Assert.assertEquals(-1, in.read());
+        }
+
+        try (InputStream in = Base64.newDecodingInputStream(new ByteArrayInputStream("QUJD\r\nRA==QUJD".getBytes()))) {
+            Assert.assertEquals('A', in.read());
+            Assert.assertArrayEquals("BCD".getBytes(), in.readAllBytes());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.dactiv.framework.crypto.algorithm.test;
+
+import com.github.dactiv.framework.crypto.algorithm.Hex;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.Random;
+
+/**
+ * 16 进制单元测试
+ *
+ * @author maurice.chen
+ */
+public class HexTest {
+
+    @Test
+    public void testEncodeAndDecode() {
+        byte[] data = new byte[256];
+        new Random(256).nextBytes(data);
+
+        String expected = HexFormat.of().formatHex(data);
+
+        Assert.assertEquals(expected, Hex.encodeToString(data));
+        Assert.assertEquals(expected, new String(Hex.encode(data)));
+        Assert.assertArrayEquals(data, Hex.decode(expected));
+        Assert.assertArrayEquals(data, Hex.decode(expected.toUpperCase()));
+        Assert.assertArrayEquals(data, Hex.decode(expected.toCharArray()));
+        Assert.assertArrayEquals(data, Hex.decode(expected.getBytes(StandardCharsets.US_ASCII)));
+
+        byte[] encoded = new byte[data.length * 2 + 1];
+        Assert.assertEquals(data.length * 2, Hex.encode(data, 0, data.length, encoded, 1));
+
+        byte[] decoded = new byte[data.length];
+        Assert.assertEquals(data.length, Hex.decode(encoded, 1, data.length * 2, decoded, 0));
+        Assert.assertArrayEquals(data, decoded);
+
+        try {
+            Hex.decode("abc");
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("Odd number of characters.", e.getMessage());
+        }
+
+        try {
+            Hex.decode("0g");
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("Illegal hexadecimal character g at index 1", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testStreaming() throws IOException {
+        byte[] data = new byte[20 * 1024 + 1];
+        new Random(20).nextBytes(data);
+
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (OutputStream out = Hex.newEncodingOutputStream(encoded)) {
+            out.write(data[0]);
+            out.write(data, 1, data.length - 1);
+        }
+
+        Assert.assertEquals(HexFormat.of().formatHex(data), encoded.toString(StandardCharsets.US_ASCII));
+
+        try (InputStream in = Hex.newDecodingInputStream(new ByteArrayInputStream(encoded.toByteArray()))) {
+            Assert.assertEquals(data[0] & 0xFF, in.read());
+            Assert.assertArrayEquals(java.util.Arrays.copyOfRange(data, 1, data.length), in.readAllBytes());
+        }
+
+        try (InputStream in = Hex.newDecodingInputStream(new ByteArrayInputStream("abc".getBytes()))) {
+            in.readAllBytes();
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertEquals("Odd number of characters.", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.github.dactiv.framework.crypto.algorithm.test;
+
+import com.github.dactiv.framework.crypto.algorithm.ThreadLocalSecureRandomNumberGenerator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 线程级别的随机数值生成器单元测试
+ *
+ * @author maurice.chen
+ */
+public class ThreadLocalSecureRandomNumberGeneratorTest {
+
+    @Test
+    public void test() throws Exception {
+        ThreadLocalSecureRandomNumberGenerator generator = new ThreadLocalSecureRandomNumberGenerator(64, 256, Duration.ofMinutes(1));
+
+        Set<String> values = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            // 跨越缓冲区边界以及触发重新播种
+            Assert.assertTrue(values.add(generator.nextBytes(12).getHex()));
+        }
+
+        byte[] bulk = new byte[1024];
+        generator.nextBytes(bulk);
+        Assert.assertTrue(values.add(generator.nextBytes(16).getHex()));
+
+        SecureRandom random = generator.getRandom();
+        Assert.assertSame(random, generator.getRandom());
+        Assert.assertNotSame(random, CompletableFuture.supplyAsync(generator::getRandom).get());
+
+        Assert.assertSame(ThreadLocalSecureRandomNumberGenerator.getInstance(), ThreadLocalSecureRandomNumberGenerator.getInstance());
+        Assert.assertEquals(ThreadLocalSecureRandomNumberGenerator.DEFAULT_NEXT_BYTES_SIZE, generator.nextBytes().obtainBytes().length);
+    }
+}
@@ -4,16 +4,34 @@ package com.github.dactiv.framework.crypto.algorithm.test.cipher;
 import com.github.dactiv.framework.crypto.algorithm.ByteSource;
 import com.github.dactiv.framework.crypto.algorithm.CodecUtils;
 import com.github.dactiv.framework.crypto.algorithm.cipher.AesCipherService;
+import com.github.dactiv.framework.crypto.algorithm.cipher.CipherInfo;
+import com.github.dactiv.framework.crypto.algorithm.cipher.CipherPool;
+import com.github.dactiv.framework.crypto.algorithm.cipher.DesCipherService;
+import com.github.dactiv.framework.crypto.algorithm.cipher.OperationMode;
+import com.github.dactiv.framework.crypto.algorithm.cipher.PaddingScheme;
+import com.github.dactiv.framework.crypto.algorithm.exception.CryptoException;
 import com.github.dactiv.framework.crypto.algorithm.test.TestData;
 import org.junit.Assert;
 import org.junit.Test;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.ResourceLoader;
 
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * 对称加密单元测试
@@ -48,4 +66,228 @@ public class AesCipherServiceTest {
         Assert.assertArrayEquals(decryptOut.toByteArray(), text);
     }
 
+    @Test
+    public void testStreamingMode() throws IOException {
+        AesCipherService cipherService = new AesCipherService();
+        cipherService.setStreamingMode(OperationMode.CTR);
+        cipherService.setStreamingPaddingScheme(PaddingScheme.NONE);
+
+        byte[] key = cipherService.generateKey().getEncoded();
+        byte[] text = TestData.TEXT.getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream encryptOut = new ByteArrayOutputStream();
+        cipherService.encrypt(new ByteArrayInputStream(text), encryptOut, key);
+
+        // CTR 模式不填充，密文长度为向量值加明文长度
+        Assert.assertEquals(16 + text.length, encryptOut.size());
+
+        ByteArrayOutputStream decryptOut = new ByteArrayOutputStream();
+        cipherService.decrypt(new ByteArrayInputStream(encryptOut.toByteArray()), decryptOut, key);
+        Assert.assertArrayEquals(text, decryptOut.toByteArray());
+
+        // 字节数组加解密仍然使用 CBC 模式
+        Assert.assertEquals(16 + (text.length / 16 + 1) * 16, cipherService.encrypt(text, key).obtainBytes().length);
+
+        cipherService.setStreamingMode(OperationMode.GCM);
+        encryptOut.reset();
+        cipherService.encrypt(new ByteArrayInputStream(text), encryptOut, key);
+
+        decryptOut.reset();
+        cipherService.decrypt(new ByteArrayInputStream(encryptOut.toByteArray()), decryptOut, key);
+        Assert.assertArrayEquals(text, decryptOut.toByteArray());
+    }
+
+    @Test
+    public void testCipherPoolReentrant() throws Exception {
+        String transformation = "AES/GCM/NoPadding";
+
+        Cipher outer = CipherPool.borrowCipher(transformation, null);
+        Cipher inner = CipherPool.borrowCipher(transformation, null);
+        Assert.assertNotSame(outer, inner);
+        Assert.assertNotSame(outer, CipherPool.getCipher(transformation));
+
+        CipherPool.releaseCipher(inner);
+        CipherPool.releaseCipher(outer);
+        Assert.assertSame(outer, CipherPool.borrowCipher(transformation, null));
+        CipherPool.releaseCipher(outer);
+
+        // 外层借出的 Cipher 使用期间，同一个线程中的加解密不能重新 init 它
+        AesCipherService cipherService = new AesCipherService();
+        byte[] outerKey = cipherService.generateKey().getEncoded();
+        byte[] innerKey = cipherService.generateKey().getEncoded();
+        byte[] iv = new byte[16];
+        byte[] text = TestData.TEXT.getBytes(StandardCharsets.UTF_8);
+
+        Cipher cbc = CipherPool.borrowCipher("AES/CBC/PKCS5Padding", null);
+        try {
+            new CipherInfo(cbc, Cipher.ENCRYPT_MODE, new SecretKeySpec(outerKey, "AES"), new IvParameterSpec(iv), null);
+            byte[] head = cbc.update(text, 0, text.length / 2);
+
+            ByteSource nested = cipherService.encrypt(text, innerKey);
+            Assert.assertArrayEquals(text, cipherService.decrypt(nested.obtainBytes(), innerKey).obtainBytes());
+
+            byte[] tail = cbc.doFinal(text, text.length / 2, text.length - text.length / 2);
+
+            ByteBuffer encrypted = ByteBuffer.allocate(iv.length + head.length + tail.length).put(iv).put(head).put(tail);
+            Assert.assertArrayEquals(text, cipherService.decrypt(encrypted.array(), outerKey).obtainBytes());
+        } finally {
+            CipherPool.releaseCipher(cbc);
+        }
+    }
+
+    @Test
+    public void testCipherPool() throws Exception {
+        AesCipherService cipherService = new AesCipherService();
+
+        Assert.assertSame(CipherPool.getCipher("AES/CBC/PKCS5Padding"), CipherPool.getCipher("AES/CBC/PKCS5Padding"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> {
+                    byte[] key = cipherService.generateKey().getEncoded();
+                    for (int j = 0; j < 500; j++) {
+                        byte[] text = (TestData.TEXT + j).getBytes(StandardCharsets.UTF_8);
+                        ByteSource source = cipherService.encrypt(text, key);
+                        Assert.assertArrayEquals(text, cipherService.decrypt(source.obtainBytes(), key).obtainBytes());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testStreaming() throws IOException {
+        AesCipherService cipherService = new AesCipherService();
+        byte[] key = cipherService.generateKey().getEncoded();
+
+        byte[] text = new byte[1024 * 1024 + 7];
+        new Random(1).nextBytes(text);
+
+        ByteArrayOutputStream encryptOut = new ByteArrayOutputStream();
+        cipherService.encrypt(new ByteArrayInputStream(text), encryptOut, key);
+
+        // 流加密的密文可以通过字节数组解密
+        Assert.assertArrayEquals(text, cipherService.decrypt(encryptOut.toByteArray(), key).obtainBytes());
+
+        ByteArrayOutputStream decryptOut = new ByteArrayOutputStream();
+        cipherService.decrypt(new ByteArrayInputStream(cipherService.encrypt(text, key).obtainBytes()), decryptOut, key);
+        Assert.assertArrayEquals(text, decryptOut.toByteArray());
+    }
+
+    @Test
+    public void testByteBuffer() {
+        AesCipherService cipherService = new AesCipherService();
+        byte[] key = cipherService.generateKey().getEncoded();
+        byte[] text = TestData.TEXT.getBytes();
+
+        ByteBuffer plaintext = ByteBuffer.allocateDirect(text.length);
+        plaintext.put(text).flip();
+
+        ByteBuffer cipherText = ByteBuffer.allocateDirect(text.length + 64);
+        int length = cipherService.encrypt(plaintext, cipherText, key);
+        Assert.assertEquals(length, cipherText.position());
+        cipherText.flip();
+
+        byte[] bytes = new byte[length];
+        cipherText.duplicate().get(bytes);
+        Assert.assertArrayEquals(text, cipherService.decrypt(bytes, key).obtainBytes());
+
+        ByteBuffer output = ByteBuffer.allocate(text.length + 16);
+        Assert.assertEquals(text.length, cipherService.decrypt(cipherText, output, key));
+        Assert.assertArrayEquals(text, Arrays.copyOf(output.array(), text.length));
+    }
+
+    @Test
+    public void testGcm() throws IOException {
+        AesCipherService cipherService = new AesCipherService();
+        cipherService.setMode(OperationMode.GCM);
+        cipherService.setStreamingMode(OperationMode.GCM);
+
+        byte[] key = cipherService.generateKey().getEncoded();
+        byte[] text = TestData.TEXT.getBytes();
+
+        byte[] cipherText = cipherService.encrypt(text, key).obtainBytes();
+        // 12 字节随机数 + 密文 + 16 字节认证标签
+        Assert.assertEquals(12 + text.length + 16, cipherText.length);
+        Assert.assertArrayEquals(text, cipherService.decrypt(cipherText, key).obtainBytes());
+
+        cipherText[cipherText.length - 1] ^= 1;
+        byte[] tampered = cipherText;
+        Assert.assertThrows(CryptoException.class, () -> cipherService.decrypt(tampered, key));
+
+        byte[] associatedData = "user:1".getBytes();
+        byte[] sealed = cipherService.encryptWithAssociatedData(text, key, associatedData).obtainBytes();
+        Assert.assertArrayEquals(text, cipherService.decryptWithAssociatedData(sealed, key, associatedData).obtainBytes());
+        Assert.assertThrows(CryptoException.class, () -> cipherService.decryptWithAssociatedData(sealed, key, "user:2".getBytes()));
+
+        ByteArrayOutputStream encryptOut = new ByteArrayOutputStream();
+        cipherService.encrypt(new ByteArrayInputStream(text), encryptOut, key);
+        Assert.assertArrayEquals(text, cipherService.decrypt(encryptOut.toByteArray(), key).obtainBytes());
+
+        ByteBuffer output = ByteBuffer.allocateDirect(text.length + 64);
+        cipherService.encrypt(ByteBuffer.wrap(text), output, key);
+        output.flip();
+        ByteBuffer plaintext = ByteBuffer.allocate(text.length);
+        Assert.assertEquals(text.length, cipherService.decrypt(output, plaintext, key));
+        Assert.assertArrayEquals(text, plaintext.array());
+
+        Assert.assertThrows(CryptoException.class, () -> new AesCipherService().encryptWithAssociatedData(text, key, associatedData));
+    }
+
+    @Test
+    public void testGcmWithDefaultStreamingMode() throws IOException {
+        AesCipherService cipherService = new AesCipherService();
+        cipherService.setMode(OperationMode.GCM);
+
+        byte[] key = cipherService.generateKey().getEncoded();
+        byte[] text = TestData.TEXT.getBytes();
+
+        byte[] cipherText = cipherService.encrypt(text, key).obtainBytes();
+        Assert.assertEquals(12 + text.length + 16, cipherText.length);
+        Assert.assertArrayEquals(text, cipherService.decrypt(cipherText, key).obtainBytes());
+
+        // 流加密仍使用默认的 CBC 模式和 16 字节的初始化向量
+        ByteArrayOutputStream encryptOut = new ByteArrayOutputStream();
+        cipherService.encrypt(new ByteArrayInputStream(text), encryptOut, key);
+        Assert.assertEquals(16 + (text.length / 16 + 1) * 16, encryptOut.size());
+
+        ByteArrayOutputStream decryptOut = new ByteArrayOutputStream();
+        cipherService.decrypt(new ByteArrayInputStream(encryptOut.toByteArray()), decryptOut, key);
+        Assert.assertArrayEquals(text, decryptOut.toByteArray());
+    }
+
+    @Test
+    public void testGcmSettings() {
+        AesCipherService cipherService = new AesCipherService();
+        Assert.assertEquals(128, cipherService.getInitializationVectorSize());
+
+        // 切换回其他模式时恢复原来的向量值大小
+        cipherService.setMode(OperationMode.GCM);
+        Assert.assertEquals(96, cipherService.getInitializationVectorSize());
+        cipherService.setMode(OperationMode.GCM);
+        cipherService.setMode(OperationMode.CBC);
+        Assert.assertEquals(128, cipherService.getInitializationVectorSize());
+
+        byte[] key = cipherService.generateKey().getEncoded();
+        byte[] text = TestData.TEXT.getBytes();
+        Assert.assertArrayEquals(text, cipherService.decrypt(cipherService.encrypt(text, key).obtainBytes(), key).obtainBytes());
+
+        cipherService.setAuthenticationTagLength(96);
+        Assert.assertEquals(96, cipherService.getAuthenticationTagLength());
+        Assert.assertThrows(IllegalArgumentException.class, () -> cipherService.setAuthenticationTagLength(64));
+        Assert.assertThrows(IllegalArgumentException.class, () -> cipherService.setAuthenticationTagLength(100));
+
+        // DES 的块大小为 64 位，不支持 GCM 模式
+        DesCipherService desCipherService = new DesCipherService();
+        Assert.assertThrows(IllegalArgumentException.class, () -> desCipherService.setMode(OperationMode.GCM));
+        Assert.assertThrows(IllegalArgumentException.class, () -> desCipherService.setStreamingMode(OperationMode.GCM));
+        Assert.assertEquals(OperationMode.CBC, desCipherService.getMode());
+    }
 }
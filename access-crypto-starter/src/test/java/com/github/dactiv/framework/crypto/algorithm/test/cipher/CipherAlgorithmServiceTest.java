@@ -0,0 +1,60 @@
+package com.github.dactiv.framework.crypto.algorithm.test.cipher;
+
+import com.github.dactiv.framework.crypto.AlgorithmProperties;
+import com.github.dactiv.framework.crypto.CipherAlgorithmService;
+import com.github.dactiv.framework.crypto.algorithm.ByteSource;
+import com.github.dactiv.framework.crypto.algorithm.cipher.AesCipherService;
+import com.github.dactiv.framework.crypto.algorithm.cipher.CipherService;
+import com.github.dactiv.framework.crypto.algorithm.cipher.OperationMode;
+import com.github.dactiv.framework.crypto.algorithm.test.TestData;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 加密算法服务单元测试
+ *
+ * @author maurice.chen
+ */
+public class CipherAlgorithmServiceTest {
+
+    @Test
+    public void test() {
+        CipherAlgorithmService cipherAlgorithmService = new CipherAlgorithmService();
+
+        CipherService aes = cipherAlgorithmService.getCipherService(CipherAlgorithmService.AES_ALGORITHM);
+        Assert.assertSame(aes, cipherAlgorithmService.getCipherService(CipherAlgorithmService.AES_ALGORITHM));
+
+        AlgorithmProperties properties = createProperties("CBC");
+        AesCipherService configured = cipherAlgorithmService.getCipherService(properties);
+        Assert.assertSame(configured, cipherAlgorithmService.getCipherService(createProperties("CBC")));
+        Assert.assertNotSame(aes, configured);
+        Assert.assertEquals(OperationMode.CFB, cipherAlgorithmService.<AesCipherService>getCipherService(createProperties("CFB")).getMode());
+
+        // 修改共享实例的配置会失败，不会影响其他调用方
+        AesCipherService shared = cipherAlgorithmService.getCipherService(CipherAlgorithmService.AES_ALGORITHM);
+        Assert.assertThrows(IllegalStateException.class, () -> shared.setMode(OperationMode.CFB));
+        Assert.assertEquals(OperationMode.CBC, shared.getMode());
+
+        // 新创建的实例可以自由修改
+        AesCipherService created = cipherAlgorithmService.newCipherService(CipherAlgorithmService.AES_ALGORITHM);
+        Assert.assertNotSame(aes, created);
+        created.setMode(OperationMode.CFB);
+        Assert.assertEquals(OperationMode.CFB, created.getMode());
+
+        byte[] key = configured.generateKey().getEncoded();
+        ByteSource source = configured.encrypt(TestData.TEXT.getBytes(), key);
+        Assert.assertArrayEquals(TestData.TEXT.getBytes(), aes.decrypt(source.obtainBytes(), key).obtainBytes());
+    }
+
+    private AlgorithmProperties createProperties(String mode) {
+        AlgorithmProperties properties = new AlgorithmProperties();
+        properties.setName(CipherAlgorithmService.AES_ALGORITHM);
+        properties.setMode(mode);
+        properties.setPaddingScheme("PKCS5Padding");
+        properties.setStreamingMode(mode);
+        properties.setStreamingPaddingScheme("PKCS5Padding");
+        properties.setKeySize(128);
+        properties.setInitializationVectorSize(128);
+        return properties;
+    }
+}
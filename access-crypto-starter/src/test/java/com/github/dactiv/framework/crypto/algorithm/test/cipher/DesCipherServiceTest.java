@@ -15,6 +15,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Random;
 
 /**
  * des 加解密单元测试
@@ -49,4 +50,23 @@ public class DesCipherServiceTest {
         byte[] text = CodecUtils.toBytes(resourceLoader.getResource("classpath:/data.test").getInputStream());
         Assert.assertArrayEquals(decryptOut.toByteArray(), text);
     }
+
+    @Test
+    public void testStreaming() throws IOException {
+        DesCipherService cipherService = new DesCipherService();
+        byte[] key = cipherService.generateKey().getEncoded();
+
+        byte[] text = new byte[1024 * 1024 + 7];
+        new Random(1).nextBytes(text);
+
+        ByteArrayOutputStream encryptOut = new ByteArrayOutputStream();
+        cipherService.encrypt(new ByteArrayInputStream(text), encryptOut, key);
+
+        // 流加密的密文可以通过字节数组解密
+        Assert.assertArrayEquals(text, cipherService.decrypt(encryptOut.toByteArray(), key).obtainBytes());
+
+        ByteArrayOutputStream decryptOut = new ByteArrayOutputStream();
+        cipherService.decrypt(new ByteArrayInputStream(cipherService.encrypt(text, key).obtainBytes()), decryptOut, key);
+        Assert.assertArrayEquals(text, decryptOut.toByteArray());
+    }
 }
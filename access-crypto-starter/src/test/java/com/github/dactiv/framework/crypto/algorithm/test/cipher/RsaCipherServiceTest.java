@@ -3,7 +3,9 @@
 package com.github.dactiv.framework.crypto.algorithm.test.cipher;
 
 import com.github.dactiv.framework.crypto.algorithm.ByteSource;
+import com.github.dactiv.framework.crypto.algorithm.cipher.PreparedKeyCache;
 import com.github.dactiv.framework.crypto.algorithm.cipher.RsaCipherService;
+import com.github.dactiv.framework.crypto.algorithm.exception.CryptoException;
 import com.github.dactiv.framework.crypto.algorithm.test.TestData;
 import org.junit.Assert;
 import org.junit.Test;
@@ -13,6 +15,7 @@ import org.springframework.core.io.ResourceLoader;
 import java.io.*;
 import java.nio.charset.Charset;
 import java.security.KeyPair;
+import java.util.Random;
 
 /**
  * 非对称加密单元测试
@@ -59,6 +62,56 @@ public class RsaCipherServiceTest {
         Assert.assertArrayEquals(decryptOut.toByteArray(), text.getBytes());
     }
 
+    @Test
+    public void testPreparedKeyCache() {
+        PreparedKeyCache cache = new PreparedKeyCache(1);
+        RsaCipherService cipherService = new RsaCipherService(1024);
+        KeyPair keyPair = cipherService.generateKeyPair();
+        byte[] encoded = keyPair.getPublic().getEncoded();
+
+        Assert.assertSame(keyPair.getPublic(), cache.get("RSA:public", encoded, k -> keyPair.getPublic()));
+        Assert.assertSame(keyPair.getPublic(), cache.get("RSA:public", encoded.clone(), k -> null));
+        // 超过最大缓存数量时淘汰旧的密钥，继续使用的新密钥会替换旧的密钥
+        for (int i = 0; i < 10; i++) {
+            Assert.assertSame(keyPair.getPrivate(), cache.get("RSA:private", encoded, k -> keyPair.getPrivate()));
+            Assert.assertEquals(1, cache.size());
+        }
+        Assert.assertSame(keyPair.getPrivate(), cache.get("RSA:private", encoded, k -> null));
+        Assert.assertNull(cache.get("RSA:public", encoded, k -> null));
+
+        ByteSource source = cipherService.encrypt(TestData.TEXT.getBytes(), encoded);
+        for (int i = 0; i < 3; i++) {
+            ByteSource target = cipherService.decrypt(source.obtainBytes(), keyPair.getPrivate().getEncoded());
+            Assert.assertArrayEquals(TestData.TEXT.getBytes(), target.obtainBytes());
+        }
+    }
+
+    @Test
+    public void testEnvelope() {
+        RsaCipherService cipherService = new RsaCipherService();
+        KeyPair keyPair = cipherService.generateKeyPair();
+
+        byte[] text = new byte[256 * 1024];
+        new Random(1).nextBytes(text);
+
+        byte[] envelope = cipherService.encryptEnvelope(text, keyPair.getPublic().getEncoded()).obtainBytes();
+        // 版本号 + 密钥长度 + 256 字节 RSA 密文 + 12 字节随机数 + 密文 + 16 字节认证标签
+        Assert.assertEquals(3 + 256 + 12 + text.length + 16, envelope.length);
+        Assert.assertArrayEquals(text, cipherService.decryptEnvelope(envelope, keyPair.getPrivate().getEncoded()).obtainBytes());
+
+        envelope[envelope.length - 1] ^= 1;
+        Assert.assertThrows(CryptoException.class, () -> cipherService.decryptEnvelope(envelope, keyPair.getPrivate().getEncoded()));
+        Assert.assertThrows(CryptoException.class, () -> cipherService.decryptEnvelope(new byte[]{2, 0, 0}, keyPair.getPrivate().getEncoded()));
+
+        cipherService.setEnvelopeKeySize(256);
+        byte[] sealed = cipherService.encryptEnvelope(text, keyPair.getPublic().getEncoded()).obtainBytes();
+        Assert.assertArrayEquals(text, cipherService.decryptEnvelope(sealed, keyPair.getPrivate().getEncoded()).obtainBytes());
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> cipherService.setEnvelopeKeySize(64));
+        Assert.assertThrows(IllegalArgumentException.class, () -> cipherService.setEnvelopeKeySize(512));
+        Assert.assertEquals(256, cipherService.getEnvelopeKeySize());
+    }
+
     private String read(InputStream is) throws IOException {
         final int bufferSize = 1024;
         final char[] buffer = new char[bufferSize];
@@ -7,8 +7,12 @@ import com.github.dactiv.framework.crypto.algorithm.hash.HashAlgorithmMode;
 import com.github.dactiv.framework.crypto.algorithm.hash.HashRequest;
 import com.github.dactiv.framework.crypto.algorithm.hash.HashService;
 import com.github.dactiv.framework.crypto.algorithm.test.TestData;
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * hash 服务单元测试
  *
@@ -96,5 +100,24 @@ public class HashServiceTest {
         TestData.assertHash(sourceHash, targetHash, 128);
     }
 
-}
+    @Test
+    public void testComputeHashes() {
+        List<HashRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            requests.add(new HashRequest(new SimpleByteSource(TestData.TEXT + i), new SimpleByteSource(TestData.SALT), 3, HashAlgorithmMode.SHA256.getName()));
+        }
+        requests.add(null);
+
+        List<Hash> hashes = hashService.computeHashes(requests);
+
+        Assert.assertEquals(requests.size(), hashes.size());
+        Assert.assertNull(hashes.get(requests.size() - 1));
 
+        for (int i = 0; i < 64; i++) {
+            TestData.assertHash(hashService.computeHash(requests.get(i)), hashes.get(i), 64);
+        }
+
+        Assert.assertTrue(hashService.computeHashes(List.of()).isEmpty());
+    }
+
+}
@@ -10,6 +10,16 @@ import com.github.dactiv.framework.crypto.algorithm.test.TestData;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
 /**
  * hash 单元测试
  *
@@ -87,4 +97,61 @@ public class HashTest {
         }
     }
 
+    @Test
+    public void testByteBuffer() {
+        byte[] text = TestData.TEXT.getBytes();
+
+        ByteBuffer source = ByteBuffer.allocateDirect(text.length);
+        source.put(text).flip();
+
+        Hash bufferHash = new Hash(HashAlgorithmMode.SHA256.getName(), source, TestData.SALT, 2);
+        Hash byteHash = new Hash(HashAlgorithmMode.SHA256.getName(), text, TestData.SALT, 2);
+
+        Assert.assertEquals(byteHash, bufferHash);
+        Assert.assertFalse(source.hasRemaining());
+
+        ByteBuffer target = ByteBuffer.allocateDirect(64);
+        Assert.assertEquals(32, bufferHash.writeTo(target));
+        Assert.assertEquals(bufferHash.asByteBuffer().rewind(), target.flip());
+    }
+
+    @Test
+    public void testStreaming() throws IOException {
+        String algorithmName = HashAlgorithmMode.SHA256.getName();
+
+        byte[] text = TestData.TEXT.getBytes();
+        Hash byteHash = new Hash(algorithmName, text, TestData.SALT, 2);
+
+        Assert.assertEquals(byteHash, new Hash(algorithmName, new ByteArrayInputStream(text), TestData.SALT, 2));
+
+        for (int size : new int[]{1024, 3 * 1024 * 1024 + 7}) {
+            byte[] data = new byte[size];
+            new Random(size).nextBytes(data);
+
+            Path path = Files.createTempFile("hash-test", ".bin");
+            try {
+                Files.write(path, data);
+
+                byteHash = new Hash(algorithmName, data, TestData.SALT, 2);
+
+                Assert.assertEquals(byteHash, new Hash(algorithmName, path, TestData.SALT, 2));
+                Assert.assertEquals(byteHash, new Hash(algorithmName, path.toFile(), TestData.SALT, 2));
+                Assert.assertEquals(byteHash, new Hash(algorithmName, Files.newInputStream(path), TestData.SALT, 2));
+
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    Assert.assertEquals(byteHash, new Hash(algorithmName, channel, TestData.SALT, 2));
+                    Assert.assertEquals(size, channel.position());
+                }
+            } finally {
+                Files.delete(path);
+            }
+        }
+
+        try {
+            new Hash(algorithmName, new File("not-exists-" + System.nanoTime()));
+            Assert.fail();
+        } catch (Exception e) {
+            Assert.assertTrue(e instanceof CodecException);
+        }
+    }
 }
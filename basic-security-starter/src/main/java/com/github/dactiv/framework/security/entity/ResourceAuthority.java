@@ -2,6 +2,7 @@ package com.github.dactiv.framework.security.entity;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.Objects;
 
 /**
  * spring security 资源授权现实
@@ -119,4 +120,17 @@ public class ResourceAuthority implements Serializable {
     public static String getPermissionValue(String value) {
         return DEFAULT_RESOURCE_PREFIX + value + DEFAULT_RESOURCE_SUFFIX;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ResourceAuthority that = (ResourceAuthority) o;
+        return Objects.equals(authority, that.authority) && Objects.equals(name, that.name) && Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(authority, name, value);
+    }
 }
@@ -3,6 +3,7 @@ package com.github.dactiv.framework.security.entity;
 import java.io.Serial;
 import java.io.Serializable;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * spring security 角色授权现实
@@ -90,4 +91,17 @@ public class RoleAuthority implements Serializable {
     public void setAuthority(String authority) {
         this.authority = authority;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RoleAuthority that = (RoleAuthority) o;
+        return Objects.equals(name, that.name) && Objects.equals(authority, that.authority);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, authority);
+    }
 }
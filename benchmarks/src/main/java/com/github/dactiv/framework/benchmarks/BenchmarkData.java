@@ -0,0 +1,86 @@
+package com.github.dactiv.framework.benchmarks;
+
+import com.github.dactiv.framework.commons.annotation.Desensitize;
+import com.github.dactiv.framework.commons.id.IdEntity;
+
+import java.io.Serial;
+
+/**
+ * 基准测试使用的数据对象
+ *
+ * @author maurice.chen
+ */
+public class BenchmarkData extends IdEntity<Integer> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private String name;
+
+    private int age;
+
+    @Desensitize(type = Desensitize.Type.Phone)
+    private String phone;
+
+    @Desensitize(type = Desensitize.Type.Email)
+    private String email;
+
+    @Desensitize
+    private String address;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public void setAge(int age) {
+        this.age = age;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    /**
+     * 创建测试数据
+     *
+     * @return 测试数据
+     */
+    public static BenchmarkData create() {
+        BenchmarkData data = new BenchmarkData();
+        data.setId(1);
+        data.setName("maurice");
+        data.setAge(18);
+        data.setPhone("13812345678");
+        data.setEmail("maurice.chen@foxmail.com");
+        data.setAddress("guangdong guangzhou tianhe");
+        return data;
+    }
+}
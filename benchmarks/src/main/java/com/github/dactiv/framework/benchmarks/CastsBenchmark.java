@@ -0,0 +1,59 @@
+package com.github.dactiv.framework.benchmarks;
+
+import com.github.dactiv.framework.commons.Casts;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Casts} 基准测试
+ *
+ * @author maurice.chen
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CastsBenchmark {
+
+    private String integerValue = "12345";
+
+    private String dateValue = "2023-01-02 03:04:05";
+
+    private Object longValue = 10;
+
+    private BenchmarkData data;
+
+    @Setup
+    public void setup() {
+        data = BenchmarkData.create();
+    }
+
+    @Benchmark
+    public Integer castStringToInteger() {
+        return Casts.cast(integerValue, Integer.class);
+    }
+
+    @Benchmark
+    public Long castIntegerToLong() {
+        return Casts.cast(longValue, Long.class);
+    }
+
+    @Benchmark
+    public Date castStringToDate() {
+        return Casts.cast(dateValue, Date.class);
+    }
+
+    @Benchmark
+    public BenchmarkData of() {
+        return Casts.of(data, BenchmarkData.class);
+    }
+
+    @Benchmark
+    public BenchmarkData ofIgnoreProperties() {
+        return Casts.of(data, BenchmarkData.class, "id", "age");
+    }
+}
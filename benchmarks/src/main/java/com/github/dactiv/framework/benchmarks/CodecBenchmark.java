@@ -0,0 +1,104 @@
+package com.github.dactiv.framework.benchmarks;
+
+import com.github.dactiv.framework.crypto.algorithm.Base64;
+import com.github.dactiv.framework.crypto.algorithm.Hex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Base64} 和 {@link Hex} 基准测试，与 {@link java.util.Base64} 和 {@link HexFormat} 对比
+ *
+ * @author maurice.chen
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CodecBenchmark {
+
+    @Param({"32", "1024"})
+    private int size;
+
+    private byte[] data;
+
+    private byte[] base64;
+
+    private String hex;
+
+    private byte[] buffer;
+
+    @Setup
+    public void setup() {
+        data = new byte[size];
+        new Random(size).nextBytes(data);
+
+        base64 = java.util.Base64.getEncoder().encode(data);
+        hex = HexFormat.of().formatHex(data);
+        buffer = new byte[size * 2];
+    }
+
+    @Benchmark
+    public String base64EncodeToString() {
+        return Base64.encodeToString(data);
+    }
+
+    @Benchmark
+    public String jdkBase64EncodeToString() {
+        return java.util.Base64.getEncoder().encodeToString(data);
+    }
+
+    @Benchmark
+    public int base64EncodeToBuffer() {
+        return Base64.encode(data, 0, data.length, buffer, 0);
+    }
+
+    @Benchmark
+    public int jdkBase64EncodeToBuffer() {
+        return java.util.Base64.getEncoder().encode(data, buffer);
+    }
+
+    @Benchmark
+    public byte[] base64Decode() {
+        return Base64.decode(base64);
+    }
+
+    @Benchmark
+    public byte[] jdkBase64Decode() {
+        return java.util.Base64.getDecoder().decode(base64);
+    }
+
+    @Benchmark
+    public int base64DecodeToBuffer() {
+        return Base64.decode(base64, 0, base64.length, buffer, 0);
+    }
+
+    @Benchmark
+    public int jdkBase64DecodeToBuffer() {
+        return java.util.Base64.getDecoder().decode(base64, buffer);
+    }
+
+    @Benchmark
+    public String hexEncodeToString() {
+        return Hex.encodeToString(data);
+    }
+
+    @Benchmark
+    public String jdkHexEncodeToString() {
+        return HexFormat.of().formatHex(data);
+    }
+
+    @Benchmark
+    public byte[] hexDecode() {
+        return Hex.decode(hex);
+    }
+
+    @Benchmark
+    public byte[] jdkHexDecode() {
+        return HexFormat.of().parseHex(hex);
+    }
+}
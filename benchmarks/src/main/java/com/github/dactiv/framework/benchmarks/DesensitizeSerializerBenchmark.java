@@ -0,0 +1,45 @@
+package com.github.dactiv.framework.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.dactiv.framework.commons.jackson.serializer.DesensitizeSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DesensitizeSerializer} 基准测试
+ *
+ * @author maurice.chen
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DesensitizeSerializerBenchmark {
+
+    private String value = "guangdong guangzhou tianhe";
+
+    private BenchmarkData data;
+
+    private ObjectWriter writer;
+
+    @Setup
+    public void setup() {
+        data = BenchmarkData.create();
+        writer = new ObjectMapper().writerFor(BenchmarkData.class);
+    }
+
+    @Benchmark
+    public String desensitize() {
+        return DesensitizeSerializer.desensitize(value);
+    }
+
+    @Benchmark
+    public String serialize() throws JsonProcessingException {
+        return writer.writeValueAsString(data);
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.dactiv.framework.benchmarks;
+
+import com.github.dactiv.framework.commons.ReflectionUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ReflectionUtils} 基准测试
+ *
+ * @author maurice.chen
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReflectionUtilsBenchmark {
+
+    private BenchmarkData data;
+
+    @Setup
+    public void setup() {
+        data = BenchmarkData.create();
+    }
+
+    @Benchmark
+    public Object getReadProperty() {
+        return ReflectionUtils.getReadProperty(data, "name");
+    }
+
+    @Benchmark
+    public Object getInheritedReadProperty() {
+        return ReflectionUtils.getReadProperty(data, "id");
+    }
+
+    @Benchmark
+    public void setWriteProperty() {
+        ReflectionUtils.setWriteProperty(data, "age", 20);
+    }
+
+    @Benchmark
+    public Object getFieldValue() {
+        return ReflectionUtils.getFieldValue(data, "name");
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.dactiv.framework.benchmarks;
+
+import com.github.dactiv.framework.security.entity.ResourceAuthority;
+import com.github.dactiv.framework.security.entity.RoleAuthority;
+import com.github.dactiv.framework.spring.security.authentication.codec.SecurityEntityCodec;
+import com.github.dactiv.framework.spring.security.authentication.token.PrincipalAuthenticationToken;
+import com.github.dactiv.framework.spring.security.entity.SecurityUserDetails;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.*;
+import org.redisson.client.codec.Codec;
+import org.redisson.codec.SerializationCodec;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SecurityEntityCodec} 基准测试，与 {@link SerializationCodec} 对比 {@link SecurityContext} 的编解码耗时
+ *
+ * @author maurice.chen
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SecurityEntityCodecBenchmark {
+
+    @Param({"serialization", "securityEntity"})
+    private String codecName;
+
+    private Codec codec;
+
+    private SecurityContext context;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        codec = "serialization".equals(codecName) ? new SerializationCodec() : SecurityEntityCodec.INSTANCE;
+
+        SecurityUserDetails userDetails = new SecurityUserDetails(1024, "maurice.chen", "password");
+        userDetails.setType("console");
+        for (int i = 0; i < 5; i++) {
+            userDetails.getRoleAuthorities().add(new RoleAuthority("角色" + i, "ROLE_" + i));
+        }
+        for (int i = 0; i < 50; i++) {
+            String authority = ResourceAuthority.getPermissionValue("resource:" + i);
+            userDetails.getResourceAuthorities().add(new ResourceAuthority(authority, "资源" + i, "/resource/" + i + "/**"));
+        }
+        Map<String, Object> meta = new LinkedHashMap<>();
+        meta.put("accessToken", "a6a5bd8e-38a4-4c43-8f5b-22b1d3cf8e16");
+        meta.put("refreshToken", "1e3d9d2f-4b1f-4d77-9a79-2f8c2e0c8b0d");
+        userDetails.setMeta(meta);
+
+        PrincipalAuthenticationToken token = new PrincipalAuthenticationToken(
+                new UsernamePasswordAuthenticationToken(userDetails.getUsername(), null),
+                userDetails.getType(),
+                userDetails,
+                userDetails.getAuthorities(),
+                false,
+                new Date()
+        );
+        context = new SecurityContextImpl(token);
+
+        ByteBuf buf = codec.getValueEncoder().encode(context);
+        encoded = new byte[buf.readableBytes()];
+        buf.readBytes(encoded);
+        buf.release();
+    }
+
+    @Benchmark
+    public int encode() throws IOException {
+        ByteBuf buf = codec.getValueEncoder().encode(context);
+        int result = buf.readableBytes();
+        buf.release();
+        return result;
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return codec.getValueDecoder().decode(Unpooled.wrappedBuffer(encoded), null);
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.dactiv.framework.benchmarks;
+
+import com.github.dactiv.framework.commons.generator.twitter.SnowflakeIdGenerator;
+import com.github.dactiv.framework.commons.generator.twitter.SnowflakeProperties;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SnowflakeIdGenerator} 基准测试
+ *
+ * @author maurice.chen
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SnowflakeIdGeneratorBenchmark {
+
+    private SnowflakeIdGenerator generator;
+
+    @Setup
+    public void setup() {
+        generator = new SnowflakeIdGenerator(new SnowflakeProperties(1, "001", 1));
+    }
+
+    @Benchmark
+    public String generateId() {
+        return generator.generateId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateIdContended() {
+        return generator.generateId();
+    }
+
+    @Benchmark
+    public long nextId() {
+        return generator.nextId();
+    }
+}
@@ -0,0 +1,38 @@
+package com.github.dactiv.framework.benchmarks;
+
+import com.github.dactiv.framework.commons.id.IdEntity;
+import com.github.dactiv.framework.commons.tree.Tree;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基准测试使用的树节点
+ *
+ * @author maurice.chen
+ */
+public class TreeNode extends IdEntity<Integer> implements Tree<Integer, TreeNode> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final Integer parentId;
+
+    private final List<Tree<Integer, TreeNode>> children = new ArrayList<>();
+
+    public TreeNode(Integer id, Integer parentId) {
+        super(id);
+        this.parentId = parentId;
+    }
+
+    @Override
+    public List<Tree<Integer, TreeNode>> getChildren() {
+        return children;
+    }
+
+    @Override
+    public Integer getParent() {
+        return parentId;
+    }
+}
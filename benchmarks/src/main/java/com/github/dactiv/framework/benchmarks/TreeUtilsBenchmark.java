@@ -0,0 +1,54 @@
+package com.github.dactiv.framework.benchmarks;
+
+import com.github.dactiv.framework.commons.tree.Tree;
+import com.github.dactiv.framework.commons.tree.TreeUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TreeUtils#buildTree(List)} 基准测试，节点的父节点随机分布在前面的节点中
+ *
+ * @author maurice.chen
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TreeUtilsBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    private List<TreeNode> nodes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(size);
+        nodes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Integer parentId = i == 0 ? null : random.nextInt(i);
+            nodes.add(new TreeNode(i, parentId));
+        }
+    }
+
+    /**
+     * 构造树时会往节点中添加子节点，每次调用前清空
+     */
+    @Setup(Level.Invocation)
+    public void clearChildren() {
+        for (TreeNode node : nodes) {
+            node.getChildren().clear();
+        }
+    }
+
+    @Benchmark
+    public List<Tree<Integer, TreeNode>> buildTree() {
+        return TreeUtils.buildTree(nodes);
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.dactiv.framework.benchmarks;
+
+import com.github.dactiv.framework.commons.enumerate.ValueEnumUtils;
+import com.github.dactiv.framework.commons.enumerate.support.ExecuteStatus;
+import com.github.dactiv.framework.commons.enumerate.support.YesOrNo;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ValueEnumUtils} 基准测试
+ *
+ * @author maurice.chen
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValueEnumUtilsBenchmark {
+
+    private Integer yesValue = 1;
+
+    private Integer executeStatusValue;
+
+    @Setup
+    public void setup() {
+        ExecuteStatus[] values = ExecuteStatus.values();
+        executeStatusValue = values[values.length - 1].getValue();
+    }
+
+    @Benchmark
+    public YesOrNo parseYesOrNo() {
+        return ValueEnumUtils.parse(yesValue, YesOrNo.class);
+    }
+
+    @Benchmark
+    public ExecuteStatus parseExecuteStatus() {
+        return ValueEnumUtils.parse(executeStatusValue, ExecuteStatus.class);
+    }
+
+    @Benchmark
+    public String getName() {
+        return ValueEnumUtils.getName(yesValue, YesOrNo.class);
+    }
+}
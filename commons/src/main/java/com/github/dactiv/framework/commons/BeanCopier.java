@@ -0,0 +1,183 @@
+package com.github.dactiv.framework.commons;
+
+import com.github.dactiv.framework.commons.exception.SystemException;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 对象属性拷贝器，按 (源类型, 目标类型, 忽略属性) 缓存预先计算好的拷贝计划。
+ *
+ * <p>
+ * 拷贝规则与 {@link org.springframework.beans.BeanUtils#copyProperties(Object, Object, String...)} 一致：
+ * 目标属性可写、源属性可读并且类型可赋值时才拷贝。属性读写使用 {@link ClassMetadata} 中编译好的
+ * {@link PropertyAccessor}，重复拷贝时不再需要属性描述以及注解扫描。
+ * </p>
+ *
+ * @author maurice.chen
+ */
+public final class BeanCopier {
+
+    /**
+     * 拷贝器缓存，外层以源类型为键，内层以目标类型为键，最后以忽略属性集合为键
+     */
+    private static final ClassValue<ClassValue<Map<Set<String>, BeanCopier>>> CACHE = new ClassValue<>() {
+        @Override
+        protected ClassValue<Map<Set<String>, BeanCopier>> computeValue(Class<?> sourceClass) {
+            return new ClassValue<>() {
+                @Override
+                protected Map<Set<String>, BeanCopier> computeValue(Class<?> targetClass) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+        }
+    };
+
+    /**
+     * 目标类型
+     */
+    private final Class<?> targetClass;
+
+    /**
+     * 源属性访问器，与 {@link #writers} 一一对应
+     */
+    private final PropertyAccessor[] readers;
+
+    /**
+     * 目标属性访问器，与 {@link #readers} 一一对应
+     */
+    private final PropertyAccessor[] writers;
+
+    /**
+     * 目标类型的无参构造函数，第一次创建对象时才解析
+     */
+    private volatile Constructor<?> constructor;
+
+    private BeanCopier(Class<?> sourceClass, Class<?> targetClass, Set<String> ignoreProperties) {
+        this.targetClass = targetClass;
+
+        ClassMetadata sourceMetadata = ClassMetadata.of(sourceClass);
+
+        List<PropertyAccessor> readers = new ArrayList<>();
+        List<PropertyAccessor> writers = new ArrayList<>();
+
+        for (PropertyAccessor writer : ClassMetadata.of(targetClass).getAccessors()) {
+            if (!writer.isWritable() || ignoreProperties.contains(writer.getName())) {
+                continue;
+            }
+
+            PropertyAccessor reader = sourceMetadata.getAccessor(writer.getName());
+            if (Objects.isNull(reader) || !reader.isReadable()) {
+                continue;
+            }
+
+            if (!isAssignable(reader.getReadMethod(), sourceClass, writer.getWriteMethod(), targetClass)) {
+                continue;
+            }
+
+            readers.add(reader);
+            writers.add(writer);
+        }
+
+        this.readers = readers.toArray(new PropertyAccessor[0]);
+        this.writers = writers.toArray(new PropertyAccessor[0]);
+    }
+
+    /**
+     * 获取拷贝器
+     *
+     * @param sourceClass      源类型
+     * @param targetClass      目标类型
+     * @param ignoreProperties 要忽略的属性名称
+     *
+     * @return 拷贝器
+     */
+    public static BeanCopier get(Class<?> sourceClass, Class<?> targetClass, String... ignoreProperties) {
+        Set<String> key = Objects.isNull(ignoreProperties) || ignoreProperties.length == 0 ?
+                Collections.emptySet() :
+                new HashSet<>(Arrays.asList(ignoreProperties));
+
+        return CACHE
+                .get(sourceClass)
+                .get(targetClass)
+                .computeIfAbsent(key, k -> new BeanCopier(sourceClass, targetClass, k));
+    }
+
+    /**
+     * 将源对象的属性拷贝到目标对象中
+     *
+     * @param source 源对象
+     * @param target 目标对象
+     */
+    public void copy(Object source, Object target) {
+        for (int i = 0; i < readers.length; i++) {
+            try {
+                writers[i].set(target, readers[i].get(source));
+            } catch (RuntimeException e) {
+                throw new SystemException("无法将 [" + source.getClass() + "] 的 [" + readers[i].getName() + "] 属性拷贝到 [" + targetClass + "]", e);
+            }
+        }
+    }
+
+    /**
+     * 创建一个新的目标对象，并将源对象的属性拷贝到创建的对象中
+     *
+     * @param source 源对象
+     * @param <T>    目标类型
+     *
+     * @return 新的目标对象
+     */
+    public <T> T copy(Object source) {
+        Object target = newInstance();
+        copy(source, target);
+        return Casts.cast(target);
+    }
+
+    /**
+     * 创建目标对象
+     *
+     * @return 目标对象
+     */
+    private Object newInstance() {
+        try {
+            Constructor<?> c = constructor;
+            if (Objects.isNull(c)) {
+                c = targetClass.getDeclaredConstructor();
+                c.setAccessible(true);
+                constructor = c;
+            }
+            return c.newInstance();
+        } catch (Exception e) {
+            throw new SystemException("无法创建 [" + targetClass + "] 的对象", e);
+        }
+    }
+
+    /**
+     * 判断 get 方法的返回类型是否可以赋值给 set 方法的参数类型
+     *
+     * <p>
+     * 泛型按源类型和目标类型解析，如 {@code IdEntity<Integer>} 的 getId 方法返回类型为 Integer。
+     * </p>
+     *
+     * @param readMethod  get 方法
+     * @param sourceClass 源类型
+     * @param writeMethod set 方法
+     * @param targetClass 目标类型
+     *
+     * @return true 是，否则 false
+     */
+    private static boolean isAssignable(Method readMethod, Class<?> sourceClass, Method writeMethod, Class<?> targetClass) {
+        ResolvableType sourceResolvableType = ResolvableType.forMethodReturnType(readMethod, sourceClass);
+        ResolvableType targetResolvableType = ResolvableType.forMethodParameter(writeMethod, 0, targetClass);
+
+        if (sourceResolvableType.hasUnresolvableGenerics() || targetResolvableType.hasUnresolvableGenerics()) {
+            return ClassUtils.isAssignable(writeMethod.getParameterTypes()[0], readMethod.getReturnType());
+        }
+
+        return targetResolvableType.isAssignableFrom(sourceResolvableType);
+    }
+}
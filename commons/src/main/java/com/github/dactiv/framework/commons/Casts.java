@@ -2,15 +2,21 @@ package com.github.dactiv.framework.commons;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.dactiv.framework.commons.annotation.IgnoreField;
+import com.github.dactiv.framework.commons.converter.TypeConverters;
 import com.github.dactiv.framework.commons.exception.SystemException;
 import org.apache.commons.beanutils.ConvertUtils;
 import org.apache.commons.beanutils.Converter;
 import org.apache.commons.beanutils.converters.DateConverter;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.beans.BeanUtils;
 import org.springframework.objenesis.instantiator.util.ClassUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
@@ -21,6 +27,8 @@ import java.lang.reflect.Field;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * 转型工具类
@@ -80,15 +88,43 @@ public class Casts {
      */
     public static final String HTTP_PATH_VARIABLE_END = "}";
 
+    /**
+     * 每个类型中带有 {@link IgnoreField} 注解的字段
+     */
+    private static final ClassValue<List<Field>> IGNORE_FIELDS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Field o : type.getDeclaredFields()) {
+                if (Objects.nonNull(o.getAnnotation(IgnoreField.class))) {
+                    fields.add(o);
+                }
+            }
+            return Collections.unmodifiableList(fields);
+        }
+    };
+
+    /**
+     * 每个 objectMapper 缓存的 reader 最大数量
+     */
+    private static final int JSON_READER_CACHE_MAX_SIZE = 1024;
+
     private static ObjectMapper objectMapper = new ObjectMapper();
 
     /**
-     * 设置 jackson objectMapper
+     * 当前 objectMapper 的 reader 缓存
+     */
+    private static volatile JsonReaderCache jsonReaderCache = new JsonReaderCache(objectMapper);
+
+    /**
+     * 设置 jackson objectMapper，同时丢弃原 objectMapper 的 reader 缓存
      *
      * @param objectMapper objectMapper
      */
     public static void setObjectMapper(ObjectMapper objectMapper) {
         Casts.objectMapper = objectMapper;
+        Casts.jsonReaderCache.clear();
+        Casts.jsonReaderCache = new JsonReaderCache(objectMapper);
     }
 
     /**
@@ -161,7 +197,7 @@ public class Casts {
     public static <T> T readValue(String json, Class<T> type) {
 
         try {
-            return objectMapper.readValue(json, type);
+            return jsonReaderCache.getReader(type).readValue(json);
         } catch (IOException e) {
             throw new SystemException(e);
         }
@@ -179,7 +215,7 @@ public class Casts {
     public static <T> T readValue(String json, TypeReference<T> type) {
 
         try {
-            return objectMapper.readValue(json, type);
+            return jsonReaderCache.getReader(type).readValue(json);
         } catch (IOException e) {
             throw new SystemException(e);
         }
@@ -196,7 +232,7 @@ public class Casts {
      */
     public static <T> T readValue(InputStream stream, JavaType type) {
         try {
-            return objectMapper.readValue(stream, type);
+            return jsonReaderCache.getReader(type).readValue(stream);
         } catch (IOException e) {
             throw new SystemException(e);
         }
@@ -212,7 +248,7 @@ public class Casts {
      */
     public static <T> T readValue(InputStream stream, Class<T> type) {
         try {
-            return objectMapper.readValue(stream, type);
+            return jsonReaderCache.getReader(type).readValue(stream);
         } catch (IOException e) {
             throw new SystemException(e);
         }
@@ -229,7 +265,7 @@ public class Casts {
     public static <T> T readValue(InputStream stream, TypeReference<T> type) {
 
         try {
-            return objectMapper.readValue(stream, type);
+            return jsonReaderCache.getReader(type).readValue(stream);
         } catch (Exception e) {
             throw new SystemException(e);
         }
@@ -246,7 +282,7 @@ public class Casts {
      */
     public static <T> T readValue(String json, JavaType type) {
         try {
-            return objectMapper.readValue(json, type);
+            return jsonReaderCache.getReader(type).readValue(json);
         } catch (IOException e) {
             throw new SystemException(e);
         }
@@ -262,7 +298,7 @@ public class Casts {
      */
     public static <T> T readValue(byte[] bytes, Class<T> type) {
         try {
-            return objectMapper.readValue(bytes, type);
+            return jsonReaderCache.getReader(type).readValue(bytes);
         } catch (IOException e) {
             throw new SystemException(e);
         }
@@ -278,7 +314,7 @@ public class Casts {
      */
     public static <T> T readValue(byte[] bytes, JavaType type) {
         try {
-            return objectMapper.readValue(bytes, type);
+            return jsonReaderCache.getReader(type).readValue(bytes);
         } catch (IOException e) {
             throw new SystemException(e);
         }
@@ -294,12 +330,72 @@ public class Casts {
      */
     public static <T> T readValue(byte[] bytes, TypeReference<T> type) {
         try {
-            return objectMapper.readValue(bytes, type);
+            return jsonReaderCache.getReader(type).readValue(bytes);
         } catch (IOException e) {
             throw new SystemException(e);
         }
     }
 
+    /**
+     * 将 json 数组流按元素逐个读取，读取时不会将整个数组加载到内存中
+     *
+     * @param stream input 流，内容为 json 数组或多个连续的 json 对象
+     * @param type   元素类型的对象 class
+     * @param <T>    元素范型实体值
+     * @return 元素迭代器，使用完毕后需要调用 {@link MappingIterator#close()} 关闭流
+     */
+    public static <T> MappingIterator<T> readValues(InputStream stream, Class<T> type) {
+        return readValues(stream, objectMapper.constructType(type));
+    }
+
+    /**
+     * 将 json 数组流按元素逐个读取，读取时不会将整个数组加载到内存中
+     *
+     * @param stream input 流，内容为 json 数组或多个连续的 json 对象
+     * @param type   元素类型
+     * @param <T>    元素范型实体值
+     * @return 元素迭代器，使用完毕后需要调用 {@link MappingIterator#close()} 关闭流
+     */
+    public static <T> MappingIterator<T> readValues(InputStream stream, JavaType type) {
+        try {
+            return jsonReaderCache.getReader(type).readValues(stream);
+        } catch (IOException e) {
+            throw new SystemException(e);
+        }
+    }
+
+    /**
+     * 将 json 数组流转换为惰性读取的 {@link Stream}，读取时不会将整个数组加载到内存中
+     *
+     * @param stream input 流，内容为 json 数组或多个连续的 json 对象
+     * @param type   元素类型的对象 class
+     * @param <T>    元素范型实体值
+     * @return 元素流，关闭该流时会关闭 input 流
+     */
+    public static <T> Stream<T> readValuesAsStream(InputStream stream, Class<T> type) {
+        return readValuesAsStream(stream, objectMapper.constructType(type));
+    }
+
+    /**
+     * 将 json 数组流转换为惰性读取的 {@link Stream}，读取时不会将整个数组加载到内存中
+     *
+     * @param stream input 流，内容为 json 数组或多个连续的 json 对象
+     * @param type   元素类型
+     * @param <T>    元素范型实体值
+     * @return 元素流，关闭该流时会关闭 input 流
+     */
+    public static <T> Stream<T> readValuesAsStream(InputStream stream, JavaType type) {
+        MappingIterator<T> iterator = readValues(stream, type);
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                iterator.close();
+            } catch (IOException e) {
+                throw new SystemException(e);
+            }
+        });
+    }
+
     /**
      * 将格式为 http query string 的字符串转型为成 MultiValueMap
      *
@@ -526,10 +622,7 @@ public class Casts {
      * @return 转型后的值
      */
     public static <T> T cast(Object value) {
-        if (value == null) {
-            return null;
-        }
-        return (T) cast(value, value.getClass());
+        return (T) value;
     }
 
     /**
@@ -548,7 +641,7 @@ public class Casts {
     }
 
     /**
-     * 将 value 转型为返回值类型
+     * 将 value 转型为返回值类型，转换器按 (value 类型, type) 通过 {@link TypeConverters} 解析并缓存
      *
      * @param value 值
      * @param type  值类型 class
@@ -556,7 +649,7 @@ public class Casts {
      * @return 转型后的值
      */
     public static <T> T cast(Object value, Class<T> type) {
-        return (T) (value == null ? null : ConvertUtils.convert(value, type));
+        return (T) TypeConverters.convert(value, type);
     }
 
     /**
@@ -625,24 +718,18 @@ public class Casts {
      * @return 新的对象内容
      */
     public static <T> T of(Object source, Class<T> targetClass, String... ignoreProperties) {
-
-        T result = ClassUtils.newInstance(targetClass);
-
-        BeanUtils.copyProperties(source, result, ignoreProperties);
-
-        return result;
+        return BeanCopier.get(source.getClass(), targetClass, ignoreProperties).copy(source);
     }
 
+    /**
+     * 获取类中声明的带有 {@link IgnoreField} 注解的字段
+     *
+     * @param targetClass 类型
+     *
+     * @return 不可修改的字段集合
+     */
     public static List<Field> getIgnoreField(Class<?> targetClass) {
-        List<Field> fields = new LinkedList<>();
-        for (Field o : targetClass.getDeclaredFields()) {
-            IgnoreField ignoreField = o.getAnnotation(IgnoreField.class);
-            if (Objects.isNull(ignoreField)) {
-                continue;
-            }
-            fields.add(o);
-        }
-        return fields;
+        return IGNORE_FIELDS.get(targetClass);
     }
 
     public static boolean isPrimitive(Object value) {
@@ -656,4 +743,100 @@ public class Casts {
                 value instanceof Double);
     }
 
+    /**
+     * objectMapper 的 reader 缓存，按类型缓存已经解析好反序列化器的 {@link ObjectReader}
+     *
+     * <p>
+     * reader 创建时会复制 objectMapper 当前的配置，每次获取时检查 objectMapper 的反序列化配置和反序列化上下文是否已经被替换
+     * (如调用了 configure 或 registerModule)，被替换时清空缓存。缓存数量最多为 {@link #JSON_READER_CACHE_MAX_SIZE}，
+     * 超过时淘汰最近最少使用的 reader。
+     * </p>
+     *
+     * @author maurice.chen
+     */
+    private static class JsonReaderCache {
+
+        /**
+         * 所属的 objectMapper
+         */
+        private final ObjectMapper objectMapper;
+
+        /**
+         * reader 缓存
+         */
+        private final Cache<JavaType, ObjectReader> readers = Caffeine
+                .newBuilder()
+                .maximumSize(JSON_READER_CACHE_MAX_SIZE)
+                .build();
+
+        /**
+         * 创建缓存时 objectMapper 的反序列化配置
+         */
+        private volatile DeserializationConfig config;
+
+        /**
+         * 创建缓存时 objectMapper 的反序列化上下文
+         */
+        private volatile DeserializationContext context;
+
+        /**
+         * objectMapper 的 reader 缓存
+         *
+         * @param objectMapper objectMapper
+         */
+        public JsonReaderCache(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+            this.config = objectMapper.getDeserializationConfig();
+            this.context = objectMapper.getDeserializationContext();
+        }
+
+        /**
+         * 获取指定类型的 reader
+         *
+         * @param type 类型
+         *
+         * @return reader
+         */
+        public ObjectReader getReader(Class<?> type) {
+            return getReader(objectMapper.constructType(type));
+        }
+
+        /**
+         * 获取指定类型的 reader
+         *
+         * @param type 类型引用
+         *
+         * @return reader
+         */
+        public ObjectReader getReader(TypeReference<?> type) {
+            return getReader(objectMapper.getTypeFactory().constructType(type));
+        }
+
+        /**
+         * 获取指定类型的 reader，objectMapper 的配置被修改后清空缓存
+         *
+         * @param type 类型
+         *
+         * @return reader
+         */
+        public ObjectReader getReader(JavaType type) {
+            DeserializationConfig currentConfig = objectMapper.getDeserializationConfig();
+            DeserializationContext currentContext = objectMapper.getDeserializationContext();
+
+            if (currentConfig != config || currentContext != context) {
+                readers.invalidateAll();
+                config = currentConfig;
+                context = currentContext;
+            }
+
+            return readers.get(type, objectMapper::readerFor);
+        }
+
+        /**
+         * 清空缓存
+         */
+        public void clear() {
+            readers.invalidateAll();
+        }
+    }
 }
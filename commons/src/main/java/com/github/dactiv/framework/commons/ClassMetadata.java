@@ -0,0 +1,153 @@
+package com.github.dactiv.framework.commons;
+
+import com.github.dactiv.framework.commons.exception.SystemException;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.util.*;
+
+/**
+ * 类元数据，按类型缓存字段集合以及属性访问器，每个类型只构造一次。
+ *
+ * @author maurice.chen
+ */
+public final class ClassMetadata {
+
+    /**
+     * 类元数据注册表
+     */
+    private static final ClassValue<ClassMetadata> REGISTRY = new ClassValue<>() {
+        @Override
+        protected ClassMetadata computeValue(Class<?> type) {
+            return new ClassMetadata(type);
+        }
+    };
+
+    /**
+     * 目标类型
+     */
+    private final Class<?> type;
+
+    /**
+     * 所有字段，先当前类声明的字段，再到父类声明的字段
+     */
+    private final List<Field> fields;
+
+    /**
+     * 按名称索引的字段，子类字段优先
+     */
+    private final Map<String, Field> fieldMap;
+
+    /**
+     * 属性访问器
+     */
+    private final Map<String, PropertyAccessor> accessorMap;
+
+    /**
+     * 属性访问器集合
+     */
+    private final List<PropertyAccessor> accessors;
+
+    private ClassMetadata(Class<?> type) {
+        this.type = type;
+
+        List<Field> fields = new ArrayList<>();
+        Map<String, Field> fieldMap = new HashMap<>();
+
+        Class<?> current = type;
+        while (Objects.nonNull(current)) {
+            for (Field field : current.getDeclaredFields()) {
+                fields.add(field);
+                fieldMap.putIfAbsent(field.getName(), field);
+            }
+            current = current.getSuperclass();
+        }
+
+        this.fields = Collections.unmodifiableList(fields);
+        this.fieldMap = fieldMap;
+
+        Map<String, PropertyAccessor> accessorMap = new LinkedHashMap<>();
+
+        if (!type.isPrimitive() && !type.isArray()) {
+            try {
+                for (PropertyDescriptor pd : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+                    if (Objects.isNull(pd.getPropertyType())) {
+                        continue;
+                    }
+                    try {
+                        accessorMap.put(pd.getName(), new PropertyAccessor(pd));
+                    } catch (RuntimeException ignored) {
+                        // 无法访问的属性（如未开放模块中的类型）不提供访问器
+                    }
+                }
+            } catch (IntrospectionException e) {
+                throw new SystemException(e);
+            }
+        }
+
+        this.accessorMap = Collections.unmodifiableMap(accessorMap);
+        this.accessors = List.copyOf(accessorMap.values());
+    }
+
+    /**
+     * 获取类元数据
+     *
+     * @param type 类型
+     *
+     * @return 类元数据
+     */
+    public static ClassMetadata of(Class<?> type) {
+        return REGISTRY.get(type);
+    }
+
+    /**
+     * 获取目标类型
+     *
+     * @return 目标类型
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * 获取所有字段
+     *
+     * @return 不可修改的字段集合
+     */
+    public List<Field> getFields() {
+        return fields;
+    }
+
+    /**
+     * 查找字段
+     *
+     * @param name 字段名称
+     *
+     * @return 字段，找不到返回 null
+     */
+    public Field findField(String name) {
+        return fieldMap.get(name);
+    }
+
+    /**
+     * 获取属性访问器
+     *
+     * @param name 属性名称
+     *
+     * @return 属性访问器，找不到返回 null
+     */
+    public PropertyAccessor getAccessor(String name) {
+        return accessorMap.get(name);
+    }
+
+    /**
+     * 获取所有属性访问器
+     *
+     * @return 不可修改的属性访问器集合
+     */
+    public List<PropertyAccessor> getAccessors() {
+        return accessors;
+    }
+}
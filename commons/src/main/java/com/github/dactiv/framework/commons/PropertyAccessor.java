@@ -0,0 +1,255 @@
+package com.github.dactiv.framework.commons;
+
+import com.github.dactiv.framework.commons.exception.SystemException;
+import org.apache.commons.lang3.ClassUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 属性访问器，将属性的 get/set 方法编译为 {@link Function} 和 {@link BiConsumer}，
+ * 重复读写属性时的开销接近直接调用方法。
+ *
+ * <p>
+ * 优先通过 {@link LambdaMetafactory} 生成实现，如果目标类不允许生成（如不同类加载器下的非公开类），
+ * 使用 {@link MethodHandle} 作为降级实现。
+ * </p>
+ *
+ * @author maurice.chen
+ */
+public class PropertyAccessor {
+
+    /**
+     * 属性名称
+     */
+    private final String name;
+
+    /**
+     * 属性类型
+     */
+    private final Class<?> type;
+
+    /**
+     * get 方法，如果没有为 null
+     */
+    private final Method readMethod;
+
+    /**
+     * set 方法，如果没有为 null
+     */
+    private final Method writeMethod;
+
+    /**
+     * 编译后的 get 方法
+     */
+    private final Function<Object, Object> getter;
+
+    /**
+     * 编译后的 set 方法
+     */
+    private final BiConsumer<Object, Object> setter;
+
+    /**
+     * 属性访问器
+     *
+     * @param propertyDescriptor 属性描述
+     */
+    public PropertyAccessor(PropertyDescriptor propertyDescriptor) {
+        this.name = propertyDescriptor.getName();
+        this.type = propertyDescriptor.getPropertyType();
+        this.readMethod = propertyDescriptor.getReadMethod();
+        this.writeMethod = propertyDescriptor.getWriteMethod();
+        this.getter = Objects.nonNull(readMethod) ? createGetter(readMethod) : null;
+        this.setter = Objects.nonNull(writeMethod) ? createSetter(writeMethod) : null;
+    }
+
+    /**
+     * 获取属性名称
+     *
+     * @return 属性名称
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取属性类型
+     *
+     * @return 属性类型
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * 获取 get 方法
+     *
+     * @return get 方法，如果没有返回 null
+     */
+    public Method getReadMethod() {
+        return readMethod;
+    }
+
+    /**
+     * 获取 set 方法
+     *
+     * @return set 方法，如果没有返回 null
+     */
+    public Method getWriteMethod() {
+        return writeMethod;
+    }
+
+    /**
+     * 是否可读
+     *
+     * @return true 是，否则 false
+     */
+    public boolean isReadable() {
+        return Objects.nonNull(getter);
+    }
+
+    /**
+     * 是否可写
+     *
+     * @return true 是，否则 false
+     */
+    public boolean isWritable() {
+        return Objects.nonNull(setter);
+    }
+
+    /**
+     * 读取属性值
+     *
+     * @param target 目标对象
+     *
+     * @return 属性值
+     */
+    public Object get(Object target) {
+        if (Objects.isNull(getter)) {
+            throw new SystemException("[" + target.getClass() + "] 的 [" + name + "] 属性不可读");
+        }
+        return getter.apply(target);
+    }
+
+    /**
+     * 设置属性值
+     *
+     * @param target 目标对象
+     * @param value  属性值
+     */
+    public void set(Object target, Object value) {
+        if (Objects.isNull(setter)) {
+            throw new SystemException("[" + target.getClass() + "] 的 [" + name + "] 属性不可写");
+        }
+        setter.accept(target, value);
+    }
+
+    /**
+     * 创建 get 方法的函数
+     *
+     * @param method get 方法
+     *
+     * @return get 方法的函数
+     */
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> createGetter(Method method) {
+        MethodHandle handle = unreflect(method);
+
+        try {
+            MethodHandles.Lookup lookup = privateLookup(method);
+            CallSite callSite = LambdaMetafactory.metafactory(
+                    lookup,
+                    "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(ClassUtils.primitiveToWrapper(method.getReturnType()), method.getDeclaringClass())
+            );
+            return (Function<Object, Object>) callSite.getTarget().invoke();
+        } catch (Throwable e) {
+            MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+            return target -> {
+                try {
+                    return generic.invokeExact(target);
+                } catch (Throwable t) {
+                    throw new SystemException(t);
+                }
+            };
+        }
+    }
+
+    /**
+     * 创建 set 方法的函数
+     *
+     * @param method set 方法
+     *
+     * @return set 方法的函数
+     */
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> createSetter(Method method) {
+        MethodHandle handle = unreflect(method);
+
+        try {
+            MethodHandles.Lookup lookup = privateLookup(method);
+            CallSite callSite = LambdaMetafactory.metafactory(
+                    lookup,
+                    "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(
+                            void.class,
+                            method.getDeclaringClass(),
+                            ClassUtils.primitiveToWrapper(method.getParameterTypes()[0])
+                    )
+            );
+            return (BiConsumer<Object, Object>) callSite.getTarget().invoke();
+        } catch (Throwable e) {
+            MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return (target, value) -> {
+                try {
+                    generic.invokeExact(target, value);
+                } catch (Throwable t) {
+                    throw new SystemException(t);
+                }
+            };
+        }
+    }
+
+    /**
+     * 将方法转换为 {@link MethodHandle}
+     *
+     * @param method 方法
+     *
+     * @return 方法句柄
+     */
+    private static MethodHandle unreflect(Method method) {
+        try {
+            return privateLookup(method).unreflect(method);
+        } catch (IllegalAccessException e) {
+            try {
+                method.setAccessible(true);
+                return MethodHandles.lookup().unreflect(method);
+            } catch (Exception ex) {
+                throw new SystemException(ex);
+            }
+        }
+    }
+
+    /**
+     * 获取方法声明类的私有访问 lookup
+     *
+     * @param method 方法
+     *
+     * @return lookup
+     *
+     * @throws IllegalAccessException 无法访问时抛出
+     */
+    private static MethodHandles.Lookup privateLookup(Method method) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+    }
+}
@@ -1,13 +1,12 @@
 package com.github.dactiv.framework.commons;
 
 import com.github.dactiv.framework.commons.exception.SystemException;
+import org.apache.commons.lang3.ArrayUtils;
 
-import java.beans.PropertyDescriptor;
 import java.lang.reflect.*;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * 反射工具类
@@ -17,23 +16,14 @@ import java.util.List;
 public class ReflectionUtils {
 
     /**
-     * 获取所有字段信息
+     * 获取所有字段信息，字段信息通过 {@link ClassMetadata} 缓存
      *
      * @param targetClass 目标类
      *
-     * @return 字段集合
+     * @return 不可修改的字段集合
      */
     public static List<Field> findFields(Class<?> targetClass) {
-
-        Field[] fields = targetClass.getDeclaredFields();
-
-        List<Field> result = new LinkedList<>(Arrays.asList(fields));
-
-        if (!targetClass.getName().equals(Object.class.getName())) {
-            result.addAll(findFields(targetClass.getSuperclass()));
-        }
-
-        return result;
+        return ClassMetadata.of(targetClass).getFields();
     }
 
     /**
@@ -45,7 +35,7 @@ public class ReflectionUtils {
      * @return 字段信息
      */
     public static Field findFiled(Object o, String name) {
-        return org.springframework.util.ReflectionUtils.findField(o.getClass(), name);
+        return ClassMetadata.of(o.getClass()).findField(name);
     }
 
     /**
@@ -70,7 +60,7 @@ public class ReflectionUtils {
      * @param value 值
      */
     public static void setFieldValue(Object o, String name, Object value) {
-        Field field = org.springframework.util.ReflectionUtils.findField(o.getClass(), name);
+        Field field = findFiled(o, name);
 
         if (field == null) {
             throw new SystemException("在 [" + o.getClass() + "] 类中找不到 [" + name + "] 字段");
@@ -90,7 +80,7 @@ public class ReflectionUtils {
      * @return 值
      */
     public static Object getFieldValue(Object o, String name) {
-        Field field = org.springframework.util.ReflectionUtils.findField(o.getClass(), name);
+        Field field = findFiled(o, name);
 
         if (field == null) {
             throw new SystemException("在 [" + o.getClass() + "] 类中找不到 [" + name + "] 字段");
@@ -111,18 +101,14 @@ public class ReflectionUtils {
      * @return 字段内容
      */
     public static Object getReadProperty(Object o, String name, Object... args) {
+        PropertyAccessor accessor = getAccessor(o, name);
+        assertPublicMethod(o, name, accessor.getReadMethod(), "get");
 
-        try {
-            PropertyDescriptor propertyDescriptor = new PropertyDescriptor(name, o.getClass());
-
-            if (!Modifier.isPublic(propertyDescriptor.getReadMethod().getDeclaringClass().getModifiers())) {
-                throw new SystemException("[" + o.getClass() + "] 的 [" + name + "] 属性为非 public 属性");
-            }
-
-            return invokeMethod(o, propertyDescriptor.getReadMethod(), Arrays.asList(args));
-        } catch (Exception e) {
-            throw new SystemException(e);
+        if (ArrayUtils.isNotEmpty(args)) {
+            return invokeMethod(o, accessor.getReadMethod(), Arrays.asList(args));
         }
+
+        return accessor.get(o);
     }
 
     /**
@@ -133,19 +119,46 @@ public class ReflectionUtils {
      * @param value 值
      */
     public static void setWriteProperty(Object o, String name, Object value) {
+        PropertyAccessor accessor = getAccessor(o, name);
+        assertPublicMethod(o, name, accessor.getWriteMethod(), "set");
 
-        try {
-            PropertyDescriptor propertyDescriptor = new PropertyDescriptor(name, o.getClass());
+        accessor.set(o, value);
+    }
 
-            if (!Modifier.isPublic(propertyDescriptor.getWriteMethod().getDeclaringClass().getModifiers())) {
-                throw new SystemException("[" + o.getClass() + "] 的 [" + name + "] 属性为非 public 属性");
-            }
+    /**
+     * 获取属性访问器
+     *
+     * @param o    对象
+     * @param name 属性名称
+     *
+     * @return 属性访问器
+     */
+    private static PropertyAccessor getAccessor(Object o, String name) {
+        PropertyAccessor accessor = ClassMetadata.of(o.getClass()).getAccessor(name);
 
-            invokeMethod(o, propertyDescriptor.getWriteMethod(), Collections.singletonList(value));
-        } catch (Exception e) {
-            throw new SystemException(e);
+        if (Objects.isNull(accessor)) {
+            throw new SystemException("在 [" + o.getClass() + "] 类中找不到 [" + name + "] 属性");
         }
 
+        return accessor;
+    }
+
+    /**
+     * 断言属性的 get/set 方法存在并且声明类为 public
+     *
+     * @param o          对象
+     * @param name       属性名称
+     * @param method     get/set 方法
+     * @param methodType 方法类型描述
+     */
+    private static void assertPublicMethod(Object o, String name, Method method, String methodType) {
+        if (Objects.isNull(method)) {
+            throw new SystemException("[" + o.getClass() + "] 的 [" + name + "] 属性没有 " + methodType + " 方法");
+        }
+
+        if (!Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+            throw new SystemException("[" + o.getClass() + "] 的 [" + name + "] 属性为非 public 属性");
+        }
     }
 
     /**
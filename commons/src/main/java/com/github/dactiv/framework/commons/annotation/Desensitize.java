@@ -0,0 +1,80 @@
+package com.github.dactiv.framework.commons.annotation;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.github.dactiv.framework.commons.jackson.serializer.DesensitizeSerializer;
+
+import java.lang.annotation.*;
+
+/**
+ * 敏感数据脱敏注解，标注的属性在 json 序列化时按脱敏类型加 *
+ *
+ * @author maurice.chen
+ */
+@Documented
+@JacksonAnnotationsInside
+@Retention(RetentionPolicy.RUNTIME)
+@JsonSerialize(using = DesensitizeSerializer.class)
+@Target({ElementType.METHOD, ElementType.FIELD, ElementType.ANNOTATION_TYPE})
+public @interface Desensitize {
+
+    /**
+     * 脱敏类型
+     *
+     * @return 脱敏类型
+     */
+    Type type() default Type.Default;
+
+    /**
+     * 保留的前缀长度，仅在 {@link Type#Custom} 时使用
+     *
+     * @return 前缀长度
+     */
+    int prefix() default 0;
+
+    /**
+     * 保留的后缀长度，仅在 {@link Type#Custom} 时使用
+     *
+     * @return 后缀长度
+     */
+    int suffix() default 0;
+
+    /**
+     * 脱敏类型
+     *
+     * @author maurice.chen
+     */
+    enum Type {
+
+        /**
+         * 默认，保留前后约四分之一的内容
+         */
+        Default,
+
+        /**
+         * 手机号码，保留前 3 位和后 4 位
+         */
+        Phone,
+
+        /**
+         * 身份证号码，保留前 3 位和后 4 位
+         */
+        IdCard,
+
+        /**
+         * 电子邮箱，保留用户名的第一个字符和 @ 之后的内容
+         */
+        Email,
+
+        /**
+         * 银行卡号，保留前 4 位和后 4 位
+         */
+        BankCard,
+
+        /**
+         * 自定义，保留 {@link #prefix()} 和 {@link #suffix()} 指定长度的内容
+         */
+        Custom
+
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.dactiv.framework.commons.converter;
+
+/**
+ * 类型转换器，每个实例只负责一种 (源类型, 目标类型) 的转换
+ *
+ * @author maurice.chen
+ */
+@FunctionalInterface
+public interface TypeConverter {
+
+    /**
+     * 转换值
+     *
+     * @param value 值，不会为 null
+     *
+     * @return 转换后的值
+     */
+    Object convert(Object value);
+}
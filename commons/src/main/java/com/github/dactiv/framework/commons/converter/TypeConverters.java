@@ -0,0 +1,491 @@
+package com.github.dactiv.framework.commons.converter;
+
+import com.github.dactiv.framework.commons.enumerate.EnumMetadata;
+import com.github.dactiv.framework.commons.enumerate.ValueEnum;
+import org.apache.commons.beanutils.ConversionException;
+import org.apache.commons.beanutils.ConvertUtils;
+import org.apache.commons.lang3.ClassUtils;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.format.SignStyle;
+import java.time.temporal.ChronoField;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * 类型转换器矩阵，按 (源类型, 目标类型) 解析并缓存专用的 {@link TypeConverter}。
+ *
+ * <p>
+ * 基本类型、包装类型、数字、字符串、枚举以及 {@link Date} 使用内置的快速实现，转换语义与 commons-beanutils
+ * 的默认转换器保持一致：数字、布尔、字符转换失败时返回默认值（0、false、空格），日期转换失败时抛出
+ * {@link ConversionException}。其他类型（集合、数组、Calendar 等）仍交给 {@link ConvertUtils} 处理。
+ * </p>
+ *
+ * @author maurice.chen
+ */
+public class TypeConverters {
+
+    /**
+     * 原样返回的转换器
+     */
+    public static final TypeConverter IDENTITY = value -> value;
+
+    /**
+     * 日期转字符串时使用的格式：yyyy-MM-dd
+     */
+    private static final DateTimeFormatter DATE_OUTPUT_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    /**
+     * 默认日期格式：yyyy-MM-dd，月和日允许一位数字
+     */
+    private static final DateTimeFormatter DATE_FORMATTER = new DateTimeFormatterBuilder()
+            .appendValue(ChronoField.YEAR, 1, 10, SignStyle.NORMAL)
+            .appendLiteral('-')
+            .appendValue(ChronoField.MONTH_OF_YEAR, 1, 2, SignStyle.NOT_NEGATIVE)
+            .appendLiteral('-')
+            .appendValue(ChronoField.DAY_OF_MONTH, 1, 2, SignStyle.NOT_NEGATIVE)
+            .toFormatter()
+            .withResolverStyle(ResolverStyle.STRICT);
+
+    /**
+     * 默认日期时间格式：yyyy-MM-dd HH:mm:ss
+     */
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = new DateTimeFormatterBuilder()
+            .append(DATE_FORMATTER)
+            .appendLiteral(' ')
+            .appendValue(ChronoField.HOUR_OF_DAY, 1, 2, SignStyle.NOT_NEGATIVE)
+            .appendLiteral(':')
+            .appendValue(ChronoField.MINUTE_OF_HOUR, 1, 2, SignStyle.NOT_NEGATIVE)
+            .appendLiteral(':')
+            .appendValue(ChronoField.SECOND_OF_MINUTE, 1, 2, SignStyle.NOT_NEGATIVE)
+            .toFormatter()
+            .withResolverStyle(ResolverStyle.STRICT);
+
+    /**
+     * 数字类型的默认值，与 commons-beanutils 默认注册的转换器一致
+     */
+    private static final Map<Class<?>, Number> NUMBER_DEFAULT_VALUES = Map.of(
+            Byte.class, (byte) 0,
+            Short.class, (short) 0,
+            Integer.class, 0,
+            Long.class, 0L,
+            Float.class, 0F,
+            Double.class, 0D,
+            BigDecimal.class, new BigDecimal("0.0"),
+            BigInteger.class, BigInteger.ZERO
+    );
+
+    /**
+     * 布尔值为 true 的字符串
+     */
+    private static final Set<String> TRUE_STRINGS = Set.of("true", "yes", "y", "on", "1");
+
+    /**
+     * 字符类型的默认值
+     */
+    private static final Character DEFAULT_CHARACTER = ' ';
+
+    /**
+     * 转换器矩阵，外层以目标类型为键，内层以源类型为键
+     */
+    private static final ClassValue<ClassValue<TypeConverter>> MATRIX = new ClassValue<>() {
+        @Override
+        protected ClassValue<TypeConverter> computeValue(Class<?> targetType) {
+            return new ClassValue<>() {
+                @Override
+                protected TypeConverter computeValue(Class<?> sourceType) {
+                    return resolve(sourceType, targetType);
+                }
+            };
+        }
+    };
+
+    /**
+     * 将值转换为指定类型
+     *
+     * @param value      值
+     * @param targetType 目标类型
+     *
+     * @return 转换后的值，如果值为 null 返回 null
+     */
+    public static Object convert(Object value, Class<?> targetType) {
+        if (Objects.isNull(value)) {
+            return null;
+        }
+        return getConverter(value.getClass(), targetType).convert(value);
+    }
+
+    /**
+     * 获取 (源类型, 目标类型) 对应的转换器，转换器只解析一次
+     *
+     * @param sourceType 源类型
+     * @param targetType 目标类型
+     *
+     * @return 类型转换器
+     */
+    public static TypeConverter getConverter(Class<?> sourceType, Class<?> targetType) {
+        return MATRIX.get(targetType).get(sourceType);
+    }
+
+    /**
+     * 解析转换器
+     *
+     * @param sourceType 源类型
+     * @param targetType 目标类型
+     *
+     * @return 类型转换器
+     */
+    private static TypeConverter resolve(Class<?> sourceType, Class<?> targetType) {
+        Class<?> type = ClassUtils.primitiveToWrapper(targetType);
+
+        boolean scalar = isScalar(type);
+
+        if (scalar && isMultiValue(sourceType)) {
+            return value -> convertFirstElement(value, type);
+        }
+
+        if (type.isAssignableFrom(sourceType) && !Collection.class.isAssignableFrom(type) && !type.isArray()) {
+            return IDENTITY;
+        }
+
+        if (String.class.equals(type)) {
+            return Date.class.equals(sourceType) ? value -> DATE_OUTPUT_FORMATTER.format(toLocalDateTime((Date) value)) : Object::toString;
+        }
+
+        if (NUMBER_DEFAULT_VALUES.containsKey(type)) {
+            return numberConverter(sourceType, type);
+        } else if (Boolean.class.equals(type)) {
+            return TypeConverters::toBoolean;
+        } else if (Character.class.equals(type)) {
+            return value -> toCharacter(value.toString());
+        } else if (Date.class.equals(type)) {
+            return dateConverter(sourceType);
+        } else if (type.isEnum()) {
+            return value -> toEnum(value, type);
+        }
+
+        return value -> ConvertUtils.convert(value, targetType);
+    }
+
+    /**
+     * 是否单值类型，单值类型在源数据为数组或集合时取第一个元素转换
+     *
+     * @param type 类型
+     *
+     * @return true 是，否则 false
+     */
+    private static boolean isScalar(Class<?> type) {
+        return String.class.equals(type)
+                || NUMBER_DEFAULT_VALUES.containsKey(type)
+                || Boolean.class.equals(type)
+                || Character.class.equals(type)
+                || Date.class.equals(type);
+    }
+
+    /**
+     * 是否数组或集合类型
+     *
+     * @param type 类型
+     *
+     * @return true 是，否则 false
+     */
+    private static boolean isMultiValue(Class<?> type) {
+        return type.isArray() || Collection.class.isAssignableFrom(type);
+    }
+
+    /**
+     * 取数组或集合的第一个元素转换为目标类型
+     *
+     * @param value 数组或集合
+     * @param type  目标类型
+     *
+     * @return 转换后的值
+     */
+    private static Object convertFirstElement(Object value, Class<?> type) {
+        Object first = null;
+
+        if (value.getClass().isArray()) {
+            if (Array.getLength(value) > 0) {
+                first = Array.get(value, 0);
+            }
+        } else {
+            Iterator<?> iterator = ((Collection<?>) value).iterator();
+            if (iterator.hasNext()) {
+                first = iterator.next();
+            }
+        }
+
+        if (Objects.nonNull(first)) {
+            return convert(first, type);
+        }
+
+        if (NUMBER_DEFAULT_VALUES.containsKey(type)) {
+            return NUMBER_DEFAULT_VALUES.get(type);
+        } else if (Boolean.class.equals(type)) {
+            return Boolean.FALSE;
+        } else if (Character.class.equals(type)) {
+            return DEFAULT_CHARACTER;
+        } else if (Date.class.equals(type)) {
+            throw new ConversionException("No value specified for 'Date'");
+        }
+
+        return null;
+    }
+
+    /**
+     * 创建数字类型转换器
+     *
+     * @param sourceType 源类型
+     * @param type       目标数字类型
+     *
+     * @return 类型转换器
+     */
+    private static TypeConverter numberConverter(Class<?> sourceType, Class<?> type) {
+        Number defaultValue = NUMBER_DEFAULT_VALUES.get(type);
+
+        Function<Object, Number> function;
+
+        if (Number.class.isAssignableFrom(sourceType)) {
+            function = value -> fromNumber((Number) value, type);
+        } else if (Boolean.class.equals(sourceType)) {
+            function = value -> fromNumber((Boolean) value ? 1 : 0, type);
+        } else if (Long.class.equals(type) && Date.class.isAssignableFrom(sourceType)) {
+            function = value -> ((Date) value).getTime();
+        } else if (Long.class.equals(type) && Calendar.class.isAssignableFrom(sourceType)) {
+            function = value -> ((Calendar) value).getTimeInMillis();
+        } else {
+            function = value -> fromString(value.toString().trim(), type);
+        }
+
+        return value -> {
+            try {
+                Number result = function.apply(value);
+                return Objects.isNull(result) ? defaultValue : result;
+            } catch (RuntimeException e) {
+                return defaultValue;
+            }
+        };
+    }
+
+    /**
+     * 将数字转换为目标数字类型
+     *
+     * @param value 数字
+     * @param type  目标数字类型
+     *
+     * @return 转换后的数字
+     */
+    private static Number fromNumber(Number value, Class<?> type) {
+        if (type.equals(value.getClass())) {
+            return value;
+        }
+
+        if (Integer.class.equals(type)) {
+            long l = value.longValue();
+            checkRange(l, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            return (int) l;
+        } else if (Long.class.equals(type)) {
+            return value.longValue();
+        } else if (Short.class.equals(type)) {
+            long l = value.longValue();
+            checkRange(l, Short.MIN_VALUE, Short.MAX_VALUE);
+            return (short) l;
+        } else if (Byte.class.equals(type)) {
+            long l = value.longValue();
+            checkRange(l, Byte.MIN_VALUE, Byte.MAX_VALUE);
+            return (byte) l;
+        } else if (Double.class.equals(type)) {
+            return value.doubleValue();
+        } else if (Float.class.equals(type)) {
+            if (value instanceof Double d && Math.abs(d) > Float.MAX_VALUE) {
+                throw new ConversionException("值 [" + value + "] 超出 Float 范围");
+            }
+            return value.floatValue();
+        } else if (BigDecimal.class.equals(type)) {
+            if (value instanceof Float || value instanceof Double) {
+                return new BigDecimal(value.toString());
+            } else if (value instanceof BigInteger b) {
+                return new BigDecimal(b);
+            }
+            return BigDecimal.valueOf(value.longValue());
+        } else if (BigInteger.class.equals(type)) {
+            if (value instanceof BigDecimal b) {
+                return b.toBigInteger();
+            }
+            return BigInteger.valueOf(value.longValue());
+        }
+
+        return null;
+    }
+
+    /**
+     * 将字符串转换为目标数字类型
+     *
+     * @param value 字符串
+     * @param type  目标数字类型
+     *
+     * @return 转换后的数字，如果字符串为空返回 null
+     */
+    private static Number fromString(String value, Class<?> type) {
+        if (value.isEmpty()) {
+            return null;
+        }
+
+        if (Integer.class.equals(type)) {
+            return Integer.valueOf(value);
+        } else if (Long.class.equals(type)) {
+            return Long.valueOf(value);
+        } else if (Short.class.equals(type)) {
+            return Short.valueOf(value);
+        } else if (Byte.class.equals(type)) {
+            return Byte.valueOf(value);
+        } else if (Double.class.equals(type)) {
+            return Double.valueOf(value);
+        } else if (Float.class.equals(type)) {
+            return Float.valueOf(value);
+        } else if (BigDecimal.class.equals(type)) {
+            return new BigDecimal(value);
+        } else if (BigInteger.class.equals(type)) {
+            return new BigInteger(value);
+        }
+
+        return null;
+    }
+
+    /**
+     * 校验数值范围
+     *
+     * @param value 值
+     * @param min   最小值
+     * @param max   最大值
+     */
+    private static void checkRange(long value, long min, long max) {
+        if (value < min || value > max) {
+            throw new ConversionException("值 [" + value + "] 超出范围 [" + min + ", " + max + "]");
+        }
+    }
+
+    /**
+     * 转换为布尔值
+     *
+     * @param value 值
+     *
+     * @return 布尔值，无法识别时返回 false
+     */
+    private static Boolean toBoolean(Object value) {
+        String s = value.toString().toLowerCase(Locale.ROOT);
+        if (TRUE_STRINGS.contains(s)) {
+            return Boolean.TRUE;
+        }
+        return Boolean.FALSE;
+    }
+
+    /**
+     * 转换为字符
+     *
+     * @param value 值
+     *
+     * @return 字符，空字符串时返回空格
+     */
+    private static Character toCharacter(String value) {
+        return value.isEmpty() ? DEFAULT_CHARACTER : value.charAt(0);
+    }
+
+    /**
+     * 创建日期类型转换器
+     *
+     * @param sourceType 源类型
+     *
+     * @return 类型转换器
+     */
+    private static TypeConverter dateConverter(Class<?> sourceType) {
+        if (Calendar.class.isAssignableFrom(sourceType)) {
+            return value -> new Date(((Calendar) value).getTimeInMillis());
+        } else if (Long.class.equals(sourceType)) {
+            return value -> new Date((Long) value);
+        } else if (Instant.class.equals(sourceType)) {
+            return value -> Date.from((Instant) value);
+        } else if (LocalDateTime.class.equals(sourceType)) {
+            return value -> Date.from(((LocalDateTime) value).atZone(ZoneId.systemDefault()).toInstant());
+        } else if (LocalDate.class.equals(sourceType)) {
+            return value -> Date.from(((LocalDate) value).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        } else if (ZonedDateTime.class.equals(sourceType)) {
+            return value -> Date.from(((ZonedDateTime) value).toInstant());
+        } else if (OffsetDateTime.class.equals(sourceType)) {
+            return value -> Date.from(((OffsetDateTime) value).toInstant());
+        }
+
+        return value -> parseDate(value.toString().trim());
+    }
+
+    /**
+     * 按 yyyy-MM-dd 或 yyyy-MM-dd HH:mm:ss 格式解析日期
+     *
+     * @param value 字符串
+     *
+     * @return 日期
+     */
+    private static Date parseDate(String value) {
+        if (value.isEmpty()) {
+            throw new ConversionException("No value specified for 'Date'");
+        }
+
+        try {
+            // 日期格式中不会有空格，按内容选择格式，避免以异常作为分支
+            if (value.indexOf(' ') < 0) {
+                LocalDate date = LocalDate.parse(value, DATE_FORMATTER);
+                return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+            }
+
+            LocalDateTime dateTime = LocalDateTime.parse(value, DATE_TIME_FORMATTER);
+            return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+        } catch (DateTimeParseException e) {
+            throw new ConversionException("值 [" + value + "] 不符合 [yyyy-MM-dd, yyyy-MM-dd HH:mm:ss] 格式", e);
+        }
+    }
+
+    /**
+     * 将日期转换为本地日期时间
+     *
+     * @param date 日期
+     *
+     * @return 本地日期时间
+     */
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+
+    /**
+     * 转换为枚举，依次按 name()/toString()、{@link ValueEnum} 的取值策略值、getValue() 的字符串值查找
+     *
+     * @param value 值
+     * @param type  枚举类型
+     *
+     * @return 枚举常量
+     */
+    private static Object toEnum(Object value, Class<?> type) {
+        EnumMetadata metadata = EnumMetadata.of(type);
+
+        Enum<?> result = metadata.findByName(value.toString());
+
+        if (Objects.isNull(result) && ValueEnum.class.isAssignableFrom(type)) {
+            result = metadata.findByValue(value);
+            if (Objects.isNull(result)) {
+                result = metadata.findByValueString(value.toString());
+            }
+        }
+
+        if (Objects.isNull(result)) {
+            throw new ConversionException("在类型 [" + type + "] 枚举里找不到值为 [" + value + "] 的类型");
+        }
+
+        return result;
+    }
+}
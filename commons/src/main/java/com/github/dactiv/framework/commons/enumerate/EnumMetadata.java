@@ -0,0 +1,230 @@
+package com.github.dactiv.framework.commons.enumerate;
+
+import com.github.dactiv.framework.commons.Casts;
+import com.github.dactiv.framework.commons.annotation.GetValueStrategy;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 枚举元数据，按枚举类型缓存取值策略以及各种值到枚举常量的映射，每个枚举类型只构造一次。
+ *
+ * <p>
+ * 所有映射都按枚举常量的声明顺序以 putIfAbsent 方式构造，因此查找结果与原来线性遍历
+ * {@link Class#getEnumConstants()} 时 "第一个匹配" 的语义一致。
+ * </p>
+ *
+ * @author maurice.chen
+ */
+public final class EnumMetadata {
+
+    /**
+     * 枚举元数据注册表
+     */
+    private static final ClassValue<EnumMetadata> REGISTRY = new ClassValue<>() {
+        @Override
+        protected EnumMetadata computeValue(Class<?> type) {
+            return new EnumMetadata(type);
+        }
+    };
+
+    /**
+     * 取值策略，如果枚举没有 {@link GetValueStrategy} 注解，为 null
+     */
+    private final GetValueStrategy.Type strategyType;
+
+    /**
+     * 按取值策略得到的值对应的枚举常量
+     */
+    private final Map<Object, Enum<?>> valueMap;
+
+    /**
+     * {@link Enum#name()} 或 {@link Enum#toString()} 对应的枚举常量
+     */
+    private final Map<String, Enum<?>> nameMap;
+
+    /**
+     * {@link Enum#toString()} 对应的枚举常量
+     */
+    private final Map<String, Enum<?>> toStringMap;
+
+    /**
+     * {@link NameEnum#getName()} 对应的枚举常量
+     */
+    private final Map<String, Enum<?>> displayNameMap;
+
+    /**
+     * {@link ValueEnum#getValue()} 的 toString 值对应的枚举常量
+     */
+    private final Map<String, Enum<?>> valueStringMap;
+
+    private EnumMetadata(Class<?> type) {
+
+        GetValueStrategy getValueStrategy = AnnotatedElementUtils.findMergedAnnotation(type, GetValueStrategy.class);
+        this.strategyType = Objects.isNull(getValueStrategy) ? null : getValueStrategy.type();
+
+        Object[] constants = type.getEnumConstants();
+
+        if (Objects.isNull(constants)) {
+            this.valueMap = Collections.emptyMap();
+            this.nameMap = Collections.emptyMap();
+            this.toStringMap = Collections.emptyMap();
+            this.displayNameMap = Collections.emptyMap();
+            this.valueStringMap = Collections.emptyMap();
+            return;
+        }
+
+        Map<Object, Enum<?>> valueMap = new HashMap<>();
+        Map<String, Enum<?>> nameMap = new HashMap<>();
+        Map<String, Enum<?>> toStringMap = new HashMap<>();
+        Map<String, Enum<?>> displayNameMap = new HashMap<>();
+        Map<String, Enum<?>> valueStringMap = new HashMap<>();
+
+        for (Object constant : constants) {
+            Enum<?> e = Casts.cast(constant);
+
+            nameMap.putIfAbsent(e.name(), e);
+            nameMap.putIfAbsent(e.toString(), e);
+            toStringMap.putIfAbsent(e.toString(), e);
+
+            if (constant instanceof NameEnum nameEnum && Objects.nonNull(nameEnum.getName())) {
+                displayNameMap.putIfAbsent(nameEnum.getName(), e);
+            }
+
+            if (constant instanceof ValueEnum<?> valueEnum) {
+                valueMap.putIfAbsent(resolveValue(strategyType, valueEnum), e);
+                if (Objects.nonNull(valueEnum.getValue())) {
+                    valueStringMap.putIfAbsent(valueEnum.getValue().toString(), e);
+                }
+            }
+        }
+
+        this.valueMap = valueMap;
+        this.nameMap = nameMap;
+        this.toStringMap = toStringMap;
+        this.displayNameMap = displayNameMap;
+        this.valueStringMap = valueStringMap;
+    }
+
+    /**
+     * 获取枚举元数据
+     *
+     * @param type 枚举类型
+     *
+     * @return 枚举元数据
+     */
+    public static EnumMetadata of(Class<?> type) {
+        return REGISTRY.get(type);
+    }
+
+    /**
+     * 获取值枚举的元数据，如果值枚举是带有常量体的枚举常量，使用其声明的枚举类型
+     *
+     * @param valueEnum 值枚举
+     *
+     * @return 枚举元数据
+     */
+    public static EnumMetadata of(ValueEnum<?> valueEnum) {
+        if (valueEnum instanceof Enum<?> e) {
+            return of(e.getDeclaringClass());
+        }
+        return of(valueEnum.getClass());
+    }
+
+    /**
+     * 获取取值策略
+     *
+     * @return 取值策略，如果没有 {@link GetValueStrategy} 注解，返回 null
+     */
+    public GetValueStrategy.Type getStrategyType() {
+        return strategyType;
+    }
+
+    /**
+     * 根据取值策略获取值枚举的值
+     *
+     * @param valueEnum 值枚举
+     *
+     * @return 值
+     */
+    public Object getValue(ValueEnum<?> valueEnum) {
+        return resolveValue(strategyType, valueEnum);
+    }
+
+    /**
+     * 根据取值策略得到的值查找枚举常量
+     *
+     * @param value 值
+     *
+     * @return 枚举常量，找不到返回 null
+     */
+    public Enum<?> findByValue(Object value) {
+        return valueMap.get(value);
+    }
+
+    /**
+     * 根据 {@link Enum#name()} 或 {@link Enum#toString()} 查找枚举常量
+     *
+     * @param name 名称
+     *
+     * @return 枚举常量，找不到返回 null
+     */
+    public Enum<?> findByName(String name) {
+        return nameMap.get(name);
+    }
+
+    /**
+     * 根据 {@link Enum#toString()} 查找枚举常量
+     *
+     * @param value toString 值
+     *
+     * @return 枚举常量，找不到返回 null
+     */
+    public Enum<?> findByToString(String value) {
+        return toStringMap.get(value);
+    }
+
+    /**
+     * 根据 {@link NameEnum#getName()} 查找枚举常量
+     *
+     * @param name 名称
+     *
+     * @return 枚举常量，找不到返回 null
+     */
+    public Enum<?> findByDisplayName(String name) {
+        return displayNameMap.get(name);
+    }
+
+    /**
+     * 根据 {@link ValueEnum#getValue()} 的 toString 值查找枚举常量
+     *
+     * @param value 值的 toString 值
+     *
+     * @return 枚举常量，找不到返回 null
+     */
+    public Enum<?> findByValueString(String value) {
+        return valueStringMap.get(value);
+    }
+
+    /**
+     * 根据取值策略获取值枚举的值
+     *
+     * @param strategyType 取值策略
+     * @param valueEnum    值枚举
+     *
+     * @return 值
+     */
+    private static Object resolveValue(GetValueStrategy.Type strategyType, ValueEnum<?> valueEnum) {
+        if (Objects.isNull(strategyType) || GetValueStrategy.Type.Value.equals(strategyType)) {
+            return valueEnum.getValue();
+        } else if (GetValueStrategy.Type.Name.equals(strategyType) && valueEnum instanceof NameEnum nameEnum) {
+            return nameEnum.getName();
+        }
+
+        Enum<? extends ValueEnum<?>> e = Casts.cast(valueEnum);
+        return e.name();
+    }
+}
@@ -19,6 +19,31 @@ import java.util.*;
  */
 public class NameEnumUtils {
 
+    /**
+     * 每个枚举类型中被 jackson 忽略的属性名称
+     */
+    private static final ClassValue<List<String>> JSON_IGNORE_PROPERTIES = new ClassValue<>() {
+        @Override
+        protected List<String> computeValue(Class<?> type) {
+            List<String> ignoreList = new ArrayList<>();
+
+            JsonIgnoreProperties jsonIgnoreProperties = AnnotationUtils.findAnnotation(type, JsonIgnoreProperties.class);
+
+            if (jsonIgnoreProperties != null) {
+                ignoreList.addAll(Arrays.asList(jsonIgnoreProperties.value()));
+            }
+
+            for (Field field : type.getFields()) {
+                JsonIgnore jsonIgnore = AnnotationUtils.findAnnotation(field, JsonIgnore.class);
+                if (jsonIgnore != null) {
+                    ignoreList.add(field.getName());
+                }
+            }
+
+            return Collections.unmodifiableList(ignoreList);
+        }
+    };
+
     /**
      * 获取带有名称的枚举 name 值
      *
@@ -41,13 +66,11 @@ public class NameEnumUtils {
      * @return name 值
      */
     public static String getName(String value, Class<? extends Enum<? extends NameEnum>> enumClass, boolean ignoreNotFound) {
-        Enum<? extends NameEnum>[] values = enumClass.getEnumConstants();
+        Enum<?> e = EnumMetadata.of(enumClass).findByName(value);
 
-        for (Enum<? extends NameEnum> anEnum : values) {
-            NameEnum nameEnum = (NameEnum) anEnum;
-            if (anEnum.name().equals(value) || nameEnum.toString().equals(value)) {
-                return nameEnum.getName();
-            }
+        if (Objects.nonNull(e)) {
+            NameEnum nameEnum = Casts.cast(e);
+            return nameEnum.getName();
         }
 
         if (!ignoreNotFound) {
@@ -148,12 +171,10 @@ public class NameEnumUtils {
      * @return 带有名称的枚举接口实现类
      */
     public static <T extends Enum<? extends NameEnum>> T parse(String value, Class<T> enumClass, boolean ignoreNotFound) {
-        Enum<? extends NameEnum>[] values = enumClass.getEnumConstants();
+        Enum<?> e = EnumMetadata.of(enumClass).findByName(value);
 
-        for (Enum<? extends NameEnum> o : values) {
-            if (Objects.equals(o.name(), value) || o.toString().equals(value)) {
-                return Casts.cast(o);
-            }
+        if (Objects.nonNull(e)) {
+            return Casts.cast(e);
         }
 
         if (!ignoreNotFound) {
@@ -165,26 +186,15 @@ public class NameEnumUtils {
         return null;
     }
 
+    /**
+     * 获取枚举类型中被 jackson 忽略的属性名称
+     *
+     * @param enumClass 枚举类型
+     *
+     * @return 不可修改的属性名称集合
+     */
     public static List<String> getJsonIgnoreList(Class<?> enumClass) {
-
-        List<String> ignoreList = new ArrayList<>();
-
-        JsonIgnoreProperties jsonIgnoreProperties = AnnotationUtils.findAnnotation(enumClass, JsonIgnoreProperties.class);
-
-        if (jsonIgnoreProperties != null) {
-            ignoreList.addAll(Arrays.asList(jsonIgnoreProperties.value()));
-        }
-
-        Field[] fieldList = enumClass.getFields();
-
-        for (Field field : fieldList) {
-            JsonIgnore jsonIgnore = AnnotationUtils.findAnnotation(field, JsonIgnore.class);
-            if (jsonIgnore != null) {
-                ignoreList.add(field.getName());
-            }
-        }
-
-        return ignoreList;
+        return JSON_IGNORE_PROPERTIES.get(enumClass);
     }
 
 }
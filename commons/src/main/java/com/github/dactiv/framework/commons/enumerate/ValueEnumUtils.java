@@ -6,7 +6,6 @@ import com.github.dactiv.framework.commons.exception.ValueEnumNotFoundException;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.core.annotation.AnnotatedElementUtils;
 
 import java.lang.reflect.Field;
 import java.util.*;
@@ -108,14 +107,10 @@ public class ValueEnumUtils {
      * @return 对应的名称值
      */
     public static String getName(Object value, Class<? extends Enum<? extends ValueEnum<?>>> enumClass, boolean ignoreNotFound) {
-        Enum<? extends ValueEnum<?>>[] values = enumClass.getEnumConstants();
+        Enum<?> e = EnumMetadata.of(enumClass).findByValue(value);
 
-        for (Enum<? extends ValueEnum<?>> o : values) {
-            ValueEnum<?> ve = Casts.cast(o);
-            Object enumValue = getValueByStrategyAnnotation(ve);
-            if (Objects.equals(enumValue, value)) {
-                return getName(ve);
-            }
+        if (Objects.nonNull(e)) {
+            return getName(Casts.<ValueEnum<?>>cast(e));
         }
 
         throwNotFoundExceptionIfNecessary(value, enumClass, ignoreNotFound);
@@ -163,14 +158,10 @@ public class ValueEnumUtils {
      * @return key value 枚举实现类
      */
     public static <E extends Enum<? extends ValueEnum<?>>> E parse(Object value, Class<E> enumClass, boolean ignoreNotFound) {
-        Enum<? extends ValueEnum<?>>[] values = enumClass.getEnumConstants();
+        Enum<?> e = EnumMetadata.of(enumClass).findByValue(value);
 
-        for (Enum<? extends ValueEnum<?>> o : values) {
-            ValueEnum<?> ve = Casts.cast(o);
-            Object enumValue = getValueByStrategyAnnotation(ve);
-            if (Objects.equals(enumValue, value)) {
-                return Casts.cast(ve);
-            }
+        if (Objects.nonNull(e)) {
+            return Casts.cast(e);
         }
 
         throwNotFoundExceptionIfNecessary(value, enumClass, ignoreNotFound);
@@ -178,23 +169,15 @@ public class ValueEnumUtils {
         return null;
     }
 
+    /**
+     * 根据 {@link GetValueStrategy} 注解获取值枚举的值，注解信息通过 {@link EnumMetadata} 缓存
+     *
+     * @param valueEnum 值枚举
+     *
+     * @return 值
+     */
     public static Object getValueByStrategyAnnotation(ValueEnum<?> valueEnum) {
-        GetValueStrategy getValueStrategy = AnnotatedElementUtils.findMergedAnnotation(valueEnum.getClass(), GetValueStrategy.class);
-        if (Objects.isNull(getValueStrategy)) {
-            return valueEnum.getValue();
-        }
-
-        GetValueStrategy.Type type = getValueStrategy.type();
-
-        if (GetValueStrategy.Type.Value.equals(type)) {
-            return valueEnum.getValue();
-        } else if (GetValueStrategy.Type.Name.equals(type) && NameEnum.class.isAssignableFrom(valueEnum.getClass())) {
-            NameEnum nameEnum = Casts.cast(valueEnum);
-            return nameEnum.getName();
-        }
-
-        Enum<? extends ValueEnum<?>> e = Casts.cast(valueEnum);
-        return e.name();
+        return EnumMetadata.of(valueEnum).getValue(valueEnum);
     }
 
 }
@@ -0,0 +1,36 @@
+package com.github.dactiv.framework.commons.generator.segment;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于内存的号段存储，只能在同一个进程中使用，用于单节点部署和测试
+ *
+ * @author maurice.chen
+ */
+public class InMemorySegmentStore implements SegmentStore {
+
+    /**
+     * 业务对应的最大 id
+     */
+    private final Map<String, AtomicLong> maxIds = new ConcurrentHashMap<>();
+
+    /**
+     * 初始的最大 id
+     */
+    private final long initialValue;
+
+    public InMemorySegmentStore() {
+        this(0);
+    }
+
+    public InMemorySegmentStore(long initialValue) {
+        this.initialValue = initialValue;
+    }
+
+    @Override
+    public long nextMaxId(String key, int step) {
+        return maxIds.computeIfAbsent(key, k -> new AtomicLong(initialValue)).addAndGet(step);
+    }
+}
@@ -0,0 +1,144 @@
+package com.github.dactiv.framework.commons.generator.segment;
+
+import com.github.dactiv.framework.commons.exception.SystemException;
+
+import javax.sql.DataSource;
+import java.sql.*;
+
+/**
+ * 基于 jdbc 的号段存储，表结构如下:
+ *
+ * <pre>
+ * CREATE TABLE tb_id_segment (
+ *     biz_key VARCHAR(128) NOT NULL PRIMARY KEY,
+ *     max_id  BIGINT       NOT NULL
+ * )
+ * </pre>
+ *
+ * <p>
+ * 在同一个事务中先更新再查询，由数据库的行锁保证多个节点之间分配的号段不重叠，业务不存在时自动插入。
+ * </p>
+ *
+ * @author maurice.chen
+ */
+public class JdbcSegmentStore implements SegmentStore {
+
+    /**
+     * 默认表名
+     */
+    public static final String DEFAULT_TABLE_NAME = "tb_id_segment";
+
+    private final DataSource dataSource;
+
+    private final String updateSql;
+
+    private final String selectSql;
+
+    private final String insertSql;
+
+    public JdbcSegmentStore(DataSource dataSource) {
+        this(dataSource, DEFAULT_TABLE_NAME);
+    }
+
+    public JdbcSegmentStore(DataSource dataSource, String tableName) {
+        this.dataSource = dataSource;
+        this.updateSql = "UPDATE " + tableName + " SET max_id = max_id + ? WHERE biz_key = ?";
+        this.selectSql = "SELECT max_id FROM " + tableName + " WHERE biz_key = ?";
+        this.insertSql = "INSERT INTO " + tableName + " (biz_key, max_id) VALUES (?, ?)";
+    }
+
+    @Override
+    public long nextMaxId(String key, int step) {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                try {
+                    return nextMaxId(connection, key, step);
+                } catch (SQLException e) {
+                    connection.rollback();
+                    if (!isIntegrityViolation(e)) {
+                        throw e;
+                    }
+                    // 其他节点同时插入了该业务，重新执行一次时会走更新流程
+                    return nextMaxId(connection, key, step);
+                }
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new SystemException("分配 [" + key + "] 的号段失败", e);
+        }
+    }
+
+    /**
+     * 在事务中分配号段并提交
+     *
+     * @param connection 数据库连接
+     * @param key        业务标识
+     * @param step       号段长度
+     *
+     * @return 增加后的最大 id
+     *
+     * @throws SQLException 执行 sql 错误时抛出
+     */
+    private long nextMaxId(Connection connection, String key, int step) throws SQLException {
+        long result;
+
+        if (update(connection, key, step) == 0) {
+            try (PreparedStatement statement = connection.prepareStatement(insertSql)) {
+                statement.setString(1, key);
+                statement.setLong(2, step);
+                statement.executeUpdate();
+            }
+            result = step;
+        } else {
+            try (PreparedStatement statement = connection.prepareStatement(selectSql)) {
+                statement.setString(1, key);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        throw new SystemException("找不到 [" + key + "] 的号段记录");
+                    }
+                    result = resultSet.getLong(1);
+                }
+            }
+        }
+
+        connection.commit();
+        return result;
+    }
+
+    /**
+     * 是否违反唯一约束
+     *
+     * @param e sql 异常
+     *
+     * @return true 是，否则 false
+     */
+    private static boolean isIntegrityViolation(SQLException e) {
+        return e instanceof SQLIntegrityConstraintViolationException
+                || (e.getSQLState() != null && e.getSQLState().startsWith("23"));
+    }
+
+    /**
+     * 增加业务的最大 id
+     *
+     * @param connection 数据库连接
+     * @param key        业务标识
+     * @param step       号段长度
+     *
+     * @return 影响行数
+     *
+     * @throws SQLException 执行 sql 错误时抛出
+     */
+    private int update(Connection connection, String key, int step) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(updateSql)) {
+            statement.setLong(1, step);
+            statement.setString(2, key);
+            return statement.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.github.dactiv.framework.commons.generator.segment;
+
+import com.github.dactiv.framework.commons.exception.SystemException;
+import com.github.dactiv.framework.commons.generator.IdGenerator;
+
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 号段 id 生成器
+ *
+ * <p>
+ * 每次从 {@link SegmentStore} 中分配一段连续的 id 放在内存中使用，当前号段使用到 {@link #getPrefetchRatio()}
+ * 时异步加载下一个号段（双缓冲），当前号段用完后直接切换，生成 id 时只有在切换号段时才需要加锁。
+ * 生成的 id 在单个节点中递增，多个节点之间大致有序。
+ * </p>
+ *
+ * @author maurice.chen
+ */
+public class SegmentIdGenerator implements IdGenerator<Long> {
+
+    /**
+     * 默认号段长度
+     */
+    public static final int DEFAULT_STEP = 10000;
+
+    /**
+     * 默认预加载比例
+     */
+    public static final double DEFAULT_PREFETCH_RATIO = 0.8;
+
+    /**
+     * 默认的预加载线程池
+     */
+    private static final Executor DEFAULT_EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "segment-id-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 号段存储
+     */
+    private final SegmentStore store;
+
+    /**
+     * 业务标识
+     */
+    private final String key;
+
+    /**
+     * 号段长度
+     */
+    private final int step;
+
+    /**
+     * 预加载比例
+     */
+    private final double prefetchRatio;
+
+    /**
+     * 预加载线程池
+     */
+    private final Executor executor;
+
+    /**
+     * 当前号段，初始为空号段，第一次生成 id 时加载
+     */
+    private volatile Segment current = new Segment(0, 0, 0);
+
+    /**
+     * 下一个号段
+     */
+    private volatile CompletableFuture<Segment> next;
+
+    public SegmentIdGenerator(SegmentStore store, String key) {
+        this(store, key, DEFAULT_STEP);
+    }
+
+    public SegmentIdGenerator(SegmentStore store, String key, int step) {
+        this(store, key, step, DEFAULT_PREFETCH_RATIO, DEFAULT_EXECUTOR);
+    }
+
+    public SegmentIdGenerator(SegmentStore store, String key, int step, double prefetchRatio, Executor executor) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("step must be greater than 0");
+        }
+        if (prefetchRatio <= 0 || prefetchRatio > 1) {
+            throw new IllegalArgumentException("prefetchRatio must be in (0, 1]");
+        }
+        this.store = store;
+        this.key = key;
+        this.step = step;
+        this.prefetchRatio = prefetchRatio;
+        this.executor = executor;
+    }
+
+    @Override
+    public Long generateId() {
+        return nextId();
+    }
+
+    /**
+     * 获取下一个 id
+     *
+     * @return id
+     */
+    public long nextId() {
+        while (true) {
+            Segment segment = current;
+            long id = segment.cursor.getAndIncrement();
+
+            if (id < segment.max) {
+                if (id == segment.prefetchAt) {
+                    prefetch(segment);
+                }
+                return id;
+            }
+
+            switchSegment(segment);
+        }
+    }
+
+    /**
+     * 异步加载下一个号段
+     *
+     * @param segment 当前号段
+     */
+    private synchronized void prefetch(Segment segment) {
+        if (current != segment || Objects.nonNull(next)) {
+            return;
+        }
+
+        try {
+            next = CompletableFuture.supplyAsync(this::loadSegment, executor);
+        } catch (RejectedExecutionException e) {
+            // 线程池不可用时在切换号段时同步加载
+        }
+    }
+
+    /**
+     * 切换到下一个号段，如果下一个号段还没加载，等待加载完成或同步加载
+     *
+     * @param exhausted 已经用完的号段
+     */
+    private synchronized void switchSegment(Segment exhausted) {
+        if (current != exhausted) {
+            return;
+        }
+
+        CompletableFuture<Segment> future = next;
+        next = null;
+
+        Segment segment = null;
+        if (Objects.nonNull(future)) {
+            try {
+                segment = future.join();
+            } catch (CompletionException | CancellationException e) {
+                // 异步加载失败时同步重新加载
+            }
+        }
+
+        current = Objects.nonNull(segment) ? segment : loadSegment();
+    }
+
+    /**
+     * 从号段存储中加载号段
+     *
+     * @return 号段
+     */
+    private Segment loadSegment() {
+        long max = store.nextMaxId(key, step);
+        if (max < step) {
+            throw new SystemException("号段存储返回的最大 id [" + max + "] 小于号段长度 [" + step + "]");
+        }
+        long start = max - step;
+        return new Segment(start, max, start + Math.min((long) (step * prefetchRatio), step - 1));
+    }
+
+    /**
+     * 获取业务标识
+     *
+     * @return 业务标识
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 获取号段长度
+     *
+     * @return 号段长度
+     */
+    public int getStep() {
+        return step;
+    }
+
+    /**
+     * 获取预加载比例
+     *
+     * @return 预加载比例
+     */
+    public double getPrefetchRatio() {
+        return prefetchRatio;
+    }
+
+    /**
+     * 号段
+     *
+     * @author maurice.chen
+     */
+    private static class Segment {
+
+        /**
+         * 下一个要使用的 id
+         */
+        private final AtomicLong cursor;
+
+        /**
+         * 最大 id（不包含）
+         */
+        private final long max;
+
+        /**
+         * 使用到该 id 时开始预加载下一个号段
+         */
+        private final long prefetchAt;
+
+        public Segment(long start, long max, long prefetchAt) {
+            this.cursor = new AtomicLong(start);
+            this.max = max;
+            this.prefetchAt = prefetchAt;
+        }
+    }
+}
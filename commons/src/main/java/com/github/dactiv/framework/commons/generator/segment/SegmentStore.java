@@ -0,0 +1,19 @@
+package com.github.dactiv.framework.commons.generator.segment;
+
+/**
+ * 号段存储，负责原子的为业务分配一段连续的 id
+ *
+ * @author maurice.chen
+ */
+public interface SegmentStore {
+
+    /**
+     * 将业务的最大 id 原子的增加 step，并返回增加后的最大 id，调用方可以使用 [maxId - step, maxId) 范围内的 id
+     *
+     * @param key  业务标识
+     * @param step 号段长度
+     *
+     * @return 增加后的最大 id
+     */
+    long nextMaxId(String key, int step);
+}
@@ -0,0 +1,79 @@
+package com.github.dactiv.framework.commons.generator.twitter;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于内存的工作机器编号租约仓库，只能在同一个进程中使用，用于单节点部署和测试
+ *
+ * @author maurice.chen
+ */
+public class InMemoryWorkerIdLeaseRepository implements WorkerIdLeaseRepository {
+
+    /**
+     * 编号对应的租约
+     */
+    private final Map<Integer, Lease> leases = new ConcurrentHashMap<>();
+
+    /**
+     * 时钟，用于计算租约是否过期
+     */
+    private final Clock clock;
+
+    public InMemoryWorkerIdLeaseRepository() {
+        this(Clock.systemUTC());
+    }
+
+    public InMemoryWorkerIdLeaseRepository(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean tryAcquire(int slot, String owner, Duration leaseTime) {
+        long now = clock.millis();
+        Lease lease = new Lease(owner, now + leaseTime.toMillis());
+        return leases.compute(slot, (k, v) -> Objects.isNull(v) || v.isExpired(now) ? lease : v) == lease;
+    }
+
+    @Override
+    public boolean renew(int slot, String owner, Duration leaseTime) {
+        long now = clock.millis();
+        Lease lease = new Lease(owner, now + leaseTime.toMillis());
+        return leases.computeIfPresent(slot, (k, v) -> v.owner.equals(owner) && !v.isExpired(now) ? lease : v) == lease;
+    }
+
+    @Override
+    public void release(int slot, String owner) {
+        leases.computeIfPresent(slot, (k, v) -> v.owner.equals(owner) ? null : v);
+    }
+
+    /**
+     * 租约
+     *
+     * @author maurice.chen
+     */
+    private static class Lease {
+
+        /**
+         * 占用者
+         */
+        private final String owner;
+
+        /**
+         * 过期时间戳
+         */
+        private final long expireAt;
+
+        public Lease(String owner, long expireAt) {
+            this.owner = owner;
+            this.expireAt = expireAt;
+        }
+
+        public boolean isExpired(long now) {
+            return now >= expireAt;
+        }
+    }
+}
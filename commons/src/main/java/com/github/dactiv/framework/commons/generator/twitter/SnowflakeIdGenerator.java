@@ -5,13 +5,19 @@ import com.github.dactiv.framework.commons.generator.IdGenerator;
 
 import java.time.Instant;
 import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 雪花 id 生成器
  *
+ * <p>
+ * 时间戳、数据中心、工作机器以及序列号全部打包在一个 {@link AtomicLong} 中，通过 CAS 推进状态，
+ * 生成 id 时不需要任何锁。
+ * </p>
+ *
  * @author maurice.chen
  */
 public class SnowflakeIdGenerator implements IdGenerator<String> {
@@ -66,22 +72,31 @@ public class SnowflakeIdGenerator implements IdGenerator<String> {
      * 默认时间格式化信息
      */
     private static final DateTimeFormatter DEFAULT_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHH");
+
     /**
-     * 最后访问的时间戳
+     * 当前状态，即最后一次生成的 id 值，高位为时间戳，低位为序列号
      */
-    private long lastTimestamp = -1L;
+    private final AtomicLong state;
+
     /**
-     * 序列开始值
+     * 数据中心和工作机器的位值，构造时计算一次
      */
-    private long sequence = 0L;
+    private final long nodeBits;
+
+    /**
+     * 当前小时的字符串前缀缓存
+     */
+    private volatile HourPrefix hourPrefix;
+
     /**
      * 配置信息
      */
     private final SnowflakeProperties properties;
+
     /**
-     * 并发锁
+     * 工作机器编号分配器，不为 null 时每次生成 id 前校验租约
      */
-    private final Lock lock = new ReentrantLock();
+    private final WorkerIdAllocator allocator;
 
     /**
      * 创建一个 twitter 的 snowflake id 生成算法实现
@@ -89,6 +104,16 @@ public class SnowflakeIdGenerator implements IdGenerator<String> {
      * @param properties 配置信息
      */
     public SnowflakeIdGenerator(SnowflakeProperties properties) {
+        this(properties, null);
+    }
+
+    /**
+     * 创建一个 twitter 的 snowflake id 生成算法实现
+     *
+     * @param properties 配置信息
+     * @param allocator  工作机器编号分配器，每次生成 id 前通过 {@link WorkerIdAllocator#checkLease()} 校验租约
+     */
+    public SnowflakeIdGenerator(SnowflakeProperties properties, WorkerIdAllocator allocator) {
         // sanity check for workerId
         if (properties.getWorkerId() > DEFAULT_MAX_WORKER_ID || properties.getWorkerId() < 0) {
             String msg = "worker Id can't be greater than %d or less than 0";
@@ -103,51 +128,150 @@ public class SnowflakeIdGenerator implements IdGenerator<String> {
             throw new IllegalArgumentException(String.format(msg, DEFAULT_MACHINE_NUMBER_BITS));
         }
         this.properties = properties;
+        this.allocator = allocator;
+        this.nodeBits = (properties.getDataCenterId() << DEFAULT_DATA_CENTER_ID_SHIFT)
+                | (properties.getWorkerId() << DEFAULT_WORKER_ID_SHIFT);
+        // 初始状态的时间戳为 -1，保证第一次生成时一定进入新毫秒分支
+        this.state = new AtomicLong(-1L << DEFAULT_TIMESTAMP_LEFT_SHIFT);
     }
 
     @Override
     public String generateId() {
-        try {
-            lock.lock();
-            // 判断执行时是否在同一毫秒内，如果在同一毫秒内执行，序列号 sequenceBits 递增
-            // 一毫秒最多能生成 4095 个ID。超过 4095 则自动等待下一毫秒。
-            long timestamp = System.currentTimeMillis();
-
-            if (timestamp < lastTimestamp) {
-                String msg = "Clock moved backwards.  Refusing to generate id for %d milliseconds";
-                throw new SystemException(String.format(msg, lastTimestamp - timestamp));
+        long id = nextId();
+        long timestamp = (id >> DEFAULT_TIMESTAMP_LEFT_SHIFT) + DEFAULT_TWEPOCH;
+
+        HourPrefix prefix = hourPrefix;
+        if (prefix == null || !prefix.contains(timestamp)) {
+            prefix = createHourPrefix(timestamp);
+            hourPrefix = prefix;
+        }
+        // 按照规则拼出ID,并添加日期
+        return prefix.value + id;
+    }
+
+    /**
+     * 生成 long 类型的 id，不包含日期和服务编号前缀
+     *
+     * @return id 值
+     */
+    public long nextId() {
+        checkLease();
+
+        while (true) {
+            // 必须先读取状态再读取时钟，保证只有时钟真正回拨时 timestamp 才会小于 lastTimestamp
+            long current = state.get();
+            long lastTimestamp = current >> DEFAULT_TIMESTAMP_LEFT_SHIFT;
+            long timestamp = currentTimestamp(lastTimestamp);
+
+            long next;
+            if (timestamp == lastTimestamp) {
+                // 一毫秒最多能生成 4095 个ID。超过 4095 则自动等待下一毫秒。
+                if ((current & DEFAULT_SEQUENCE_MASK) == DEFAULT_SEQUENCE_MASK) {
+                    getNextMillis(lastTimestamp);
+                    continue;
+                }
+                next = current + 1;
+            } else {
+                next = (timestamp << DEFAULT_TIMESTAMP_LEFT_SHIFT) | nodeBits;
+            }
+
+            if (state.compareAndSet(current, next)) {
+                return next;
             }
+        }
+    }
+
+    /**
+     * 批量生成 long 类型的 id，每次 CAS 直接占用当前毫秒内剩余的整段序列号
+     *
+     * @param n 生成数量
+     *
+     * @return id 值数组，按从小到大排列
+     */
+    public long[] nextIds(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n can't be less than 0");
+        }
 
-            if (lastTimestamp == timestamp) {
-                //sequence自增，因为sequence只有12bit，所以和sequenceMask相与一下，去掉高位
-                sequence = (sequence + 1) & DEFAULT_SEQUENCE_MASK;
-                if (sequence == 0) {
-                    timestamp = getNextMillis(lastTimestamp);
+        checkLease();
+
+        long[] result = new long[n];
+        int filled = 0;
+
+        while (filled < n) {
+            long current = state.get();
+            long lastTimestamp = current >> DEFAULT_TIMESTAMP_LEFT_SHIFT;
+            long timestamp = currentTimestamp(lastTimestamp);
+
+            long first;
+            long count;
+            if (timestamp == lastTimestamp) {
+                long available = DEFAULT_SEQUENCE_MASK - (current & DEFAULT_SEQUENCE_MASK);
+                if (available == 0) {
+                    getNextMillis(lastTimestamp);
+                    continue;
                 }
+                first = current + 1;
+                count = Math.min(available, n - filled);
             } else {
-                sequence = 0L;
+                first = (timestamp << DEFAULT_TIMESTAMP_LEFT_SHIFT) | nodeBits;
+                count = Math.min(DEFAULT_SEQUENCE_MASK + 1, n - filled);
+            }
+
+            if (!state.compareAndSet(current, first + count - 1)) {
+                continue;
             }
 
-            lastTimestamp = timestamp;
-            // 按照规则拼出ID,并添加日期
-            return timestampToStr(timestamp) + properties.getServiceId() +
-                    (((timestamp - DEFAULT_TWEPOCH) << DEFAULT_TIMESTAMP_LEFT_SHIFT)
-                            | (properties.getDataCenterId() << DEFAULT_DATA_CENTER_ID_SHIFT)
-                            | (properties.getWorkerId() << DEFAULT_WORKER_ID_SHIFT) | sequence);
-        } finally {
-            lock.unlock();
+            for (long i = 0; i < count; i++) {
+                result[filled++] = first + i;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * 如果由分配器创建，校验工作机器编号的租约
+     */
+    private void checkLease() {
+        if (allocator != null) {
+            allocator.checkLease();
         }
     }
 
     /**
-     * 将时间戳转换为 string 类型
+     * 获取当前时间戳，并校验时钟是否回拨
+     *
+     * @param lastTimestamp 最后访问的时间戳
+     *
+     * @return 相对于 {@link #DEFAULT_TWEPOCH} 的时间戳
+     */
+    private long currentTimestamp(long lastTimestamp) {
+        long timestamp = System.currentTimeMillis() - DEFAULT_TWEPOCH;
+
+        if (timestamp < lastTimestamp) {
+            String msg = "Clock moved backwards.  Refusing to generate id for %d milliseconds";
+            throw new SystemException(String.format(msg, lastTimestamp - timestamp));
+        }
+
+        return timestamp;
+    }
+
+    /**
+     * 根据时间戳创建所在小时的前缀信息
      *
      * @param timestamp 时间戳
      *
-     * @return string 类型的时间戳
+     * @return 小时前缀
      */
-    private String timestampToStr(long timestamp) {
-        return Instant.ofEpochMilli(timestamp).atZone(ZoneId.systemDefault()).format(DEFAULT_DATE_FORMAT);
+    private HourPrefix createHourPrefix(long timestamp) {
+        ZonedDateTime start = Instant
+                .ofEpochMilli(timestamp)
+                .atZone(ZoneId.systemDefault())
+                .truncatedTo(ChronoUnit.HOURS);
+        long startMillis = start.toInstant().toEpochMilli();
+        long endMillis = start.plusHours(1).toInstant().toEpochMilli();
+        return new HourPrefix(startMillis, endMillis, start.format(DEFAULT_DATE_FORMAT) + properties.getServiceId());
     }
 
     /**
@@ -158,10 +282,51 @@ public class SnowflakeIdGenerator implements IdGenerator<String> {
      * @return 时间戳值
      */
     private long getNextMillis(long lastTimestamp) {
-        long timestamp = System.currentTimeMillis();
+        long timestamp = System.currentTimeMillis() - DEFAULT_TWEPOCH;
         while (timestamp <= lastTimestamp) {
-            timestamp = System.currentTimeMillis();
+            Thread.onSpinWait();
+            timestamp = System.currentTimeMillis() - DEFAULT_TWEPOCH;
         }
         return timestamp;
     }
+
+    /**
+     * 小时前缀，包含 yyyyMMddHH 格式的时间以及服务编号，只有在小时变更时才重新计算
+     *
+     * @author maurice.chen
+     */
+    private static final class HourPrefix {
+
+        /**
+         * 该小时的起始毫秒数（包含）
+         */
+        private final long startMillis;
+
+        /**
+         * 该小时的结束毫秒数（不包含）
+         */
+        private final long endMillis;
+
+        /**
+         * 前缀值
+         */
+        private final String value;
+
+        private HourPrefix(long startMillis, long endMillis, String value) {
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+            this.value = value;
+        }
+
+        /**
+         * 判断时间戳是否在当前小时内
+         *
+         * @param timestamp 时间戳
+         *
+         * @return true 是，否则 false
+         */
+        private boolean contains(long timestamp) {
+            return timestamp >= startMillis && timestamp < endMillis;
+        }
+    }
 }
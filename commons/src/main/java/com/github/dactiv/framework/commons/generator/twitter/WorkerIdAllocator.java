@@ -0,0 +1,279 @@
+package com.github.dactiv.framework.commons.generator.twitter;
+
+import com.github.dactiv.framework.commons.exception.SystemException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * 工作机器编号分配器，通过 {@link WorkerIdLeaseRepository} 占用一个空闲的编号，后台定时续约，关闭时释放编号。
+ *
+ * <p>
+ * 编号范围为 0~1023，高 5 位作为数据中心编号，低 5 位作为工作机器编号，分配到编号后通过
+ * {@link #createProperties(String)} 创建 {@link SnowflakeIdGenerator} 的配置，生成 id 时不再需要任何协调。
+ * </p>
+ *
+ * <p>
+ * 通过 {@link #createIdGenerator(String)} 创建的生成器在每次生成 id 前会调用 {@link #checkLease()}，
+ * 租约过期时先同步续约或重新占用原来的编号，失败时抛出 {@link SystemException}，不会使用可能已经被其他节点占用的编号继续生成 id。
+ * </p>
+ *
+ * @author maurice.chen
+ */
+public class WorkerIdAllocator implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkerIdAllocator.class);
+
+    /**
+     * 工作机器编号长度
+     */
+    private static final int WORKER_ID_BITS = 5;
+
+    /**
+     * 编号总数，数据中心和工作机器一共 10 位
+     */
+    public static final int MAX_SLOT_COUNT = 1 << (WORKER_ID_BITS * 2);
+
+    /**
+     * 默认租约时间
+     */
+    public static final Duration DEFAULT_LEASE_TIME = Duration.ofSeconds(30);
+
+    /**
+     * 租约仓库
+     */
+    private final WorkerIdLeaseRepository repository;
+
+    /**
+     * 租约时间
+     */
+    private final Duration leaseTime;
+
+    /**
+     * 时钟，用于计算本地租约的过期时间
+     */
+    private final Clock clock;
+
+    /**
+     * 当前分配器的占用者标识
+     */
+    private final String owner = UUID.randomUUID().toString();
+
+    /**
+     * 续约线程
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * 当前占用的编号，未占用时为 -1
+     */
+    private volatile int slot = -1;
+
+    /**
+     * 租约是否有效
+     */
+    private volatile boolean leased;
+
+    /**
+     * 本地计算的租约过期时间戳，以发起占用或续约前的时间为起点，保证不会晚于仓库中的真实过期时间
+     */
+    private volatile long leaseExpireAt;
+
+    /**
+     * 续约任务
+     */
+    private ScheduledFuture<?> renewFuture;
+
+    public WorkerIdAllocator(WorkerIdLeaseRepository repository) {
+        this(repository, DEFAULT_LEASE_TIME);
+    }
+
+    public WorkerIdAllocator(WorkerIdLeaseRepository repository, Duration leaseTime) {
+        this(repository, leaseTime, Clock.systemUTC());
+    }
+
+    public WorkerIdAllocator(WorkerIdLeaseRepository repository, Duration leaseTime, Clock clock) {
+        this.repository = repository;
+        this.leaseTime = leaseTime;
+        this.clock = clock;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "snowflake-worker-id-renew");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 占用一个空闲的编号，如果已经占用，直接返回当前编号
+     *
+     * @return 编号
+     */
+    public synchronized int acquire() {
+        if (slot >= 0) {
+            return slot;
+        }
+
+        int offset = ThreadLocalRandom.current().nextInt(MAX_SLOT_COUNT);
+        for (int i = 0; i < MAX_SLOT_COUNT; i++) {
+            int candidate = (offset + i) % MAX_SLOT_COUNT;
+            long now = clock.millis();
+            if (!repository.tryAcquire(candidate, owner, leaseTime)) {
+                continue;
+            }
+
+            slot = candidate;
+            leaseExpireAt = now + leaseTime.toMillis();
+            leased = true;
+
+            long period = Math.max(leaseTime.toMillis() / 3, 1);
+            renewFuture = scheduler.scheduleAtFixedRate(this::renew, period, period, TimeUnit.MILLISECONDS);
+
+            return slot;
+        }
+
+        throw new SystemException("没有空闲的工作机器编号，" + MAX_SLOT_COUNT + " 个编号已经全部被占用");
+    }
+
+    /**
+     * 占用编号并创建雪花 id 配置
+     *
+     * @param serviceId 服务编号
+     *
+     * @return 雪花 id 配置
+     */
+    public SnowflakeProperties createProperties(String serviceId) {
+        int current = acquire();
+        return new SnowflakeProperties(getDataCenterId(current), serviceId, getWorkerId(current));
+    }
+
+    /**
+     * 占用编号并创建雪花 id 生成器，生成器每次生成 id 前都会校验当前租约
+     *
+     * @param serviceId 服务编号
+     *
+     * @return 雪花 id 生成器
+     */
+    public SnowflakeIdGenerator createIdGenerator(String serviceId) {
+        return new SnowflakeIdGenerator(createProperties(serviceId), this);
+    }
+
+    /**
+     * 校验租约是否有效，租约过期时同步续约或重新占用原来的编号
+     *
+     * @throws SystemException 没有占用编号，或编号已经被其他节点占用、仓库不可用导致无法续约时抛出
+     */
+    public void checkLease() {
+        if (leased && clock.millis() < leaseExpireAt) {
+            return;
+        }
+
+        synchronized (this) {
+            if (slot < 0) {
+                throw new SystemException("当前没有占用任何工作机器编号，请先调用 acquire 占用编号");
+            }
+
+            if (!renew()) {
+                throw new SystemException("工作机器编号 [" + slot + "] 的租约已经失效，为避免生成重复的 id 停止生成");
+            }
+        }
+    }
+
+    /**
+     * 续约，如果租约已经过期，尝试重新占用原来的编号
+     *
+     * @return 续约后租约是否有效
+     */
+    synchronized boolean renew() {
+        int current = slot;
+        if (current < 0) {
+            return false;
+        }
+
+        long now = clock.millis();
+        try {
+            boolean renewed = repository.renew(current, owner, leaseTime)
+                    || repository.tryAcquire(current, owner, leaseTime);
+
+            if (renewed) {
+                leaseExpireAt = now + leaseTime.toMillis();
+            } else {
+                LOGGER.warn("工作机器编号 [" + current + "] 已经被其他节点占用，续约失败");
+            }
+
+            leased = renewed;
+        } catch (RuntimeException e) {
+            // 仓库暂时不可用时保留原来的状态，下次继续续约，本地租约过期后 checkLease 会拒绝生成 id
+            LOGGER.warn("续约工作机器编号 [" + current + "] 时出现异常", e);
+        }
+
+        return isLeased();
+    }
+
+    /**
+     * 获取当前占用的编号
+     *
+     * @return 编号，未占用时返回 -1
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * 租约是否有效，续约失败并且编号被其他节点占用，或本地计算的租约已经过期时返回 false
+     *
+     * @return true 是，否则 false
+     */
+    public boolean isLeased() {
+        return leased && clock.millis() < leaseExpireAt;
+    }
+
+    /**
+     * 获取占用者标识
+     *
+     * @return 占用者标识
+     */
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * 获取编号对应的数据中心编号
+     *
+     * @param slot 编号
+     *
+     * @return 数据中心编号
+     */
+    public static long getDataCenterId(int slot) {
+        return slot >> WORKER_ID_BITS;
+    }
+
+    /**
+     * 获取编号对应的工作机器编号
+     *
+     * @param slot 编号
+     *
+     * @return 工作机器编号
+     */
+    public static long getWorkerId(int slot) {
+        return slot & ((1 << WORKER_ID_BITS) - 1);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (Objects.nonNull(renewFuture)) {
+            renewFuture.cancel(false);
+        }
+        scheduler.shutdownNow();
+
+        if (slot >= 0) {
+            repository.release(slot, owner);
+            slot = -1;
+            leased = false;
+        }
+    }
+}
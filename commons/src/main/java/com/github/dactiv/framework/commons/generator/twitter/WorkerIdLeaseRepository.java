@@ -0,0 +1,41 @@
+package com.github.dactiv.framework.commons.generator.twitter;
+
+import java.time.Duration;
+
+/**
+ * 工作机器编号租约仓库，用于在多个节点之间原子的占用、续约和释放编号
+ *
+ * @author maurice.chen
+ */
+public interface WorkerIdLeaseRepository {
+
+    /**
+     * 尝试占用编号，只有编号没有被占用或租约已经过期时才能占用成功
+     *
+     * @param slot      编号
+     * @param owner     占用者
+     * @param leaseTime 租约时间
+     *
+     * @return true 占用成功，否则 false
+     */
+    boolean tryAcquire(int slot, String owner, Duration leaseTime);
+
+    /**
+     * 续约，只有编号仍然被 owner 占用时才能续约成功
+     *
+     * @param slot      编号
+     * @param owner     占用者
+     * @param leaseTime 租约时间
+     *
+     * @return true 续约成功，否则 false
+     */
+    boolean renew(int slot, String owner, Duration leaseTime);
+
+    /**
+     * 释放编号，只有编号仍然被 owner 占用时才会释放
+     *
+     * @param slot  编号
+     * @param owner 占用者
+     */
+    void release(int slot, String owner);
+}
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.github.dactiv.framework.commons.Casts;
 import com.github.dactiv.framework.commons.annotation.JsonCollectionGenericType;
+import com.github.dactiv.framework.commons.enumerate.EnumMetadata;
 import com.github.dactiv.framework.commons.enumerate.NameValueEnum;
 import com.github.dactiv.framework.commons.enumerate.ValueEnum;
 import com.github.dactiv.framework.commons.exception.SystemException;
@@ -34,33 +35,21 @@ public class NameValueEnumDeserializer<T extends NameValueEnum> extends JsonDese
         String nodeValue = getNodeValue(jsonNode);
         Class<?> type = getType(p);
 
-        List<NameValueEnum> valueEnums = Arrays
-                .stream(type.getEnumConstants())
-                .map(v -> Casts.cast(v, NameValueEnum.class))
-                .toList();
-
-        Optional<NameValueEnum> optional = valueEnums
-                .stream()
-                .filter(v -> v.toString().equals(nodeValue))
-                .findFirst();
-
-        if (optional.isEmpty()) {
-            optional = valueEnums
-                    .stream()
-                    .filter(v -> v.getName().equals(nodeValue))
-                    .findFirst();
-        }
+        EnumMetadata metadata = EnumMetadata.of(type);
+
+        Enum<?> result = metadata.findByToString(nodeValue);
 
-        if (optional.isEmpty()) {
+        if (Objects.isNull(result)) {
+            result = metadata.findByDisplayName(nodeValue);
+        }
 
-            optional = valueEnums
-                    .stream()
-                    .filter(v -> v.getValue().toString().equals(nodeValue))
-                    .findFirst();
+        if (Objects.isNull(result)) {
+            result = metadata.findByValueString(nodeValue);
         }
 
-        NameValueEnum result = optional
-                .orElseThrow(() -> new SystemException("在类型 [" + type + "] 枚举里找不到值为 [" + nodeValue + "] 的类型"));
+        if (Objects.isNull(result)) {
+            throw new SystemException("在类型 [" + type + "] 枚举里找不到值为 [" + nodeValue + "] 的类型");
+        }
 
         return Casts.cast(result);
     }
@@ -5,13 +5,12 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.github.dactiv.framework.commons.Casts;
+import com.github.dactiv.framework.commons.enumerate.EnumMetadata;
 import com.github.dactiv.framework.commons.enumerate.ValueEnum;
 import com.github.dactiv.framework.commons.exception.SystemException;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
 
 /**
  * 值枚举的反序列化实现
@@ -30,25 +29,17 @@ public class ValueEnumDeserializer<T extends ValueEnum> extends JsonDeserializer
         String nodeValue = NameValueEnumDeserializer.getNodeValue(jsonNode);
         Class<?> type = NameValueEnumDeserializer.getType(p);
 
-        List<ValueEnum> valueEnums = Arrays
-                .stream(type.getEnumConstants())
-                .map(v -> Casts.cast(v, ValueEnum.class))
-                .toList();
-
-        Optional<ValueEnum> optional = valueEnums
-                .stream()
-                .filter(v -> v.getValue().toString().equals(nodeValue))
-                .findFirst();
-
-        if (optional.isEmpty()) {
-            optional = valueEnums
-                    .stream()
-                    .filter(v -> v.toString().equals(nodeValue))
-                    .findFirst();
+        EnumMetadata metadata = EnumMetadata.of(type);
+
+        Enum<?> result = metadata.findByValueString(nodeValue);
+
+        if (Objects.isNull(result)) {
+            result = metadata.findByToString(nodeValue);
         }
 
-        ValueEnum result = optional
-                .orElseThrow(() -> new SystemException("在类型 [" + type + "] 枚举里找不到值为 [" + nodeValue + "] 的类型"));
+        if (Objects.isNull(result)) {
+            throw new SystemException("在类型 [" + type + "] 枚举里找不到值为 [" + nodeValue + "] 的类型");
+        }
 
         return Casts.cast(result);
     }
@@ -0,0 +1,204 @@
+package com.github.dactiv.framework.commons.jackson.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.github.dactiv.framework.commons.annotation.Desensitize;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * 脱敏规则，直接在字符数组上将需要脱敏的位置替换为 *，不需要正则表达式
+ *
+ * @author maurice.chen
+ */
+public abstract class DesensitizeRule {
+
+    /**
+     * 默认脱敏符号
+     */
+    public static final char DEFAULT_DESENSITIZE_SYMBOL = '*';
+
+    /**
+     * 线程缓冲区的最大长度，超过该长度的值使用临时数组
+     */
+    private static final int MAX_BUFFER_SIZE = 8192;
+
+    /**
+     * 线程缓冲区，序列化时复制字符串内容并在上面脱敏
+     */
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[64]);
+
+    /**
+     * 默认规则，保留前后约四分之一的内容
+     */
+    public static final DesensitizeRule DEFAULT = new DesensitizeRule() {
+        @Override
+        protected void mask(char[] chars, int length) {
+            if (length < 2) {
+                return;
+            }
+
+            if (length == 2) {
+                chars[1] = DEFAULT_DESENSITIZE_SYMBOL;
+                return;
+            }
+
+            // 相当于 length / 4 的 HALF_DOWN 和 HALF_UP 取整
+            int startIndex = (length + 1) / 4;
+            int endIndex = (length + 2) / 4;
+            int numAsterisks = length - startIndex - endIndex;
+
+            if (startIndex + endIndex >= 2) {
+                numAsterisks--;
+            }
+
+            fill(chars, startIndex, length - numAsterisks);
+        }
+    };
+
+    /**
+     * 手机号码规则
+     */
+    public static final DesensitizeRule PHONE = keep(3, 4);
+
+    /**
+     * 身份证号码规则
+     */
+    public static final DesensitizeRule ID_CARD = keep(3, 4);
+
+    /**
+     * 银行卡号规则
+     */
+    public static final DesensitizeRule BANK_CARD = keep(4, 4);
+
+    /**
+     * 电子邮箱规则
+     */
+    public static final DesensitizeRule EMAIL = new DesensitizeRule() {
+        @Override
+        protected void mask(char[] chars, int length) {
+            int index = -1;
+            for (int i = 0; i < length; i++) {
+                if (chars[i] == '@') {
+                    index = i;
+                    break;
+                }
+            }
+
+            if (index < 0) {
+                DEFAULT.mask(chars, length);
+            } else {
+                fill(chars, 1, index);
+            }
+        }
+    };
+
+    /**
+     * 获取注解对应的规则
+     *
+     * @param desensitize 脱敏注解，为 null 时返回 {@link #DEFAULT}
+     *
+     * @return 脱敏规则
+     */
+    public static DesensitizeRule of(Desensitize desensitize) {
+        if (Objects.isNull(desensitize)) {
+            return DEFAULT;
+        }
+
+        return switch (desensitize.type()) {
+            case Phone -> PHONE;
+            case IdCard -> ID_CARD;
+            case Email -> EMAIL;
+            case BankCard -> BANK_CARD;
+            case Custom -> keep(desensitize.prefix(), desensitize.suffix());
+            default -> DEFAULT;
+        };
+    }
+
+    /**
+     * 创建保留前后指定长度内容的规则，如果值的长度不大于保留的长度，使用 {@link #DEFAULT} 规则
+     *
+     * @param prefix 保留的前缀长度
+     * @param suffix 保留的后缀长度
+     *
+     * @return 脱敏规则
+     */
+    public static DesensitizeRule keep(int prefix, int suffix) {
+        int keepPrefix = Math.max(prefix, 0);
+        int keepSuffix = Math.max(suffix, 0);
+
+        return new DesensitizeRule() {
+            @Override
+            protected void mask(char[] chars, int length) {
+                if (length <= keepPrefix + keepSuffix) {
+                    DEFAULT.mask(chars, length);
+                } else {
+                    fill(chars, keepPrefix, length - keepSuffix);
+                }
+            }
+        };
+    }
+
+    /**
+     * 对值进行脱敏
+     *
+     * @param value 值
+     *
+     * @return 脱敏后的值
+     */
+    public String desensitize(String value) {
+        if (StringUtils.isEmpty(value)) {
+            return value;
+        }
+
+        char[] chars = value.toCharArray();
+        mask(chars, chars.length);
+        return new String(chars);
+    }
+
+    /**
+     * 将脱敏后的值直接写入 json 生成器
+     *
+     * @param value     值
+     * @param generator json 生成器
+     *
+     * @throws IOException 写入错误时抛出
+     */
+    public void write(String value, JsonGenerator generator) throws IOException {
+        int length = value.length();
+
+        char[] buffer = BUFFER.get();
+        if (buffer.length < length) {
+            buffer = new char[length];
+            if (length <= MAX_BUFFER_SIZE) {
+                BUFFER.set(buffer);
+            }
+        }
+
+        value.getChars(0, length, buffer, 0);
+        mask(buffer, length);
+        generator.writeString(buffer, 0, length);
+    }
+
+    /**
+     * 将字符数组中需要脱敏的位置替换为脱敏符号
+     *
+     * @param chars  字符数组
+     * @param length 值的长度
+     */
+    protected abstract void mask(char[] chars, int length);
+
+    /**
+     * 将 [from, to) 范围的字符替换为脱敏符号
+     *
+     * @param chars 字符数组
+     * @param from  开始位置
+     * @param to    结束位置（不包含）
+     */
+    protected static void fill(char[] chars, int from, int to) {
+        for (int i = from; i < to; i++) {
+            chars[i] = DEFAULT_DESENSITIZE_SYMBOL;
+        }
+    }
+}
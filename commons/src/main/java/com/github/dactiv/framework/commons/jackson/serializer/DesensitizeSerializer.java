@@ -1,14 +1,14 @@
 package com.github.dactiv.framework.commons.jackson.serializer;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
 import com.github.dactiv.framework.commons.Casts;
-import org.apache.commons.lang3.StringUtils;
+import com.github.dactiv.framework.commons.annotation.Desensitize;
 
 import java.io.IOException;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
@@ -17,52 +17,68 @@ import java.util.stream.Collectors;
 /**
  * 敏感数据加 * 的 json 序列化实现
  *
+ * <p>
+ * 创建上下文序列化器时根据属性上的 {@link Desensitize} 注解确定脱敏规则，序列化字符串时直接将脱敏后的字符写入
+ * {@link JsonGenerator}。
+ * </p>
+ *
  * @author maurice
  */
-public class DesensitizeSerializer extends JsonSerializer<Object> {
+public class DesensitizeSerializer extends JsonSerializer<Object> implements ContextualSerializer {
 
     /**
-     * 默认倍数值
-     */
-    private static final int DEFAULT_MULTIPLE_VALUE = 2;
-    /**
-     * 默认脱敏符号
+     * 脱敏规则
      */
-    private static final String DEFAULT_DESENSITIZE_SYMBOL = "*";
+    private final DesensitizeRule rule;
 
-    public static String desensitize(String string) {
-        if (StringUtils.isEmpty(string)) {
-            return string;
-        }
+    public DesensitizeSerializer() {
+        this(DesensitizeRule.DEFAULT);
+    }
 
-        int length = string.length();
+    public DesensitizeSerializer(DesensitizeRule rule) {
+        this.rule = rule;
+    }
 
-        if (length <= DEFAULT_MULTIPLE_VALUE) {
-            return string.length() == DEFAULT_MULTIPLE_VALUE ? string.charAt(0) + DEFAULT_DESENSITIZE_SYMBOL : string ;
-        }
+    public static String desensitize(String string) {
+        return DesensitizeRule.DEFAULT.desensitize(string);
+    }
 
-        double avgLength = (double) length / DEFAULT_MULTIPLE_VALUE / DEFAULT_MULTIPLE_VALUE;
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property) {
+        if (Objects.isNull(property)) {
+            return this;
+        }
 
-        int startIndex = BigDecimal.valueOf(avgLength).setScale(0, RoundingMode.HALF_DOWN).intValue();
-        int endIndex = BigDecimal.valueOf(avgLength).setScale(0, RoundingMode.HALF_UP).intValue();
-        int numAsterisks = length - startIndex - endIndex;
+        Desensitize desensitize = property.getAnnotation(Desensitize.class);
+        if (Objects.isNull(desensitize)) {
+            desensitize = property.getContextAnnotation(Desensitize.class);
+        }
 
-        if (startIndex + endIndex >= DEFAULT_MULTIPLE_VALUE) {
-            numAsterisks--;
+        if (Objects.isNull(desensitize)) {
+            return this;
         }
 
-        String exp = "(?<=.{" + startIndex + "}).(?=.*.{" + (numAsterisks) + "}$)";
-        return string.replaceAll(exp, DEFAULT_DESENSITIZE_SYMBOL);
+        return new DesensitizeSerializer(DesensitizeRule.of(desensitize));
     }
 
     @Override
     public void serialize(Object s, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
-        jsonGenerator.writeObject(getDesensitizeValue(s));
+        if (s instanceof Collection<?> c) {
+            jsonGenerator.writeStartArray(s, c.size());
+            for (Object v : c) {
+                rule.write(v.toString(), jsonGenerator);
+            }
+            jsonGenerator.writeEndArray();
+        } else if (s instanceof Map<?, ?>) {
+            jsonGenerator.writeObject(getDesensitizeValue(s));
+        } else {
+            rule.write(s.toString(), jsonGenerator);
+        }
     }
 
     public Object getDesensitizeValue(Object s) {
         if (s instanceof Collection<?> c) {
-            return c.stream().map(v -> desensitize(v.toString())).collect(Collectors.toList());
+            return c.stream().map(v -> rule.desensitize(v.toString())).collect(Collectors.toList());
         } else if (s instanceof Map<?,?> map) {
             Map<?, Object> convert = Casts.cast(map);
 
@@ -74,7 +90,7 @@ public class DesensitizeSerializer extends JsonSerializer<Object> {
 
             return convert;
         } else {
-            return desensitize(s.toString());
+            return rule.desensitize(s.toString());
         }
     }
 }
@@ -0,0 +1,58 @@
+package com.github.dactiv.framework.commons.tree;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 树形迭代器，使用显式栈（深度优先）或队列（广度优先）遍历，不依赖递归
+ *
+ * @param <P> 树形父类类型
+ * @param <T> 属性孩子类型
+ *
+ * @author maurice.chen
+ */
+class TreeIterator<P, T> implements Iterator<Tree<P, T>> {
+
+    /**
+     * 待访问的节点
+     */
+    private final Deque<Tree<P, T>> deque = new ArrayDeque<>();
+
+    /**
+     * 是否深度优先，true 为深度优先（先序），否则为广度优先
+     */
+    private final boolean depthFirst;
+
+    TreeIterator(List<? extends Tree<P, T>> list, boolean depthFirst) {
+        this.depthFirst = depthFirst;
+        deque.addAll(list);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !deque.isEmpty();
+    }
+
+    @Override
+    public Tree<P, T> next() {
+        if (deque.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        Tree<P, T> tree = deque.pollFirst();
+        List<Tree<P, T>> children = tree.getChildren();
+
+        if (depthFirst) {
+            for (int i = children.size() - 1; i >= 0; i--) {
+                deque.addFirst(children.get(i));
+            }
+        } else {
+            deque.addAll(children);
+        }
+
+        return tree;
+    }
+}
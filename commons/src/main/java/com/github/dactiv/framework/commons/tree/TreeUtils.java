@@ -1,11 +1,13 @@
 package com.github.dactiv.framework.commons.tree;
 
 import com.github.dactiv.framework.commons.Casts;
+import com.github.dactiv.framework.commons.id.BasicIdentification;
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 树工具类，用户合并或拆解等
@@ -14,6 +16,20 @@ import java.util.Objects;
  */
 public class TreeUtils {
 
+    /**
+     * 节点类型是否使用 {@link Tree#isChildren(Tree)} 的默认实现
+     */
+    private static final ClassValue<Boolean> DEFAULT_IS_CHILDREN = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("isChildren", Tree.class).getDeclaringClass() == Tree.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
     /**
      * 绑定泛型树
      *
@@ -55,7 +71,7 @@ public class TreeUtils {
     }
 
     /**
-     * 接触绑定树
+     * 接触绑定树，使用显式栈按深度优先（先序）展开，不会因为层级过深导致栈溢出
      *
      * @param list 树形集合
      * @param <P>  树形父类类型
@@ -66,19 +82,60 @@ public class TreeUtils {
     public static <P, T> List<Tree<P, T>> unBuildTree(List<? extends Tree<P, T>> list) {
         List<Tree<P, T>> result = new ArrayList<>();
 
-        for(Tree<P, T> t : list) {
+        Deque<Tree<P, T>> stack = new ArrayDeque<>();
+        for (int i = list.size() - 1; i >= 0; i--) {
+            stack.push(list.get(i));
+        }
+
+        while (!stack.isEmpty()) {
+            Tree<P, T> t = stack.pop();
             result.add(t);
-            List<Tree<P,T>> children = unBuildTree(t.getChildren());
-            result.addAll(children);
-            t.getChildren().clear();
+
+            List<Tree<P, T>> children = t.getChildren();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+            children.clear();
         }
 
         return result;
     }
 
+    /**
+     * 获取深度优先（先序）遍历树形的迭代器，遍历过程不会修改树形结构
+     *
+     * @param list 树形集合
+     * @param <P>  树形父类类型
+     * @param <T>  属性孩子类型
+     *
+     * @return 迭代器
+     */
+    public static <P, T> Iterator<Tree<P, T>> depthFirstIterator(List<? extends Tree<P, T>> list) {
+        return new TreeIterator<>(list, true);
+    }
+
+    /**
+     * 获取广度优先（按层）遍历树形的迭代器，遍历过程不会修改树形结构
+     *
+     * @param list 树形集合
+     * @param <P>  树形父类类型
+     * @param <T>  属性孩子类型
+     *
+     * @return 迭代器
+     */
+    public static <P, T> Iterator<Tree<P, T>> breadthFirstIterator(List<? extends Tree<P, T>> list) {
+        return new TreeIterator<>(list, false);
+    }
+
     /**
      * 绑定树形
      *
+     * <p>
+     * 如果所有节点都是 {@link BasicIdentification} 实现并且没有覆盖 {@link Tree#isChildren(Tree)}，使用
+     * {@link BasicIdentification#getId()} 作为节点标识，通过 {@link #buildTree(List, Function)} 在 O(n) 内完成绑定；
+     * 否则通过每个节点的 {@link Tree#isChildren(Tree)} 判断父子关系。
+     * </p>
+     *
      * @param list 树形集合
      * @param <P>  树形父类类型
      * @param <T>  属性孩子类型
@@ -86,6 +143,27 @@ public class TreeUtils {
      * @return 绑定后的树形结合
      */
     public static <P, T> List<Tree<P, T>> buildTree(List<? extends Tree<P, T>> list) {
+        boolean identification = list
+                .stream()
+                .allMatch(e -> e instanceof BasicIdentification && DEFAULT_IS_CHILDREN.get(e.getClass()));
+
+        if (identification) {
+            return buildTree(list, TreeUtils::getIdentification);
+        }
+
+        return buildTreeByIsChildren(list);
+    }
+
+    /**
+     * 通过 {@link Tree#isChildren(Tree)} 绑定树形
+     *
+     * @param list 树形集合
+     * @param <P>  树形父类类型
+     * @param <T>  属性孩子类型
+     *
+     * @return 绑定后的树形结合
+     */
+    private static <P, T> List<Tree<P, T>> buildTreeByIsChildren(List<? extends Tree<P, T>> list) {
         List<Tree<P, T>> result = new ArrayList<>();
 
         list.stream().filter(TreeUtils::isParent).peek(root -> findChildren(root, list)).forEach(result::add);
@@ -105,7 +183,6 @@ public class TreeUtils {
         return result;
     }
 
-
     /**
      * 获取孩子节点合并到父类
      *
@@ -120,7 +197,97 @@ public class TreeUtils {
                 .filter(e -> !isParent(e))
                 .filter(e -> e.isChildren(parent))
                 .peek(e -> findChildren(e, list))
-                .forEach(e ->parent.getChildren().add(e));
+                .forEach(e -> parent.getChildren().add(e));
+    }
+
+    /**
+     * 绑定树形
+     *
+     * @param list       树形集合
+     * @param idFunction 获取节点标识的函数，节点的 {@link Tree#getParent()} 与父节点的标识相等时为父子关系
+     * @param <P>        树形父类类型
+     * @param <T>        属性孩子类型
+     * @param <N>        节点类型
+     *
+     * @return 绑定后的树形结合
+     */
+    public static <P, T, N extends Tree<P, T>> List<Tree<P, T>> buildTree(List<N> list,
+                                                                          Function<? super N, ?> idFunction) {
+        return buildTree(list, idFunction, false);
+    }
+
+    /**
+     * 绑定树形
+     *
+     * <p>
+     * 先一次遍历按父节点标识对节点分组，再从根节点开始使用显式栈链接孩子节点，整体复杂度为 O(n)。
+     * 根节点的判断规则为：如果存在 {@link #isParent(Tree)} 的节点，那么这些节点为根节点，否则父节点不在集合中的节点为根节点。
+     * </p>
+     *
+     * @param list       树形集合
+     * @param idFunction 获取节点标识的函数，节点的 {@link Tree#getParent()} 与父节点的标识相等时为父子关系
+     * @param parallel   是否并行分组，适用于节点数量非常大的场景
+     * @param <P>        树形父类类型
+     * @param <T>        属性孩子类型
+     * @param <N>        节点类型
+     *
+     * @return 绑定后的树形结合
+     */
+    public static <P, T, N extends Tree<P, T>> List<Tree<P, T>> buildTree(List<N> list,
+                                                                          Function<? super N, ?> idFunction,
+                                                                          boolean parallel) {
+        Stream<N> stream = parallel ? list.parallelStream() : list.stream();
+        Map<P, List<N>> group = stream
+                .filter(e -> !isParent(e))
+                .collect(Collectors.groupingBy(Tree::getParent));
+
+        List<N> roots = list.stream().filter(TreeUtils::isParent).collect(Collectors.toList());
+
+        if (roots.isEmpty()) {
+            Set<Object> ids = list.stream().map(idFunction).filter(Objects::nonNull).collect(Collectors.toSet());
+            roots = list.stream().filter(e -> !ids.contains(e.getParent())).collect(Collectors.toList());
+        }
+
+        Deque<N> stack = new ArrayDeque<>(roots);
+        // 防止数据中存在环时无限循环
+        Set<N> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        while (!stack.isEmpty()) {
+            N parent = stack.pop();
+
+            if (!visited.add(parent)) {
+                continue;
+            }
+
+            Object id = idFunction.apply(parent);
+            if (Objects.isNull(id)) {
+                continue;
+            }
+
+            List<N> children = group.get(id);
+            if (Objects.isNull(children)) {
+                continue;
+            }
+
+            parent.getChildren().addAll(children);
+            children.forEach(stack::push);
+        }
+
+        return new ArrayList<>(roots);
+    }
+
+    /**
+     * 获取节点的标识
+     *
+     * @param tree 节点对象
+     *
+     * @return 如果节点为 {@link BasicIdentification} 实现，返回 {@link BasicIdentification#getId()}，否则返回 null
+     */
+    private static Object getIdentification(Tree<?, ?> tree) {
+        if (tree instanceof BasicIdentification<?> identification) {
+            return identification.getId();
+        }
+        return null;
     }
 
     /**
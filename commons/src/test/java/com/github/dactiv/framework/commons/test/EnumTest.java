@@ -2,9 +2,12 @@ package com.github.dactiv.framework.commons.test;
 
 import com.github.dactiv.framework.commons.annotation.GetValueStrategy;
 import com.github.dactiv.framework.commons.annotation.IgnoreField;
+import com.github.dactiv.framework.commons.enumerate.EnumMetadata;
+import com.github.dactiv.framework.commons.enumerate.NameEnumUtils;
 import com.github.dactiv.framework.commons.enumerate.NameValueEnum;
 import com.github.dactiv.framework.commons.enumerate.ValueEnumUtils;
 import com.github.dactiv.framework.commons.enumerate.support.YesOrNo;
+import com.github.dactiv.framework.commons.exception.ValueEnumNotFoundException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -31,6 +34,22 @@ public class EnumTest {
         Assertions.assertEquals(enumData.toString(), EnumData.One.toString());
     }
 
+    @Test
+    public void testEnumMetadata() {
+        Assertions.assertEquals(YesOrNo.No, ValueEnumUtils.parse(YesOrNo.No.getValue(), YesOrNo.class));
+        Assertions.assertNull(ValueEnumUtils.parse(-1, YesOrNo.class, true));
+        Assertions.assertThrows(ValueEnumNotFoundException.class, () -> ValueEnumUtils.parse(-1, YesOrNo.class));
+
+        Assertions.assertEquals(YesOrNo.Yes, NameEnumUtils.parse(YesOrNo.Yes.name(), YesOrNo.class));
+        Assertions.assertEquals(YesOrNo.Yes.getName(), NameEnumUtils.getName(YesOrNo.Yes.name(), YesOrNo.class));
+
+        EnumMetadata metadata = EnumMetadata.of(EnumData.class);
+        Assertions.assertEquals(GetValueStrategy.Type.ToString, metadata.getStrategyType());
+        Assertions.assertEquals(EnumData.Two, metadata.findByDisplayName("二"));
+        Assertions.assertEquals(EnumData.Two, metadata.findByValueString("2"));
+        Assertions.assertEquals(EnumData.Two.name(), ValueEnumUtils.getValueByStrategyAnnotation(EnumData.Two));
+    }
+
     @GetValueStrategy(type = GetValueStrategy.Type.ToString)
     public enum EnumData implements NameValueEnum<Integer> {
         One("一", 1),
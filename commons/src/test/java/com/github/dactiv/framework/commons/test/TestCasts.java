@@ -1,11 +1,24 @@
 package com.github.dactiv.framework.commons.test;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.dactiv.framework.commons.BeanCopier;
 import com.github.dactiv.framework.commons.Casts;
+import com.github.dactiv.framework.commons.enumerate.support.YesOrNo;
+import com.github.dactiv.framework.commons.exception.SystemException;
+import org.apache.commons.beanutils.ConversionException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.stream.Stream;
 
 public class TestCasts {
 
@@ -32,4 +45,125 @@ public class TestCasts {
 
         Assertions.assertEquals(value, "http://localhost:9010/api/v1/buckets/{bucketName}/objects/download?prefix={filename}");
     }
+
+    @Test
+    public void testCast() {
+        Assertions.assertEquals(1, Casts.cast("1", Integer.class));
+        Assertions.assertEquals(1, Casts.cast(" 1 ", int.class));
+        Assertions.assertEquals(0, Casts.cast("abc", Integer.class));
+        Assertions.assertEquals(10L, Casts.cast(10, Long.class));
+        Assertions.assertEquals(new BigDecimal("1.5"), Casts.cast(1.5D, BigDecimal.class));
+        Assertions.assertEquals(1, Casts.cast(List.of("1", "2"), Integer.class));
+
+        Assertions.assertEquals(Boolean.TRUE, Casts.cast("yes", Boolean.class));
+        Assertions.assertEquals(Boolean.FALSE, Casts.cast("abc", boolean.class));
+        Assertions.assertEquals("1", Casts.cast(1, String.class));
+
+        Date date = Casts.cast("2023-01-02 03:04:05", Date.class);
+        Assertions.assertEquals(LocalDateTime.of(2023, 1, 2, 3, 4, 5), LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()));
+        Assertions.assertEquals("2023-01-02", Casts.cast(date, String.class));
+        Assertions.assertThrows(ConversionException.class, () -> Casts.cast("2023-02-30", Date.class));
+
+        Assertions.assertEquals(YesOrNo.Yes, Casts.cast("Yes", YesOrNo.class));
+        Assertions.assertEquals(YesOrNo.No, Casts.cast(0, YesOrNo.class));
+
+        Object value = new Object();
+        Assertions.assertSame(value, Casts.cast(value, Object.class));
+        Assertions.assertNull(Casts.cast(null, Integer.class));
+
+        List<String> list = new ArrayList<>(List.of("a"));
+        Assertions.assertEquals(LinkedHashSet.class, Casts.cast(list, Set.class).getClass());
+    }
+
+    @Test
+    public void testJson() {
+        TestReflectionUtils.Data data = new TestReflectionUtils.Data();
+        data.setId(1);
+        data.setName("test");
+
+        String json = Casts.writeValueAsString(data);
+        TestReflectionUtils.Data result = Casts.readValue(json, TestReflectionUtils.Data.class);
+        Assertions.assertEquals("test", result.getName());
+        Assertions.assertEquals(1, result.getId());
+        Assertions.assertEquals("null", Casts.writeValueAsString(null));
+
+        List<Integer> list = Casts.readValue("[1,2,3]", new TypeReference<>() {});
+        Assertions.assertEquals(List.of(1, 2, 3), list);
+
+        InputStream stream = new ByteArrayInputStream("[{\"name\":\"a\"},{\"name\":\"b\"},{\"name\":\"c\"}]".getBytes(StandardCharsets.UTF_8));
+        try (Stream<TestReflectionUtils.Data> values = Casts.readValuesAsStream(stream, TestReflectionUtils.Data.class)) {
+            Assertions.assertEquals(List.of("a", "b", "c"), values.map(TestReflectionUtils.Data::getName).toList());
+        }
+    }
+
+    @Test
+    public void testJsonReaderFollowsObjectMapperConfig() {
+        String json = "{\"name\":\"a\",\"unknown\":1}";
+        ObjectMapper objectMapper = Casts.getObjectMapper();
+        boolean failOnUnknown = objectMapper.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        try {
+            objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true);
+            Assertions.assertThrows(SystemException.class, () -> Casts.readValue(json, TestReflectionUtils.Data.class));
+
+            objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+            Assertions.assertEquals("a", Casts.readValue(json, TestReflectionUtils.Data.class).getName());
+        } finally {
+            objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, failOnUnknown);
+        }
+    }
+
+    @Test
+    public void testOf() {
+        TestReflectionUtils.Data data = new TestReflectionUtils.Data();
+        data.setId(1);
+        data.setName("test");
+        data.setAge(18);
+
+        Target target = Casts.of(data, Target.class);
+        Assertions.assertEquals(1, target.getId());
+        Assertions.assertEquals("test", target.getName());
+        // int 不能赋值给 Long，与 BeanUtils.copyProperties 一致不拷贝
+        Assertions.assertNull(target.getAge());
+
+        target = Casts.of(data, Target.class, "name");
+        Assertions.assertEquals(1, target.getId());
+        Assertions.assertNull(target.getName());
+
+        Assertions.assertSame(BeanCopier.get(TestReflectionUtils.Data.class, Target.class), BeanCopier.get(TestReflectionUtils.Data.class, Target.class));
+        Assertions.assertSame(Casts.getIgnoreField(Target.class), Casts.getIgnoreField(Target.class));
+    }
+
+    public static class Target {
+
+        private Integer id;
+
+        private String name;
+
+        private Long age;
+
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(Integer id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Long getAge() {
+            return age;
+        }
+
+        public void setAge(Long age) {
+            this.age = age;
+        }
+    }
 }
@@ -0,0 +1,143 @@
+package com.github.dactiv.framework.commons.test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.github.dactiv.framework.commons.Casts;
+import com.github.dactiv.framework.commons.annotation.Desensitize;
+import com.github.dactiv.framework.commons.jackson.serializer.DesensitizeSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+
+public class TestDesensitizeSerializer {
+
+    @Test
+    public void testDefault() {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 64; i++) {
+            Assertions.assertEquals(regexDesensitize(value.toString()), DesensitizeSerializer.desensitize(value.toString()));
+            value.append((char) ('a' + i % 26));
+        }
+    }
+
+    @Test
+    public void testSerialize() {
+        Data data = new Data();
+        data.setPhone("13812345678");
+        data.setIdCard("110101199003071234");
+        data.setEmail("maurice@dactiv.com");
+        data.setBankCard("6222020200112233445");
+        data.setName("maurice");
+        data.setTags(List.of("abcd", "abcdefgh"));
+
+        Map<String, Object> result = Casts.readValue(Casts.writeValueAsString(data), new TypeReference<Map<String, Object>>() {});
+
+        Assertions.assertEquals("138****5678", result.get("phone"));
+        Assertions.assertEquals("110***********1234", result.get("idCard"));
+        Assertions.assertEquals("m******@dactiv.com", result.get("email"));
+        Assertions.assertEquals("6222***********3445", result.get("bankCard"));
+        Assertions.assertEquals(DesensitizeSerializer.desensitize("maurice"), result.get("name"));
+        Assertions.assertEquals(List.of("a**d", "ab***fgh"), result.get("tags"));
+    }
+
+    /**
+     * 原正则表达式实现，用于校验结果一致
+     */
+    private static String regexDesensitize(String string) {
+        if (string.isEmpty()) {
+            return string;
+        }
+
+        int length = string.length();
+
+        if (length <= 2) {
+            return string.length() == 2 ? string.charAt(0) + "*" : string;
+        }
+
+        double avgLength = (double) length / 2 / 2;
+
+        int startIndex = BigDecimal.valueOf(avgLength).setScale(0, RoundingMode.HALF_DOWN).intValue();
+        int endIndex = BigDecimal.valueOf(avgLength).setScale(0, RoundingMode.HALF_UP).intValue();
+        int numAsterisks = length - startIndex - endIndex;
+
+        if (startIndex + endIndex >= 2) {
+            numAsterisks--;
+        }
+
+        String exp = "(?<=.{" + startIndex + "}).(?=.*.{" + (numAsterisks) + "}$)";
+        return string.replaceAll(exp, "*");
+    }
+
+    public static class Data {
+
+        @Desensitize(type = Desensitize.Type.Phone)
+        private String phone;
+
+        @Desensitize(type = Desensitize.Type.IdCard)
+        private String idCard;
+
+        @Desensitize(type = Desensitize.Type.Email)
+        private String email;
+
+        @Desensitize(type = Desensitize.Type.BankCard)
+        private String bankCard;
+
+        @JsonSerialize(using = DesensitizeSerializer.class)
+        private String name;
+
+        @Desensitize
+        private List<String> tags;
+
+        public String getPhone() {
+            return phone;
+        }
+
+        public void setPhone(String phone) {
+            this.phone = phone;
+        }
+
+        public String getIdCard() {
+            return idCard;
+        }
+
+        public void setIdCard(String idCard) {
+            this.idCard = idCard;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        public String getBankCard() {
+            return bankCard;
+        }
+
+        public void setBankCard(String bankCard) {
+            this.bankCard = bankCard;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.dactiv.framework.commons.test;
+
+import com.github.dactiv.framework.commons.ClassMetadata;
+import com.github.dactiv.framework.commons.ReflectionUtils;
+import com.github.dactiv.framework.commons.exception.SystemException;
+import com.github.dactiv.framework.commons.id.IdEntity;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serial;
+import java.lang.reflect.Field;
+import java.util.List;
+
+public class TestReflectionUtils {
+
+    @Test
+    public void testProperty() {
+        Data data = new Data();
+
+        ReflectionUtils.setWriteProperty(data, "name", "test");
+        ReflectionUtils.setWriteProperty(data, "age", 18);
+        ReflectionUtils.setWriteProperty(data, "id", 1);
+
+        Assertions.assertEquals("test", ReflectionUtils.getReadProperty(data, "name"));
+        Assertions.assertEquals(18, ReflectionUtils.getReadProperty(data, "age"));
+        Assertions.assertEquals(1, ReflectionUtils.getReadProperty(data, "id"));
+
+        Assertions.assertThrows(SystemException.class, () -> ReflectionUtils.getReadProperty(data, "notExist"));
+        Assertions.assertSame(ClassMetadata.of(Data.class), ClassMetadata.of(Data.class));
+    }
+
+    @Test
+    public void testFields() {
+        List<Field> fields = ReflectionUtils.findFields(Data.class);
+
+        Assertions.assertTrue(fields.stream().anyMatch(f -> f.getName().equals("name")));
+        Assertions.assertTrue(fields.stream().anyMatch(f -> f.getName().equals("id")));
+        Assertions.assertSame(fields, ReflectionUtils.findFields(Data.class));
+
+        Data data = new Data();
+        ReflectionUtils.setFieldValue(data, "id", 2);
+        Assertions.assertEquals(2, ReflectionUtils.getFieldValue(data, "id"));
+    }
+
+    public static class Data extends IdEntity<Integer> {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private String name;
+
+        private int age;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.dactiv.framework.commons.test;
+
+import com.github.dactiv.framework.commons.generator.segment.InMemorySegmentStore;
+import com.github.dactiv.framework.commons.generator.segment.JdbcSegmentStore;
+import com.github.dactiv.framework.commons.generator.segment.SegmentIdGenerator;
+import com.github.dactiv.framework.commons.generator.segment.SegmentStore;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * 测试号段 id 生成器
+ *
+ * @author maurice.chen
+ */
+public class TestSegmentIdGenerator {
+
+    @Test
+    public void testNextId() {
+        AtomicInteger count = new AtomicInteger();
+        InMemorySegmentStore delegate = new InMemorySegmentStore();
+        SegmentStore store = (key, step) -> {
+            count.incrementAndGet();
+            return delegate.nextMaxId(key, step);
+        };
+
+        SegmentIdGenerator generator = new SegmentIdGenerator(store, "test", 100);
+        for (long i = 0; i < 1000; i++) {
+            Assertions.assertEquals(i, generator.nextId());
+        }
+        // 用完第 10 个号段时已经预加载了第 11 个号段
+        Assertions.assertTrue(count.get() >= 10 && count.get() <= 11);
+    }
+
+    @Test
+    public void testConcurrent() {
+        SegmentIdGenerator generator = new SegmentIdGenerator(new InMemorySegmentStore(), "test", 1000);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 100000).parallel().forEach(i -> ids.add(generator.generateId()));
+
+        Assertions.assertEquals(100000, ids.size());
+    }
+
+    @Test
+    public void testJdbcSegmentStore() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:segment;DB_CLOSE_DELAY=-1");
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE tb_id_segment (biz_key VARCHAR(128) NOT NULL PRIMARY KEY, max_id BIGINT NOT NULL)");
+        }
+
+        JdbcSegmentStore store = new JdbcSegmentStore(dataSource);
+        Assertions.assertEquals(100, store.nextMaxId("order", 100));
+        Assertions.assertEquals(200, store.nextMaxId("order", 100));
+        Assertions.assertEquals(10, store.nextMaxId("user", 10));
+
+        SegmentIdGenerator generator = new SegmentIdGenerator(store, "user", 10);
+        Assertions.assertEquals(10, generator.nextId());
+    }
+}
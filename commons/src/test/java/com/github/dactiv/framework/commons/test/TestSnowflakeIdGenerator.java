@@ -1,10 +1,24 @@
 package com.github.dactiv.framework.commons.test;
 
+import com.github.dactiv.framework.commons.exception.SystemException;
+import com.github.dactiv.framework.commons.generator.twitter.InMemoryWorkerIdLeaseRepository;
 import com.github.dactiv.framework.commons.generator.twitter.SnowflakeIdGenerator;
 import com.github.dactiv.framework.commons.generator.twitter.SnowflakeProperties;
+import com.github.dactiv.framework.commons.generator.twitter.WorkerIdAllocator;
+import com.github.dactiv.framework.commons.generator.twitter.WorkerIdLeaseRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
 /**
  * 测试雪环 id 生成器
  *
@@ -12,16 +26,215 @@ import org.junit.jupiter.api.Test;
  */
 public class TestSnowflakeIdGenerator {
 
-    @Test
-    public void testGenerateId() {
-
+    private SnowflakeIdGenerator createGenerator() {
         SnowflakeProperties snowflakeProperties = new SnowflakeProperties();
         snowflakeProperties.setServiceId("001");
         snowflakeProperties.setWorkerId(1);
         snowflakeProperties.setDataCenterId(1);
 
-        SnowflakeIdGenerator snowflakeIdGenerator = new SnowflakeIdGenerator(snowflakeProperties);
+        return new SnowflakeIdGenerator(snowflakeProperties);
+    }
+
+    @Test
+    public void testGenerateId() {
+
+        SnowflakeIdGenerator snowflakeIdGenerator = createGenerator();
 
         Assertions.assertEquals(snowflakeIdGenerator.generateId().length(), 32);
     }
+
+    @Test
+    public void testNextIdConcurrent() {
+        SnowflakeIdGenerator snowflakeIdGenerator = createGenerator();
+
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 100000).parallel().forEach(i -> ids.add(snowflakeIdGenerator.nextId()));
+
+        Assertions.assertEquals(100000, ids.size());
+    }
+
+    @Test
+    public void testNextIds() {
+        SnowflakeIdGenerator snowflakeIdGenerator = createGenerator();
+
+        long first = snowflakeIdGenerator.nextId();
+        long[] ids = snowflakeIdGenerator.nextIds(10000);
+        long last = snowflakeIdGenerator.nextId();
+
+        Assertions.assertEquals(10000, ids.length);
+        Assertions.assertEquals(10000, Arrays.stream(ids).distinct().count());
+        Assertions.assertTrue(first < ids[0]);
+        Assertions.assertTrue(ids[ids.length - 1] < last);
+
+        for (int i = 1; i < ids.length; i++) {
+            Assertions.assertTrue(ids[i - 1] < ids[i]);
+        }
+    }
+
+    @Test
+    public void testWorkerIdAllocator() {
+        MutableClock clock = new MutableClock();
+        InMemoryWorkerIdLeaseRepository repository = new InMemoryWorkerIdLeaseRepository(clock);
+        Duration leaseTime = Duration.ofMinutes(1);
+
+        WorkerIdAllocator first = new WorkerIdAllocator(repository, leaseTime, clock);
+        WorkerIdAllocator second = new WorkerIdAllocator(repository, leaseTime, clock);
+
+        SnowflakeProperties properties = first.createProperties("001");
+        Assertions.assertNotEquals(first.acquire(), second.acquire());
+        Assertions.assertEquals(WorkerIdAllocator.getDataCenterId(first.getSlot()), properties.getDataCenterId());
+        Assertions.assertEquals(WorkerIdAllocator.getWorkerId(first.getSlot()), properties.getWorkerId());
+        Assertions.assertNotNull(new SnowflakeIdGenerator(properties).generateId());
+
+        // 超过租约时间后，生成 id 前会同步重新占用原来的编号
+        SnowflakeIdGenerator generator = first.createIdGenerator("001");
+        clock.advance(leaseTime.multipliedBy(2));
+        Assertions.assertFalse(first.isLeased());
+        Assertions.assertNotNull(generator.generateId());
+        Assertions.assertTrue(first.isLeased());
+        Assertions.assertFalse(repository.tryAcquire(first.getSlot(), "other", leaseTime));
+
+        int slot = first.getSlot();
+        first.close();
+        second.close();
+        Assertions.assertEquals(-1, first.getSlot());
+        Assertions.assertFalse(first.isLeased());
+        Assertions.assertTrue(repository.tryAcquire(slot, "other", leaseTime));
+        Assertions.assertThrows(SystemException.class, first::checkLease);
+    }
+
+    @Test
+    public void testWorkerIdAllocatorLostSlot() {
+        MutableClock clock = new MutableClock();
+        InMemoryWorkerIdLeaseRepository repository = new InMemoryWorkerIdLeaseRepository(clock);
+        Duration leaseTime = Duration.ofMinutes(1);
+
+        try (WorkerIdAllocator allocator = new WorkerIdAllocator(repository, leaseTime, clock)) {
+            SnowflakeIdGenerator generator = allocator.createIdGenerator("001");
+            Assertions.assertTrue(generator.nextId() > 0);
+
+            // 租约过期后编号被其他节点占用，不能继续使用原来的编号生成 id
+            clock.advance(leaseTime);
+            Assertions.assertTrue(repository.tryAcquire(allocator.getSlot(), "other", leaseTime));
+
+            Assertions.assertThrows(SystemException.class, generator::nextId);
+            Assertions.assertThrows(SystemException.class, () -> generator.nextIds(10));
+            Assertions.assertFalse(allocator.isLeased());
+
+            // 其他节点释放后可以重新占用
+            repository.release(allocator.getSlot(), "other");
+            Assertions.assertTrue(generator.nextId() > 0);
+            Assertions.assertTrue(allocator.isLeased());
+        }
+    }
+
+    @Test
+    public void testWorkerIdAllocatorRepositoryUnavailable() {
+        MutableClock clock = new MutableClock();
+        UnavailableWorkerIdLeaseRepository repository = new UnavailableWorkerIdLeaseRepository(
+                new InMemoryWorkerIdLeaseRepository(clock)
+        );
+        Duration leaseTime = Duration.ofMinutes(1);
+
+        try (WorkerIdAllocator allocator = new WorkerIdAllocator(repository, leaseTime, clock)) {
+            SnowflakeIdGenerator generator = allocator.createIdGenerator("001");
+            repository.unavailable = true;
+
+            // 仓库不可用但本地租约仍然有效时继续生成 id
+            clock.advance(leaseTime.minusSeconds(1));
+            Assertions.assertTrue(generator.nextId() > 0);
+
+            // 本地租约过期后拒绝生成 id
+            clock.advance(Duration.ofSeconds(1));
+            Assertions.assertThrows(SystemException.class, generator::nextId);
+
+            // 仓库恢复后重新占用原来的编号
+            repository.unavailable = false;
+            Assertions.assertTrue(generator.nextId() > 0);
+        }
+    }
+
+    @Test
+    public void testInMemoryWorkerIdLeaseRepository() {
+        MutableClock clock = new MutableClock();
+        InMemoryWorkerIdLeaseRepository repository = new InMemoryWorkerIdLeaseRepository(clock);
+        Duration leaseTime = Duration.ofMillis(100);
+
+        Assertions.assertTrue(repository.tryAcquire(1, "a", leaseTime));
+        Assertions.assertFalse(repository.tryAcquire(1, "b", leaseTime));
+        Assertions.assertTrue(repository.renew(1, "a", leaseTime));
+        Assertions.assertFalse(repository.renew(1, "b", leaseTime));
+
+        repository.release(1, "b");
+        Assertions.assertFalse(repository.tryAcquire(1, "b", leaseTime));
+
+        clock.advance(leaseTime);
+        Assertions.assertFalse(repository.renew(1, "a", leaseTime));
+        Assertions.assertTrue(repository.tryAcquire(1, "b", leaseTime));
+    }
+
+    /**
+     * 可以手动推进的时钟
+     */
+    private static class MutableClock extends Clock {
+
+        private volatile Instant instant = Instant.now();
+
+        public void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    /**
+     * 可以模拟不可用的租约仓库
+     */
+    private static class UnavailableWorkerIdLeaseRepository implements WorkerIdLeaseRepository {
+
+        private final WorkerIdLeaseRepository delegate;
+
+        private volatile boolean unavailable;
+
+        public UnavailableWorkerIdLeaseRepository(WorkerIdLeaseRepository delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean tryAcquire(int slot, String owner, Duration leaseTime) {
+            checkAvailable();
+            return delegate.tryAcquire(slot, owner, leaseTime);
+        }
+
+        @Override
+        public boolean renew(int slot, String owner, Duration leaseTime) {
+            checkAvailable();
+            return delegate.renew(slot, owner, leaseTime);
+        }
+
+        @Override
+        public void release(int slot, String owner) {
+            checkAvailable();
+            delegate.release(slot, owner);
+        }
+
+        private void checkAvailable() {
+            if (unavailable) {
+                throw new IllegalStateException("repository unavailable");
+            }
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.github.dactiv.framework.commons.test;
 
+import com.github.dactiv.framework.commons.Casts;
 import com.github.dactiv.framework.commons.id.StringIdEntity;
 import com.github.dactiv.framework.commons.tree.Tree;
 import com.github.dactiv.framework.commons.tree.TreeUtils;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.Test;
 
 import java.io.Serial;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.UUID;
@@ -42,6 +44,61 @@ public class TreeUtilsTest {
 
     }
 
+    @Test
+    public void testDeepTree() {
+        List<Data> data = new ArrayList<>();
+
+        String parentId = null;
+        for (int i = 0; i < 100000; i++) {
+            Data d = new Data("d-" + i, parentId);
+            data.add(d);
+            parentId = d.getId();
+        }
+
+        List<Tree<String, Data>> tree = TreeUtils.buildTree(data, Data::getId, true);
+        Assertions.assertEquals(tree.size(), 1);
+
+        int count = 0;
+        Iterator<Tree<String, Data>> iterator = TreeUtils.depthFirstIterator(tree);
+        while (iterator.hasNext()) {
+            Data d = Casts.cast(iterator.next());
+            Assertions.assertEquals(d.getName(), "d-" + count);
+            count++;
+        }
+        Assertions.assertEquals(count, 100000);
+
+        Assertions.assertEquals(TreeUtils.unBuildTree(tree).size(), 100000);
+    }
+
+    @Test
+    public void testBreadthFirstIterator() {
+        List<Data> data = new LinkedList<>();
+        data.add(createData());
+
+        List<String> names = new ArrayList<>();
+        TreeUtils.breadthFirstIterator(data).forEachRemaining(t -> names.add(Casts.<Data>cast(t).getName()));
+
+        Assertions.assertEquals(names.size(), 15);
+        Assertions.assertEquals(names.get(0), "parent");
+        Assertions.assertEquals(names.subList(1, 5), List.of("c-1", "c-1", "c-1", "c-1"));
+        Assertions.assertEquals(names.get(5), "c-1-1");
+    }
+
+    @Test
+    public void testCustomIsChildren() {
+        List<Node> nodes = new ArrayList<>();
+        nodes.add(new Node("a", null));
+        nodes.add(new Node("a/b", "a"));
+        nodes.add(new Node("a/c", "a"));
+        nodes.add(new Node("a/b/d", "a/b"));
+
+        List<Tree<String, Node>> tree = TreeUtils.buildTree(nodes);
+
+        Assertions.assertEquals(tree.size(), 1);
+        Assertions.assertEquals(tree.get(0).getChildren().size(), 2);
+        Assertions.assertEquals(tree.get(0).getChildren().get(0).getChildren().size(), 1);
+    }
+
     private Data createData() {
         Data parent = new Data("parent", null);
 
@@ -118,4 +175,36 @@ public class TreeUtilsTest {
             return parentId;
         }
     }
+
+    /**
+     * 通过路径判断父子关系的节点，不是 {@link com.github.dactiv.framework.commons.id.BasicIdentification} 实现
+     */
+    public static class Node implements Tree<String, Node> {
+
+        private final String path;
+
+        private final String parent;
+
+        private final List<Tree<String, Node>> children = new ArrayList<>();
+
+        public Node(String path, String parent) {
+            this.path = path;
+            this.parent = parent;
+        }
+
+        @Override
+        public List<Tree<String, Node>> getChildren() {
+            return children;
+        }
+
+        @Override
+        public String getParent() {
+            return parent;
+        }
+
+        @Override
+        public boolean isChildren(Tree<String, Node> parent) {
+            return ((Node) parent).path.equals(this.parent);
+        }
+    }
 }
@@ -1,11 +1,15 @@
 package com.github.dactiv.framework.idempotent.config;
 
+import com.github.dactiv.framework.commons.generator.twitter.SnowflakeIdGenerator;
+import com.github.dactiv.framework.commons.generator.twitter.WorkerIdAllocator;
+import com.github.dactiv.framework.commons.generator.twitter.WorkerIdLeaseRepository;
 import com.github.dactiv.framework.idempotent.advisor.IdempotentInterceptor;
 import com.github.dactiv.framework.idempotent.advisor.IdempotentPointcutAdvisor;
 import com.github.dactiv.framework.idempotent.advisor.concurrent.ConcurrentInterceptor;
 import com.github.dactiv.framework.idempotent.advisor.concurrent.ConcurrentPointcutAdvisor;
 import com.github.dactiv.framework.idempotent.exception.IdempotentErrorResultResolver;
 import com.github.dactiv.framework.idempotent.generator.SpelExpressionValueGenerator;
+import com.github.dactiv.framework.idempotent.snowflake.RedissonWorkerIdLeaseRepository;
 import org.redisson.api.RedissonClient;
 import org.redisson.spring.starter.RedissonAutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
@@ -60,4 +64,36 @@ public class IdempotentAutoConfiguration {
         return new IdempotentErrorResultResolver();
     }
 
+    /**
+     * 雪花 id 工作机器编号自动分配配置
+     *
+     * @author maurice.chen
+     */
+    @Configuration
+    @EnableConfigurationProperties(SnowflakeWorkerProperties.class)
+    @ConditionalOnProperty(prefix = "dactiv.idempotent.snowflake", value = "enabled")
+    static class SnowflakeWorkerConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(WorkerIdLeaseRepository.class)
+        RedissonWorkerIdLeaseRepository redissonWorkerIdLeaseRepository(RedissonClient redissonClient,
+                                                                         SnowflakeWorkerProperties properties) {
+            return new RedissonWorkerIdLeaseRepository(redissonClient, properties.getKeyPrefix());
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(WorkerIdAllocator.class)
+        WorkerIdAllocator workerIdAllocator(WorkerIdLeaseRepository workerIdLeaseRepository,
+                                            SnowflakeWorkerProperties properties) {
+            return new WorkerIdAllocator(workerIdLeaseRepository, properties.getLeaseTime().toDuration());
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(SnowflakeIdGenerator.class)
+        SnowflakeIdGenerator snowflakeIdGenerator(WorkerIdAllocator workerIdAllocator,
+                                                  SnowflakeWorkerProperties properties) {
+            return workerIdAllocator.createIdGenerator(properties.getServiceId());
+        }
+    }
+
 }
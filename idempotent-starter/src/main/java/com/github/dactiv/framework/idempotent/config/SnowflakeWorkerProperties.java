@@ -0,0 +1,111 @@
+package com.github.dactiv.framework.idempotent.config;
+
+import com.github.dactiv.framework.commons.TimeProperties;
+import com.github.dactiv.framework.idempotent.snowflake.RedissonWorkerIdLeaseRepository;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 雪花 id 工作机器编号自动分配配置
+ *
+ * @author maurice.chen
+ */
+@ConfigurationProperties("dactiv.idempotent.snowflake")
+public class SnowflakeWorkerProperties {
+
+    /**
+     * 是否启用自动分配，启用后会创建 {@link com.github.dactiv.framework.commons.generator.twitter.SnowflakeIdGenerator}
+     */
+    private boolean enabled = false;
+
+    /**
+     * 服务编号（业务编号），共3位以字符串组成
+     */
+    private String serviceId = "001";
+
+    /**
+     * 编号 key 前缀
+     */
+    private String keyPrefix = RedissonWorkerIdLeaseRepository.DEFAULT_KEY_PREFIX;
+
+    /**
+     * 租约时间，每三分之一租约时间续约一次
+     */
+    private TimeProperties leaseTime = TimeProperties.of(30, TimeUnit.SECONDS);
+
+    public SnowflakeWorkerProperties() {
+    }
+
+    /**
+     * 是否启用自动分配
+     *
+     * @return true 是，否则 false
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 设置是否启用自动分配
+     *
+     * @param enabled true 是，否则 false
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * 获取服务编号
+     *
+     * @return 服务编号
+     */
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    /**
+     * 设置服务编号
+     *
+     * @param serviceId 服务编号
+     */
+    public void setServiceId(String serviceId) {
+        this.serviceId = serviceId;
+    }
+
+    /**
+     * 获取编号 key 前缀
+     *
+     * @return 编号 key 前缀
+     */
+    public String getKeyPrefix() {
+        return keyPrefix;
+    }
+
+    /**
+     * 设置编号 key 前缀
+     *
+     * @param keyPrefix 编号 key 前缀
+     */
+    public void setKeyPrefix(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+
+    /**
+     * 获取租约时间
+     *
+     * @return 租约时间
+     */
+    public TimeProperties getLeaseTime() {
+        return leaseTime;
+    }
+
+    /**
+     * 设置租约时间
+     *
+     * @param leaseTime 租约时间
+     */
+    public void setLeaseTime(TimeProperties leaseTime) {
+        this.leaseTime = leaseTime;
+    }
+}
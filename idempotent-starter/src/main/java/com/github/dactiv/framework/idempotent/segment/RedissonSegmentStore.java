@@ -0,0 +1,38 @@
+package com.github.dactiv.framework.idempotent.segment;
+
+import com.github.dactiv.framework.commons.generator.segment.SegmentStore;
+import org.redisson.api.RedissonClient;
+
+/**
+ * 基于 redisson 的号段存储，每个业务对应一个 {@link org.redisson.api.RAtomicLong}，通过 INCRBY 原子的分配号段
+ *
+ * @author maurice.chen
+ */
+public class RedissonSegmentStore implements SegmentStore {
+
+    /**
+     * 默认 key 前缀
+     */
+    public static final String DEFAULT_KEY_PREFIX = "segment:id:";
+
+    private final RedissonClient redissonClient;
+
+    /**
+     * key 前缀
+     */
+    private final String keyPrefix;
+
+    public RedissonSegmentStore(RedissonClient redissonClient) {
+        this(redissonClient, DEFAULT_KEY_PREFIX);
+    }
+
+    public RedissonSegmentStore(RedissonClient redissonClient, String keyPrefix) {
+        this.redissonClient = redissonClient;
+        this.keyPrefix = keyPrefix;
+    }
+
+    @Override
+    public long nextMaxId(String key, int step) {
+        return redissonClient.getAtomicLong(keyPrefix + key).addAndGet(step);
+    }
+}
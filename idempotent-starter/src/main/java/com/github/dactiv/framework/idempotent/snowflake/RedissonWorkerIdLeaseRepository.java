@@ -0,0 +1,103 @@
+package com.github.dactiv.framework.idempotent.snowflake;
+
+import com.github.dactiv.framework.commons.generator.twitter.WorkerIdLeaseRepository;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 基于 redisson 的工作机器编号租约仓库，每个编号对应一个带过期时间的 key，值为占用者标识
+ *
+ * @author maurice.chen
+ */
+public class RedissonWorkerIdLeaseRepository implements WorkerIdLeaseRepository {
+
+    /**
+     * 默认 key 前缀
+     */
+    public static final String DEFAULT_KEY_PREFIX = "snowflake:worker:";
+
+    /**
+     * 续约脚本，只有值仍然为占用者时才重新设置过期时间
+     */
+    private static final String RENEW_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+                    "return redis.call('pexpire', KEYS[1], ARGV[2]) " +
+            "else " +
+                    "return 0 " +
+            "end";
+
+    /**
+     * 释放脚本，只有值仍然为占用者时才删除
+     */
+    private static final String RELEASE_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+                    "return redis.call('del', KEYS[1]) " +
+            "else " +
+                    "return 0 " +
+            "end";
+
+    private final RedissonClient redissonClient;
+
+    /**
+     * key 前缀
+     */
+    private final String keyPrefix;
+
+    public RedissonWorkerIdLeaseRepository(RedissonClient redissonClient) {
+        this(redissonClient, DEFAULT_KEY_PREFIX);
+    }
+
+    public RedissonWorkerIdLeaseRepository(RedissonClient redissonClient, String keyPrefix) {
+        this.redissonClient = redissonClient;
+        this.keyPrefix = keyPrefix;
+    }
+
+    @Override
+    public boolean tryAcquire(int slot, String owner, Duration leaseTime) {
+        return redissonClient
+                .<String>getBucket(getKey(slot), StringCodec.INSTANCE)
+                .setIfAbsent(owner, leaseTime);
+    }
+
+    @Override
+    public boolean renew(int slot, String owner, Duration leaseTime) {
+        Long result = eval(RENEW_SCRIPT, slot, owner, String.valueOf(leaseTime.toMillis()));
+        return Objects.nonNull(result) && result > 0;
+    }
+
+    @Override
+    public void release(int slot, String owner) {
+        eval(RELEASE_SCRIPT, slot, owner);
+    }
+
+    /**
+     * 执行脚本
+     *
+     * @param script 脚本
+     * @param slot   编号
+     * @param args   参数
+     *
+     * @return 执行结果
+     */
+    private Long eval(String script, int slot, Object... args) {
+        return redissonClient
+                .getScript(StringCodec.INSTANCE)
+                .eval(RScript.Mode.READ_WRITE, script, RScript.ReturnType.INTEGER, List.of(getKey(slot)), args);
+    }
+
+    /**
+     * 获取编号对应的 key
+     *
+     * @param slot 编号
+     *
+     * @return key
+     */
+    public String getKey(int slot) {
+        return keyPrefix + slot;
+    }
+}
@@ -0,0 +1,157 @@
+package com.github.dactiv.framework.idempotent.test.snowflake;
+
+import com.github.dactiv.framework.commons.exception.SystemException;
+import com.github.dactiv.framework.commons.generator.twitter.SnowflakeIdGenerator;
+import com.github.dactiv.framework.commons.generator.twitter.WorkerIdAllocator;
+import com.github.dactiv.framework.idempotent.snowflake.RedissonWorkerIdLeaseRepository;
+import com.github.fppt.jedismock.RedisServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.config.Config;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * 使用进程内的 redis 测试 {@link RedissonWorkerIdLeaseRepository} 的占用、续约和释放脚本
+ *
+ * @author maurice.chen
+ */
+public class TestRedissonWorkerIdLeaseRepository {
+
+    private static RedisServer redisServer;
+
+    private static RedissonClient redissonClient;
+
+    private RedissonWorkerIdLeaseRepository repository;
+
+    @BeforeAll
+    public static void startRedis() throws IOException {
+        redisServer = RedisServer.newRedisServer().start();
+
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://" + redisServer.getHost() + ":" + redisServer.getBindPort());
+        redissonClient = Redisson.create(config);
+    }
+
+    @AfterAll
+    public static void stopRedis() throws IOException {
+        redissonClient.shutdown();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    public void createRepository() {
+        redissonClient.getKeys().flushall();
+        repository = new RedissonWorkerIdLeaseRepository(redissonClient);
+    }
+
+    @Test
+    public void testTryAcquire() {
+        Duration leaseTime = Duration.ofMinutes(1);
+
+        Assertions.assertTrue(repository.tryAcquire(1, "a", leaseTime));
+        Assertions.assertFalse(repository.tryAcquire(1, "b", leaseTime));
+        Assertions.assertTrue(repository.tryAcquire(2, "b", leaseTime));
+
+        Assertions.assertEquals("a", redissonClient.getBucket(repository.getKey(1), StringCodec.INSTANCE).get());
+        long ttl = redissonClient.getBucket(repository.getKey(1)).remainTimeToLive();
+        Assertions.assertTrue(ttl > 0 && ttl <= leaseTime.toMillis());
+    }
+
+    @Test
+    public void testRenew() {
+        Assertions.assertTrue(repository.tryAcquire(1, "a", Duration.ofSeconds(10)));
+
+        Assertions.assertFalse(repository.renew(1, "b", Duration.ofMinutes(10)));
+        Assertions.assertTrue(redissonClient.getBucket(repository.getKey(1)).remainTimeToLive() <= 10000);
+
+        Assertions.assertTrue(repository.renew(1, "a", Duration.ofMinutes(10)));
+        Assertions.assertTrue(redissonClient.getBucket(repository.getKey(1)).remainTimeToLive() > 10000);
+
+        // 没有被占用的编号不能续约
+        Assertions.assertFalse(repository.renew(2, "a", Duration.ofMinutes(10)));
+        Assertions.assertFalse(redissonClient.getBucket(repository.getKey(2)).isExists());
+    }
+
+    @Test
+    public void testRelease() {
+        Duration leaseTime = Duration.ofMinutes(1);
+        Assertions.assertTrue(repository.tryAcquire(1, "a", leaseTime));
+
+        // 其他占用者不能释放
+        repository.release(1, "b");
+        Assertions.assertFalse(repository.tryAcquire(1, "b", leaseTime));
+
+        repository.release(1, "a");
+        Assertions.assertFalse(redissonClient.getBucket(repository.getKey(1)).isExists());
+        Assertions.assertTrue(repository.tryAcquire(1, "b", leaseTime));
+    }
+
+    @Test
+    public void testWorkerIdAllocator() {
+        Duration leaseTime = Duration.ofMinutes(1);
+
+        MutableClock clock = new MutableClock();
+
+        try (WorkerIdAllocator first = new WorkerIdAllocator(repository, leaseTime, clock);
+             WorkerIdAllocator second = new WorkerIdAllocator(repository, leaseTime, clock)) {
+
+            SnowflakeIdGenerator generator = first.createIdGenerator("001");
+            Assertions.assertNotEquals(first.getSlot(), second.acquire());
+            Assertions.assertNotNull(generator.generateId());
+
+            // 本地租约过期后同步续约，redis 中的编号仍然被自己占用时继续生成 id
+            clock.advance(leaseTime);
+            Assertions.assertNotNull(generator.generateId());
+            Assertions.assertTrue(first.isLeased());
+
+            // 编号被其他节点抢占后续约失败，停止生成 id
+            redissonClient.getBucket(repository.getKey(first.getSlot()), StringCodec.INSTANCE).set("other");
+            clock.advance(leaseTime);
+            Assertions.assertThrows(SystemException.class, generator::nextId);
+            Assertions.assertFalse(first.isLeased());
+
+            int slot = second.getSlot();
+            second.close();
+            Assertions.assertFalse(redissonClient.getBucket(repository.getKey(slot)).isExists());
+        }
+    }
+
+    /**
+     * 可以手动推进的时钟
+     */
+    private static class MutableClock extends Clock {
+
+        private volatile Instant instant = Instant.now();
+
+        public void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
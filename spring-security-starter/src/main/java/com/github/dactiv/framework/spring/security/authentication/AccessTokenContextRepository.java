@@ -1,6 +1,9 @@
 package com.github.dactiv.framework.spring.security.authentication;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.github.dactiv.framework.commons.CacheProperties;
 import com.github.dactiv.framework.commons.Casts;
 import com.github.dactiv.framework.commons.TimeProperties;
@@ -12,6 +15,7 @@ import com.github.dactiv.framework.crypto.algorithm.ByteSource;
 import com.github.dactiv.framework.crypto.algorithm.cipher.CipherService;
 import com.github.dactiv.framework.crypto.algorithm.exception.CryptoException;
 import com.github.dactiv.framework.security.audit.PluginAuditEvent;
+import com.github.dactiv.framework.spring.security.authentication.codec.SecurityEntityCodec;
 import com.github.dactiv.framework.spring.security.authentication.config.AccessTokenProperties;
 import com.github.dactiv.framework.spring.security.authentication.config.AuthenticationProperties;
 import com.github.dactiv.framework.spring.security.authentication.token.RememberMeAuthenticationToken;
@@ -19,15 +23,18 @@ import com.github.dactiv.framework.spring.security.authentication.token.SimpleAu
 import com.github.dactiv.framework.spring.security.entity.MobileUserDetails;
 import com.github.dactiv.framework.spring.security.entity.SecurityUserDetails;
 import com.github.dactiv.framework.spring.web.device.DeviceUtils;
+import io.netty.buffer.Unpooled;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.redisson.api.RBucket;
-import org.redisson.api.RedissonClient;
-import org.redisson.codec.SerializationCodec;
+import org.redisson.api.*;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.codec.StringCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.DeferredSecurityContext;
@@ -38,22 +45,43 @@ import org.springframework.security.web.context.HttpRequestResponseHolder;
 import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.Supplier;
 
 /**
  * 访问 token 上下文仓库实现，用于移动端用户明细登陆系统后，返回一个 token， 为无状态的 http 传输中，通过该 token 来完成认证授权等所有工作
  *
+ * <p>
+ * 配置了 {@link AccessTokenProperties#getNearCacheMaximumSize()} 时，通过 token 解析出的 security context 会以 redis key 为 key，
+ * 按 {@link SecurityEntityCodec} 编码后的字节保存在本地缓存中，同一个节点重复的请求不需要再次解密 token 和读取 redis，
+ * 每次命中都解码出新的 security context，请求之间不会共享可以修改的对象。保存或删除 security context 时通过 redis 主题通知所有节点删除对应的本地缓存，
+ * 本地缓存的存活时间不超过 redis 中的剩余存活时间。
+ * </p>
+ *
  * @author maurice.chen
  */
-public class AccessTokenContextRepository extends HttpSessionSecurityContextRepository {
+public class AccessTokenContextRepository extends HttpSessionSecurityContextRepository implements InitializingBean, DisposableBean {
     
     private final static Logger LOGGER = LoggerFactory.getLogger(AccessTokenContextRepository.class);
 
+    /**
+     * 当前请求已解析的访问 token 的请求属性名称
+     */
+    public static final String RESOLVED_ACCESS_TOKEN_ATTRIBUTE_NAME = AccessTokenContextRepository.class.getName() + ".RESOLVED_ACCESS_TOKEN";
+
+    /**
+     * 失效次数的分段数量，必须为 2 的幂
+     */
+    private static final int INVALIDATION_STRIPES = 1024;
+
     private final RedissonClient redissonClient;
 
     private SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
@@ -64,10 +92,81 @@ public class AccessTokenContextRepository extends HttpSessionSecurityContextRepo
 
     private final CipherAlgorithmService cipherAlgorithmService = new CipherAlgorithmService();
 
+    /**
+     * 已解码的访问 token 密钥，key 为配置的 base64 密钥字符串
+     */
+    private volatile Map.Entry<String, byte[]> accessTokenKey;
+
+    /**
+     * security context 本地缓存，key 为 security context 的 redis key，不使用本地缓存时为 null
+     */
+    private final Cache<String, NearCacheEntry> nearCache;
+
+    /**
+     * 访问 token 对应的 security context 的 redis key，访问 token 的内容不会变化，所以不需要失效，不使用本地缓存时为 null
+     */
+    private final Cache<String, String> nearCacheKeys;
+
+    /**
+     * 本地缓存失效通知主题
+     */
+    private final RTopic invalidationTopic;
+
+    /**
+     * 按 redis key 分段的本地缓存失效次数，用于避免读取 redis 期间收到的失效通知被之后写入的本地缓存覆盖，
+     * 不同的 key 落在同一个分段时只会让本次读取不写入本地缓存
+     */
+    private final AtomicLongArray invalidationCounts = new AtomicLongArray(INVALIDATION_STRIPES);
+
+    /**
+     * 当前节点 id，失效通知以「节点 id + 分隔符 + redis key」发送，用于忽略当前节点自己发送的通知
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * 失效通知监听器 id
+     */
+    private Integer invalidationListenerId;
+
     public AccessTokenContextRepository(RedissonClient redissonClient, AuthenticationProperties authenticationProperties) {
         this.redissonClient = redissonClient;
         this.authenticationProperties = authenticationProperties;
         this.loginRequestMatcher = new AntPathRequestMatcher(authenticationProperties.getLoginProcessingUrl(), HttpMethod.POST.name());
+
+        AccessTokenProperties accessToken = authenticationProperties.getAccessToken();
+        CacheProperties nearCacheProperties = accessToken.getNearCache();
+        if (accessToken.getNearCacheMaximumSize() > 0
+                && Objects.nonNull(nearCacheProperties)
+                && Objects.nonNull(nearCacheProperties.getExpiresTime())) {
+            this.nearCache = Caffeine
+                    .newBuilder()
+                    .maximumSize(accessToken.getNearCacheMaximumSize())
+                    .expireAfter(new NearCacheExpiry())
+                    .build();
+            this.nearCacheKeys = Caffeine
+                    .newBuilder()
+                    .maximumSize(accessToken.getNearCacheMaximumSize())
+                    .build();
+            this.invalidationTopic = redissonClient.getTopic(nearCacheProperties.getName(), StringCodec.INSTANCE);
+        } else {
+            this.nearCache = null;
+            this.nearCacheKeys = null;
+            this.invalidationTopic = null;
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (Objects.nonNull(invalidationTopic)) {
+            invalidationListenerId = invalidationTopic.addListener(String.class, (channel, message) -> onInvalidation(message));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (Objects.nonNull(invalidationListenerId)) {
+            invalidationTopic.removeListener(invalidationListenerId);
+        }
     }
 
     @Override
@@ -89,25 +188,72 @@ public class AccessTokenContextRepository extends HttpSessionSecurityContextRepo
         return new AccessTokenDeferredSecurityContext(List.of(superDeferredSecurityContext, supplier), securityContextHolderStrategy);
     }
 
+    /**
+     * 从请求中读取 security context，同一个请求只解析一次访问 token，结果保存在请求属性中，
+     * {@link #loadContext(HttpRequestResponseHolder)}、{@link #loadDeferredContext(HttpServletRequest)} 和
+     * {@link #containsContext(HttpServletRequest)} 共享同一个结果
+     *
+     * @param request http servlet request
+     *
+     * @return security context，不存在时返回 null
+     */
     private SecurityContext readSecurityContextFromRequest(HttpServletRequest request) {
-        if (this.loginRequestMatcher.matches(request)) {
-            return null;
+        ResolvedAccessToken resolved = getResolvedAccessToken(request);
+        if (Objects.nonNull(resolved)) {
+            return resolved.getContext();
         }
-        String token = request.getHeader(authenticationProperties.getAccessToken().getAccessTokenHeaderName());
-        if (StringUtils.isEmpty(token)) {
-            token = request.getParameter(authenticationProperties.getAccessToken().getAccessTokenParamName());
+
+        String token = null;
+        SecurityContext context = null;
+
+        if (!this.loginRequestMatcher.matches(request)) {
+            token = getAccessToken(request);
+            if (StringUtils.isNotEmpty(token)) {
+                context = getSecurityContext(token);
+            }
         }
 
+        request.setAttribute(RESOLVED_ACCESS_TOKEN_ATTRIBUTE_NAME, new ResolvedAccessToken(token, context));
+
+        return context;
+    }
+
+    /**
+     * 获取请求中的访问 token，先从请求头获取，不存在时从请求参数获取
+     *
+     * @param request http servlet request
+     *
+     * @return 访问 token
+     */
+    private String getAccessToken(HttpServletRequest request) {
+        String token = request.getHeader(authenticationProperties.getAccessToken().getAccessTokenHeaderName());
         if (StringUtils.isEmpty(token)) {
-            return null;
+            token = request.getParameter(authenticationProperties.getAccessToken().getAccessTokenParamName());
         }
+        return token;
+    }
 
-        return getSecurityContext(token);
+    /**
+     * 获取当前请求已解析的访问 token
+     *
+     * @param request http servlet request
+     *
+     * @return 已解析的访问 token，当前请求还没有解析时返回 null
+     */
+    private ResolvedAccessToken getResolvedAccessToken(HttpServletRequest request) {
+        return Casts.cast(request.getAttribute(RESOLVED_ACCESS_TOKEN_ATTRIBUTE_NAME));
     }
 
     public SecurityContext getSecurityContext(String token) {
+        if (Objects.nonNull(nearCache)) {
+            SecurityContext context = getNearCacheSecurityContext(token);
+            if (Objects.nonNull(context)) {
+                return context;
+            }
+        }
+
         CipherService cipherService = cipherAlgorithmService.getCipherService(authenticationProperties.getAccessToken().getCipherAlgorithmName());
-        byte[] key = Base64.decode(authenticationProperties.getAccessToken().getKey());
+        byte[] key = getAccessTokenKey();
 
         try {
             ByteSource byteSource = cipherService.decrypt(Base64.decode(token), key);
@@ -117,24 +263,36 @@ public class AccessTokenContextRepository extends HttpSessionSecurityContextRepo
             String type = plaintextUserDetail.get(PluginAuditEvent.TYPE_FIELD_NAME).toString();
             Object id = plaintextUserDetail.get(IdEntity.ID_FIELD_NAME).toString();
 
-            RBucket<SecurityContext> bucket = getSecurityContextBucket(type, id);
-            SecurityContext context = bucket.get();
-            if (Objects.isNull(context)) {
-                return null;
+            if (Objects.isNull(nearCache)) {
+                SecurityContext context = getSecurityContextBucket(type, id).get();
+                return isValidSecurityContext(context, token, plaintextUserDetail) ? context : null;
             }
 
-            SecurityUserDetails userDetails = Casts.cast(context.getAuthentication().getDetails());
-            String existToken = userDetails.getMeta().getOrDefault(AccessTokenProperties.DEFAULT_ACCESS_TOKEN_PARAM_NAME, StringUtils.EMPTY).toString();
+            String contextKey = getSecurityContextKey(type, id);
+            long count = getInvalidationCount(contextKey);
+
+            // 使用本地缓存时在同一次请求中读取 security context 的原始字节和剩余存活时间
+            RBatch batch = redissonClient.createBatch();
+            RBucketAsync<byte[]> bucket = batch.getBucket(contextKey, ByteArrayCodec.INSTANCE);
+            RFuture<byte[]> dataFuture = bucket.getAsync();
+            RFuture<Long> timeToLiveFuture = bucket.remainTimeToLiveAsync();
+            batch.execute();
 
-            if (!StringUtils.equals(existToken, token)) {
+            byte[] data = dataFuture.toCompletableFuture().join();
+            if (Objects.isNull(data)) {
                 return null;
             }
 
-            if (userDetails instanceof MobileUserDetails mobileUserDetails) {
-                Object deviceIdentified = plaintextUserDetail.get(DeviceUtils.REQUEST_DEVICE_IDENTIFIED_PARAM_NAME);
-                if (!Objects.equals(deviceIdentified, mobileUserDetails.getDeviceIdentified())) {
-                    return null;
-                }
+            SecurityContext context = decodeSecurityContext(data);
+            if (!isValidSecurityContext(context, token, plaintextUserDetail)) {
+                return null;
+            }
+
+            nearCacheKeys.put(token, contextKey);
+            nearCache.put(contextKey, new NearCacheEntry(token, data, timeToLiveFuture.toCompletableFuture().join()));
+            // 读取 redis 期间收到了失效通知，本地缓存可能已经过期
+            if (getInvalidationCount(contextKey) != count) {
+                nearCache.invalidate(contextKey);
             }
 
             return context;
@@ -146,9 +304,160 @@ public class AccessTokenContextRepository extends HttpSessionSecurityContextRepo
         return null;
     }
 
+    /**
+     * 从本地缓存获取 security context
+     *
+     * @param token 访问 token
+     *
+     * @return 新解码的 security context，本地缓存中不存在时返回 null
+     */
+    private SecurityContext getNearCacheSecurityContext(String token) {
+        String contextKey = nearCacheKeys.getIfPresent(token);
+        if (Objects.isNull(contextKey)) {
+            return null;
+        }
+
+        NearCacheEntry entry = nearCache.getIfPresent(contextKey);
+        if (Objects.isNull(entry) || !StringUtils.equals(entry.getToken(), token)) {
+            return null;
+        }
+
+        return decodeSecurityContext(entry.getData());
+    }
+
+    /**
+     * 校验 security context 是否属于访问 token
+     *
+     * @param context             security context
+     * @param token               访问 token
+     * @param plaintextUserDetail 访问 token 的明文内容
+     *
+     * @return true 是，否则 false
+     */
+    private boolean isValidSecurityContext(SecurityContext context, String token, Map<String, Object> plaintextUserDetail) {
+        if (Objects.isNull(context) || Objects.isNull(context.getAuthentication())) {
+            return false;
+        }
+
+        SecurityUserDetails userDetails = Casts.cast(context.getAuthentication().getDetails());
+        String existToken = userDetails.getMeta().getOrDefault(AccessTokenProperties.DEFAULT_ACCESS_TOKEN_PARAM_NAME, StringUtils.EMPTY).toString();
+
+        if (!StringUtils.equals(existToken, token)) {
+            return false;
+        }
+
+        if (userDetails instanceof MobileUserDetails mobileUserDetails) {
+            Object deviceIdentified = plaintextUserDetail.get(DeviceUtils.REQUEST_DEVICE_IDENTIFIED_PARAM_NAME);
+            return Objects.equals(deviceIdentified, mobileUserDetails.getDeviceIdentified());
+        }
+
+        return true;
+    }
+
+    /**
+     * 解码 security context
+     *
+     * @param data {@link SecurityEntityCodec} 编码的字节
+     *
+     * @return security context，无法解码时返回 null
+     */
+    private SecurityContext decodeSecurityContext(byte[] data) {
+        try {
+            Object value = SecurityEntityCodec.INSTANCE.getValueDecoder().decode(Unpooled.wrappedBuffer(data), null);
+            return value instanceof SecurityContext context ? context : null;
+        } catch (IOException e) {
+            LOGGER.warn("解码 security context 失败", e);
+            return null;
+        }
+    }
+
+    /**
+     * 获取 redis key 所在分段的失效次数
+     *
+     * @param key security context 的 redis key
+     *
+     * @return 失效次数
+     */
+    private long getInvalidationCount(String key) {
+        return invalidationCounts.get(getInvalidationStripe(key));
+    }
+
+    /**
+     * 获取 redis key 所在的分段
+     *
+     * @param key security context 的 redis key
+     *
+     * @return 分段下标
+     */
+    private static int getInvalidationStripe(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (INVALIDATION_STRIPES - 1);
+    }
+
+    /**
+     * 获取已解码的访问 token 密钥，配置的密钥不变时不再重复解码
+     *
+     * @return 密钥字节数组
+     */
+    private byte[] getAccessTokenKey() {
+        String key = authenticationProperties.getAccessToken().getKey();
+        Map.Entry<String, byte[]> current = accessTokenKey;
+
+        if (Objects.isNull(current) || !StringUtils.equals(current.getKey(), key)) {
+            current = Map.entry(key, Base64.decode(key));
+            accessTokenKey = current;
+        }
+
+        return current.getValue();
+    }
+
+    /**
+     * 删除当前节点中属于指定 security context 的本地缓存
+     *
+     * @param key security context 的 redis key
+     */
+    public void invalidateNearCache(String key) {
+        if (Objects.isNull(nearCache)) {
+            return;
+        }
+
+        invalidationCounts.incrementAndGet(getInvalidationStripe(key));
+        nearCache.invalidate(key);
+    }
+
+    /**
+     * 通知所有节点删除属于指定 security context 的本地缓存，当前节点直接删除
+     *
+     * @param key security context 的 redis key
+     */
+    private void publishInvalidation(String key) {
+        if (Objects.isNull(invalidationTopic)) {
+            return;
+        }
+
+        invalidateNearCache(key);
+        invalidationTopic.publishAsync(nodeId + CacheProperties.DEFAULT_SEPARATOR + key);
+    }
+
+    /**
+     * 处理其他节点发送的失效通知
+     *
+     * @param message 失效通知
+     */
+    private void onInvalidation(String message) {
+        if (StringUtils.equals(StringUtils.substringBefore(message, CacheProperties.DEFAULT_SEPARATOR), nodeId)) {
+            return;
+        }
+
+        invalidateNearCache(StringUtils.substringAfter(message, CacheProperties.DEFAULT_SEPARATOR));
+    }
+
+    public String getSecurityContextKey(String type, Object deviceIdentified) {
+        return authenticationProperties.getAccessToken().getCache().getName(type + CacheProperties.DEFAULT_SEPARATOR + deviceIdentified);
+    }
+
     public RBucket<SecurityContext> getSecurityContextBucket(String type, Object deviceIdentified) {
-        String key = authenticationProperties.getAccessToken().getCache().getName(type + CacheProperties.DEFAULT_SEPARATOR + deviceIdentified);
-        return redissonClient.getBucket(key, new SerializationCodec());
+        return redissonClient.getBucket(getSecurityContextKey(type, deviceIdentified), SecurityEntityCodec.INSTANCE);
     }
 
     public String generatePlaintextString(SecurityUserDetails userDetails) {
@@ -166,7 +475,7 @@ public class AccessTokenContextRepository extends HttpSessionSecurityContextRepo
         String plaintext = Casts.writeValueAsString(json);
 
         CipherService cipherService = cipherAlgorithmService.getCipherService(authenticationProperties.getAccessToken().getCipherAlgorithmName());
-        byte[] key = Base64.decode(authenticationProperties.getAccessToken().getKey());
+        byte[] key = getAccessTokenKey();
         ByteSource source = cipherService.encrypt(plaintext.getBytes(Charset.defaultCharset()), key);
 
         return source.getBase64();
@@ -179,6 +488,8 @@ public class AccessTokenContextRepository extends HttpSessionSecurityContextRepo
     @Override
     public void saveContext(SecurityContext context, HttpServletRequest request, HttpServletResponse response) {
         super.saveContext(context, request, response);
+        // 保存后当前请求已解析的结果不再有效，下次读取时重新解析
+        request.removeAttribute(RESOLVED_ACCESS_TOKEN_ATTRIBUTE_NAME);
 
         saveRedissonSecurityContext(context, request, response);
     }
@@ -189,8 +500,7 @@ public class AccessTokenContextRepository extends HttpSessionSecurityContextRepo
      * @param userDetails 移动端的用户明细实现
      */
     public void deleteContext(SecurityUserDetails userDetails) {
-        RBucket<SecurityContext> bucket = getSecurityContextBucket(userDetails.getType(), userDetails.getId());
-        bucket.deleteAsync();
+        deleteContext(userDetails.getType(), userDetails.getId());
     }
 
     /**
@@ -201,7 +511,8 @@ public class AccessTokenContextRepository extends HttpSessionSecurityContextRepo
      */
     public void deleteContext(String type, Object id) {
         RBucket<SecurityContext> bucket = getSecurityContextBucket(type, id);
-        bucket.deleteAsync();
+        bucket.deleteAsync().thenRun(() -> publishInvalidation(bucket.getName()));
+        invalidateNearCache(bucket.getName());
     }
 
     protected void saveRedissonSecurityContext(SecurityContext context, HttpServletRequest request, HttpServletResponse response) {
@@ -245,13 +556,13 @@ public class AccessTokenContextRepository extends HttpSessionSecurityContextRepo
         if (Objects.nonNull(time)) {
             bucket.expireAsync(time.toDuration());
         }
+
+        publishInvalidation(bucket.getName());
     }
 
     @Override
     public boolean containsContext(HttpServletRequest request) {
-        boolean superValue = super.containsContext(request);
-        SecurityContext context = readSecurityContextFromRequest(request);
-        return superValue || Objects.nonNull(context);
+        return super.containsContext(request) || Objects.nonNull(readSecurityContextFromRequest(request));
     }
 
     @Override
@@ -259,6 +570,105 @@ public class AccessTokenContextRepository extends HttpSessionSecurityContextRepo
         this.securityContextHolderStrategy = strategy;
     }
 
+    /**
+     * 当前请求已解析的访问 token
+     *
+     * @author maurice.chen
+     */
+    public static final class ResolvedAccessToken {
+
+        /**
+         * 访问 token，请求中没有访问 token 或者为登陆请求时为 null
+         */
+        private final String token;
+
+        /**
+         * 通过访问 token 得到的 security context，访问 token 无效时为 null
+         */
+        private final SecurityContext context;
+
+        public ResolvedAccessToken(String token, SecurityContext context) {
+            this.token = token;
+            this.context = context;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public SecurityContext getContext() {
+            return context;
+        }
+    }
+
+    /**
+     * 本地缓存内容
+     *
+     * @author maurice.chen
+     */
+    static final class NearCacheEntry {
+
+        /**
+         * 访问 token
+         */
+        private final String token;
+
+        /**
+         * {@link SecurityEntityCodec} 编码的 security context
+         */
+        private final byte[] data;
+
+        /**
+         * 读取时 redis 中的剩余存活时间（毫秒），没有过期时间时为 -1
+         */
+        private final long timeToLive;
+
+        public NearCacheEntry(String token, byte[] data, long timeToLive) {
+            this.token = token;
+            this.data = data;
+            this.timeToLive = timeToLive;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+
+        public long getTimeToLive() {
+            return timeToLive;
+        }
+    }
+
+    /**
+     * 本地缓存过期策略，存活时间取配置的本地缓存存活时间和 redis 剩余存活时间的最小值
+     *
+     * @author maurice.chen
+     */
+    final class NearCacheExpiry implements Expiry<String, NearCacheEntry> {
+
+        @Override
+        public long expireAfterCreate(String key, NearCacheEntry value, long currentTime) {
+            long nanos = authenticationProperties.getAccessToken().getNearCache().getExpiresTime().toNanos();
+            if (value.getTimeToLive() >= 0) {
+                nanos = Math.min(nanos, TimeUnit.MILLISECONDS.toNanos(value.getTimeToLive()));
+            }
+            return nanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, NearCacheEntry value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, NearCacheEntry value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
     static final class AccessTokenDeferredSecurityContext implements DeferredSecurityContext {
 
         private final List<Supplier<SecurityContext>> suppliers;
@@ -0,0 +1,681 @@
+package com.github.dactiv.framework.spring.security.authentication.codec;
+
+import com.github.dactiv.framework.commons.enumerate.ValueEnumUtils;
+import com.github.dactiv.framework.security.entity.ResourceAuthority;
+import com.github.dactiv.framework.security.entity.RoleAuthority;
+import com.github.dactiv.framework.security.enumerate.UserStatus;
+import com.github.dactiv.framework.spring.security.authentication.token.PrincipalAuthenticationToken;
+import com.github.dactiv.framework.spring.security.entity.MobileUserDetails;
+import com.github.dactiv.framework.spring.security.entity.SecurityUserDetails;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import org.redisson.client.codec.BaseCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.handler.State;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+import org.redisson.codec.SerializationCodec;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * spring security 实体的 redisson 编解码器
+ *
+ * <p>
+ * 对 {@link SecurityContextImpl}、{@link PrincipalAuthenticationToken}、{@link SecurityUserDetails}、
+ * {@link MobileUserDetails}、{@link RoleAuthority}、{@link ResourceAuthority} 和 {@link SimpleGrantedAuthority}
+ * 使用紧凑的二进制格式存储，格式为: 魔数 + 版本号 + 值。每个值以一个字节的类型标识开头，字符串使用变长长度 + UTF-8 字节，
+ * 整型使用 zigzag 变长编码，实体使用「字段标签 + 值」的序列并以 {@link #END_TAG} 结束，解码时会跳过不认识的字段标签，
+ * 所以实体增加字段后新旧版本的数据可以互相读取。
+ * </p>
+ *
+ * <p>
+ * 其他类型 (包括上述实体的子类) 使用 {@link SerializationCodec} 序列化后嵌入。解码时如果数据不是以魔数开头，
+ * 按旧编解码器的数据解码，兼容原来存储的数据，旧编解码器默认为 {@link SerializationCodec}，原来使用其他编解码器写入的
+ * key (例如 redisson 客户端默认的编解码器) 需要通过 {@link #SecurityEntityCodec(Codec)} 指定，仍然无法识别时返回 null。
+ * </p>
+ *
+ * @author maurice.chen
+ */
+public class SecurityEntityCodec extends BaseCodec {
+
+    /**
+     * 共享实例
+     */
+    public static final SecurityEntityCodec INSTANCE = new SecurityEntityCodec();
+
+    /**
+     * 魔数，java 序列化的数据以 0xAC 开头，不会与该值冲突
+     */
+    public static final byte MAGIC = (byte) 0xD5;
+
+    /**
+     * 格式版本号
+     */
+    public static final byte VERSION = 1;
+
+    /**
+     * 实体字段结束标签
+     */
+    public static final int END_TAG = 0;
+
+    // ----------------------------- 值类型标识 ----------------------------- //
+
+    private static final byte TYPE_NULL = 0;
+
+    private static final byte TYPE_STRING = 1;
+
+    private static final byte TYPE_INTEGER = 2;
+
+    private static final byte TYPE_LONG = 3;
+
+    private static final byte TYPE_TRUE = 4;
+
+    private static final byte TYPE_FALSE = 5;
+
+    private static final byte TYPE_DOUBLE = 6;
+
+    private static final byte TYPE_DATE = 7;
+
+    private static final byte TYPE_LIST = 8;
+
+    private static final byte TYPE_MAP = 9;
+
+    private static final byte TYPE_SECURITY_CONTEXT = 20;
+
+    private static final byte TYPE_PRINCIPAL_AUTHENTICATION_TOKEN = 21;
+
+    private static final byte TYPE_SECURITY_USER_DETAILS = 22;
+
+    private static final byte TYPE_MOBILE_USER_DETAILS = 23;
+
+    private static final byte TYPE_ROLE_AUTHORITY = 24;
+
+    private static final byte TYPE_RESOURCE_AUTHORITY = 25;
+
+    private static final byte TYPE_SIMPLE_GRANTED_AUTHORITY = 26;
+
+    private static final byte TYPE_SERIALIZED = 127;
+
+    // ----------------------------- SecurityContextImpl 字段标签 ----------------------------- //
+
+    private static final int CONTEXT_AUTHENTICATION = 1;
+
+    // ----------------------------- PrincipalAuthenticationToken 字段标签 ----------------------------- //
+
+    private static final int TOKEN_PRINCIPAL = 1;
+
+    private static final int TOKEN_CREDENTIALS = 2;
+
+    private static final int TOKEN_TYPE = 3;
+
+    private static final int TOKEN_REMEMBER_ME = 4;
+
+    private static final int TOKEN_AUTHENTICATED = 5;
+
+    private static final int TOKEN_DETAILS = 6;
+
+    private static final int TOKEN_AUTHORITIES = 7;
+
+    private static final int TOKEN_LAST_AUTHENTICATION_TIME = 8;
+
+    private static final int TOKEN_INNER_AUTHENTICATED = 9;
+
+    private static final int TOKEN_INNER_DETAILS = 10;
+
+    private static final int TOKEN_INNER_AUTHORITIES = 11;
+
+    // ----------------------------- SecurityUserDetails 字段标签 ----------------------------- //
+
+    private static final int USER_ID = 1;
+
+    private static final int USER_USERNAME = 2;
+
+    private static final int USER_PASSWORD = 3;
+
+    private static final int USER_STATUS = 4;
+
+    private static final int USER_TYPE = 5;
+
+    private static final int USER_ACCOUNT_NON_EXPIRED = 6;
+
+    private static final int USER_ACCOUNT_NON_LOCKED = 7;
+
+    private static final int USER_CREDENTIALS_NON_EXPIRED = 8;
+
+    private static final int USER_ROLE_AUTHORITIES = 9;
+
+    private static final int USER_RESOURCE_AUTHORITIES = 10;
+
+    private static final int USER_META = 11;
+
+    private static final int USER_DEVICE_IDENTIFIED = 12;
+
+    // ----------------------------- RoleAuthority 和 ResourceAuthority 字段标签 ----------------------------- //
+
+    private static final int AUTHORITY_AUTHORITY = 1;
+
+    private static final int AUTHORITY_NAME = 2;
+
+    private static final int AUTHORITY_VALUE = 3;
+
+    /**
+     * 不支持的类型使用的 java 序列化编解码器
+     */
+    private final SerializationCodec serializationCodec;
+
+    /**
+     * 不是以魔数开头的旧数据使用的编解码器
+     */
+    private final Codec legacyCodec;
+
+    private final Encoder encoder = this::encode;
+
+    private final Decoder<Object> decoder = this::decode;
+
+    /**
+     * spring security 实体的 redisson 编解码器
+     */
+    public SecurityEntityCodec() {
+        this.serializationCodec = new SerializationCodec();
+        this.legacyCodec = serializationCodec;
+    }
+
+    /**
+     * spring security 实体的 redisson 编解码器
+     *
+     * @param classLoader java 序列化使用的类加载器
+     */
+    public SecurityEntityCodec(ClassLoader classLoader) {
+        this.serializationCodec = new SerializationCodec(classLoader);
+        this.legacyCodec = serializationCodec;
+    }
+
+    /**
+     * spring security 实体的 redisson 编解码器
+     *
+     * @param legacyCodec 原来写入数据使用的编解码器，用于解码不是以魔数开头的旧数据
+     */
+    public SecurityEntityCodec(Codec legacyCodec) {
+        this.serializationCodec = new SerializationCodec();
+        this.legacyCodec = Objects.requireNonNull(legacyCodec, "legacyCodec 不能为空");
+    }
+
+    /**
+     * spring security 实体的 redisson 编解码器，用于 {@link BaseCodec#copy(ClassLoader, Object)}
+     *
+     * @param classLoader java 序列化使用的类加载器
+     * @param codec       原编解码器
+     */
+    public SecurityEntityCodec(ClassLoader classLoader, SecurityEntityCodec codec) throws ReflectiveOperationException {
+        this.serializationCodec = new SerializationCodec(classLoader, codec.serializationCodec);
+        if (codec.legacyCodec == codec.serializationCodec) {
+            this.legacyCodec = serializationCodec;
+        } else {
+            this.legacyCodec = BaseCodec.copy(classLoader, codec.legacyCodec);
+        }
+    }
+
+    @Override
+    public Decoder<Object> getValueDecoder() {
+        return decoder;
+    }
+
+    @Override
+    public Encoder getValueEncoder() {
+        return encoder;
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return serializationCodec.getClassLoader();
+    }
+
+    /**
+     * 编码对象
+     *
+     * @param value 对象
+     *
+     * @return 编码后的字节缓冲
+     *
+     * @throws IOException 编码出错时抛出
+     */
+    private ByteBuf encode(Object value) throws IOException {
+        ByteBuf buf = ByteBufAllocator.DEFAULT.buffer();
+        try {
+            buf.writeByte(MAGIC);
+            buf.writeByte(VERSION);
+            writeValue(buf, value);
+            return buf;
+        } catch (IOException | RuntimeException e) {
+            buf.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 解码对象
+     *
+     * @param buf   字节缓冲
+     * @param state 解码状态
+     *
+     * @return 对象
+     *
+     * @throws IOException 解码出错时抛出
+     */
+    private Object decode(ByteBuf buf, State state) throws IOException {
+        if (buf.readableBytes() < 2 || buf.getByte(buf.readerIndex()) != MAGIC) {
+            return decodeLegacy(buf, state);
+        }
+
+        buf.skipBytes(1);
+        byte version = buf.readByte();
+        if (version > VERSION) {
+            throw new IOException("不支持版本为 [" + version + "] 的数据，当前支持的最高版本为 [" + VERSION + "]");
+        }
+
+        return readValue(buf, state);
+    }
+
+    /**
+     * 使用旧编解码器解码不是以魔数开头的旧数据，无法识别时返回 null，由调用方按缓存未命中处理
+     *
+     * @param buf   字节缓冲
+     * @param state 解码状态
+     *
+     * @return 对象
+     */
+    private Object decodeLegacy(ByteBuf buf, State state) {
+        try {
+            return legacyCodec.getValueDecoder().decode(buf, state);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    // ----------------------------- 编码 ----------------------------- //
+
+    private void writeValue(ByteBuf buf, Object value) throws IOException {
+        if (value == null) {
+            buf.writeByte(TYPE_NULL);
+        } else if (value instanceof String s) {
+            buf.writeByte(TYPE_STRING);
+            writeString(buf, s);
+        } else if (value instanceof Integer i) {
+            buf.writeByte(TYPE_INTEGER);
+            writeVarLong(buf, zigzag(i));
+        } else if (value instanceof Long l) {
+            buf.writeByte(TYPE_LONG);
+            writeVarLong(buf, zigzag(l));
+        } else if (value instanceof Boolean b) {
+            buf.writeByte(b ? TYPE_TRUE : TYPE_FALSE);
+        } else if (value instanceof Double d) {
+            buf.writeByte(TYPE_DOUBLE);
+            buf.writeLong(Double.doubleToRawLongBits(d));
+        } else if (value.getClass() == Date.class) {
+            buf.writeByte(TYPE_DATE);
+            writeVarLong(buf, zigzag(((Date) value).getTime()));
+        } else if (value.getClass() == SimpleGrantedAuthority.class) {
+            buf.writeByte(TYPE_SIMPLE_GRANTED_AUTHORITY);
+            writeString(buf, ((SimpleGrantedAuthority) value).getAuthority());
+        } else if (value.getClass() == RoleAuthority.class) {
+            buf.writeByte(TYPE_ROLE_AUTHORITY);
+            writeRoleAuthority(buf, (RoleAuthority) value);
+        } else if (value.getClass() == ResourceAuthority.class) {
+            buf.writeByte(TYPE_RESOURCE_AUTHORITY);
+            writeResourceAuthority(buf, (ResourceAuthority) value);
+        } else if (value.getClass() == SecurityUserDetails.class) {
+            buf.writeByte(TYPE_SECURITY_USER_DETAILS);
+            writeUserDetails(buf, (SecurityUserDetails) value);
+        } else if (value.getClass() == MobileUserDetails.class) {
+            buf.writeByte(TYPE_MOBILE_USER_DETAILS);
+            writeUserDetails(buf, (SecurityUserDetails) value);
+        } else if (value.getClass() == PrincipalAuthenticationToken.class) {
+            buf.writeByte(TYPE_PRINCIPAL_AUTHENTICATION_TOKEN);
+            writePrincipalAuthenticationToken(buf, (PrincipalAuthenticationToken) value);
+        } else if (value.getClass() == SecurityContextImpl.class) {
+            buf.writeByte(TYPE_SECURITY_CONTEXT);
+            writeField(buf, CONTEXT_AUTHENTICATION, ((SecurityContextImpl) value).getAuthentication());
+            writeVarInt(buf, END_TAG);
+        } else if (value instanceof List<?> list) {
+            buf.writeByte(TYPE_LIST);
+            writeCollection(buf, list);
+        } else if (value instanceof Map<?, ?> map) {
+            buf.writeByte(TYPE_MAP);
+            writeVarInt(buf, map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(buf, entry.getKey());
+                writeValue(buf, entry.getValue());
+            }
+        } else {
+            buf.writeByte(TYPE_SERIALIZED);
+            ByteBuf serialized = serializationCodec.getValueEncoder().encode(value);
+            try {
+                writeVarInt(buf, serialized.readableBytes());
+                buf.writeBytes(serialized);
+            } finally {
+                serialized.release();
+            }
+        }
+    }
+
+    private void writePrincipalAuthenticationToken(ByteBuf buf, PrincipalAuthenticationToken token) throws IOException {
+        writeField(buf, TOKEN_PRINCIPAL, token.getPrincipal());
+        writeField(buf, TOKEN_CREDENTIALS, token.getCredentials());
+        writeField(buf, TOKEN_TYPE, token.getType());
+        writeField(buf, TOKEN_REMEMBER_ME, token.isRememberMe());
+        writeField(buf, TOKEN_AUTHENTICATED, token.isAuthenticated());
+        writeField(buf, TOKEN_DETAILS, token.getDetails());
+        writeVarInt(buf, TOKEN_AUTHORITIES);
+        buf.writeByte(TYPE_LIST);
+        writeCollection(buf, token.getAuthorities());
+        writeField(buf, TOKEN_LAST_AUTHENTICATION_TIME, token.getLastAuthenticationTime());
+
+        UsernamePasswordAuthenticationToken inner = token.getToken();
+        if (inner.isAuthenticated()) {
+            writeField(buf, TOKEN_INNER_AUTHENTICATED, true);
+        }
+        writeField(buf, TOKEN_INNER_DETAILS, inner.getDetails());
+        if (!inner.getAuthorities().isEmpty()) {
+            writeVarInt(buf, TOKEN_INNER_AUTHORITIES);
+            buf.writeByte(TYPE_LIST);
+            writeCollection(buf, inner.getAuthorities());
+        }
+
+        writeVarInt(buf, END_TAG);
+    }
+
+    private void writeUserDetails(ByteBuf buf, SecurityUserDetails userDetails) throws IOException {
+        writeField(buf, USER_ID, userDetails.getId());
+        writeField(buf, USER_USERNAME, userDetails.getUsername());
+        writeField(buf, USER_PASSWORD, userDetails.getPassword());
+        if (userDetails.getStatus() != null) {
+            writeField(buf, USER_STATUS, userDetails.getStatus().getValue());
+        }
+        writeField(buf, USER_TYPE, userDetails.getType());
+
+        // 布尔值默认为 true，只在为 false 时写入
+        if (!userDetails.isAccountNonExpired()) {
+            writeField(buf, USER_ACCOUNT_NON_EXPIRED, false);
+        }
+        if (!userDetails.isAccountNonLocked()) {
+            writeField(buf, USER_ACCOUNT_NON_LOCKED, false);
+        }
+        if (!userDetails.isCredentialsNonExpired()) {
+            writeField(buf, USER_CREDENTIALS_NON_EXPIRED, false);
+        }
+
+        writeField(buf, USER_ROLE_AUTHORITIES, userDetails.getRoleAuthorities());
+        writeField(buf, USER_RESOURCE_AUTHORITIES, userDetails.getResourceAuthorities());
+        writeField(buf, USER_META, userDetails.getMeta());
+
+        if (userDetails instanceof MobileUserDetails mobileUserDetails) {
+            writeField(buf, USER_DEVICE_IDENTIFIED, mobileUserDetails.getDeviceIdentified());
+        }
+
+        writeVarInt(buf, END_TAG);
+    }
+
+    private void writeRoleAuthority(ByteBuf buf, RoleAuthority authority) throws IOException {
+        writeField(buf, AUTHORITY_AUTHORITY, authority.getAuthority());
+        writeField(buf, AUTHORITY_NAME, authority.getName());
+        writeVarInt(buf, END_TAG);
+    }
+
+    private void writeResourceAuthority(ByteBuf buf, ResourceAuthority authority) throws IOException {
+        writeField(buf, AUTHORITY_AUTHORITY, authority.getAuthority());
+        writeField(buf, AUTHORITY_NAME, authority.getName());
+        writeField(buf, AUTHORITY_VALUE, authority.getValue());
+        writeVarInt(buf, END_TAG);
+    }
+
+    /**
+     * 写入实体字段，值为 null 时不写入
+     */
+    private void writeField(ByteBuf buf, int tag, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        writeVarInt(buf, tag);
+        writeValue(buf, value);
+    }
+
+    private void writeCollection(ByteBuf buf, Collection<?> collection) throws IOException {
+        writeVarInt(buf, collection.size());
+        for (Object o : collection) {
+            writeValue(buf, o);
+        }
+    }
+
+    private static void writeString(ByteBuf buf, String value) {
+        writeVarInt(buf, ByteBufUtil.utf8Bytes(value));
+        ByteBufUtil.writeUtf8(buf, value);
+    }
+
+    private static void writeVarInt(ByteBuf buf, int value) {
+        while ((value & ~0x7F) != 0) {
+            buf.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf.writeByte(value);
+    }
+
+    private static void writeVarLong(ByteBuf buf, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buf.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf.writeByte((int) value);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    // ----------------------------- 解码 ----------------------------- //
+
+    private Object readValue(ByteBuf buf, State state) throws IOException {
+        byte type = buf.readByte();
+        return switch (type) {
+            case TYPE_NULL -> null;
+            case TYPE_STRING -> readString(buf);
+            case TYPE_INTEGER -> (int) unzigzag(readVarLong(buf));
+            case TYPE_LONG -> unzigzag(readVarLong(buf));
+            case TYPE_TRUE -> Boolean.TRUE;
+            case TYPE_FALSE -> Boolean.FALSE;
+            case TYPE_DOUBLE -> Double.longBitsToDouble(buf.readLong());
+            case TYPE_DATE -> new Date(unzigzag(readVarLong(buf)));
+            case TYPE_LIST -> readList(buf, state);
+            case TYPE_MAP -> readMap(buf, state);
+            case TYPE_SIMPLE_GRANTED_AUTHORITY -> new SimpleGrantedAuthority(readString(buf));
+            case TYPE_ROLE_AUTHORITY -> readRoleAuthority(buf, state);
+            case TYPE_RESOURCE_AUTHORITY -> readResourceAuthority(buf, state);
+            case TYPE_SECURITY_USER_DETAILS -> readUserDetails(buf, state, new SecurityUserDetails());
+            case TYPE_MOBILE_USER_DETAILS -> readUserDetails(buf, state, new MobileUserDetails());
+            case TYPE_PRINCIPAL_AUTHENTICATION_TOKEN -> readPrincipalAuthenticationToken(buf, state);
+            case TYPE_SECURITY_CONTEXT -> readSecurityContext(buf, state);
+            case TYPE_SERIALIZED -> {
+                int length = readVarInt(buf);
+                yield serializationCodec.getValueDecoder().decode(buf.readSlice(length), state);
+            }
+            default -> throw new IOException("不支持类型标识为 [" + type + "] 的数据");
+        };
+    }
+
+    private SecurityContextImpl readSecurityContext(ByteBuf buf, State state) throws IOException {
+        SecurityContextImpl context = new SecurityContextImpl();
+        for (int tag = readVarInt(buf); tag != END_TAG; tag = readVarInt(buf)) {
+            Object value = readValue(buf, state);
+            if (tag == CONTEXT_AUTHENTICATION) {
+                context.setAuthentication((Authentication) value);
+            }
+        }
+        return context;
+    }
+
+    @SuppressWarnings("unchecked")
+    private PrincipalAuthenticationToken readPrincipalAuthenticationToken(ByteBuf buf, State state) throws IOException {
+        Object principal = null;
+        Object credentials = null;
+        String type = null;
+        boolean rememberMe = false;
+        boolean authenticated = false;
+        Object details = null;
+        Collection<? extends GrantedAuthority> authorities = Collections.emptyList();
+        Date lastAuthenticationTime = null;
+        boolean innerAuthenticated = false;
+        Object innerDetails = null;
+        Collection<? extends GrantedAuthority> innerAuthorities = Collections.emptyList();
+
+        for (int tag = readVarInt(buf); tag != END_TAG; tag = readVarInt(buf)) {
+            Object value = readValue(buf, state);
+            switch (tag) {
+                case TOKEN_PRINCIPAL -> principal = value;
+                case TOKEN_CREDENTIALS -> credentials = value;
+                case TOKEN_TYPE -> type = (String) value;
+                case TOKEN_REMEMBER_ME -> rememberMe = (Boolean) value;
+                case TOKEN_AUTHENTICATED -> authenticated = (Boolean) value;
+                case TOKEN_DETAILS -> details = value;
+                case TOKEN_AUTHORITIES -> authorities = (Collection<? extends GrantedAuthority>) value;
+                case TOKEN_LAST_AUTHENTICATION_TIME -> lastAuthenticationTime = (Date) value;
+                case TOKEN_INNER_AUTHENTICATED -> innerAuthenticated = (Boolean) value;
+                case TOKEN_INNER_DETAILS -> innerDetails = value;
+                case TOKEN_INNER_AUTHORITIES -> innerAuthorities = (Collection<? extends GrantedAuthority>) value;
+                default -> {
+                    // 未知字段，忽略
+                }
+            }
+        }
+
+        UsernamePasswordAuthenticationToken inner = innerAuthenticated
+                ? UsernamePasswordAuthenticationToken.authenticated(principal, credentials, innerAuthorities)
+                : UsernamePasswordAuthenticationToken.unauthenticated(principal, credentials);
+        inner.setDetails(innerDetails);
+
+        PrincipalAuthenticationToken token = new PrincipalAuthenticationToken(
+                inner,
+                type,
+                rememberMe,
+                authorities,
+                lastAuthenticationTime
+        );
+        token.setDetails(details);
+        token.setAuthenticated(authenticated);
+
+        return token;
+    }
+
+    @SuppressWarnings("unchecked")
+    private SecurityUserDetails readUserDetails(ByteBuf buf, State state, SecurityUserDetails userDetails) throws IOException {
+        for (int tag = readVarInt(buf); tag != END_TAG; tag = readVarInt(buf)) {
+            Object value = readValue(buf, state);
+            switch (tag) {
+                case USER_ID -> userDetails.setId(value);
+                case USER_USERNAME -> userDetails.setUsername((String) value);
+                case USER_PASSWORD -> userDetails.setPassword((String) value);
+                case USER_STATUS -> userDetails.setStatus(ValueEnumUtils.parse(value, UserStatus.class, true));
+                case USER_TYPE -> userDetails.setType((String) value);
+                case USER_ACCOUNT_NON_EXPIRED -> userDetails.setAccountNonExpired((Boolean) value);
+                case USER_ACCOUNT_NON_LOCKED -> userDetails.setAccountNonLocked((Boolean) value);
+                case USER_CREDENTIALS_NON_EXPIRED -> userDetails.setCredentialsNonExpired((Boolean) value);
+                case USER_ROLE_AUTHORITIES -> userDetails.setRoleAuthorities((List<RoleAuthority>) value);
+                case USER_RESOURCE_AUTHORITIES -> userDetails.setResourceAuthorities((List<ResourceAuthority>) value);
+                case USER_META -> userDetails.setMeta((Map<String, Object>) value);
+                case USER_DEVICE_IDENTIFIED -> {
+                    if (userDetails instanceof MobileUserDetails mobileUserDetails) {
+                        mobileUserDetails.setDeviceIdentified((String) value);
+                    }
+                }
+                default -> {
+                    // 未知字段，忽略
+                }
+            }
+        }
+        return userDetails;
+    }
+
+    private RoleAuthority readRoleAuthority(ByteBuf buf, State state) throws IOException {
+        RoleAuthority authority = new RoleAuthority();
+        for (int tag = readVarInt(buf); tag != END_TAG; tag = readVarInt(buf)) {
+            Object value = readValue(buf, state);
+            switch (tag) {
+                case AUTHORITY_AUTHORITY -> authority.setAuthority((String) value);
+                case AUTHORITY_NAME -> authority.setName((String) value);
+                default -> {
+                    // 未知字段，忽略
+                }
+            }
+        }
+        return authority;
+    }
+
+    private ResourceAuthority readResourceAuthority(ByteBuf buf, State state) throws IOException {
+        ResourceAuthority authority = new ResourceAuthority();
+        for (int tag = readVarInt(buf); tag != END_TAG; tag = readVarInt(buf)) {
+            Object value = readValue(buf, state);
+            switch (tag) {
+                case AUTHORITY_AUTHORITY -> authority.setAuthority((String) value);
+                case AUTHORITY_NAME -> authority.setName((String) value);
+                case AUTHORITY_VALUE -> authority.setValue((String) value);
+                default -> {
+                    // 未知字段，忽略
+                }
+            }
+        }
+        return authority;
+    }
+
+    private List<Object> readList(ByteBuf buf, State state) throws IOException {
+        int size = readVarInt(buf);
+        List<Object> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(readValue(buf, state));
+        }
+        return result;
+    }
+
+    private Map<Object, Object> readMap(ByteBuf buf, State state) throws IOException {
+        int size = readVarInt(buf);
+        Map<Object, Object> result = new LinkedHashMap<>((int) (size / 0.75f) + 1);
+        for (int i = 0; i < size; i++) {
+            Object key = readValue(buf, state);
+            result.put(key, readValue(buf, state));
+        }
+        return result;
+    }
+
+    private static String readString(ByteBuf buf) {
+        int length = readVarInt(buf);
+        String result = buf.toString(buf.readerIndex(), length, StandardCharsets.UTF_8);
+        buf.skipBytes(length);
+        return result;
+    }
+
+    private static int readVarInt(ByteBuf buf) {
+        return (int) readVarLong(buf);
+    }
+
+    private static long readVarLong(ByteBuf buf) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buf.readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalStateException("变长整型数据格式错误");
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -20,6 +20,11 @@ public class AccessTokenProperties {
      */
     public final static String DEFAULT_SPRING_SECURITY_CONTEXT_KEY = "spring:security:context:access-token:";
 
+    /**
+     * 默认的本地缓存失效通知主题名称
+     */
+    public final static String DEFAULT_NEAR_CACHE_INVALIDATION_TOPIC = "spring:security:context:access-token:invalidation";
+
     /**
      * 加解密算法名称
      */
@@ -35,6 +40,17 @@ public class AccessTokenProperties {
      */
     private CacheProperties cache = CacheProperties.of(DEFAULT_SPRING_SECURITY_CONTEXT_KEY, TimeProperties.ofDay(1));
 
+    /**
+     * 本地缓存配置，name 为失效通知的 redis 主题名称，expiresTime 为本地缓存的最长存活时间，
+     * 实际存活时间不会超过 redis 中 security context 的剩余存活时间
+     */
+    private CacheProperties nearCache = CacheProperties.of(DEFAULT_NEAR_CACHE_INVALIDATION_TOPIC, TimeProperties.ofSeconds(30));
+
+    /**
+     * 本地缓存最大数量，小于等于 0 时不使用本地缓存，默认不使用
+     */
+    private long nearCacheMaximumSize;
+
     /**
      * 访问 token 头名称
      */
@@ -72,6 +88,22 @@ public class AccessTokenProperties {
         this.cache = cache;
     }
 
+    public CacheProperties getNearCache() {
+        return nearCache;
+    }
+
+    public void setNearCache(CacheProperties nearCache) {
+        this.nearCache = nearCache;
+    }
+
+    public long getNearCacheMaximumSize() {
+        return nearCacheMaximumSize;
+    }
+
+    public void setNearCacheMaximumSize(long nearCacheMaximumSize) {
+        this.nearCacheMaximumSize = nearCacheMaximumSize;
+    }
+
     public String getAccessTokenHeaderName() {
         return accessTokenHeaderName;
     }
@@ -113,6 +113,16 @@ public class AuthenticationProperties {
      */
     private CacheProperties authorizationCache = CacheProperties.of(RequestAuthenticationProvider.DEFAULT_AUTHORIZATION_KEY_NAME, TimeProperties.ofDay(7));
 
+    /**
+     * 授权信息本地缓存配置，name 为失效通知的 redis 主题名称，expiresTime 为本地缓存的存活时间
+     */
+    private CacheProperties authorizationNearCache = CacheProperties.of(RequestAuthenticationProvider.DEFAULT_AUTHORIZATION_INVALIDATION_TOPIC, TimeProperties.ofSeconds(10));
+
+    /**
+     * 授权信息本地缓存最大数量，小于等于 0 时不使用本地缓存
+     */
+    private long authorizationNearCacheMaximumSize = RequestAuthenticationProvider.DEFAULT_AUTHORIZATION_NEAR_CACHE_MAXIMUM_SIZE;
+
     /**
      * 获取默认用户信息集合
      *
@@ -364,4 +374,40 @@ public class AuthenticationProperties {
     public void setAuthorizationCache(CacheProperties authorizationCache) {
         this.authorizationCache = authorizationCache;
     }
+
+    /**
+     * 获取授权信息本地缓存配置
+     *
+     * @return 授权信息本地缓存配置
+     */
+    public CacheProperties getAuthorizationNearCache() {
+        return authorizationNearCache;
+    }
+
+    /**
+     * 设置授权信息本地缓存配置
+     *
+     * @param authorizationNearCache 授权信息本地缓存配置
+     */
+    public void setAuthorizationNearCache(CacheProperties authorizationNearCache) {
+        this.authorizationNearCache = authorizationNearCache;
+    }
+
+    /**
+     * 获取授权信息本地缓存最大数量
+     *
+     * @return 授权信息本地缓存最大数量
+     */
+    public long getAuthorizationNearCacheMaximumSize() {
+        return authorizationNearCacheMaximumSize;
+    }
+
+    /**
+     * 设置授权信息本地缓存最大数量
+     *
+     * @param authorizationNearCacheMaximumSize 授权信息本地缓存最大数量，小于等于 0 时不使用本地缓存
+     */
+    public void setAuthorizationNearCacheMaximumSize(long authorizationNearCacheMaximumSize) {
+        this.authorizationNearCacheMaximumSize = authorizationNearCacheMaximumSize;
+    }
 }
@@ -1,8 +1,12 @@
 package com.github.dactiv.framework.spring.security.authentication.provider;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.dactiv.framework.commons.CacheProperties;
 import com.github.dactiv.framework.commons.Casts;
+import com.github.dactiv.framework.commons.TimeProperties;
 import com.github.dactiv.framework.spring.security.authentication.UserDetailsService;
+import com.github.dactiv.framework.spring.security.authentication.codec.SecurityEntityCodec;
 import com.github.dactiv.framework.spring.security.authentication.config.AuthenticationProperties;
 import com.github.dactiv.framework.spring.security.authentication.rememberme.RememberMeToken;
 import com.github.dactiv.framework.spring.security.authentication.token.PrincipalAuthenticationToken;
@@ -11,9 +15,11 @@ import com.github.dactiv.framework.spring.security.authentication.token.RequestA
 import com.github.dactiv.framework.spring.security.authentication.token.SimpleAuthenticationToken;
 import com.github.dactiv.framework.spring.security.entity.SecurityUserDetails;
 import org.apache.commons.lang3.StringUtils;
-import org.redisson.api.RBucket;
-import org.redisson.api.RList;
-import org.redisson.api.RedissonClient;
+import org.redisson.api.*;
+import org.redisson.client.codec.StringCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.MessageSource;
 import org.springframework.context.MessageSourceAware;
@@ -29,13 +35,24 @@ import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 请求认证供应者实现
  *
+ * <p>
+ * 每次认证需要的记住我 token、认证缓存和授权缓存在同一个 {@link RBatch} 中读取，需要写入的认证缓存和授权缓存也在同一个
+ * {@link RBatch} 中以事务的方式写入，值和存活时间同时生效。授权信息另外保存在本地缓存中，授权缓存变更时通过 redis 主题通知所有节点
+ * 删除对应的本地缓存。
+ * </p>
+ *
  * @author maurice.chen
  */
-public class RequestAuthenticationProvider implements AuthenticationManager, AuthenticationProvider, MessageSourceAware, InitializingBean {
+public class RequestAuthenticationProvider implements AuthenticationManager, AuthenticationProvider, MessageSourceAware, InitializingBean, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestAuthenticationProvider.class);
 
     /**
      * 认证缓存块名称
@@ -47,6 +64,16 @@ public class RequestAuthenticationProvider implements AuthenticationManager, Aut
      */
     public static String DEFAULT_AUTHORIZATION_KEY_NAME = "spring:security:authorization:";
 
+    /**
+     * 授权信息本地缓存失效通知主题名称
+     */
+    public static String DEFAULT_AUTHORIZATION_INVALIDATION_TOPIC = "spring:security:authorization:invalidation";
+
+    /**
+     * 授权信息本地缓存默认最大数量
+     */
+    public static long DEFAULT_AUTHORIZATION_NEAR_CACHE_MAXIMUM_SIZE = 10000;
+
     /**
      * 国际化信息
      */
@@ -69,6 +96,41 @@ public class RequestAuthenticationProvider implements AuthenticationManager, Aut
 
     private final AuthenticationProperties properties;
 
+    /**
+     * 认证缓存和授权缓存的编解码器，原来的缓存使用 redisson 客户端默认的编解码器写入，解码旧数据时使用该编解码器
+     */
+    private final SecurityEntityCodec codec;
+
+    /**
+     * 授权信息本地缓存，key 为授权缓存的 redis key，不使用本地缓存时为 null
+     */
+    private final Cache<String, List<GrantedAuthority>> authorizationNearCache;
+
+    /**
+     * 本地缓存失效通知主题
+     */
+    private final RTopic invalidationTopic;
+
+    /**
+     * 本地缓存失效通知主题名称，不使用本地缓存时为 null
+     */
+    private final String invalidationTopicName;
+
+    /**
+     * 本地缓存失效次数，用于避免读取 redis 期间收到的失效通知被之后写入的本地缓存覆盖
+     */
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    /**
+     * 当前节点 id，失效通知以「节点 id + 分隔符 + redis key」发送，用于忽略当前节点自己发送的通知
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * 失效通知监听器 id
+     */
+    private Integer invalidationListenerId;
+
     /**
      * 当前用户认证供应者实现
      *
@@ -80,6 +142,25 @@ public class RequestAuthenticationProvider implements AuthenticationManager, Aut
         this.userDetailsServices = userDetailsServices;
         this.properties = properties;
         this.redissonClient = redissonClient;
+        this.codec = new SecurityEntityCodec(redissonClient.getConfig().getCodec());
+
+        CacheProperties nearCacheProperties = properties.getAuthorizationNearCache();
+        if (properties.getAuthorizationNearCacheMaximumSize() > 0
+                && Objects.nonNull(properties.getAuthorizationCache())
+                && Objects.nonNull(nearCacheProperties)
+                && Objects.nonNull(nearCacheProperties.getExpiresTime())) {
+            this.authorizationNearCache = Caffeine
+                    .newBuilder()
+                    .maximumSize(properties.getAuthorizationNearCacheMaximumSize())
+                    .expireAfterWrite(nearCacheProperties.getExpiresTime().toDuration())
+                    .build();
+            this.invalidationTopicName = nearCacheProperties.getName();
+            this.invalidationTopic = redissonClient.getTopic(invalidationTopicName, StringCodec.INSTANCE);
+        } else {
+            this.authorizationNearCache = null;
+            this.invalidationTopicName = null;
+            this.invalidationTopic = null;
+        }
     }
 
     @Override
@@ -88,13 +169,7 @@ public class RequestAuthenticationProvider implements AuthenticationManager, Aut
         // 获取 token
         SimpleAuthenticationToken token = Casts.cast(authentication);
 
-        SecurityUserDetails userDetails;
-        if (authentication instanceof RequestAuthenticationToken requestAuthenticationToken) {
-            // 开始授权，如果失败抛出异常
-            userDetails = doPrincipalAuthenticate(requestAuthenticationToken);
-        } else if (authentication instanceof RememberMeAuthenticationToken rememberMeAuthenticationToken) {
-            userDetails = doRememberMeAuthentication(rememberMeAuthenticationToken);
-        } else {
+        if (!(authentication instanceof RequestAuthenticationToken) && !(authentication instanceof RememberMeAuthenticationToken)) {
             String error = messages.getMessage(
                     "PrincipalAuthenticationProvider.authenticateNotFound",
                     "找不到适用于 " + token.getType() + " 的 UserDetailsService 实现"
@@ -102,14 +177,295 @@ public class RequestAuthenticationProvider implements AuthenticationManager, Aut
             throw new AuthenticationServiceException(error);
         }
 
-        return createSuccessAuthentication(userDetails, token);
+        AuthenticationCacheContext cache = readAuthenticationCache(token);
+
+        SecurityUserDetails userDetails;
+        if (authentication instanceof RequestAuthenticationToken requestAuthenticationToken) {
+            // 开始授权，如果失败抛出异常
+            userDetails = doPrincipalAuthenticate(requestAuthenticationToken, cache);
+        } else {
+            userDetails = doRememberMeAuthentication(Casts.cast(authentication), cache);
+        }
+
+        PrincipalAuthenticationToken result = createSuccessAuthentication(userDetails, token, cache);
+        writeAuthenticationCache(cache);
+
+        return result;
     }
 
-    protected SecurityUserDetails doRememberMeAuthentication(RememberMeAuthenticationToken token) {
+    /**
+     * 在同一个 {@link RBatch} 中读取本次认证需要的记住我 token、认证缓存和授权缓存，授权信息优先从本地缓存获取
+     *
+     * @param token 当前用户认证 token
+     *
+     * @return 认证缓存上下文
+     */
+    protected AuthenticationCacheContext readAuthenticationCache(SimpleAuthenticationToken token) {
+        AuthenticationCacheContext cache = new AuthenticationCacheContext();
+
+        Optional<UserDetailsService> optional = getUserDetailsService(token);
+        boolean supportCache = optional.isPresent() && optional.get().isSupportCache(token);
+        boolean rememberMe = token instanceof RememberMeAuthenticationToken;
 
-        String key = properties.getRememberMe().getCache().getName(token.getName());
-        RBucket<RememberMeToken> bucket = redissonClient.getBucket(key);
-        RememberMeToken redisObject = bucket.get();
+        // 记住我认证不论 UserDetailsService 是否支持缓存，都从认证缓存里获取用户
+        if (Objects.nonNull(properties.getAuthenticationCache()) && (supportCache || rememberMe)) {
+            cache.setAuthenticationCache(CacheProperties.of(
+                    properties.getAuthenticationCache().getName(token.getName()),
+                    properties.getAuthenticationCache().getExpiresTime()
+            ));
+        }
+
+        if (supportCache) {
+            cache.setAuthorizationCache(createAuthorizationCache(token));
+        }
+
+        RBatch batch = redissonClient.createBatch();
+        boolean execute = false;
+
+        RFuture<RememberMeToken> rememberMeFuture = null;
+        if (rememberMe) {
+            String key = properties.getRememberMe().getCache().getName(token.getName());
+            rememberMeFuture = batch.<RememberMeToken>getBucket(key).getAsync();
+            execute = true;
+        }
+
+        RFuture<SecurityUserDetails> userDetailsFuture = null;
+        if (Objects.nonNull(cache.getAuthenticationCache())) {
+            String key = cache.getAuthenticationCache().getName();
+            userDetailsFuture = batch.<SecurityUserDetails>getBucket(key, codec).getAsync();
+            execute = true;
+        }
+
+        RFuture<List<GrantedAuthority>> authoritiesFuture = null;
+        if (Objects.nonNull(cache.getAuthorizationCache())) {
+            String key = cache.getAuthorizationCache().getName();
+            List<GrantedAuthority> authorities = getNearCacheAuthorities(key);
+            if (Objects.nonNull(authorities)) {
+                cache.setAuthorities(authorities);
+            } else {
+                authoritiesFuture = batch.<GrantedAuthority>getList(key, codec).readAllAsync();
+                execute = true;
+            }
+        }
+
+        if (!execute) {
+            return cache;
+        }
+
+        long count = invalidationCount.get();
+        batch.execute();
+
+        if (Objects.nonNull(rememberMeFuture)) {
+            cache.setRememberMeToken(rememberMeFuture.toCompletableFuture().join());
+        }
+
+        if (Objects.nonNull(userDetailsFuture)) {
+            cache.setUserDetails(userDetailsFuture.toCompletableFuture().join());
+        }
+
+        if (Objects.nonNull(authoritiesFuture)) {
+            setAuthorities(cache, authoritiesFuture.toCompletableFuture().join(), count);
+        }
+
+        return cache;
+    }
+
+    /**
+     * 创建授权缓存配置
+     *
+     * @param token 当前用户认证 token
+     *
+     * @return 授权缓存配置，不使用授权缓存时返回 null
+     */
+    private CacheProperties createAuthorizationCache(SimpleAuthenticationToken token) {
+        if (Objects.isNull(properties.getAuthorizationCache())) {
+            return null;
+        }
+
+        return CacheProperties.of(
+                properties.getAuthorizationCache().getName(token.getName()),
+                properties.getAuthorizationCache().getExpiresTime()
+        );
+    }
+
+    /**
+     * 读取授权缓存，优先从本地缓存获取
+     *
+     * @param cache 认证缓存上下文
+     */
+    private void readAuthorizationCache(AuthenticationCacheContext cache) {
+        String key = cache.getAuthorizationCache().getName();
+        List<GrantedAuthority> authorities = getNearCacheAuthorities(key);
+
+        if (Objects.nonNull(authorities)) {
+            cache.setAuthorities(authorities);
+            return;
+        }
+
+        long count = invalidationCount.get();
+        setAuthorities(cache, redissonClient.<GrantedAuthority>getList(key, codec).readAll(), count);
+    }
+
+    /**
+     * 获取授权信息本地缓存
+     *
+     * @param key 授权缓存的 redis key
+     *
+     * @return 授权信息，不存在时返回 null
+     */
+    private List<GrantedAuthority> getNearCacheAuthorities(String key) {
+        return Objects.nonNull(authorizationNearCache) ? authorizationNearCache.getIfPresent(key) : null;
+    }
+
+    /**
+     * 设置从授权缓存读取的授权信息，并保存到本地缓存
+     *
+     * @param cache       认证缓存上下文
+     * @param authorities 授权缓存中的授权信息
+     * @param count       读取 redis 前的本地缓存失效次数
+     */
+    private void setAuthorities(AuthenticationCacheContext cache, List<GrantedAuthority> authorities, long count) {
+        // 无法解码的旧数据会得到 null 元素，按缓存未命中处理
+        if (CollectionUtils.isEmpty(authorities) || authorities.contains(null)) {
+            return;
+        }
+
+        List<GrantedAuthority> result = List.copyOf(authorities);
+        cache.setAuthorities(result);
+
+        if (Objects.isNull(authorizationNearCache)) {
+            return;
+        }
+
+        String key = cache.getAuthorizationCache().getName();
+        authorizationNearCache.put(key, result);
+        // 读取 redis 期间收到了失效通知，本地缓存可能已经过期
+        if (invalidationCount.get() != count) {
+            authorizationNearCache.invalidate(key);
+        }
+    }
+
+    /**
+     * 在同一个 {@link RBatch} 中以事务的方式异步写入本次认证需要缓存的用户和授权信息，值和存活时间同时写入
+     *
+     * @param cache 认证缓存上下文
+     *
+     * @return 写入完成并删除本地缓存后完成的结果，没有需要写入的内容时为已完成的结果
+     */
+    protected CompletionStage<Void> writeAuthenticationCache(AuthenticationCacheContext cache) {
+        SecurityUserDetails userDetails = cache.getUserDetailsToWrite();
+        Collection<? extends GrantedAuthority> authorities = cache.getAuthoritiesToWrite();
+
+        if (Objects.isNull(userDetails) && Objects.isNull(authorities)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults().executionMode(BatchOptions.ExecutionMode.IN_MEMORY_ATOMIC));
+
+        if (Objects.nonNull(userDetails)) {
+            CacheProperties authenticationCache = cache.getAuthenticationCache();
+            RBucketAsync<SecurityUserDetails> bucket = batch.getBucket(authenticationCache.getName(), codec);
+            TimeProperties expiresTime = authenticationCache.getExpiresTime();
+            if (Objects.nonNull(expiresTime)) {
+                bucket.setAsync(userDetails, expiresTime.getValue(), expiresTime.getUnit());
+            } else {
+                bucket.setAsync(userDetails);
+            }
+        }
+
+        String authorizationKey = null;
+        if (Objects.nonNull(authorities)) {
+            CacheProperties authorizationCache = cache.getAuthorizationCache();
+            authorizationKey = authorizationCache.getName();
+
+            // 先删除再写入，避免重复认证时授权信息不断追加
+            RListAsync<GrantedAuthority> list = batch.getList(authorizationKey, codec);
+            list.deleteAsync();
+            if (!authorities.isEmpty()) {
+                list.addAllAsync(authorities);
+            }
+            if (Objects.nonNull(authorizationCache.getExpiresTime())) {
+                list.expireAsync(authorizationCache.getExpiresTime().toDuration());
+            }
+            publishInvalidation(batch, authorizationKey);
+        }
+
+        String key = authorizationKey;
+        return batch.executeAsync().whenComplete((result, e) -> {
+            if (Objects.nonNull(e)) {
+                String authenticationKey = Objects.nonNull(userDetails) ? cache.getAuthenticationCache().getName() : null;
+                LOGGER.warn("写入认证缓存 [" + authenticationKey + "] 和授权缓存 [" + key + "] 失败", e);
+            }
+            if (Objects.nonNull(key)) {
+                invalidateNearCache(key);
+            }
+        }).thenAccept(result -> {});
+    }
+
+    /**
+     * 删除授权缓存，用户的角色或资源变更后调用，所有节点中对应的授权信息本地缓存会同时删除
+     *
+     * @param name 认证 token 名称，见 {@link SimpleAuthenticationToken#getName()}
+     */
+    public void deleteAuthorizationCache(String name) {
+        if (Objects.isNull(properties.getAuthorizationCache())) {
+            return;
+        }
+
+        String key = properties.getAuthorizationCache().getName(name);
+
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults().executionMode(BatchOptions.ExecutionMode.IN_MEMORY_ATOMIC));
+        batch.getList(key, codec).deleteAsync();
+        publishInvalidation(batch, key);
+        batch.execute();
+
+        invalidateNearCache(key);
+    }
+
+    /**
+     * 删除当前节点中指定授权缓存的本地缓存
+     *
+     * @param key 授权缓存的 redis key
+     */
+    public void invalidateNearCache(String key) {
+        if (Objects.isNull(authorizationNearCache)) {
+            return;
+        }
+
+        invalidationCount.incrementAndGet();
+        authorizationNearCache.invalidate(key);
+    }
+
+    /**
+     * 在批量操作中通知所有节点删除指定授权缓存的本地缓存
+     *
+     * @param batch 批量操作
+     * @param key   授权缓存的 redis key
+     */
+    private void publishInvalidation(RBatch batch, String key) {
+        if (Objects.isNull(invalidationTopic)) {
+            return;
+        }
+
+        batch.getTopic(invalidationTopicName, StringCodec.INSTANCE).publishAsync(nodeId + CacheProperties.DEFAULT_SEPARATOR + key);
+    }
+
+    /**
+     * 处理其他节点发送的失效通知
+     *
+     * @param message 失效通知
+     */
+    private void onInvalidation(String message) {
+        if (StringUtils.equals(StringUtils.substringBefore(message, CacheProperties.DEFAULT_SEPARATOR), nodeId)) {
+            return;
+        }
+
+        invalidateNearCache(StringUtils.substringAfter(message, CacheProperties.DEFAULT_SEPARATOR));
+    }
+
+    protected SecurityUserDetails doRememberMeAuthentication(RememberMeAuthenticationToken token, AuthenticationCacheContext cache) {
+
+        RememberMeToken redisObject = cache.getRememberMeToken();
 
         if (Objects.isNull(redisObject)) {
             String error = messages.getMessage(
@@ -127,19 +483,8 @@ public class RequestAuthenticationProvider implements AuthenticationManager, Aut
             );
             throw new RememberMeAuthenticationException(error);
         }
-        CacheProperties authenticationCache = null;
-        if (Objects.nonNull(properties.getAuthenticationCache())) {
-            authenticationCache = CacheProperties.of(
-                    properties.getAuthenticationCache().getName(token.getName()),
-                    properties.getAuthenticationCache().getExpiresTime()
-            );
-        }
-        SecurityUserDetails userDetails = null;
         // 如果启用认证缓存，从认证缓存里获取用户
-        if (Objects.nonNull(authenticationCache)) {
-            RBucket<SecurityUserDetails> userDetailsBucket = redissonClient.getBucket(authenticationCache.getName());
-            userDetails = userDetailsBucket.get();
-        }
+        SecurityUserDetails userDetails = cache.getUserDetails();
 
         if (Objects.isNull(userDetails)) {
             Optional<UserDetailsService> optional = getUserDetailsService(token);
@@ -159,10 +504,7 @@ public class RequestAuthenticationProvider implements AuthenticationManager, Aut
         return userDetails;
     }
 
-    protected SecurityUserDetails doPrincipalAuthenticate(RequestAuthenticationToken token) {
-
-        SecurityUserDetails userDetails = null;
-        CacheProperties authenticationCache = null;
+    protected SecurityUserDetails doPrincipalAuthenticate(RequestAuthenticationToken token, AuthenticationCacheContext cache) {
 
         Optional<UserDetailsService> optional = getUserDetailsService(token);
 
@@ -172,19 +514,9 @@ public class RequestAuthenticationProvider implements AuthenticationManager, Aut
         );
 
         UserDetailsService userDetailsService = optional.orElseThrow(() -> new AuthenticationServiceException(message));
-        boolean cache = userDetailsService.isSupportCache(token);
+        boolean supportCache = userDetailsService.isSupportCache(token);
         // 如果启用认证缓存，从认证缓存里获取用户
-        if (Objects.nonNull(properties.getAuthenticationCache()) && userDetailsService.isSupportCache(token)) {
-            authenticationCache = CacheProperties.of(
-                    properties.getAuthenticationCache().getName(token.getName()),
-                    properties.getAuthenticationCache().getExpiresTime()
-            );
-        }
-
-        if (Objects.nonNull(authenticationCache)) {
-            RBucket<SecurityUserDetails> bucket = redissonClient.getBucket(authenticationCache.getName());
-            userDetails = bucket.get();
-        }
+        SecurityUserDetails userDetails = cache.getUserDetails();
 
         try {
 
@@ -216,18 +548,13 @@ public class RequestAuthenticationProvider implements AuthenticationManager, Aut
             userDetails.setType(token.getType());
         }
 
-        if (!cache) {
+        if (!supportCache) {
             return userDetails;
         }
 
         // 如果启用认证缓存，存储用户信息到缓存里
-        if (Objects.nonNull(authenticationCache)) {
-            RBucket<SecurityUserDetails> bucket = redissonClient.getBucket(authenticationCache.getName());
-
-            bucket.setAsync(userDetails);
-            if (Objects.nonNull(authenticationCache.getExpiresTime())) {
-                bucket.expireAsync(authenticationCache.getExpiresTime().toDuration());
-            }
+        if (Objects.nonNull(cache.getAuthenticationCache())) {
+            cache.setUserDetailsToWrite(userDetails);
         }
 
         return userDetails;
@@ -287,6 +614,34 @@ public class RequestAuthenticationProvider implements AuthenticationManager, Aut
      */
     public PrincipalAuthenticationToken createSuccessAuthentication(SecurityUserDetails userDetails,
                                                                     SimpleAuthenticationToken token) {
+        AuthenticationCacheContext cache = new AuthenticationCacheContext();
+
+        // 已经有用户明细，只需要读取授权缓存，授权信息没有变化时不写入
+        Optional<UserDetailsService> optional = getUserDetailsService(token);
+        if (optional.isPresent() && optional.get().isSupportCache(token)) {
+            cache.setAuthorizationCache(createAuthorizationCache(token));
+        }
+
+        if (Objects.nonNull(cache.getAuthorizationCache())) {
+            readAuthorizationCache(cache);
+        }
+
+        PrincipalAuthenticationToken result = createSuccessAuthentication(userDetails, token, cache);
+        writeAuthenticationCache(cache);
+        return result;
+    }
+
+    /**
+     * 创建认证信息
+     *
+     * @param userDetails 当前用户
+     * @param token       当前认真 token
+     * @param cache       认证缓存上下文
+     * @return spring security 认证信息
+     */
+    protected PrincipalAuthenticationToken createSuccessAuthentication(SecurityUserDetails userDetails,
+                                                                       SimpleAuthenticationToken token,
+                                                                       AuthenticationCacheContext cache) {
 
         // 通过 token 获取对应 type 实现的 UserDetailsService
         Optional<UserDetailsService> optional = getUserDetailsService(token);
@@ -305,19 +660,9 @@ public class RequestAuthenticationProvider implements AuthenticationManager, Aut
 
         Collection<? extends GrantedAuthority> grantedAuthorities = userDetails.getAuthorities();
 
-        // 获取认证缓存
-        CacheProperties authorizationCache = null;
-        if (Objects.nonNull(properties.getAuthorizationCache()) && userDetailsService.isSupportCache(token)) {
-            authorizationCache = CacheProperties.of(
-                    properties.getAuthorizationCache().getName(token.getName()),
-                    properties.getAuthorizationCache().getExpiresTime()
-            );
-        }
-
         // 如果启用授权缓存，从授权缓存获取用户授权信息
-        if (Objects.nonNull(authorizationCache) && CollectionUtils.isEmpty(grantedAuthorities)) {
-            RList<GrantedAuthority> list = redissonClient.getList(authorizationCache.getName());
-            grantedAuthorities = list.range(0, list.size());
+        if (CollectionUtils.isEmpty(grantedAuthorities)) {
+            grantedAuthorities = cache.getAuthorities();
         }
 
         // 如果找不到授权信息，调用 UserDetailsService 的 getPrincipalAuthorities 方法获取当前用户授权信息
@@ -325,15 +670,10 @@ public class RequestAuthenticationProvider implements AuthenticationManager, Aut
             grantedAuthorities = userDetailsService.getPrincipalAuthorities(userDetails);
         }
 
-        // 如果启用授权缓存，缓存一次授权信息
-        if (Objects.nonNull(authorizationCache)) {
-
-            RList<GrantedAuthority> list = redissonClient.getList(authorizationCache.getName());
-            list.addAllAsync(grantedAuthorities);
-
-            if (Objects.nonNull(authorizationCache.getExpiresTime())) {
-                list.expireAsync(authorizationCache.getExpiresTime().toDuration());
-            }
+        // 如果启用授权缓存，并且授权信息与缓存中的不一致，缓存一次授权信息
+        if (Objects.nonNull(cache.getAuthorizationCache())
+                && !Objects.equals(new ArrayList<>(grantedAuthorities), cache.getAuthorities())) {
+            cache.setAuthoritiesToWrite(grantedAuthorities);
         }
 
         return userDetailsService.createSuccessAuthentication(userDetails, token, grantedAuthorities);
@@ -367,6 +707,17 @@ public class RequestAuthenticationProvider implements AuthenticationManager, Aut
     @Override
     public void afterPropertiesSet() {
         Assert.notNull(userDetailsServices, "至少要一个" + UserDetailsService.class.getName() + "接口的实现");
+
+        if (Objects.nonNull(invalidationTopic)) {
+            invalidationListenerId = invalidationTopic.addListener(String.class, (channel, message) -> onInvalidation(message));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (Objects.nonNull(invalidationListenerId)) {
+            invalidationTopic.removeListener(invalidationListenerId);
+        }
     }
 
     /**
@@ -405,4 +756,102 @@ public class RequestAuthenticationProvider implements AuthenticationManager, Aut
         this.hideUserNotFoundExceptions = hideUserNotFoundExceptions;
     }
 
+    /**
+     * 认证缓存上下文，保存一次认证中从 redis 读取的缓存和需要写入 redis 的缓存
+     *
+     * @author maurice.chen
+     */
+    public static class AuthenticationCacheContext {
+
+        /**
+         * 认证缓存配置，name 为当前用户的 redis key，不使用认证缓存时为 null
+         */
+        private CacheProperties authenticationCache;
+
+        /**
+         * 授权缓存配置，name 为当前用户的 redis key，不使用授权缓存时为 null
+         */
+        private CacheProperties authorizationCache;
+
+        /**
+         * 记住我 token
+         */
+        private RememberMeToken rememberMeToken;
+
+        /**
+         * 认证缓存中的用户明细
+         */
+        private SecurityUserDetails userDetails;
+
+        /**
+         * 本地缓存或授权缓存中的授权信息
+         */
+        private List<GrantedAuthority> authorities;
+
+        /**
+         * 需要写入认证缓存的用户明细
+         */
+        private SecurityUserDetails userDetailsToWrite;
+
+        /**
+         * 需要写入授权缓存的授权信息
+         */
+        private Collection<? extends GrantedAuthority> authoritiesToWrite;
+
+        public CacheProperties getAuthenticationCache() {
+            return authenticationCache;
+        }
+
+        public void setAuthenticationCache(CacheProperties authenticationCache) {
+            this.authenticationCache = authenticationCache;
+        }
+
+        public CacheProperties getAuthorizationCache() {
+            return authorizationCache;
+        }
+
+        public void setAuthorizationCache(CacheProperties authorizationCache) {
+            this.authorizationCache = authorizationCache;
+        }
+
+        public RememberMeToken getRememberMeToken() {
+            return rememberMeToken;
+        }
+
+        public void setRememberMeToken(RememberMeToken rememberMeToken) {
+            this.rememberMeToken = rememberMeToken;
+        }
+
+        public SecurityUserDetails getUserDetails() {
+            return userDetails;
+        }
+
+        public void setUserDetails(SecurityUserDetails userDetails) {
+            this.userDetails = userDetails;
+        }
+
+        public List<GrantedAuthority> getAuthorities() {
+            return authorities;
+        }
+
+        public void setAuthorities(List<GrantedAuthority> authorities) {
+            this.authorities = authorities;
+        }
+
+        public SecurityUserDetails getUserDetailsToWrite() {
+            return userDetailsToWrite;
+        }
+
+        public void setUserDetailsToWrite(SecurityUserDetails userDetailsToWrite) {
+            this.userDetailsToWrite = userDetailsToWrite;
+        }
+
+        public Collection<? extends GrantedAuthority> getAuthoritiesToWrite() {
+            return authoritiesToWrite;
+        }
+
+        public void setAuthoritiesToWrite(Collection<? extends GrantedAuthority> authoritiesToWrite) {
+            this.authoritiesToWrite = authoritiesToWrite;
+        }
+    }
 }
@@ -117,4 +117,13 @@ public class SimpleAuthenticationToken extends AbstractAuthenticationToken {
     public boolean isRememberMe() {
         return rememberMe;
     }
+
+    /**
+     * 获取原始的用户认证 token
+     *
+     * @return 原始的用户认证 token
+     */
+    public UsernamePasswordAuthenticationToken getToken() {
+        return token;
+    }
 }
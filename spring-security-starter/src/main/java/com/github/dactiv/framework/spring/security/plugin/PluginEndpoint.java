@@ -256,7 +256,7 @@ public class PluginEndpoint {
 
         LOGGER.info("找到" + cache.size() + "条记录信息");
 
-        result = TreeUtils.buildTree(pluginInfoList);
+        result = TreeUtils.buildTree(pluginInfoList, PluginInfo::getId);
 
         return result;
     }
@@ -0,0 +1,321 @@
+package com.github.dactiv.framework.spring.security.test;
+
+import com.github.dactiv.framework.commons.TimeProperties;
+import com.github.dactiv.framework.crypto.algorithm.Base64;
+import com.github.dactiv.framework.crypto.algorithm.cipher.AesCipherService;
+import com.github.dactiv.framework.spring.security.authentication.AccessTokenContextRepository;
+import com.github.dactiv.framework.spring.security.authentication.config.AccessTokenProperties;
+import com.github.dactiv.framework.spring.security.authentication.config.AuthenticationProperties;
+import com.github.dactiv.framework.spring.security.authentication.token.PrincipalAuthenticationToken;
+import com.github.dactiv.framework.spring.security.entity.MobileUserDetails;
+import com.github.dactiv.framework.spring.security.entity.SecurityUserDetails;
+import com.github.fppt.jedismock.RedisServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 使用进程内的 redis 测试 {@link AccessTokenContextRepository} 的本地缓存
+ *
+ * @author maurice.chen
+ */
+public class TestAccessTokenContextRepository {
+
+    private static final String DEVICE_IDENTIFIED = "device-1";
+
+    private static RedisServer redisServer;
+
+    private static RedissonClient redissonClient;
+
+    private final List<AccessTokenContextRepository> repositories = new ArrayList<>();
+
+    @BeforeAll
+    public static void startRedis() throws IOException {
+        redisServer = RedisServer.newRedisServer().start();
+
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://" + redisServer.getHost() + ":" + redisServer.getBindPort());
+        redissonClient = Redisson.create(config);
+    }
+
+    @AfterAll
+    public static void stopRedis() throws IOException {
+        redissonClient.shutdown();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    public void flush() {
+        redissonClient.getKeys().flushall();
+    }
+
+    @AfterEach
+    public void destroyRepositories() {
+        repositories.forEach(AccessTokenContextRepository::destroy);
+        repositories.clear();
+    }
+
+    @Test
+    public void testNearCacheDisabledByDefault() {
+        Assertions.assertEquals(0, new AccessTokenProperties().getNearCacheMaximumSize());
+
+        AccessTokenContextRepository repository = createRepository(createProperties(0));
+        SecurityContext context = createSecurityContext(repository);
+        String token = save(repository, context);
+
+        Assertions.assertNotNull(repository.getSecurityContext(token));
+
+        // 不使用本地缓存时每次都读取 redis
+        redissonClient.getKeys().flushall();
+        Assertions.assertNull(repository.getSecurityContext(token));
+    }
+
+    @Test
+    public void testNearCacheHitAndMiss() {
+        AccessTokenContextRepository repository = createRepository(createProperties(100));
+        SecurityContext context = createSecurityContext(repository);
+        String token = save(repository, context);
+
+        SecurityContext first = repository.getSecurityContext(token);
+        Assertions.assertNotNull(first);
+
+        // 直接修改 redis 不会通知本地缓存，命中时仍然返回原来的内容
+        RBucket<SecurityContext> bucket = getBucket(repository);
+        SecurityContext changed = createSecurityContext(repository);
+        getUserDetails(changed).getMeta().putAll(getUserDetails(context).getMeta());
+        getUserDetails(changed).getMeta().put("nickname", "changed");
+        bucket.set(changed);
+
+        SecurityContext second = repository.getSecurityContext(token);
+        Assertions.assertNotNull(second);
+        Assertions.assertFalse(getUserDetails(second).getMeta().containsKey("nickname"));
+
+        // 未知的 token 不命中
+        SecurityContext other = createSecurityContext(repository);
+        Assertions.assertNull(repository.getSecurityContext(repository.generatePlaintextString(getUserDetails(other))));
+
+        // 删除后不再命中
+        repository.invalidateNearCache(bucket.getName());
+        Assertions.assertEquals("changed", getUserDetails(repository.getSecurityContext(token)).getMeta().get("nickname"));
+    }
+
+    @Test
+    public void testNearCacheReturnsCopy() {
+        AccessTokenContextRepository repository = createRepository(createProperties(100));
+        String token = save(repository, createSecurityContext(repository));
+
+        SecurityContext first = repository.getSecurityContext(token);
+        SecurityUserDetails userDetails = getUserDetails(first);
+        userDetails.getMeta().put("nickname", "changed");
+        userDetails.setUsername("changed");
+        first.setAuthentication(null);
+
+        SecurityContext second = repository.getSecurityContext(token);
+        Assertions.assertNotSame(first, second);
+        Assertions.assertNotNull(second.getAuthentication());
+        Assertions.assertNotSame(userDetails, getUserDetails(second));
+        Assertions.assertEquals("test", getUserDetails(second).getUsername());
+        Assertions.assertFalse(getUserDetails(second).getMeta().containsKey("nickname"));
+    }
+
+    @Test
+    public void testNearCacheTimeToLiveCappedByRedis() throws InterruptedException {
+        AuthenticationProperties properties = createProperties(100);
+        properties.getAuthenticationCache().setExpiresTime(TimeProperties.ofSeconds(1));
+
+        AccessTokenContextRepository repository = createRepository(properties);
+        String token = save(repository, createSecurityContext(repository));
+
+        RBucket<SecurityContext> bucket = getBucket(repository);
+        waitUntil(() -> bucket.remainTimeToLive() > 0);
+
+        Assertions.assertNotNull(repository.getSecurityContext(token));
+
+        Thread.sleep(1500);
+
+        // 本地缓存配置的存活时间为 30 秒，但不会超过 redis 的剩余存活时间
+        Assertions.assertFalse(bucket.isExists());
+        Assertions.assertNull(repository.getSecurityContext(token));
+    }
+
+    @Test
+    public void testNearCacheInvalidationAcrossNodes() {
+        AuthenticationProperties properties = createProperties(100);
+        AccessTokenContextRepository node1 = createRepository(properties);
+        AccessTokenContextRepository node2 = createRepository(properties);
+
+        SecurityContext context = createSecurityContext(node1);
+        String token = save(node1, context);
+
+        Assertions.assertNotNull(node1.getSecurityContext(token));
+        Assertions.assertNotNull(node2.getSecurityContext(token));
+
+        getUserDetails(context).getMeta().put("nickname", "changed");
+        save(node2, context);
+
+        // node2 保存时同步删除本地缓存，node1 通过 redis 主题收到失效通知
+        Assertions.assertEquals("changed", getUserDetails(node2.getSecurityContext(token)).getMeta().get("nickname"));
+        waitUntil(() -> "changed".equals(getUserDetails(node1.getSecurityContext(token)).getMeta().get("nickname")));
+
+        node2.deleteContext(getUserDetails(context));
+        Assertions.assertNull(node2.getSecurityContext(token));
+        waitUntil(() -> node1.getSecurityContext(token) == null);
+    }
+
+    @Test
+    public void testResolveAccessTokenOncePerRequest() {
+        AuthenticationProperties properties = createProperties(0);
+        CountingAccessTokenContextRepository repository = new CountingAccessTokenContextRepository(properties);
+        repositories.add(repository);
+
+        String token = save(repository, createSecurityContext(repository));
+
+        MockHttpServletRequest request = createRequest(token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Assertions.assertTrue(repository.containsContext(request));
+        Assertions.assertNotNull(repository.loadDeferredContext(request).get().getAuthentication());
+        Assertions.assertNotNull(repository.loadContext(new HttpRequestResponseHolder(request, response)).getAuthentication());
+        Assertions.assertEquals(1, repository.count.get());
+
+        // 没有访问 token 的请求也只解析一次
+        MockHttpServletRequest anonymous = new MockHttpServletRequest();
+        Assertions.assertFalse(repository.containsContext(anonymous));
+        Assertions.assertNull(repository.loadDeferredContext(anonymous).get().getAuthentication());
+        Assertions.assertEquals(1, repository.count.get());
+    }
+
+    @Test
+    public void testSaveContextInvalidatesResolvedAccessToken() {
+        AuthenticationProperties properties = createProperties(100);
+        CountingAccessTokenContextRepository repository = new CountingAccessTokenContextRepository(properties);
+        // 不保存到 session，保证再次读取时只能通过访问 token 解析
+        repository.setAllowSessionCreation(false);
+        repository.afterPropertiesSet();
+        repositories.add(repository);
+
+        SecurityContext context = createSecurityContext(repository);
+        String token = save(repository, context);
+
+        MockHttpServletRequest request = createRequest(token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        SecurityContext loaded = repository.loadDeferredContext(request).get();
+        Assertions.assertFalse(getUserDetails(loaded).getMeta().containsKey("nickname"));
+        Assertions.assertEquals(1, repository.count.get());
+
+        getUserDetails(loaded).getMeta().put("nickname", "changed");
+        repository.saveContext(loaded, request, response);
+
+        // 保存后当前请求和本地缓存中的结果都不再有效，再次读取时重新解析
+        Assertions.assertNull(request.getAttribute(AccessTokenContextRepository.RESOLVED_ACCESS_TOKEN_ATTRIBUTE_NAME));
+        Assertions.assertTrue(repository.containsContext(request));
+        Assertions.assertEquals(2, repository.count.get());
+
+        MockHttpServletRequest next = createRequest(token);
+        Assertions.assertEquals("changed", getUserDetails(repository.loadDeferredContext(next).get()).getMeta().get("nickname"));
+    }
+
+    private AuthenticationProperties createProperties(long nearCacheMaximumSize) {
+        AuthenticationProperties properties = new AuthenticationProperties();
+        properties.getAccessToken().setKey(Base64.encodeToString(new AesCipherService().generateKey().getEncoded()));
+        properties.getAccessToken().setNearCacheMaximumSize(nearCacheMaximumSize);
+        return properties;
+    }
+
+    private AccessTokenContextRepository createRepository(AuthenticationProperties properties) {
+        AccessTokenContextRepository repository = new AccessTokenContextRepository(redissonClient, properties);
+        repository.afterPropertiesSet();
+        repositories.add(repository);
+        return repository;
+    }
+
+    private SecurityContext createSecurityContext(AccessTokenContextRepository repository) {
+        MobileUserDetails userDetails = new MobileUserDetails(1, "test", "123456", DEVICE_IDENTIFIED);
+        userDetails.setType(MobileUserDetails.DEFAULT_TYPE);
+        userDetails.setMeta(new LinkedHashMap<>());
+        userDetails.getMeta().put(AccessTokenProperties.DEFAULT_ACCESS_TOKEN_PARAM_NAME, repository.generatePlaintextString(userDetails));
+
+        PrincipalAuthenticationToken authentication = new PrincipalAuthenticationToken(
+                new UsernamePasswordAuthenticationToken(userDetails.getUsername(), userDetails.getPassword()),
+                userDetails,
+                false,
+                new Date()
+        );
+        authentication.setDetails(userDetails);
+        authentication.setAuthenticated(true);
+
+        return new SecurityContextImpl(authentication);
+    }
+
+    private MockHttpServletRequest createRequest(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(AccessTokenProperties.DEFAULT_ACCESS_TOKEN_HEADER_NAME, token);
+        return request;
+    }
+
+    private String save(AccessTokenContextRepository repository, SecurityContext context) {
+        repository.saveContext(context, new MockHttpServletRequest(), new MockHttpServletResponse());
+        return getUserDetails(context).getMeta().get(AccessTokenProperties.DEFAULT_ACCESS_TOKEN_PARAM_NAME).toString();
+    }
+
+    private RBucket<SecurityContext> getBucket(AccessTokenContextRepository repository) {
+        return repository.getSecurityContextBucket(MobileUserDetails.DEFAULT_TYPE, 1);
+    }
+
+    private static SecurityUserDetails getUserDetails(SecurityContext context) {
+        return (SecurityUserDetails) context.getAuthentication().getDetails();
+    }
+
+    private static void waitUntil(Supplier<Boolean> condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.get()) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "等待超时");
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                Assertions.fail(e);
+            }
+        }
+    }
+
+    /**
+     * 记录解析访问 token 次数的访问 token 上下文仓库
+     */
+    private static class CountingAccessTokenContextRepository extends AccessTokenContextRepository {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        public CountingAccessTokenContextRepository(AuthenticationProperties authenticationProperties) {
+            super(redissonClient, authenticationProperties);
+        }
+
+        @Override
+        public SecurityContext getSecurityContext(String token) {
+            count.incrementAndGet();
+            return super.getSecurityContext(token);
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.github.dactiv.framework.spring.security.test;
+
+import com.github.dactiv.framework.spring.security.authentication.UserDetailsService;
+import com.github.dactiv.framework.spring.security.authentication.config.AuthenticationProperties;
+import com.github.dactiv.framework.spring.security.authentication.provider.RequestAuthenticationProvider;
+import com.github.dactiv.framework.spring.security.authentication.token.PrincipalAuthenticationToken;
+import com.github.dactiv.framework.spring.security.authentication.token.RequestAuthenticationToken;
+import com.github.dactiv.framework.spring.security.entity.SecurityUserDetails;
+import com.github.fppt.jedismock.RedisServer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RList;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 使用进程内的 redis 测试 {@link RequestAuthenticationProvider} 的认证缓存、授权缓存和授权信息本地缓存
+ *
+ * @author maurice.chen
+ */
+public class TestRequestAuthenticationProvider {
+
+    private static final String TYPE = "test";
+
+    private static final String USERNAME = "admin";
+
+    private static final String TOKEN_NAME = TYPE + ":" + USERNAME;
+
+    private static final List<GrantedAuthority> AUTHORITIES = List.of(
+            new SimpleGrantedAuthority("ROLE_ADMIN"),
+            new SimpleGrantedAuthority("perms[user:get]")
+    );
+
+    private static RedisServer redisServer;
+
+    private static RedissonClient redissonClient;
+
+    private final List<RecordingRequestAuthenticationProvider> providers = new ArrayList<>();
+
+    @BeforeAll
+    public static void startRedis() throws IOException {
+        redisServer = RedisServer.newRedisServer().start();
+
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://" + redisServer.getHost() + ":" + redisServer.getBindPort());
+        redissonClient = Redisson.create(config);
+    }
+
+    @AfterAll
+    public static void stopRedis() throws IOException {
+        redissonClient.shutdown();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    public void flush() {
+        redissonClient.getKeys().flushall();
+    }
+
+    @AfterEach
+    public void destroyProviders() {
+        providers.forEach(RequestAuthenticationProvider::destroy);
+        providers.clear();
+    }
+
+    @Test
+    public void testAuthenticationAndAuthorizationCache() {
+        AuthenticationProperties properties = new AuthenticationProperties();
+        CountingUserDetailsService userDetailsService = new CountingUserDetailsService();
+        RecordingRequestAuthenticationProvider provider = createProvider(properties, userDetailsService);
+
+        assertAuthenticated(provider.authenticate(createToken()));
+        provider.awaitWrite();
+
+        Assertions.assertEquals(1, userDetailsService.userDetailsCount.get());
+        Assertions.assertEquals(1, userDetailsService.authoritiesCount.get());
+
+        // 用户明细和授权信息在同一个事务中写入，值和存活时间同时生效
+        String authenticationKey = properties.getAuthenticationCache().getName(TOKEN_NAME);
+        String authorizationKey = properties.getAuthorizationCache().getName(TOKEN_NAME);
+        Assertions.assertTrue(redissonClient.getBucket(authenticationKey).remainTimeToLive() > 0);
+        Assertions.assertTrue(redissonClient.getList(authorizationKey).remainTimeToLive() > 0);
+
+        // 再次认证时从缓存获取
+        assertAuthenticated(provider.authenticate(createToken()));
+        provider.awaitWrite();
+
+        Assertions.assertEquals(1, userDetailsService.userDetailsCount.get());
+        Assertions.assertEquals(1, userDetailsService.authoritiesCount.get());
+    }
+
+    @Test
+    public void testAuthorizationCacheNotRewrittenWhenUnchanged() {
+        AuthenticationProperties properties = new AuthenticationProperties();
+        properties.setAuthorizationNearCacheMaximumSize(0);
+        CountingUserDetailsService userDetailsService = new CountingUserDetailsService();
+        RecordingRequestAuthenticationProvider provider = createProvider(properties, userDetailsService);
+
+        provider.authenticate(createToken());
+        provider.awaitWrite();
+        Assertions.assertNotNull(provider.written.getAuthoritiesToWrite());
+
+        RList<GrantedAuthority> list = redissonClient.getList(properties.getAuthorizationCache().getName(TOKEN_NAME));
+        list.expire(Duration.ofSeconds(100));
+
+        assertAuthenticated(provider.authenticate(createToken()));
+        provider.awaitWrite();
+
+        Assertions.assertNull(provider.written.getAuthoritiesToWrite());
+        Assertions.assertTrue(list.remainTimeToLive() <= Duration.ofSeconds(100).toMillis());
+    }
+
+    @Test
+    public void testCreateSuccessAuthentication() {
+        AuthenticationProperties properties = new AuthenticationProperties();
+        properties.setAuthorizationNearCacheMaximumSize(0);
+        CountingUserDetailsService userDetailsService = new CountingUserDetailsService();
+        RecordingRequestAuthenticationProvider provider = createProvider(properties, userDetailsService);
+
+        SecurityUserDetails userDetails = userDetailsService.getAuthenticationUserDetails(createToken());
+
+        assertAuthenticated(provider.createSuccessAuthentication(userDetails, createToken()));
+        provider.awaitWrite();
+
+        // 只写入授权缓存，不读取和写入认证缓存
+        Assertions.assertNull(provider.written.getAuthenticationCache());
+        Assertions.assertNotNull(provider.written.getAuthoritiesToWrite());
+        Assertions.assertFalse(redissonClient.getBucket(properties.getAuthenticationCache().getName(TOKEN_NAME)).isExists());
+
+        assertAuthenticated(provider.createSuccessAuthentication(userDetails, createToken()));
+        provider.awaitWrite();
+
+        Assertions.assertNull(provider.written.getAuthoritiesToWrite());
+        Assertions.assertEquals(1, userDetailsService.authoritiesCount.get());
+    }
+
+    @Test
+    public void testAuthorizationNearCache() {
+        AuthenticationProperties properties = new AuthenticationProperties();
+        CountingUserDetailsService userDetailsService = new CountingUserDetailsService();
+        RecordingRequestAuthenticationProvider provider = createProvider(properties, userDetailsService);
+
+        provider.authenticate(createToken());
+        provider.awaitWrite();
+
+        // 第二次认证从 redis 读取授权信息并保存到本地缓存
+        provider.authenticate(createToken());
+        provider.awaitWrite();
+
+        // 直接删除 redis 中的授权缓存不会通知本地缓存，命中时仍然返回原来的内容
+        String authorizationKey = properties.getAuthorizationCache().getName(TOKEN_NAME);
+        redissonClient.getList(authorizationKey).delete();
+
+        assertAuthenticated(provider.authenticate(createToken()));
+        provider.awaitWrite();
+        Assertions.assertEquals(1, userDetailsService.authoritiesCount.get());
+        Assertions.assertFalse(redissonClient.getList(authorizationKey).isExists());
+
+        // 删除授权缓存后重新获取授权信息
+        provider.deleteAuthorizationCache(TOKEN_NAME);
+
+        assertAuthenticated(provider.authenticate(createToken()));
+        provider.awaitWrite();
+        Assertions.assertEquals(2, userDetailsService.authoritiesCount.get());
+        Assertions.assertTrue(redissonClient.getList(authorizationKey).isExists());
+    }
+
+    @Test
+    public void testAuthorizationNearCacheInvalidationAcrossNodes() {
+        AuthenticationProperties properties = new AuthenticationProperties();
+
+        CountingUserDetailsService userDetailsService1 = new CountingUserDetailsService();
+        RecordingRequestAuthenticationProvider node1 = createProvider(properties, userDetailsService1);
+
+        CountingUserDetailsService userDetailsService2 = new CountingUserDetailsService();
+        RecordingRequestAuthenticationProvider node2 = createProvider(properties, userDetailsService2);
+
+        node1.authenticate(createToken());
+        node1.awaitWrite();
+
+        // node2 从 redis 读取授权信息并保存到本地缓存
+        node2.authenticate(createToken());
+        node2.awaitWrite();
+        Assertions.assertEquals(0, userDetailsService2.authoritiesCount.get());
+
+        String authorizationKey = properties.getAuthorizationCache().getName(TOKEN_NAME);
+        node1.deleteAuthorizationCache(TOKEN_NAME);
+        Assertions.assertFalse(redissonClient.getList(authorizationKey).isExists());
+
+        // node2 通过 redis 主题收到失效通知后重新获取授权信息
+        waitUntil(() -> {
+            assertAuthenticated(node2.authenticate(createToken()));
+            node2.awaitWrite();
+            return userDetailsService2.authoritiesCount.get() == 1;
+        });
+    }
+
+    @Test
+    public void testLegacyAuthorizationCache() {
+        AuthenticationProperties properties = new AuthenticationProperties();
+        CountingUserDetailsService userDetailsService = new CountingUserDetailsService();
+        RecordingRequestAuthenticationProvider provider = createProvider(properties, userDetailsService);
+
+        // 原来的授权缓存使用 redisson 客户端默认的编解码器写入
+        String authorizationKey = properties.getAuthorizationCache().getName(TOKEN_NAME);
+        redissonClient.<GrantedAuthority>getList(authorizationKey).addAll(AUTHORITIES);
+
+        assertAuthenticated(provider.authenticate(createToken()));
+        provider.awaitWrite();
+
+        Assertions.assertEquals(0, userDetailsService.authoritiesCount.get());
+    }
+
+    private RecordingRequestAuthenticationProvider createProvider(AuthenticationProperties properties,
+                                                                  UserDetailsService userDetailsService) {
+        RecordingRequestAuthenticationProvider provider = new RecordingRequestAuthenticationProvider(properties, userDetailsService);
+        provider.afterPropertiesSet();
+        providers.add(provider);
+        return provider;
+    }
+
+    private static RequestAuthenticationToken createToken() {
+        return new RequestAuthenticationToken(
+                new MockHttpServletRequest(),
+                new MockHttpServletResponse(),
+                new UsernamePasswordAuthenticationToken(USERNAME, "123456"),
+                TYPE,
+                false
+        );
+    }
+
+    private static void assertAuthenticated(Authentication authentication) {
+        PrincipalAuthenticationToken token = (PrincipalAuthenticationToken) authentication;
+        Assertions.assertEquals(AUTHORITIES, new ArrayList<GrantedAuthority>(token.getAuthorities()));
+    }
+
+    private static void waitUntil(Supplier<Boolean> condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.get()) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "等待超时");
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                Assertions.fail(e);
+            }
+        }
+    }
+
+    /**
+     * 记录最后一次写入缓存内容的请求认证供应者
+     */
+    private static class RecordingRequestAuthenticationProvider extends RequestAuthenticationProvider {
+
+        private AuthenticationCacheContext written;
+
+        private CompletionStage<Void> writeResult;
+
+        public RecordingRequestAuthenticationProvider(AuthenticationProperties properties,
+                                                      UserDetailsService userDetailsService) {
+            super(redissonClient, properties, List.of(userDetailsService));
+        }
+
+        @Override
+        protected CompletionStage<Void> writeAuthenticationCache(AuthenticationCacheContext cache) {
+            written = cache;
+            writeResult = super.writeAuthenticationCache(cache);
+            return writeResult;
+        }
+
+        public void awaitWrite() {
+            writeResult.toCompletableFuture().join();
+        }
+    }
+
+    /**
+     * 记录获取用户明细和授权信息次数的用户明细服务
+     */
+    private static class CountingUserDetailsService implements UserDetailsService {
+
+        private final AtomicInteger userDetailsCount = new AtomicInteger();
+
+        private final AtomicInteger authoritiesCount = new AtomicInteger();
+
+        @Override
+        public SecurityUserDetails getAuthenticationUserDetails(RequestAuthenticationToken token) {
+            userDetailsCount.incrementAndGet();
+            SecurityUserDetails userDetails = new SecurityUserDetails(1, token.getPrincipal().toString(), "123456");
+            userDetails.setType(TYPE);
+            return userDetails;
+        }
+
+        @Override
+        public Collection<? extends GrantedAuthority> getPrincipalAuthorities(SecurityUserDetails userDetails) {
+            authoritiesCount.incrementAndGet();
+            return AUTHORITIES;
+        }
+
+        @Override
+        public List<String> getType() {
+            return List.of(TYPE);
+        }
+
+        @Override
+        public PasswordEncoder getPasswordEncoder() {
+            return null;
+        }
+
+        @Override
+        public boolean matchesPassword(String presentedPassword, RequestAuthenticationToken token, SecurityUserDetails userDetails) {
+            return StringUtils.equals(presentedPassword, userDetails.getPassword());
+        }
+
+        @Override
+        public Authentication createToken(HttpServletRequest request, HttpServletResponse response, String type) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.github.dactiv.framework.spring.security.test;
+
+import com.github.dactiv.framework.security.entity.ResourceAuthority;
+import com.github.dactiv.framework.security.entity.RoleAuthority;
+import com.github.dactiv.framework.security.enumerate.UserStatus;
+import com.github.dactiv.framework.spring.security.authentication.codec.SecurityEntityCodec;
+import com.github.dactiv.framework.spring.security.authentication.token.PrincipalAuthenticationToken;
+import com.github.dactiv.framework.spring.security.entity.MobileUserDetails;
+import com.github.dactiv.framework.spring.security.entity.SecurityUserDetails;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.redisson.client.codec.BaseCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.codec.Kryo5Codec;
+import org.redisson.codec.SerializationCodec;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link SecurityEntityCodec} 编解码测试
+ *
+ * @author maurice.chen
+ */
+public class TestSecurityEntityCodec {
+
+    private final SecurityEntityCodec codec = SecurityEntityCodec.INSTANCE;
+
+    @Test
+    public void testRoleAuthority() throws IOException {
+        RoleAuthority authority = new RoleAuthority("管理员", "ROLE_ADMIN");
+
+        RoleAuthority result = (RoleAuthority) roundTrip(codec, authority);
+
+        Assertions.assertNotSame(authority, result);
+        Assertions.assertEquals(authority, result);
+        Assertions.assertEquals(authority.hashCode(), result.hashCode());
+        assertRoleAuthority(authority, result);
+    }
+
+    @Test
+    public void testResourceAuthority() throws IOException {
+        ResourceAuthority authority = new ResourceAuthority("perms[user:get]", "获取用户", "/user/get/**");
+
+        ResourceAuthority result = (ResourceAuthority) roundTrip(codec, authority);
+
+        Assertions.assertNotSame(authority, result);
+        Assertions.assertEquals(authority, result);
+        Assertions.assertEquals(authority.hashCode(), result.hashCode());
+        assertResourceAuthority(authority, result);
+    }
+
+    @Test
+    public void testSecurityUserDetails() throws IOException {
+        SecurityUserDetails userDetails = createUserDetails(new SecurityUserDetails(1L, "test", "123456", UserStatus.Disabled));
+        userDetails.setAccountNonLocked(false);
+
+        SecurityUserDetails result = (SecurityUserDetails) roundTrip(codec, userDetails);
+
+        Assertions.assertEquals(SecurityUserDetails.class, result.getClass());
+        assertUserDetails(userDetails, result);
+    }
+
+    @Test
+    public void testMobileUserDetails() throws IOException {
+        MobileUserDetails userDetails = createUserDetails(new MobileUserDetails(1, "test", "123456", "device-1"));
+
+        MobileUserDetails result = (MobileUserDetails) roundTrip(codec, userDetails);
+
+        assertUserDetails(userDetails, result);
+        Assertions.assertEquals("device-1", result.getDeviceIdentified());
+    }
+
+    @Test
+    public void testPrincipalAuthenticationToken() throws IOException {
+        PrincipalAuthenticationToken token = createAuthenticationToken();
+
+        PrincipalAuthenticationToken result = (PrincipalAuthenticationToken) roundTrip(codec, token);
+
+        assertAuthenticationToken(token, result);
+    }
+
+    @Test
+    public void testPrincipalAuthenticationTokenWithUnauthenticatedToken() throws IOException {
+        SecurityUserDetails userDetails = createUserDetails(new SecurityUserDetails(1, "test", "123456"));
+        PrincipalAuthenticationToken token = new PrincipalAuthenticationToken(
+                UsernamePasswordAuthenticationToken.unauthenticated("test", "123456"),
+                userDetails,
+                true,
+                new Date()
+        );
+
+        PrincipalAuthenticationToken result = (PrincipalAuthenticationToken) roundTrip(codec, token);
+
+        assertAuthenticationToken(token, result);
+        Assertions.assertTrue(result.isRememberMe());
+        Assertions.assertFalse(result.getToken().isAuthenticated());
+        Assertions.assertNull(result.getToken().getDetails());
+    }
+
+    @Test
+    public void testSecurityContext() throws IOException {
+        SecurityContextImpl context = new SecurityContextImpl(createAuthenticationToken());
+
+        SecurityContextImpl result = (SecurityContextImpl) roundTrip(codec, context);
+
+        assertAuthenticationToken(
+                (PrincipalAuthenticationToken) context.getAuthentication(),
+                (PrincipalAuthenticationToken) result.getAuthentication()
+        );
+        Assertions.assertNull(((SecurityContextImpl) roundTrip(codec, new SecurityContextImpl())).getAuthentication());
+    }
+
+    @Test
+    public void testLegacySerializationData() throws IOException {
+        SecurityContextImpl context = new SecurityContextImpl(createAuthenticationToken());
+
+        SecurityContextImpl result = (SecurityContextImpl) decode(codec, new SerializationCodec(), context);
+
+        assertAuthenticationToken(
+                (PrincipalAuthenticationToken) context.getAuthentication(),
+                (PrincipalAuthenticationToken) result.getAuthentication()
+        );
+    }
+
+    @Test
+    public void testLegacyCodecData() throws Exception {
+        // 原来的授权缓存使用 redisson 客户端默认的编解码器写入
+        Codec legacyCodec = new Kryo5Codec();
+        SecurityEntityCodec securityEntityCodec = new SecurityEntityCodec(legacyCodec);
+
+        SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_ADMIN");
+        Assertions.assertEquals(authority, decode(securityEntityCodec, legacyCodec, authority));
+
+        SecurityUserDetails userDetails = createUserDetails(new SecurityUserDetails(1, "test", "123456"));
+        assertUserDetails(userDetails, (SecurityUserDetails) decode(securityEntityCodec, legacyCodec, userDetails));
+
+        // 新写入的数据不受旧编解码器影响
+        assertUserDetails(userDetails, (SecurityUserDetails) roundTrip(securityEntityCodec, userDetails));
+
+        // 复制后仍然使用原来的旧编解码器
+        SecurityEntityCodec copy = BaseCodec.copy(getClass().getClassLoader(), securityEntityCodec);
+        Assertions.assertEquals(authority, decode(copy, legacyCodec, authority));
+    }
+
+    @Test
+    public void testUnknownLegacyData() throws IOException {
+        ByteBuf buf = Unpooled.wrappedBuffer("unknown".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertNull(codec.getValueDecoder().decode(buf, null));
+    }
+
+    @Test
+    public void testUnsupportedVersion() {
+        ByteBuf buf = Unpooled.wrappedBuffer(new byte[]{SecurityEntityCodec.MAGIC, SecurityEntityCodec.VERSION + 1, 0});
+        Assertions.assertThrows(IOException.class, () -> codec.getValueDecoder().decode(buf, null));
+    }
+
+    private static Object roundTrip(SecurityEntityCodec codec, Object value) throws IOException {
+        return decode(codec, codec, value);
+    }
+
+    private static Object decode(SecurityEntityCodec codec, Codec writeCodec, Object value) throws IOException {
+        ByteBuf buf = writeCodec.getValueEncoder().encode(value);
+        try {
+            return codec.getValueDecoder().decode(buf, null);
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static <T extends SecurityUserDetails> T createUserDetails(T userDetails) {
+        userDetails.setType("test");
+        userDetails.setRoleAuthorities(new ArrayList<>(List.of(new RoleAuthority("管理员", "ROLE_ADMIN"))));
+        userDetails.setResourceAuthorities(new ArrayList<>(List.of(
+                new ResourceAuthority("perms[user:get]", "获取用户", "/user/get/**"),
+                new ResourceAuthority("perms[user:save]", "保存用户", "/user/save/**")
+        )));
+
+        Map<String, Object> meta = new LinkedHashMap<>();
+        meta.put("string", "value");
+        meta.put("integer", 1);
+        meta.put("long", Long.MAX_VALUE);
+        meta.put("double", 1.5D);
+        meta.put("boolean", true);
+        meta.put("date", new Date(1000L));
+        meta.put("list", new ArrayList<>(List.of("a", 1)));
+        meta.put("map", new LinkedHashMap<>(Map.of("key", "value")));
+        meta.put("null", null);
+        userDetails.setMeta(meta);
+
+        return userDetails;
+    }
+
+    private static PrincipalAuthenticationToken createAuthenticationToken() {
+        SecurityUserDetails userDetails = createUserDetails(new SecurityUserDetails(1, "test", "123456"));
+
+        UsernamePasswordAuthenticationToken inner = UsernamePasswordAuthenticationToken.authenticated(
+                "test",
+                "123456",
+                List.of(new SimpleGrantedAuthority("ROLE_INNER"))
+        );
+        inner.setDetails("127.0.0.1");
+
+        PrincipalAuthenticationToken token = new PrincipalAuthenticationToken(inner, userDetails, false, new Date());
+        token.setDetails(userDetails);
+        token.setAuthenticated(true);
+
+        return token;
+    }
+
+    private static void assertAuthenticationToken(PrincipalAuthenticationToken expected, PrincipalAuthenticationToken actual) {
+        Assertions.assertNotSame(expected, actual);
+        Assertions.assertEquals(expected.getPrincipal(), actual.getPrincipal());
+        Assertions.assertEquals(expected.getCredentials(), actual.getCredentials());
+        Assertions.assertEquals(expected.getType(), actual.getType());
+        Assertions.assertEquals(expected.isRememberMe(), actual.isRememberMe());
+        Assertions.assertEquals(expected.isAuthenticated(), actual.isAuthenticated());
+        Assertions.assertEquals(expected.getLastAuthenticationTime(), actual.getLastAuthenticationTime());
+        Assertions.assertEquals(new ArrayList<GrantedAuthority>(expected.getAuthorities()), new ArrayList<GrantedAuthority>(actual.getAuthorities()));
+
+        Assertions.assertEquals(expected.getToken().isAuthenticated(), actual.getToken().isAuthenticated());
+        Assertions.assertEquals(expected.getToken().getDetails(), actual.getToken().getDetails());
+        Assertions.assertEquals(
+                new ArrayList<GrantedAuthority>(expected.getToken().getAuthorities()),
+                new ArrayList<GrantedAuthority>(actual.getToken().getAuthorities())
+        );
+
+        if (expected.getDetails() instanceof SecurityUserDetails userDetails) {
+            assertUserDetails(userDetails, (SecurityUserDetails) actual.getDetails());
+        } else {
+            Assertions.assertEquals(expected.getDetails(), actual.getDetails());
+        }
+    }
+
+    private static void assertUserDetails(SecurityUserDetails expected, SecurityUserDetails actual) {
+        Assertions.assertNotSame(expected, actual);
+        Assertions.assertEquals(expected.getId(), actual.getId());
+        Assertions.assertEquals(expected.getUsername(), actual.getUsername());
+        Assertions.assertEquals(expected.getPassword(), actual.getPassword());
+        Assertions.assertEquals(expected.getStatus(), actual.getStatus());
+        Assertions.assertEquals(expected.getType(), actual.getType());
+        Assertions.assertEquals(expected.isAccountNonExpired(), actual.isAccountNonExpired());
+        Assertions.assertEquals(expected.isAccountNonLocked(), actual.isAccountNonLocked());
+        Assertions.assertEquals(expected.isCredentialsNonExpired(), actual.isCredentialsNonExpired());
+        Assertions.assertEquals(expected.getMeta(), actual.getMeta());
+
+        Assertions.assertEquals(expected.getRoleAuthorities().size(), actual.getRoleAuthorities().size());
+        for (int i = 0; i < expected.getRoleAuthorities().size(); i++) {
+            assertRoleAuthority(expected.getRoleAuthorities().get(i), actual.getRoleAuthorities().get(i));
+        }
+
+        Assertions.assertEquals(expected.getResourceAuthorities().size(), actual.getResourceAuthorities().size());
+        for (int i = 0; i < expected.getResourceAuthorities().size(); i++) {
+            assertResourceAuthority(expected.getResourceAuthorities().get(i), actual.getResourceAuthorities().get(i));
+        }
+    }
+
+    private static void assertRoleAuthority(RoleAuthority expected, RoleAuthority actual) {
+        Assertions.assertEquals(expected.getName(), actual.getName());
+        Assertions.assertEquals(expected.getAuthority(), actual.getAuthority());
+    }
+
+    private static void assertResourceAuthority(ResourceAuthority expected, ResourceAuthority actual) {
+        Assertions.assertEquals(expected.getName(), actual.getName());
+        Assertions.assertEquals(expected.getAuthority(), actual.getAuthority());
+        Assertions.assertEquals(expected.getValue(), actual.getValue());
+    }
+}